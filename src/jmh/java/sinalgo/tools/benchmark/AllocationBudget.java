@@ -0,0 +1,335 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.benchmark;
+
+import sinalgo.exception.SinalgoFatalException;
+import sinalgo.exception.SinalgoWrappedException;
+import sinalgo.runtime.Main;
+import sinalgo.tools.metrics.AllocationMeter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Verifies that the steady-state rounds of a simulation stay within a declared
+ * allocation budget. The framework avoids allocations on its hot paths, e.g. by
+ * pooling packets, edges and events, and by reusing iterators and positions. An
+ * allocation that sneaks into such a path, e.g. a new position per node and
+ * round, does not break any simulation but multiplies the work of the garbage
+ * collector on large networks.
+ * <p>
+ * Each scenario runs in a separate JVM with the {@link AllocationMeter}
+ * enabled. The first half of the rounds (synchronous mode) or events
+ * (asynchronous mode) warm up the pools and the JIT compiler and are not
+ * measured. The scenarios cover both runtime threads and the mobility,
+ * connectivity, interference, reliability and transmission models of the
+ * default project. The budget of a scenario is a number of bytes per round or
+ * event, plus a number of bytes per message sent, as the projects allocate
+ * their messages and timers. The budgets are the allocations measured with the
+ * default numbers of rounds and events, plus about a third. Longer runs
+ * allocate less per round, as the JIT compiler then eliminates more of the
+ * short-lived objects.
+ * <p>
+ * The harness runs without GUI, on the runtime classpath of the jmh source set,
+ * usage:
+ * <p>
+ * <code>gradlew allocationBudget -PbudgetArgs="['-scenarios', 'static,messages,...', '-rounds', '200',
+ * '-events', '100000', '-timeout', '600', '-jvm', '-Xmx2g', '-log', 'allocationBudget.log']"</code>
+ * <p>
+ * The output of the simulations is appended to the log file. The harness exits
+ * with status 1 if a scenario failed or exceeded its budget.
+ */
+public class AllocationBudget {
+
+    private static final String USAGE = "Usage: AllocationBudget [-scenarios static,...] [-rounds r] [-events e] "
+            + "[-timeout seconds] [-jvm jvmArgument] [-log file]";
+
+    /**
+     * The measured scenarios and their budgets.
+     */
+    private enum Scenario {
+
+        /**
+         * Nodes that neither move nor communicate, the rounds only evaluate the
+         * mobility and connectivity models.
+         */
+        STATIC("sample1", false, 20480, 0) {
+            @Override
+            void addArguments(List<String> args, List<String> overwrites) {
+                addGen(args, 500, "DummyNode", "Random", "NoMobility", "UDG");
+            }
+        },
+
+        /**
+         * Nodes that move with the random way point model and are connected by the
+         * quasi unit disk graph.
+         */
+        RANDOM_WAY_POINT("sample1", false, 32768, 0) {
+            @Override
+            void addArguments(List<String> args, List<String> overwrites) {
+                addGen(args, 500, "DummyNode", "Random", "RandomWayPoint", "QUDG");
+            }
+        },
+
+        /**
+         * Nodes that move with the random direction model and are connected by the
+         * unit disk graph.
+         */
+        RANDOM_DIRECTION("sample1", false, 40960, 0) {
+            @Override
+            void addArguments(List<String> args, List<String> overwrites) {
+                addGen(args, 500, "DummyNode", "Random", "RandomDirection", "UDG");
+            }
+        },
+
+        /**
+         * Route discoveries by flooding with reliable delivery in constant time.
+         */
+        MESSAGES("sample5", false, 8192, 8) {
+            @Override
+            void addArguments(List<String> args, List<String> overwrites) {
+                addGen(args, 1000, "sample5:FNode", "Random", "UDG", "ReliableDelivery");
+                overwrites.add("dimX=632");
+                overwrites.add("dimY=632");
+                overwrites.add("AutoSend=5");
+            }
+        },
+
+        /**
+         * Route discoveries by flooding with the SINR interference model and lossy
+         * delivery.
+         */
+        INTERFERENCE("sample5", false, 12288, 8) {
+            @Override
+            void addArguments(List<String> args, List<String> overwrites) {
+                addGen(args, 1000, "sample5:FNode", "Random", "UDG", "SINR", "LossyDelivery");
+                overwrites.add("dimX=632");
+                overwrites.add("dimY=632");
+                overwrites.add("AutoSend=5");
+                overwrites.add("interference=true");
+                overwrites.add("LossyDelivery/DropRate=0.1");
+            }
+        },
+
+        /**
+         * Asynchronous floods with random transmission times, sent as multicast
+         * packets, a new flood starts whenever the event queue is empty.
+         */
+        ASYNC_FLOOD("sample4", true, 64, 96) {
+            @Override
+            void addArguments(List<String> args, List<String> overwrites) {
+                addGen(args, 100, "sample4:S4Node", "Random", "UDG", "ReliableDelivery");
+                overwrites.add("AutoFlood=true");
+                overwrites.add("asynchronousMulticast=true");
+                overwrites.add("handleEmptyEventQueue=true");
+            }
+        };
+
+        private final String project;
+        private final boolean asynchronous;
+        private final long bytesPerUnit;
+        private final long bytesPerMessage;
+
+        /**
+         * @param bytesPerUnit    The budget per round (synchronous mode) or event
+         *                        (asynchronous mode).
+         * @param bytesPerMessage The additional budget per message sent.
+         */
+        Scenario(String project, boolean asynchronous, long bytesPerUnit, long bytesPerMessage) {
+            this.project = project;
+            this.asynchronous = asynchronous;
+            this.bytesPerUnit = bytesPerUnit;
+            this.bytesPerMessage = bytesPerMessage;
+        }
+
+        /**
+         * Adds the scenario specific arguments to create the nodes, and the scenario
+         * specific overwrite parameters.
+         */
+        abstract void addArguments(List<String> args, List<String> overwrites);
+
+        private static void addGen(List<String> args, int numNodes, String... nodeAndModels) {
+            args.add("-gen");
+            args.add(Integer.toString(numNodes));
+            args.addAll(Arrays.asList(nodeAndModels));
+        }
+
+        /**
+         * @param warmUp   The number of rounds or events that are not measured.
+         * @param measured The number of measured rounds or events.
+         * @return The command line arguments for Sinalgo to run this scenario.
+         */
+        List<String> getArguments(long warmUp, long measured) {
+            List<String> args = new ArrayList<>(Arrays.asList("-project", this.project, "-batch",
+                    "-rounds", Long.toString(warmUp + measured)));
+            List<String> overwrites = new ArrayList<>(Arrays.asList("measureAllocations=true",
+                    "allocationWarmUp=" + warmUp, "useSameSeedAsInPreviousRun=false", "useFixedSeed=true"));
+            this.addArguments(args, overwrites);
+            args.add("-overwrite");
+            args.addAll(overwrites);
+            return args;
+        }
+
+        String getName() {
+            return this.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Runs the scenarios and compares their allocations with their budgets.
+     *
+     * @param args The options, see the class description.
+     */
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("-child")) {
+            runChild(args);
+            return;
+        }
+
+        List<Scenario> scenarios = new ArrayList<>(Arrays.asList(Scenario.values()));
+        long rounds = 200;
+        long events = 100000;
+        long timeout = 600;
+        List<String> jvmArgs = new ArrayList<>();
+        Path log = Paths.get("allocationBudget.log");
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new SinalgoFatalException("Missing value for " + option + "\n" + USAGE);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "-scenarios":
+                    scenarios.clear();
+                    for (String name : value.split(",")) {
+                        scenarios.add(Scenario.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+                    }
+                    break;
+                case "-rounds":
+                    rounds = Long.parseLong(value);
+                    break;
+                case "-events":
+                    events = Long.parseLong(value);
+                    break;
+                case "-timeout":
+                    timeout = Long.parseLong(value);
+                    break;
+                case "-jvm":
+                    jvmArgs.add(value);
+                    break;
+                case "-log":
+                    log = Paths.get(value);
+                    break;
+                default:
+                    throw new SinalgoFatalException("Unknown option " + option + "\n" + USAGE);
+            }
+        }
+
+        boolean passed = true;
+        try {
+            Files.deleteIfExists(log);
+            System.out.printf("%-17s %-8s %10s %12s %12s %12s %12s%n", "scenario", "status", "measured", "mean [B]",
+                    "max [B]", "msg/unit", "budget [B]");
+            for (Scenario scenario : scenarios) {
+                long measured = scenario.asynchronous ? events : rounds;
+                Path resultFile = Files.createTempFile("sinalgoAllocations", ".json");
+                try {
+                    String status = ScenarioBenchmark.launch(AllocationBudget.class, resultFile,
+                            scenario.getArguments(measured, measured), jvmArgs, timeout, log);
+                    if (!status.equals("ok")) {
+                        System.out.printf("%-17s %-8s%n", scenario.getName(), status);
+                        passed = false;
+                        continue;
+                    }
+                    Map<String, String> result = ScenarioBenchmark.parseJson(
+                            new String(Files.readAllBytes(resultFile), StandardCharsets.UTF_8));
+                    double numMeasured = ScenarioBenchmark.getDouble(result, "measured");
+                    double messagesPerUnit = ScenarioBenchmark.getDouble(result, "messages") / numMeasured;
+                    double mean = ScenarioBenchmark.getDouble(result, "meanBytes");
+                    double budget = scenario.bytesPerUnit + scenario.bytesPerMessage * messagesPerUnit;
+                    boolean exceeded = mean > budget;
+                    passed &= !exceeded;
+                    System.out.printf(Locale.ROOT, "%-17s %-8s %10d %12.1f %12d %12.2f %12.1f%s%n", scenario.getName(),
+                            status, (long) numMeasured, mean, (long) ScenarioBenchmark.getDouble(result, "maxBytes"),
+                            messagesPerUnit, budget, exceeded ? "  OVER BUDGET" : "");
+                } finally {
+                    Files.deleteIfExists(resultFile);
+                }
+            }
+        } catch (IOException e) {
+            throw new SinalgoWrappedException(e);
+        }
+        System.out.println(passed ? "All scenarios are within their budget." : "Scenarios failed or exceeded their budget, "
+                + "the simulation output is in " + log + ".");
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * Runs the simulation in this JVM and writes the measured allocations to the
+     * given file when the simulation exits.
+     */
+    private static void runChild(String[] args) {
+        Path resultFile = Paths.get(args[1]);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> writeResult(resultFile)));
+        Main.main(Arrays.copyOfRange(args, 2, args.length));
+    }
+
+    private static void writeResult(Path resultFile) {
+        if (AllocationMeter.getNumMeasured() == 0) {
+            return; // the simulation did not start, or the JVM does not count allocations
+        }
+        Map<String, String> result = new LinkedHashMap<>();
+        result.put("measured", Long.toString(AllocationMeter.getNumMeasured()));
+        result.put("meanBytes", String.format(Locale.ROOT, "%.3f", AllocationMeter.getMeanBytes()));
+        result.put("maxBytes", Long.toString(AllocationMeter.getMaxBytes()));
+        result.put("messages", Long.toString(AllocationMeter.getNumMessages()));
+        try {
+            Files.write(resultFile, ScenarioBenchmark.toJson(result).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.err.println("Could not write the measured allocations to " + resultFile + ": " + e);
+        }
+    }
+}
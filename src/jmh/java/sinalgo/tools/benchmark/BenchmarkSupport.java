@@ -0,0 +1,110 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.benchmark;
+
+import sinalgo.configuration.Configuration;
+import sinalgo.runtime.Global;
+import sinalgo.tools.logging.Logging;
+
+import java.util.Random;
+
+/**
+ * Sets up the framework for the JMH benchmarks, which run without GUI and
+ * without project, and deploys the benchmark nodes.
+ */
+final class BenchmarkSupport {
+
+    /**
+     * The transmission radius used by all benchmarks, the field size is derived
+     * from the number of nodes and the requested density.
+     */
+    static final double RADIUS = 50;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Configures a synchronous 2D simulation on a square field.
+     *
+     * @param dim The side length of the field.
+     */
+    static void configure(int dim) {
+        Configuration.setDimensions(2);
+        Configuration.setDimX(dim);
+        Configuration.setDimY(dim);
+        Configuration.setAsynchronousMode(false);
+        Configuration.setEdgeType("Edge");
+        Configuration.putPropertyEntry("GeometricNodeCollection/rMax", Double.toString(RADIUS));
+        Configuration.putPropertyEntry("Node/defaultSize", "10");
+        Configuration.putPropertyEntry("SINR/alpha", "2");
+        Configuration.putPropertyEntry("SINR/beta", "0.5");
+        Configuration.putPropertyEntry("SINR/noise", "0");
+        Logging.activate();
+        Global.setAsynchronousMode(false);
+        Global.setCurrentTime(0);
+    }
+
+    /**
+     * Returns the side length of the square field on which the given number of
+     * uniformly deployed nodes has on average the given number of neighbors within
+     * {@link #RADIUS}.
+     *
+     * @param numNodes The number of nodes.
+     * @param density  The average number of neighbors per node.
+     * @return The side length of the field.
+     */
+    static int fieldSize(int numNodes, double density) {
+        return (int) Math.ceil(Math.sqrt(numNodes * Math.PI * RADIUS * RADIUS / density));
+    }
+
+    /**
+     * Creates the given number of nodes placed uniformly at random on the field.
+     *
+     * @param numNodes The number of nodes.
+     * @param dim      The side length of the field.
+     * @param rand     The random number generator to place the nodes.
+     * @return The nodes, not added to any node collection.
+     */
+    static BenchmarkNode[] createNodes(int numNodes, int dim, Random rand) {
+        BenchmarkNode[] nodes = new BenchmarkNode[numNodes];
+        for (int i = 0; i < numNodes; i++) {
+            nodes[i] = new BenchmarkNode();
+            nodes[i].setPosition(rand.nextDouble() * dim, rand.nextDouble() * dim, 0);
+        }
+        return nodes;
+    }
+}
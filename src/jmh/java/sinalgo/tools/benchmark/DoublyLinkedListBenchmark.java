@@ -0,0 +1,169 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sinalgo.tools.storage.DoublyLinkedList;
+import sinalgo.tools.storage.DoublyLinkedListEntry;
+import sinalgo.tools.storage.ReusableListIterator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the doubly linked list, once with entries that search their finger
+ * in the finger-list and once with entries that reserve a fixed slot for the
+ * list. The density is the fraction of the entries that is removed and appended
+ * again per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoublyLinkedListBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    int size;
+
+    @Param({"0.05", "0.5"})
+    double density;
+
+    @Param({"false", "true"})
+    boolean slotted;
+
+    private DoublyLinkedList<Entry> list;
+
+    private ReusableListIterator<Entry> iterator;
+
+    private Entry[] entries;
+
+    private Entry[] removed;
+
+    private int step;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.list = this.slotted ? new DoublyLinkedList<>(true, 0) : new DoublyLinkedList<>(true);
+        this.iterator = this.list.iterator();
+        this.entries = new Entry[this.size];
+        for (int i = 0; i < this.size; i++) {
+            this.entries[i] = new Entry(i, this.slotted);
+            this.list.append(this.entries[i]);
+        }
+        this.step = Math.max(1, (int) Math.round(1 / this.density));
+        this.removed = new Entry[this.size / this.step + 1];
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        this.iterator.reset();
+        while (this.iterator.hasNext()) {
+            sum += this.iterator.next().value;
+        }
+        return sum;
+    }
+
+    /**
+     * Removes every n-th entry while iterating, as the outgoing connections do for
+     * invalid links, and appends the removed entries again.
+     */
+    @Benchmark
+    public int iterateRemoveAppend() {
+        int numRemoved = 0;
+        int i = 0;
+        this.iterator.reset();
+        while (this.iterator.hasNext()) {
+            Entry e = this.iterator.next();
+            if (i++ % this.step == 0) {
+                this.iterator.remove();
+                this.removed[numRemoved++] = e;
+            }
+        }
+        for (int j = 0; j < numRemoved; j++) {
+            this.list.append(this.removed[j]);
+        }
+        return numRemoved;
+    }
+
+    /**
+     * Removes every n-th entry by reference and appends it again.
+     */
+    @Benchmark
+    public int removeAppend() {
+        int count = 0;
+        for (int i = 0; i < this.size; i += this.step) {
+            Entry e = this.entries[i];
+            this.list.remove(e);
+            this.list.append(e);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * An entry of the benchmarked list.
+     */
+    private static final class Entry implements DoublyLinkedListEntry {
+
+        private final DLLFingerList fingerList;
+
+        private final int value;
+
+        private Entry(int value, boolean slotted) {
+            this.value = value;
+            this.fingerList = slotted ? new DLLFingerList(1) : new DLLFingerList();
+        }
+
+        @Override
+        public DLLFingerList getDoublyLinkedListFinger() {
+            return this.fingerList;
+        }
+    }
+}
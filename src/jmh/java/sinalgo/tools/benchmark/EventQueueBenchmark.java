@@ -0,0 +1,121 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sinalgo.nodes.timers.Timer;
+import sinalgo.runtime.events.Event;
+import sinalgo.runtime.events.EventQueue;
+import sinalgo.runtime.events.TimerEvent;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the event queue of the asynchronous mode with the classic hold model:
+ * The queue holds a constant number of events, and every operation takes the
+ * next event and schedules it again a random time later. The density is the
+ * number of distinct time stamps per event, a low density yields many events
+ * with the same time, which are ordered by their ID.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventQueueBenchmark {
+
+    private static final int NUM_DELAYS = 4096;
+
+    @Param({"100", "10000", "1000000"})
+    int size;
+
+    @Param({"0.01", "1"})
+    double density;
+
+    private EventQueue queue;
+
+    private final double[] delays = new double[NUM_DELAYS];
+
+    private int nextDelay;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rand = new Random(1);
+        // exponentially distributed delays, rounded such that about size * density
+        // distinct time stamps are pending
+        double resolution = Math.max(1, this.size * this.density);
+        for (int i = 0; i < NUM_DELAYS; i++) {
+            this.delays[i] = Math.ceil(-Math.log(1 - rand.nextDouble()) * resolution) / resolution;
+        }
+        Timer timer = new Timer() {
+
+            @Override
+            public void fire() {
+            }
+        };
+        this.queue = new EventQueue();
+        for (int i = 0; i < this.size; i++) {
+            this.queue.insert(TimerEvent.getNewTimerEvent(timer, this.nextDelay()));
+        }
+    }
+
+    private double nextDelay() {
+        this.nextDelay = (this.nextDelay + 1) & (NUM_DELAYS - 1);
+        return this.delays[this.nextDelay];
+    }
+
+    @Benchmark
+    public Event hold() {
+        Event e = this.queue.getNextEvent();
+        e.setTime(e.getTime() + this.nextDelay());
+        this.queue.insert(e);
+        return e;
+    }
+}
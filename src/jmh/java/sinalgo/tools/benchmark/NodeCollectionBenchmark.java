@@ -0,0 +1,195 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.benchmark;
+
+import sinalgo.configuration.Configuration;
+import sinalgo.nodes.Node;
+import sinalgo.runtime.SinalgoRuntime;
+import sinalgo.runtime.nodeCollection.AbstractNodeCollection;
+import sinalgo.runtime.nodeCollection.Geometric2DNodeCollection;
+import sinalgo.runtime.nodeCollection.KdTreeNodeCollection;
+import sinalgo.runtime.nodeCollection.SparseGeometric2DNodeCollection;
+
+import java.util.Enumeration;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Compares the 2D node collections for deployments of different density
+ * distributions. For each combination of node collection and distribution,
+ * the benchmark measures the time to add all nodes, to enumerate the possible
+ * neighbors of every node and to update the collection while the nodes move,
+ * and reports the average number of neighbor candidates per node.
+ * <p>
+ * The benchmark runs without GUI and without project, on the runtime classpath
+ * of the jmh source set, usage:
+ * <p>
+ * <code>java sinalgo.tools.benchmark.NodeCollectionBenchmark [numNodes] [dimX] [rMax] [rounds]</code>
+ */
+public class NodeCollectionBenchmark {
+
+    private static final String[] COLLECTION_NAMES = {"Geometric2D", "SparseGeometric2D", "KdTree"};
+
+    private static final String[] DISTRIBUTION_NAMES = {"uniform", "10 clusters", "1 hotspot"};
+
+    private final int numNodes;
+    private final int dim;
+    private final double rMax;
+    private final int rounds;
+
+    private NodeCollectionBenchmark(int numNodes, int dim, double rMax, int rounds) {
+        this.numNodes = numNodes;
+        this.dim = dim;
+        this.rMax = rMax;
+        this.rounds = rounds;
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args The optional number of nodes, side length of the field, rMax and
+     *             number of movement rounds.
+     */
+    public static void main(String[] args) {
+        int numNodes = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int dim = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        double rMax = args.length > 2 ? Double.parseDouble(args[2]) : 50;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        Configuration.setDimensions(2);
+        Configuration.setDimX(dim);
+        Configuration.setDimY(dim);
+        Configuration.putPropertyEntry("GeometricNodeCollection/rMax", Double.toString(rMax));
+        Configuration.putPropertyEntry("Node/defaultSize", "10");
+
+        NodeCollectionBenchmark benchmark = new NodeCollectionBenchmark(numNodes, dim, rMax, rounds);
+        benchmark.runAll(false); // warm up
+        System.out.println("Node collection benchmark: " + numNodes + " nodes, field " + dim + "x" + dim + ", rMax "
+                + rMax + ", " + rounds + " movement rounds");
+        System.out.printf("%-18s %-12s %10s %10s %10s %12s%n", "collection", "distribution", "add [ms]",
+                "query [ms]", "move [ms]", "candidates");
+        benchmark.runAll(true);
+    }
+
+    private void runAll(boolean print) {
+        for (int d = 0; d < DISTRIBUTION_NAMES.length; d++) {
+            for (int c = 0; c < COLLECTION_NAMES.length; c++) {
+                this.run(c, d, print);
+            }
+        }
+    }
+
+    private static AbstractNodeCollection createCollection(int collection) {
+        Supplier<AbstractNodeCollection> factory;
+        switch (collection) {
+            case 0:
+                factory = Geometric2DNodeCollection::new;
+                break;
+            case 1:
+                factory = SparseGeometric2DNodeCollection::new;
+                break;
+            default:
+                factory = KdTreeNodeCollection::new;
+        }
+        return factory.get();
+    }
+
+    private void run(int collection, int distribution, boolean print) {
+        Random rand = new Random(distribution);
+        AbstractNodeCollection nodes = createCollection(collection);
+        BenchmarkNode[] all = new BenchmarkNode[this.numNodes];
+        double[][] centers = new double[distribution == 1 ? 10 : 1][2];
+        for (double[] center : centers) {
+            center[0] = rand.nextDouble() * this.dim;
+            center[1] = rand.nextDouble() * this.dim;
+        }
+        for (int i = 0; i < this.numNodes; i++) {
+            all[i] = new BenchmarkNode();
+            if (distribution == 0) {
+                this.place(all[i], rand.nextDouble() * this.dim, rand.nextDouble() * this.dim);
+            } else {
+                double[] center = centers[rand.nextInt(centers.length)];
+                double sigma = (distribution == 1 ? 4 : 2) * this.rMax;
+                this.place(all[i], center[0] + rand.nextGaussian() * sigma, center[1] + rand.nextGaussian() * sigma);
+            }
+        }
+
+        SinalgoRuntime.setNodes(nodes); // setPosition() updates the node collection of the runtime
+        long start = System.nanoTime();
+        for (Node n : all) {
+            nodes.addNode(n);
+        }
+        long addTime = System.nanoTime() - start;
+
+        long candidates = 0;
+        start = System.nanoTime();
+        for (Node n : all) {
+            Enumeration<Node> e = nodes.getPossibleNeighborsEnumeration(n);
+            while (e.hasMoreElements()) {
+                e.nextElement();
+                candidates++;
+            }
+        }
+        long queryTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int r = 0; r < this.rounds; r++) {
+            for (Node n : all) {
+                double angle = rand.nextDouble() * 2 * Math.PI;
+                double step = rand.nextDouble() * this.rMax / 2;
+                this.place(n, n.getPosition().getXCoord() + Math.cos(angle) * step,
+                        n.getPosition().getYCoord() + Math.sin(angle) * step);
+            }
+        }
+        long moveTime = System.nanoTime() - start;
+
+        if (print) {
+            System.out.printf("%-18s %-12s %10.1f %10.1f %10.1f %12.1f%n", COLLECTION_NAMES[collection],
+                    DISTRIBUTION_NAMES[distribution], addTime / 1e6, queryTime / 1e6, moveTime / 1e6,
+                    (double) candidates / this.numNodes);
+        }
+    }
+
+    /**
+     * Moves a node to the given position, cropped to the field. The node collection
+     * of the runtime is updated by {@link Node#setPosition(double, double, double)}.
+     */
+    private void place(Node n, double x, double y) {
+        double max = Math.nextDown((double) this.dim);
+        n.setPosition(Math.min(max, Math.max(0, x)), Math.min(max, Math.max(0, y)), 0);
+    }
+}
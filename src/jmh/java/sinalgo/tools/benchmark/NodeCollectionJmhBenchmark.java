@@ -0,0 +1,154 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sinalgo.nodes.Node;
+import sinalgo.runtime.SinalgoRuntime;
+import sinalgo.runtime.nodeCollection.AbstractNodeCollection;
+import sinalgo.runtime.nodeCollection.Geometric2DNodeCollection;
+import sinalgo.runtime.nodeCollection.KdTreeNodeCollection;
+import sinalgo.runtime.nodeCollection.SparseGeometric2DNodeCollection;
+
+import java.util.Enumeration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the enumeration of the possible neighbors of all nodes and the update
+ * of the node collection while all nodes move, for uniformly deployed nodes. The
+ * density is the average number of neighbors per node.
+ * <p>
+ * See {@link NodeCollectionBenchmark} for a comparison of the node collections
+ * under non-uniform deployments.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NodeCollectionJmhBenchmark {
+
+    @Param({"Geometric2D", "SparseGeometric2D", "KdTree"})
+    String collectionType;
+
+    @Param({"1000", "10000", "100000"})
+    int numNodes;
+
+    @Param({"5", "20", "80"})
+    double density;
+
+    private AbstractNodeCollection collection;
+
+    private Node[] nodes;
+
+    // two positions per node, the nodes alternate between them in moveAll()
+    private double[][] xs;
+
+    private double[][] ys;
+
+    private int current;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int dim = BenchmarkSupport.fieldSize(this.numNodes, this.density);
+        BenchmarkSupport.configure(dim);
+        Random rand = new Random(1);
+        this.nodes = BenchmarkSupport.createNodes(this.numNodes, dim, rand);
+        switch (this.collectionType) {
+            case "Geometric2D":
+                this.collection = new Geometric2DNodeCollection();
+                break;
+            case "SparseGeometric2D":
+                this.collection = new SparseGeometric2DNodeCollection();
+                break;
+            default:
+                this.collection = new KdTreeNodeCollection();
+        }
+        SinalgoRuntime.setNodes(this.collection); // setPosition() updates the node collection of the runtime
+        this.xs = new double[2][this.numNodes];
+        this.ys = new double[2][this.numNodes];
+        double max = Math.nextDown((double) dim);
+        for (int i = 0; i < this.numNodes; i++) {
+            Node n = this.nodes[i];
+            this.collection.addNode(n);
+            double angle = rand.nextDouble() * 2 * Math.PI;
+            double step = rand.nextDouble() * BenchmarkSupport.RADIUS / 2;
+            this.xs[0][i] = n.getPosition().getXCoord();
+            this.ys[0][i] = n.getPosition().getYCoord();
+            this.xs[1][i] = Math.min(max, Math.max(0, this.xs[0][i] + Math.cos(angle) * step));
+            this.ys[1][i] = Math.min(max, Math.max(0, this.ys[0][i] + Math.sin(angle) * step));
+        }
+    }
+
+    @Benchmark
+    public long enumerateNeighbors() {
+        long candidates = 0;
+        for (Node n : this.nodes) {
+            Enumeration<Node> e = this.collection.getPossibleNeighborsEnumeration(n);
+            while (e.hasMoreElements()) {
+                e.nextElement();
+                candidates++;
+            }
+        }
+        return candidates;
+    }
+
+    @Benchmark
+    public int moveAll() {
+        this.current ^= 1;
+        double[] x = this.xs[this.current];
+        double[] y = this.ys[this.current];
+        for (int i = 0; i < this.numNodes; i++) {
+            Node n = this.nodes[i];
+            n.setPosition(x[i], y[i], 0);
+        }
+        return this.current;
+    }
+}
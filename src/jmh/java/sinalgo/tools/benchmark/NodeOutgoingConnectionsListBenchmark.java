@@ -0,0 +1,143 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sinalgo.nodes.Connections;
+import sinalgo.nodes.Node;
+import sinalgo.runtime.nodeCollection.Geometric2DNodeCollection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the outgoing connections of the nodes during a round of the
+ * connectivity update: All links of a unit disk graph are confirmed with
+ * <code>add</code>, and <code>removeInvalidLinks</code> resets the links for the
+ * next round. The density is the average number of neighbors per node.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NodeOutgoingConnectionsListBenchmark {
+
+    @Param({"1000", "10000"})
+    int numNodes;
+
+    @Param({"5", "20", "80"})
+    double density;
+
+    private Node[] nodes;
+
+    private Node[][] neighbors;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int dim = BenchmarkSupport.fieldSize(this.numNodes, this.density);
+        BenchmarkSupport.configure(dim);
+        this.nodes = BenchmarkSupport.createNodes(this.numNodes, dim, new Random(1));
+        Geometric2DNodeCollection collection = new Geometric2DNodeCollection();
+        List<List<Node>> lists = new ArrayList<>(this.numNodes);
+        for (int i = 0; i < this.numNodes; i++) {
+            collection.addNode(this.nodes[i]);
+            lists.add(new ArrayList<>());
+        }
+        collection.forEachNodePair(BenchmarkSupport.RADIUS, (n1, n2, d) -> {
+            lists.get(this.indexOf(n1)).add(n2);
+            lists.get(this.indexOf(n2)).add(n1);
+        });
+        this.neighbors = new Node[this.numNodes][];
+        for (int i = 0; i < this.numNodes; i++) {
+            this.neighbors[i] = lists.get(i).toArray(new Node[0]);
+        }
+        this.confirmAll();
+    }
+
+    private int indexOf(Node n) {
+        return (int) (n.getID() - this.nodes[0].getID());
+    }
+
+    private int confirmAll() {
+        int count = 0;
+        for (int i = 0; i < this.numNodes; i++) {
+            Node n = this.nodes[i];
+            Connections connections = n.getOutgoingConnections();
+            for (Node neighbor : this.neighbors[i]) {
+                connections.add(n, neighbor, true);
+                count++;
+            }
+            connections.removeInvalidLinks();
+        }
+        return count;
+    }
+
+    /**
+     * A round in which the topology does not change.
+     */
+    @Benchmark
+    public int steadyRound() {
+        return this.confirmAll();
+    }
+
+    /**
+     * A round in which all links are removed and created again, which recycles the
+     * edges through the edge pool.
+     */
+    @Benchmark
+    public int rebuildRound() {
+        for (Node n : this.nodes) {
+            n.getOutgoingConnections().removeAndFreeAllEdges();
+        }
+        return this.confirmAll();
+    }
+}
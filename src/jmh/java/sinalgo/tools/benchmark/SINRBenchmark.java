@@ -0,0 +1,132 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import projects.defaultProject.models.interferenceModels.SINR;
+import sinalgo.nodes.Node;
+import sinalgo.nodes.messages.Packet;
+import sinalgo.runtime.SinalgoRuntime;
+import sinalgo.runtime.packetsInTheAir.PacketsInTheAirBuffer;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the SINR interference model, which sums up the interference of all
+ * packets in the air for every packet it tests. One benchmark operation tests
+ * every packet in the air once, as the synchronous runtime does in each round.
+ * The density is the average number of senders within the transmission radius
+ * of a receiver.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SINRBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int numPackets;
+
+    @Param({"1", "10"})
+    double density;
+
+    private SINR sinr;
+
+    private Packet[] packets;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int dim = BenchmarkSupport.fieldSize(this.numPackets, this.density);
+        BenchmarkSupport.configure(dim);
+        Random rand = new Random(1);
+        Node[] senders = BenchmarkSupport.createNodes(this.numPackets, dim, rand);
+        this.sinr = new SINR();
+        PacketsInTheAirBuffer buffer = new PacketsInTheAirBuffer();
+        SinalgoRuntime.setPacketsInTheAir(buffer);
+        this.packets = new Packet[this.numPackets];
+        for (int i = 0; i < this.numPackets; i++) {
+            // each sender transmits to a receiver within its transmission radius
+            Node receiver = new BenchmarkNode();
+            double angle = rand.nextDouble() * 2 * Math.PI;
+            double distance = (0.1 + 0.9 * rand.nextDouble()) * BenchmarkSupport.RADIUS;
+            receiver.setPosition(senders[i].getPosition().getXCoord() + Math.cos(angle) * distance,
+                    senders[i].getPosition().getYCoord() + Math.sin(angle) * distance, 0);
+            Packet p = Packet.fabricatePacket(null);
+            p.setOrigin(senders[i]);
+            p.setDestination(receiver);
+            p.setIntensity(1);
+            p.setPositiveDelivery(true);
+            p.setType(Packet.PacketType.UNICAST);
+            buffer.add(p);
+            this.packets[i] = p;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (Packet p : this.packets) {
+            SinalgoRuntime.getPacketsInTheAir().remove(p);
+            Packet.free(p);
+        }
+    }
+
+    @Benchmark
+    public int testAll() {
+        int disturbed = 0;
+        for (Packet p : this.packets) {
+            if (this.sinr.isDisturbed(p)) {
+                disturbed++;
+            }
+        }
+        return disturbed;
+    }
+}
@@ -0,0 +1,529 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.benchmark;
+
+import sinalgo.exception.SinalgoFatalException;
+import sinalgo.exception.SinalgoWrappedException;
+import sinalgo.runtime.Global;
+import sinalgo.runtime.Main;
+import sinalgo.runtime.SinalgoRuntime;
+import sinalgo.runtime.events.EventQueue;
+
+import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the sample projects in batch mode with an increasing number of nodes and
+ * writes the throughput and the memory usage of each run to a report with one
+ * JSON object per line. Each run executes in a separate JVM, such that the runs
+ * do not share any static state and the heap and GC figures belong to a single
+ * run. The deployment area grows with the number of nodes, such that the density
+ * of the nodes remains the one of the sample.
+ * <p>
+ * The benchmark runs without GUI, on the runtime classpath of the jmh source
+ * set, usage:
+ * <p>
+ * <code>gradlew scenarioBenchmark -PbenchmarkArgs="['-scenarios', 'sample1,sample4,...', '-nodes', '1000,10000,...',
+ * '-rounds', '20', '-events', '500000', '-timeout', '600', '-jvm', '-Xmx8g', '-out', 'report.jsonl']"</code>
+ * <p>
+ * The output of the simulations is appended to a log file next to the report.
+ * Two reports, e.g. of two builds, are compared with
+ * <p>
+ * <code>gradlew scenarioBenchmark -PbenchmarkArgs="['-compare', 'baseline.jsonl', 'report.jsonl', '10']"</code>
+ * <p>
+ * which prints the relative change of each figure and exits with status 1 if a
+ * run failed, or if the throughput of a run dropped or its peak heap grew by
+ * more than the threshold in percent given as the optional last argument
+ * (default 10).
+ */
+public class ScenarioBenchmark {
+
+    private static final String USAGE = "Usage: ScenarioBenchmark [-scenarios sample1,...] [-nodes 1000,...] [-rounds r] "
+            + "[-events e] [-timeout seconds] [-jvm jvmArgument] [-out report.jsonl]\n"
+            + "       ScenarioBenchmark -compare baseline.jsonl report.jsonl [threshold]";
+
+    private static final Pattern JSON_FIELD = Pattern.compile("\"([^\"]+)\":(?:\"([^\"]*)\"|([^,}]+))");
+
+    /**
+     * The figures compared between two reports, and whether bigger values are
+     * better.
+     */
+    private static final String[] COMPARED_FIGURES = {"roundsPerSecond", "eventsPerSecond", "peakHeapBytes", "gcTimeMs"};
+    private static final boolean[] BIGGER_IS_BETTER = {true, true, false, false};
+    private static final boolean[] GATED = {true, true, true, false}; // GC time is too noisy to fail a comparison
+
+    /**
+     * The benchmarked sample projects. The node count of a scenario is the number
+     * of nodes the sample is usually run with, for which the deployment area has
+     * the size configured in the sample.
+     */
+    private enum Scenario {
+
+        /**
+         * Mobile nodes in 3D that forward a message to their neighbor with the
+         * smallest ID.
+         */
+        SAMPLE1("sample1", false, 3, 500, 1000, 800, 500) {
+            @Override
+            void addArguments(List<String> args, int numNodes, List<String> overwrites) {
+                addGen(args, numNodes, "sample1:S1Node", "Random", "RandomDirection");
+                overwrites.add("AutoStart=true");
+            }
+        },
+
+        /**
+         * Mobile nodes that avoid the lakes of a background map.
+         */
+        SAMPLE2("sample2", false, 2, 100, 500, 500, 500) {
+            @Override
+            void addArguments(List<String> args, int numNodes, List<String> overwrites) {
+                addGen(args, numNodes, "sample2:S2Node", "sample2:LakeAvoidRandomDistribution", "sample2:LakeAvoid");
+            }
+        },
+
+        /**
+         * Mobile nodes that register with the closest of a grid of antennas.
+         */
+        SAMPLE3("sample3", false, 2, 2000, 1050, 1050, 1000) {
+            @Override
+            void addArguments(List<String> args, int numNodes, List<String> overwrites) {
+                // the sample uses a grid of 7x7 antennas for 2000 mobile nodes
+                int antennasPerSide = Math.max(2, (int) Math.round(7 * Math.sqrt(numNodes / 2000.0)));
+                addGen(args, antennasPerSide * antennasPerSide, "sample3:Antenna", "sample3:GridDistribution", "NoMobility");
+                addGen(args, numNodes, "sample3:MobileNode", "Random", "RandomDirection");
+            }
+        },
+
+        /**
+         * Asynchronous floods sent as multicast packets, a new flood starts whenever
+         * the event queue is empty.
+         */
+        SAMPLE4("sample4", true, 2, 100, 1000, 1000, 500) {
+            @Override
+            void addArguments(List<String> args, int numNodes, List<String> overwrites) {
+                addGen(args, numNodes, "sample4:S4Node", "Random");
+                overwrites.add("AutoFlood=true");
+                overwrites.add("asynchronousMulticast=true");
+                overwrites.add("handleEmptyEventQueue=true");
+            }
+        },
+
+        /**
+         * Route discovery by flooding, a random node sends a message to another
+         * random node every 5 rounds.
+         */
+        SAMPLE5("sample5", false, 2, 10000, 2000, 2000, 500) {
+            @Override
+            void addArguments(List<String> args, int numNodes, List<String> overwrites) {
+                addGen(args, numNodes, "sample5:FNode", "Random");
+                overwrites.add("AutoSend=5");
+            }
+        },
+
+        /**
+         * A static binary tree with the given number of leaves, which the root
+         * marks every 5 rounds.
+         */
+        SAMPLE6("sample6", false, 2, 200, 4000, 2000, 500) {
+            @Override
+            void addArguments(List<String> args, int numNodes, List<String> overwrites) {
+                overwrites.add("BuildTree/numLeaves=" + numNodes);
+                overwrites.add("BuildTree/fanOut=2");
+                overwrites.add("BuildTree/markInterval=5");
+            }
+        };
+
+        private final String project;
+        private final boolean asynchronous;
+        private final int dimensions;
+        private final int baseNodes;
+        private final int dimX;
+        private final int dimY;
+        private final int dimZ;
+
+        Scenario(String project, boolean asynchronous, int dimensions, int baseNodes, int dimX, int dimY, int dimZ) {
+            this.project = project;
+            this.asynchronous = asynchronous;
+            this.dimensions = dimensions;
+            this.baseNodes = baseNodes;
+            this.dimX = dimX;
+            this.dimY = dimY;
+            this.dimZ = dimZ;
+        }
+
+        /**
+         * Adds the scenario specific arguments to create the nodes, and the scenario
+         * specific overwrite parameters.
+         */
+        abstract void addArguments(List<String> args, int numNodes, List<String> overwrites);
+
+        private static void addGen(List<String> args, int numNodes, String... nodeAndModels) {
+            args.add("-gen");
+            args.add(Integer.toString(numNodes));
+            args.addAll(Arrays.asList(nodeAndModels));
+        }
+
+        /**
+         * @return The command line arguments for Sinalgo to run this scenario.
+         */
+        List<String> getArguments(int numNodes, long rounds) {
+            double scale = Math.pow((double) numNodes / this.baseNodes, 1.0 / this.dimensions);
+            List<String> args = new ArrayList<>(Arrays.asList("-project", this.project, "-batch",
+                    "-rounds", Long.toString(rounds)));
+            List<String> overwrites = new ArrayList<>(Arrays.asList(
+                    "dimX=" + Math.max(1, Math.round(this.dimX * scale)),
+                    "dimY=" + Math.max(1, Math.round(this.dimY * scale)),
+                    "dimZ=" + (this.dimensions == 3 ? Math.max(1, Math.round(this.dimZ * scale)) : this.dimZ),
+                    "useSameSeedAsInPreviousRun=false", "useFixedSeed=true"));
+            this.addArguments(args, numNodes, overwrites);
+            args.add("-overwrite");
+            args.addAll(overwrites);
+            return args;
+        }
+
+        String getName() {
+            return this.project;
+        }
+    }
+
+    /**
+     * Runs the benchmark or compares two reports.
+     *
+     * @param args The options, see the class description.
+     */
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("-child")) {
+            runChild(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("-compare")) {
+            if (args.length < 3) {
+                throw new SinalgoFatalException(USAGE);
+            }
+            double threshold = args.length > 3 ? Double.parseDouble(args[3]) : 10;
+            boolean passed = compare(Paths.get(args[1]), Paths.get(args[2]), threshold);
+            System.exit(passed ? 0 : 1);
+        }
+
+        List<Scenario> scenarios = new ArrayList<>(Arrays.asList(Scenario.values()));
+        List<Integer> nodeCounts = Arrays.asList(1000, 10000, 100000, 1000000);
+        long rounds = 20;
+        long events = 500000;
+        long timeout = 600;
+        List<String> jvmArgs = new ArrayList<>();
+        Path report = Paths.get("scenarioBenchmark.jsonl");
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new SinalgoFatalException("Missing value for " + option + "\n" + USAGE);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "-scenarios":
+                    scenarios.clear();
+                    for (String name : value.split(",")) {
+                        scenarios.add(Scenario.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+                    }
+                    break;
+                case "-nodes":
+                    nodeCounts = new ArrayList<>();
+                    for (String n : value.split(",")) {
+                        nodeCounts.add(Integer.parseInt(n.trim()));
+                    }
+                    break;
+                case "-rounds":
+                    rounds = Long.parseLong(value);
+                    break;
+                case "-events":
+                    events = Long.parseLong(value);
+                    break;
+                case "-timeout":
+                    timeout = Long.parseLong(value);
+                    break;
+                case "-jvm":
+                    jvmArgs.add(value);
+                    break;
+                case "-out":
+                    report = Paths.get(value);
+                    break;
+                default:
+                    throw new SinalgoFatalException("Unknown option " + option + "\n" + USAGE);
+            }
+        }
+
+        Path log = Paths.get(report.toString().replaceAll("\\.jsonl$", "") + ".log");
+        try {
+            Files.deleteIfExists(report);
+            Files.deleteIfExists(log);
+            System.out.printf("%-8s %9s %-8s %10s %12s %12s %10s %10s%n", "scenario", "nodes", "status", "setup [s]",
+                    "rounds/s", "events/s", "heap [MB]", "GC [ms]");
+            for (Scenario scenario : scenarios) {
+                for (int numNodes : nodeCounts) {
+                    Map<String, String> result = run(scenario, numNodes, scenario.asynchronous ? events : rounds,
+                            timeout, jvmArgs, log);
+                    Files.write(report, Collections.singletonList(toJson(result)), StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    System.out.printf(Locale.ROOT, "%-8s %9d %-8s %10.1f %12.1f %12.1f %10.1f %10d%n", scenario.getName(),
+                            numNodes, result.get("status"), getDouble(result, "setupMs") / 1000,
+                            getDouble(result, "roundsPerSecond"), getDouble(result, "eventsPerSecond"),
+                            getDouble(result, "peakHeapBytes") / (1 << 20), (long) getDouble(result, "gcTimeMs"));
+                }
+            }
+        } catch (IOException e) {
+            throw new SinalgoWrappedException(e);
+        }
+        System.out.println("Report written to " + report + ", simulation output to " + log);
+    }
+
+    /**
+     * Runs a scenario in a new JVM.
+     *
+     * @return The figures of the run.
+     */
+    private static Map<String, String> run(Scenario scenario, int numNodes, long rounds, long timeout,
+                                           List<String> jvmArgs, Path log) throws IOException {
+        Path resultFile = Files.createTempFile("sinalgoScenario", ".json");
+        try {
+            String status = launch(ScenarioBenchmark.class, resultFile, scenario.getArguments(numNodes, rounds),
+                    jvmArgs, timeout, log);
+            Map<String, String> result = new LinkedHashMap<>();
+            result.put("scenario", scenario.getName());
+            result.put("nodes", Integer.toString(numNodes));
+            result.put("status", status);
+            if (status.equals("ok")) {
+                result.putAll(parseJson(new String(Files.readAllBytes(resultFile), StandardCharsets.UTF_8)));
+            }
+            return result;
+        } finally {
+            Files.deleteIfExists(resultFile);
+        }
+    }
+
+    /**
+     * Runs the main method of the given class with the option -child in a new JVM
+     * and waits until it exits. The child writes its figures to the result file.
+     *
+     * @return The status of the run: ok, failed or timeout.
+     */
+    static String launch(Class<?> mainClass, Path resultFile, List<String> args, List<String> jvmArgs, long timeout,
+                         Path log) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(mainClass.getName());
+        command.add("-child");
+        command.add(resultFile.toString());
+        command.addAll(args);
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(Redirect.appendTo(log.toFile())).start();
+        try {
+            if (!process.waitFor(timeout, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+                return "timeout";
+            }
+            return process.exitValue() == 0 && Files.size(resultFile) > 0 ? "ok" : "failed";
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new SinalgoWrappedException(e);
+        }
+    }
+
+    /**
+     * Runs the simulation in this JVM and writes its figures to the given file
+     * when the simulation exits.
+     */
+    private static void runChild(String[] args) {
+        Path resultFile = Paths.get(args[1]);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> writeResult(resultFile)));
+        Main.main(Arrays.copyOfRange(args, 2, args.length));
+    }
+
+    private static void writeResult(Path resultFile) {
+        Date start = Global.getStartTime();
+        if (start == null) {
+            return; // the simulation did not start
+        }
+        long runMs = Math.max(1, System.currentTimeMillis() - start.getTime());
+        long rounds = Global.isAsynchronousMode() ? 0 : (long) Global.getCurrentTime();
+        long events = EventQueue.getEventNumber();
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                peakHeap += pool.getPeakUsage().getUsed();
+            }
+        }
+        long gcTime = 0;
+        long gcCount = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcTime += Math.max(0, gc.getCollectionTime());
+            gcCount += Math.max(0, gc.getCollectionCount());
+        }
+
+        Map<String, String> result = new LinkedHashMap<>();
+        result.put("totalNodes", Integer.toString(SinalgoRuntime.getNodes().size()));
+        result.put("setupMs", Long.toString(start.getTime() - ManagementFactory.getRuntimeMXBean().getStartTime()));
+        result.put("runMs", Long.toString(runMs));
+        result.put("rounds", Long.toString(rounds));
+        result.put("events", Long.toString(events));
+        result.put("messages", Long.toString(Global.getNumberOfMessagesOverAll()));
+        result.put("roundsPerSecond", String.format(Locale.ROOT, "%.3f", rounds * 1000.0 / runMs));
+        result.put("eventsPerSecond", String.format(Locale.ROOT, "%.3f", events * 1000.0 / runMs));
+        result.put("peakHeapBytes", Long.toString(peakHeap));
+        result.put("gcTimeMs", Long.toString(gcTime));
+        result.put("gcCount", Long.toString(gcCount));
+        try {
+            Files.write(resultFile, toJson(result).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.err.println("Could not write the benchmark result to " + resultFile + ": " + e);
+        }
+    }
+
+    /**
+     * Compares the runs of two reports.
+     *
+     * @return True if no run regressed by more than the threshold.
+     */
+    private static boolean compare(Path baseline, Path current, double threshold) {
+        Map<String, Map<String, String>> baseRuns = readReport(baseline);
+        Map<String, Map<String, String>> currentRuns = readReport(current);
+        boolean passed = true;
+        System.out.printf("%-8s %9s %-16s %14s %14s %9s%n", "scenario", "nodes", "figure", "baseline", "current", "change");
+        for (Map.Entry<String, Map<String, String>> e : currentRuns.entrySet()) {
+            Map<String, String> base = baseRuns.get(e.getKey());
+            Map<String, String> run = e.getValue();
+            if (base == null || !"ok".equals(base.get("status"))) {
+                continue; // nothing to compare with
+            }
+            if (!"ok".equals(run.get("status"))) {
+                System.out.printf("%-8s %9s %-16s %14s %14s %9s  REGRESSION%n", run.get("scenario"), run.get("nodes"),
+                        "status", base.get("status"), run.get("status"), "");
+                passed = false;
+                continue;
+            }
+            for (int i = 0; i < COMPARED_FIGURES.length; i++) {
+                double before = getDouble(base, COMPARED_FIGURES[i]);
+                double after = getDouble(run, COMPARED_FIGURES[i]);
+                if (before <= 0) {
+                    continue; // e.g. rounds of an asynchronous scenario
+                }
+                double change = (after - before) / before * 100;
+                boolean regression = GATED[i] && (BIGGER_IS_BETTER[i] ? -change : change) > threshold;
+                passed &= !regression;
+                System.out.printf(Locale.ROOT, "%-8s %9s %-16s %14.1f %14.1f %+8.1f%%%s%n", run.get("scenario"),
+                        run.get("nodes"), COMPARED_FIGURES[i], before, after, change, regression ? "  REGRESSION" : "");
+            }
+        }
+        System.out.println(passed ? "No regression above " + threshold + "%." : "Regressions above " + threshold + "% found.");
+        return passed;
+    }
+
+    private static Map<String, Map<String, String>> readReport(Path report) {
+        Map<String, Map<String, String>> runs = new LinkedHashMap<>();
+        try {
+            for (String line : Files.readAllLines(report, StandardCharsets.UTF_8)) {
+                if (!line.trim().isEmpty()) {
+                    Map<String, String> run = parseJson(line);
+                    runs.put(run.get("scenario") + "/" + run.get("nodes"), run);
+                }
+            }
+        } catch (IOException e) {
+            throw new SinalgoFatalException("Cannot read the benchmark report " + report + ": " + e.getMessage(), e);
+        }
+        return runs;
+    }
+
+    /**
+     * Parses a flat JSON object as written by {@link #toJson(Map)}.
+     */
+    static Map<String, String> parseJson(String json) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        Matcher m = JSON_FIELD.matcher(json);
+        while (m.find()) {
+            fields.put(m.group(1), m.group(2) != null ? m.group(2) : m.group(3).trim());
+        }
+        return fields;
+    }
+
+    /**
+     * Writes a flat JSON object, the values that are not numbers are written as
+     * strings.
+     */
+    static String toJson(Map<String, String> fields) {
+        StringBuilder json = new StringBuilder("{");
+        for (Map.Entry<String, String> e : fields.entrySet()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"').append(e.getKey()).append("\":");
+            if (e.getValue().matches("-?[0-9]+(\\.[0-9]+)?")) {
+                json.append(e.getValue());
+            } else {
+                json.append('"').append(e.getValue()).append('"');
+            }
+        }
+        return json.append('}').toString();
+    }
+
+    static double getDouble(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        return value == null ? 0 : Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sinalgo.nodes.Node;
+import sinalgo.nodes.timers.Timer;
+import sinalgo.runtime.Global;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the scan of the timer collections of all nodes for the timers going
+ * off, which the synchronous runtime performs for every node in every round.
+ * Each timer restarts itself when it goes off. The density is the fraction of
+ * the timers of a node that go off per round.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerCollectionBenchmark {
+
+    @Param({"1000"})
+    int numNodes;
+
+    @Param({"1", "8", "64"})
+    int timersPerNode;
+
+    @Param({"0.05", "1"})
+    double density;
+
+    private Node[] nodes;
+
+    private Timer[] firing;
+
+    private int period;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkSupport.configure(1000);
+        this.nodes = BenchmarkSupport.createNodes(this.numNodes, 1000, new Random(1));
+        this.firing = new Timer[this.timersPerNode];
+        this.period = Math.max(1, (int) Math.round(1 / this.density));
+        Random rand = new Random(2);
+        for (Node n : this.nodes) {
+            for (int i = 0; i < this.timersPerNode; i++) {
+                new BenchmarkTimer().startRelative(1 + rand.nextInt(this.period), n);
+            }
+        }
+    }
+
+    @Benchmark
+    public int round() {
+        Global.setCurrentTime(Global.getCurrentTime() + 1);
+        int fired = 0;
+        for (Node n : this.nodes) {
+            int numFiring = 0;
+            Iterator<Timer> it = n.getTimers().iterator();
+            while (it.hasNext()) {
+                Timer t = it.next();
+                if (t.getFireTime() <= Global.getCurrentTime()) {
+                    it.remove();
+                    this.firing[numFiring++] = t;
+                }
+            }
+            for (int i = 0; i < numFiring; i++) {
+                this.firing[i].startRelative(this.period, n);
+                this.firing[i] = null;
+            }
+            fired += numFiring;
+        }
+        return fired;
+    }
+
+    /**
+     * A timer without any behavior.
+     */
+    private static final class BenchmarkTimer extends Timer {
+
+        @Override
+        public void fire() {
+        }
+    }
+}
@@ -42,9 +42,10 @@ import lombok.Setter;
 import sinalgo.configuration.Configuration;
 import sinalgo.exception.CorruptConfigurationEntryException;
 import sinalgo.exception.NotYetImplementedException;
-import sinalgo.models.ConnectivityModelHelper;
+import sinalgo.models.DistanceConnectivityModelHelper;
+import sinalgo.models.DistanceConnectivityModelHelper.BulkUpdateCompatible;
+import sinalgo.models.Model.Shareable;
 import sinalgo.nodes.Node;
-import sinalgo.nodes.Position;
 import sinalgo.runtime.Main;
 import sinalgo.tools.statistics.Distribution;
 
@@ -84,7 +85,9 @@ import java.util.Random;
  * ]rMin, rMax] are randomly added or removed in each round. <br>
  * <br>
  */
-public class QUDG extends ConnectivityModelHelper {
+@BulkUpdateCompatible
+@Shareable
+public class QUDG extends DistanceConnectivityModelHelper {
 
     // the lower threshold of the distance between two nodes below they are always
     // connected
@@ -132,10 +135,11 @@ public class QUDG extends ConnectivityModelHelper {
      */
     @Override
     public boolean isConnected(Node from, Node to) {
-        Position p1 = from.getPosition();
-        Position p2 = to.getPosition();
+        return super.isConnected(from, to);
+    }
 
-        double d = p1.squareDistanceTo(p2);
+    @Override
+    protected boolean isConnected(Node from, Node to, double d) {
         if (d <= getR_min_squared()) {
             return true; // the two nodes are always connected
         }
@@ -154,6 +158,11 @@ public class QUDG extends ConnectivityModelHelper {
         return getRand().nextDouble() <= getProbability();
     }
 
+    @Override
+    public double getMaxConnectionDistance() {
+        return Math.sqrt(getR_max_squared());
+    }
+
     // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
     // -
     // Code to initialize the static variables of this class
@@ -162,7 +171,7 @@ public class QUDG extends ConnectivityModelHelper {
 
     @Getter(AccessLevel.PRIVATE)
     @Setter(AccessLevel.PRIVATE)
-    private static boolean initialized; // indicates whether the static fields of this class have already been
+    private static volatile boolean initialized; // indicates whether the static fields of this class have already been
     // initialized
 
     /**
@@ -177,53 +186,57 @@ public class QUDG extends ConnectivityModelHelper {
     public QUDG() throws CorruptConfigurationEntryException {
         // only call the first time a QUDG object is created
         if (!isInitialized()) {
-            // speed up by comparing the squared distances (needs not take the square root
-            // to get the distance)
-            double r_min = Configuration.getDoubleParameter("QUDG/rMin");
-            setR_min_squared(r_min * r_min);
-
-            double r_max = Configuration.getDoubleParameter("QUDG/rMax");
-            setR_max_squared(r_max * r_max);
-
-            // Sanity check
-            double geomNodeRMax = Configuration.getDoubleParameter("GeometricNodeCollection/rMax");
-            if (r_max > geomNodeRMax) { // dangerous! This is probably not what the user wants!
-                Main.minorError(
-                        "WARNING: The maximum transmission range used for the QUDG connectivity model is larger than the maximum transmission range specified for the GeometricNodeCollection.\nAs a result, not all connections will be found! Either fix the problem in the project-specific configuration file or the '-overwrite' command line argument.");
-            }
-            if (r_max <= r_min) {
-                Main.minorError(
-                        "WARNING: The maximum transmission range used for the QUDG connectivity model is not larger than the minimum tansmission range.\nEither fix the problem in the project-specific configuration file or the '-overwrite' command line argument.");
-            }
+            synchronized (QUDG.class) { // nodes may be generated by several threads
+                if (!isInitialized()) {
+                    // speed up by comparing the squared distances (needs not take the square root
+                    // to get the distance)
+                    double r_min = Configuration.getDoubleParameter("QUDG/rMin");
+                    setR_min_squared(r_min * r_min);
+
+                    double r_max = Configuration.getDoubleParameter("QUDG/rMax");
+                    setR_max_squared(r_max * r_max);
+
+                    // Sanity check
+                    double geomNodeRMax = Configuration.getDoubleParameter("GeometricNodeCollection/rMax");
+                    if (r_max > geomNodeRMax) { // dangerous! This is probably not what the user wants!
+                        Main.minorError(
+                                "WARNING: The maximum transmission range used for the QUDG connectivity model is larger than the maximum transmission range specified for the GeometricNodeCollection.\nAs a result, not all connections will be found! Either fix the problem in the project-specific configuration file or the '-overwrite' command line argument.");
+                    }
+                    if (r_max <= r_min) {
+                        Main.minorError(
+                                "WARNING: The maximum transmission range used for the QUDG connectivity model is not larger than the minimum tansmission range.\nEither fix the problem in the project-specific configuration file or the '-overwrite' command line argument.");
+                    }
+
+                    // TODO: rewrite the docu of this class
+                    String type = Configuration.getStringParameter("QUDG/ProbabilityType");
+                    switch (type.toLowerCase()) {
+                        case "constant":
+                            this.setProbabilityType(0);
+                            setProbability(Configuration.getDoubleParameter("QUDG/connectionProbability"));
+                            break;
+                        case "linear":
+                            this.setProbabilityType(1);
+                            setM(1 / (r_min - r_max));
+                            setQ(r_max / (r_max - r_min));
+                            break;
+                        case "quadratic":
+                            this.setProbabilityType(2);
+                            throw new NotYetImplementedException("QUDG does not yet support quadratic probability distributions.");
+                        default:
+                            // TODO: rewrite the following exception, rewrite docu as well
+                            throw new CorruptConfigurationEntryException(
+                                    "The QUDG connectivity model requires an entry in the project"
+                                            + " configuration file that specifies the kind of probability to be applied if the distance between two nodes "
+                                            + "lies between rMin and rMax. Possible values for ProbabilityType are 'constant', 'linear', and 'quadratic'.\n\n"
+                                            + "'constant' requires yet another entry 'connectionProbability', which specifies the constant probability at which the connection exists.\n\n"
+                                            + "'linear' applies a linear regression that decreases from 1 to 0 from rMin to rMax.\n\n"
+                                            + "'quadratic' applies a quadratic regression that decreases from 1 to 0 from rMin to rMax.\n\n");
+                    }
 
-            // TODO: rewrite the docu of this class
-            String type = Configuration.getStringParameter("QUDG/ProbabilityType");
-            switch (type.toLowerCase()) {
-                case "constant":
-                    this.setProbabilityType(0);
                     setProbability(Configuration.getDoubleParameter("QUDG/connectionProbability"));
-                    break;
-                case "linear":
-                    this.setProbabilityType(1);
-                    setM(1 / (r_min - r_max));
-                    setQ(r_max / (r_max - r_min));
-                    break;
-                case "quadratic":
-                    this.setProbabilityType(2);
-                    throw new NotYetImplementedException("QUDG does not yet support quadratic probability distributions.");
-                default:
-                    // TODO: rewrite the following exception, rewrite docu as well
-                    throw new CorruptConfigurationEntryException(
-                            "The QUDG connectivity model requires an entry in the project"
-                                    + " configuration file that specifies the kind of probability to be applied if the distance between two nodes "
-                                    + "lies between rMin and rMax. Possible values for ProbabilityType are 'constant', 'linear', and 'quadratic'.\n\n"
-                                    + "'constant' requires yet another entry 'connectionProbability', which specifies the constant probability at which the connection exists.\n\n"
-                                    + "'linear' applies a linear regression that decreases from 1 to 0 from rMin to rMax.\n\n"
-                                    + "'quadratic' applies a quadratic regression that decreases from 1 to 0 from rMin to rMax.\n\n");
+                    setInitialized(true);
+                }
             }
-
-            setProbability(Configuration.getDoubleParameter("QUDG/connectionProbability"));
-            setInitialized(true);
         }
     }
 
@@ -37,6 +37,7 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package projects.defaultProject.models.connectivityModels;
 
 import sinalgo.models.ConnectivityModel;
+import sinalgo.models.Model.Shareable;
 import sinalgo.nodes.Node;
 
 /**
@@ -44,6 +45,7 @@ import sinalgo.nodes.Node;
  * updeateConnections method of the ConnectivityModel class. This is a
  * ConnectivityModel to implement connections that do not change over time.
  */
+@Shareable
 public class StaticConnectivity extends ConnectivityModel {
 
     @Override
@@ -41,6 +41,7 @@ import lombok.Getter;
 import lombok.Setter;
 import sinalgo.exception.CorruptConfigurationEntryException;
 import sinalgo.exception.WrongConfigurationException;
+import sinalgo.models.DistanceConnectivityModelHelper.BulkUpdateCompatible;
 import sinalgo.nodes.Node;
 
 /**
@@ -50,6 +51,7 @@ import sinalgo.nodes.Node;
  *
  * @see projects.defaultProject.models.connectivityModels.UDG
  */
+@BulkUpdateCompatible
 public class StaticUDG extends UDG {
 
     @Getter(AccessLevel.PRIVATE)
@@ -66,6 +68,16 @@ public class StaticUDG extends UDG {
         }
     }
 
+    @Override
+    protected boolean isFrozen() {
+        return !this.isFirstTime();
+    }
+
+    @Override
+    protected void onBulkUpdateCompleted(Node n) {
+        this.setFirstTime(false);
+    }
+
     /**
      * The default constructor for this class.
      *
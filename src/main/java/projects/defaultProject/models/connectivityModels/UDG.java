@@ -41,9 +41,8 @@ import lombok.Getter;
 import lombok.Setter;
 import sinalgo.configuration.Configuration;
 import sinalgo.exception.CorruptConfigurationEntryException;
-import sinalgo.models.ConnectivityModelHelper;
+import sinalgo.models.DistanceConnectivityModelHelper;
 import sinalgo.nodes.Node;
-import sinalgo.nodes.Position;
 import sinalgo.runtime.Global;
 import sinalgo.runtime.Main;
 
@@ -64,19 +63,20 @@ import sinalgo.runtime.Main;
  * If this entry is not present, the value of <code>rMax</code> from the
  * GeometricNodeCollection is used.
  */
-public class UDG extends ConnectivityModelHelper {
+public class UDG extends DistanceConnectivityModelHelper {
 
     @Getter(AccessLevel.PRIVATE)
     @Setter(AccessLevel.PRIVATE)
     private double squareRadius;
 
     @Override
-    protected boolean isConnected(Node from, Node to) {
-        Position p1 = from.getPosition();
-        Position p2 = to.getPosition();
+    protected boolean isConnected(Node from, Node to, double squaredDistance) {
+        return (squaredDistance < this.getSquareRadius());
+    }
 
-        double distance = p1.squareDistanceTo(p2);
-        return (distance < this.getSquareRadius());
+    @Override
+    public double getMaxConnectionDistance() {
+        return this.getMaxTransmissionRange();
     }
 
     // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
@@ -87,7 +87,7 @@ public class UDG extends ConnectivityModelHelper {
 
     @Getter(AccessLevel.PRIVATE)
     @Setter(AccessLevel.PRIVATE)
-    private static boolean initialized; // indicates whether the static fields of this class have already been
+    private static volatile boolean initialized; // indicates whether the static fields of this class have already been
     // initialized
 
     @Getter(AccessLevel.PRIVATE)
@@ -124,22 +124,26 @@ public class UDG extends ConnectivityModelHelper {
      */
     public UDG() throws CorruptConfigurationEntryException {
         if (!isInitialized()) {
-            double geomNodeRMax = Configuration.getDoubleParameter("GeometricNodeCollection/rMax");
-            try {
-                setRMaxSquare(Configuration.getDoubleParameter("UDG/rMax"));
-            } catch (CorruptConfigurationEntryException e) {
-                Global.getLog().logln(
-                        "\nWARNING: There is no entry 'UDG/rMax' in the XML configuration file. This entry specifies the max. transmission range for the UDG connectivity model.\nThe simulation now uses GeometricNodeCollection/rMax instead.\n");
-                setRMaxSquare(geomNodeRMax);
-            }
-            if (getRMaxSquare() > geomNodeRMax) { // dangerous! This is probably not what the user wants!
-                Main.minorError(
-                        "WARNING: The maximum transmission range used for the UDG connectivity model is larger than the maximum transmission range specified for the GeometricNodeCollection.\nAs a result, not all connections will be found! Either fix the problem in the project-specific configuration file or the '-overwrite' command line argument.");
+            synchronized (UDG.class) { // nodes may be generated by several threads
+                if (!isInitialized()) {
+                    double geomNodeRMax = Configuration.getDoubleParameter("GeometricNodeCollection/rMax");
+                    try {
+                        setRMaxSquare(Configuration.getDoubleParameter("UDG/rMax"));
+                    } catch (CorruptConfigurationEntryException e) {
+                        Global.getLog().logln(
+                                "\nWARNING: There is no entry 'UDG/rMax' in the XML configuration file. This entry specifies the max. transmission range for the UDG connectivity model.\nThe simulation now uses GeometricNodeCollection/rMax instead.\n");
+                        setRMaxSquare(geomNodeRMax);
+                    }
+                    if (getRMaxSquare() > geomNodeRMax) { // dangerous! This is probably not what the user wants!
+                        Main.minorError(
+                                "WARNING: The maximum transmission range used for the UDG connectivity model is larger than the maximum transmission range specified for the GeometricNodeCollection.\nAs a result, not all connections will be found! Either fix the problem in the project-specific configuration file or the '-overwrite' command line argument.");
+                    }
+
+                    setRMaxSquare(getRMaxSquare() * getRMaxSquare());
+
+                    setInitialized(true);
+                }
             }
-
-            setRMaxSquare(getRMaxSquare() * getRMaxSquare());
-
-            setInitialized(true);
         }
         this.setSquareRadius(getRMaxSquare());
     }
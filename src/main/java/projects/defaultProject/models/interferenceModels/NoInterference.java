@@ -36,22 +36,21 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package projects.defaultProject.models.interferenceModels;
 
-import lombok.AccessLevel;
-import lombok.Getter;
-import lombok.Setter;
 import sinalgo.configuration.Configuration;
 import sinalgo.models.InterferenceModel;
+import sinalgo.models.Model.Shareable;
 import sinalgo.nodes.messages.Packet;
 import sinalgo.runtime.Main;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * A dummy interference model that does not consider intereference.
  */
+@Shareable
 public class NoInterference extends InterferenceModel {
 
-    @Getter(AccessLevel.PRIVATE)
-    @Setter(AccessLevel.PRIVATE)
-    private static boolean firstTime = true;
+    private static final AtomicBoolean firstTime = new AtomicBoolean(true); // nodes may be generated by several threads
 
     @Override
     public boolean isDisturbed(Packet p) {
@@ -63,12 +62,12 @@ public class NoInterference extends InterferenceModel {
      */
     public NoInterference() {
         super(false);
-        if (isFirstTime() && Configuration.isInterference() && Configuration.isShowOptimizationHints()) {
+        if (Configuration.isInterference() && Configuration.isShowOptimizationHints()
+                && firstTime.compareAndSet(true, false)) { // important to only have one message.
             Main.warning("At least some nodes use the 'NoInterference' interfernce model. "
                     + "If you do not consider interference at all in your project, you can "
                     + "considerably improve performance by turning off interference in the "
                     + "XML configuration file.");
-            setFirstTime(false); // important to only have one message.
         }
     }
 }
@@ -40,9 +40,11 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import sinalgo.configuration.Configuration;
+import sinalgo.configuration.Configuration.BoundToConfigEntry;
 import sinalgo.exception.CorruptConfigurationEntryException;
 import sinalgo.exception.SinalgoFatalException;
 import sinalgo.models.InterferenceModel;
+import sinalgo.models.Model.Shareable;
 import sinalgo.nodes.Position;
 import sinalgo.nodes.messages.Packet;
 import sinalgo.runtime.Global;
@@ -68,10 +70,16 @@ import sinalgo.tools.logging.LogL;
  */
 @Getter(AccessLevel.PRIVATE)
 @Setter(AccessLevel.PRIVATE)
+@Shareable
 public class SINR extends InterferenceModel {
 
+    @BoundToConfigEntry("SINR/alpha")
     private int alpha;// the path-loss exponent, good fefault value would be 2
+
+    @BoundToConfigEntry("SINR/beta")
     private double beta;// the threshold, good default value would be 0.5
+
+    @BoundToConfigEntry("SINR/noise")
     private double ambientNoise; // the ambient noise, good default value would be 0
 
     /**
@@ -79,19 +87,9 @@ public class SINR extends InterferenceModel {
      */
     public SINR() {
         try {
-            this.setAlpha(Configuration.getIntegerParameter("SINR/alpha"));
-        } catch (CorruptConfigurationEntryException e) {
-            throw new SinalgoFatalException("The configuration entry SINR/alpha is not a valid double:\n\n" + e.getMessage());
-        }
-        try {
-            this.setBeta(Configuration.getDoubleParameter("SINR/beta"));
-        } catch (CorruptConfigurationEntryException e) {
-            throw new SinalgoFatalException("The configuration entry SINR/beta is not a valid double:\n\n" + e.getMessage());
-        }
-        try {
-            this.setAmbientNoise(Configuration.getDoubleParameter("SINR/noise"));
+            Configuration.bindParameters(this);
         } catch (CorruptConfigurationEntryException e) {
-            throw new SinalgoFatalException("The configuration entry SINR/noise is not a valid double:\n\n" + e.getMessage());
+            throw new SinalgoFatalException("Invalid configuration entry for the SINR interference model:\n\n" + e.getMessage());
         }
     }
 
@@ -130,10 +128,11 @@ public class SINR extends InterferenceModel {
 
         boolean disturbed = signal < this.getBeta() * noise;
 
-        if (LogL.INTERFERENCE_DETAIL) {
-            Global.getLog().logln("Node " + p.getDestination().getID() + " is checking a packet from " + p.getOrigin().getID());
+        if (Global.getLog().isEnabled(LogL.INTERFERENCE_DETAIL)) {
+            Global.getLog().logln(LogL.INTERFERENCE_DETAIL, "Node {} is checking a packet from {}",
+                    p.getDestination().getID(), p.getOrigin().getID());
             if (disturbed) {
-                Global.getLog().logln("Dropped the message due to too much interference.");
+                Global.getLog().logln(LogL.INTERFERENCE_DETAIL, "Dropped the message due to too much interference.");
             }
         }
 
@@ -36,23 +36,22 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package projects.defaultProject.models.mobilityModels;
 
-import lombok.AccessLevel;
-import lombok.Getter;
-import lombok.Setter;
 import sinalgo.configuration.Configuration;
 import sinalgo.models.MobilityModel;
+import sinalgo.models.Model.Shareable;
 import sinalgo.nodes.Node;
 import sinalgo.nodes.Position;
 import sinalgo.runtime.Main;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Implements a mobility model under which nodes are not moving at all.
  */
+@Shareable
 public class NoMobility extends MobilityModel {
 
-    @Getter(AccessLevel.PRIVATE)
-    @Setter(AccessLevel.PRIVATE)
-    private static boolean firstTime = true;
+    private static final AtomicBoolean firstTime = new AtomicBoolean(true); // nodes may be generated by several threads
 
     @Override
     public Position getNextPos(Node n) {
@@ -64,11 +63,11 @@ public class NoMobility extends MobilityModel {
      */
     public NoMobility() {
         super(false);
-        if (isFirstTime() && Configuration.isMobility() && Configuration.isShowOptimizationHints()) {
+        if (Configuration.isMobility() && Configuration.isShowOptimizationHints()
+                && firstTime.compareAndSet(true, false)) { // important to only have one message.
             Main.warning("At least some nodes use the '" + this.getClass().getSimpleName() + "' mobility model. "
                     + "If you do not consider mobility at all in your project, you can "
                     + "considerably improve performance by turning off mobility in the " + "XML configuration file.");
-            setFirstTime(false); // important to only have one message.
         }
     }
 }
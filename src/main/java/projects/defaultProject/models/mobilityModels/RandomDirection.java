@@ -120,7 +120,7 @@ public class RandomDirection extends MobilityModel {
     // a flag set to true after initialization of the static vars of this class has been done.
     @Getter(AccessLevel.PROTECTED)
     @Setter(AccessLevel.PROTECTED)
-    private static boolean initialized;
+    private static volatile boolean initialized;
 
     @Getter(AccessLevel.PROTECTED)
     @Setter(AccessLevel.PROTECTED)
@@ -129,7 +129,11 @@ public class RandomDirection extends MobilityModel {
     @Getter(AccessLevel.PRIVATE)
     @Setter(AccessLevel.PRIVATE)
     // The vector that is added in each step to the current position of this node
-    private Position moveVector;
+    private Position moveVector = new Position();
+
+    // the position returned by getNextPos(), reused such that moving a node does not allocate
+    @Getter(AccessLevel.PRIVATE)
+    private final Position nextPosition = new Position();
 
     // the current position, to detect if the node has been moved
     // by other means than this mobility model between successive calls to getNextPos()
@@ -168,7 +172,7 @@ public class RandomDirection extends MobilityModel {
         this.setRemaining_hops((int) Math.ceil(moveTime));
         // determine the moveVector which is added in each round to the position of this
         // node
-        this.setMoveVector(new Position(dx / moveTime, dy / moveTime, dz / moveTime));
+        this.moveVector.assign(dx / moveTime, dy / moveTime, dz / moveTime);
     }
 
     @Override
@@ -189,7 +193,9 @@ public class RandomDirection extends MobilityModel {
                 double speed = Math.abs(getSpeedDistribution().nextSample()); // units per round
                 this.initializeNextMove(speed, mt + wt - fraction);
             }
-            this.setCurrentPosition(n.getPosition()); // initially, currentPos is null
+            // initially, currentPos is null; keep a copy, the node's position must only be changed through setPosition
+            Position p = n.getPosition();
+            this.setCurrentPosition(new Position(p.getXCoord(), p.getYCoord(), p.getZCoord()));
             this.setInitialize(false);
         }
 
@@ -260,7 +266,7 @@ public class RandomDirection extends MobilityModel {
             }
         } while (reflected);
 
-        Position result = new Position(newx, newy, newz);
+        this.nextPosition.assign(newx, newy, newz);
 
         if (this.remaining_hops <= 1) { // was last round of mobility
             // set the next waiting time that executes after this mobility phase
@@ -270,8 +276,8 @@ public class RandomDirection extends MobilityModel {
             this.remaining_hops--;
         }
 
-        this.currentPosition.assign(result);
-        return result;
+        this.currentPosition.assign(this.nextPosition);
+        return this.nextPosition;
     }
 
     /**
@@ -282,10 +288,14 @@ public class RandomDirection extends MobilityModel {
      */
     public RandomDirection() throws CorruptConfigurationEntryException {
         if (!isInitialized()) {
-            setMoveTimeDistribution(Distribution.getDistributionFromConfigFile("RandomDirection/MoveTime"));
-            setSpeedDistribution(Distribution.getDistributionFromConfigFile("RandomDirection/NodeSpeed"));
-            setWaitingTimeDistribution(Distribution.getDistributionFromConfigFile("RandomDirection/WaitingTime"));
-            setInitialized(true);
+            synchronized (RandomDirection.class) { // nodes may be generated by several threads
+                if (!isInitialized()) {
+                    setMoveTimeDistribution(Distribution.getDistributionFromConfigFile("RandomDirection/MoveTime"));
+                    setSpeedDistribution(Distribution.getDistributionFromConfigFile("RandomDirection/NodeSpeed"));
+                    setWaitingTimeDistribution(Distribution.getDistributionFromConfigFile("RandomDirection/WaitingTime"));
+                    setInitialized(true);
+                }
+            }
         }
     }
 }
@@ -112,7 +112,7 @@ public class RandomWayPoint extends MobilityModel {
     // a flag set to true after initialization of the static vars of this class has been done.
     @Getter(AccessLevel.PRIVATE)
     @Setter(AccessLevel.PRIVATE)
-    private static boolean initialized;
+    private static volatile boolean initialized;
 
     // a random generator of the framework
     @Getter(AccessLevel.PROTECTED)
@@ -125,6 +125,9 @@ public class RandomWayPoint extends MobilityModel {
     // The vector that is added in each step to the current position of this node
     private Position moveVector = new Position();
 
+    // the position returned by getNextPos(), reused such that moving a node does not allocate
+    private final Position nextPosition = new Position();
+
     // the current position, to detect if the node has been moved by other means than this mobility model between successive calls to getNextPos()
     private Position currentPosition;
 
@@ -146,8 +149,6 @@ public class RandomWayPoint extends MobilityModel {
             this.setCurrentPosition(new Position(0, 0, 0));
         }
 
-        Position nextPosition = new Position();
-
         // execute the waiting loop
         if (this.remaining_waitingTime > 0) {
             this.remaining_waitingTime--;
@@ -173,7 +174,7 @@ public class RandomWayPoint extends MobilityModel {
             this.moveVector.assign(newx, newy, newz);
         }
         if (this.remaining_hops <= 1) { // don't add the moveVector, as this may move over the destination.
-            nextPosition.assign(this.nextDestination);
+            this.nextPosition.assign(this.nextDestination);
             // set the next waiting time that executes after this mobility phase
             this.remaining_waitingTime = (int) Math.ceil(getWaitingTimeDistribution().nextSample());
             this.remaining_hops = 0;
@@ -181,11 +182,11 @@ public class RandomWayPoint extends MobilityModel {
             double newx = n.getPosition().getXCoord() + this.moveVector.getXCoord();
             double newy = n.getPosition().getYCoord() + this.moveVector.getYCoord();
             double newz = n.getPosition().getZCoord() + this.moveVector.getZCoord();
-            nextPosition.assign(newx, newy, newz);
+            this.nextPosition.assign(newx, newy, newz);
             this.remaining_hops--;
         }
-        this.currentPosition.assign(nextPosition);
-        return nextPosition;
+        this.currentPosition.assign(this.nextPosition);
+        return this.nextPosition;
     }
 
     /**
@@ -206,9 +207,13 @@ public class RandomWayPoint extends MobilityModel {
      */
     public RandomWayPoint() throws CorruptConfigurationEntryException {
         if (!isInitialized()) {
-            setSpeedDistribution(Distribution.getDistributionFromConfigFile("RandomWayPoint/Speed"));
-            setWaitingTimeDistribution(Distribution.getDistributionFromConfigFile("RandomWayPoint/WaitingTime"));
-            setInitialized(true);
+            synchronized (RandomWayPoint.class) { // nodes may be generated by several threads
+                if (!isInitialized()) {
+                    setSpeedDistribution(Distribution.getDistributionFromConfigFile("RandomWayPoint/Speed"));
+                    setWaitingTimeDistribution(Distribution.getDistributionFromConfigFile("RandomWayPoint/WaitingTime"));
+                    setInitialized(true);
+                }
+            }
         }
     }
 }
@@ -40,8 +40,10 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import sinalgo.configuration.Configuration;
+import sinalgo.configuration.Configuration.BoundToConfigEntry;
 import sinalgo.exception.CorruptConfigurationEntryException;
 import sinalgo.exception.SinalgoFatalException;
+import sinalgo.models.Model.Shareable;
 import sinalgo.models.ReliabilityModel;
 import sinalgo.nodes.messages.Packet;
 import sinalgo.tools.statistics.Distribution;
@@ -58,9 +60,11 @@ import java.util.Random;
  */
 @Getter(AccessLevel.PRIVATE)
 @Setter(AccessLevel.PRIVATE)
+@Shareable
 public class LossyDelivery extends ReliabilityModel {
 
     private Random rand = Distribution.getRandom();
+    @BoundToConfigEntry("LossyDelivery/dropRate")
     private double dropRate; // default is 0
 
     @Override
@@ -74,7 +78,7 @@ public class LossyDelivery extends ReliabilityModel {
      */
     public LossyDelivery() {
         try {
-            this.setDropRate(Configuration.getDoubleParameter("LossyDelivery/dropRate"));
+            Configuration.bindParameters(this);
         } catch (CorruptConfigurationEntryException e) {
             throw new SinalgoFatalException("Missing configuration entry for the Message Transmission Model:\n" + e.getMessage());
         }
@@ -36,12 +36,14 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package projects.defaultProject.models.reliabilityModels;
 
+import sinalgo.models.Model.Shareable;
 import sinalgo.models.ReliabilityModel;
 import sinalgo.nodes.messages.Packet;
 
 /**
  * A reliability model which never drops a message due to link-failures.
  */
+@Shareable
 public class ReliableDelivery extends ReliabilityModel {
 
     @Override
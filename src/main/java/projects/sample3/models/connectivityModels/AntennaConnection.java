@@ -50,7 +50,7 @@ import sinalgo.runtime.Main;
  */
 public class AntennaConnection extends ConnectivityModelHelper {
 
-    private static boolean initialized; // indicates whether the static fields of this class have already been
+    private static volatile boolean initialized; // indicates whether the static fields of this class have already been
     // initialized
     private static double rMaxSquare; // we reuse the rMax value from the GeometricNodeCollection.
 
@@ -61,20 +61,24 @@ public class AntennaConnection extends ConnectivityModelHelper {
      */
     public AntennaConnection() throws CorruptConfigurationEntryException {
         if (!initialized) { // only initialize once
-            double geomNodeRMax = Configuration.getDoubleParameter("GeometricNodeCollection/rMax");
-            try {
-                rMaxSquare = Configuration.getDoubleParameter("UDG/rMax");
-            } catch (CorruptConfigurationEntryException e) {
-                Global.getLog().logln(
-                        "\nWARNING: Did not find an entry for UDG/rMax in the XML configuration file. Using GeometricNodeCollection/rMax.\n");
-                rMaxSquare = geomNodeRMax;
+            synchronized (AntennaConnection.class) { // nodes may be generated by several threads
+                if (!initialized) {
+                    double geomNodeRMax = Configuration.getDoubleParameter("GeometricNodeCollection/rMax");
+                    try {
+                        rMaxSquare = Configuration.getDoubleParameter("UDG/rMax");
+                    } catch (CorruptConfigurationEntryException e) {
+                        Global.getLog().logln(
+                                "\nWARNING: Did not find an entry for UDG/rMax in the XML configuration file. Using GeometricNodeCollection/rMax.\n");
+                        rMaxSquare = geomNodeRMax;
+                    }
+                    if (rMaxSquare > geomNodeRMax) { // dangerous! This is probably not what the user wants!
+                        Main.minorError(
+                                "WARNING: The maximum transmission range used for the UDG connectivity model is larger than the maximum transmission range specified for the GeometricNodeCollection.\nAs a result, not all connections will be found! Either fix the problem in the project-specific configuration file or the '-overwrite' command line argument.");
+                    }
+                    rMaxSquare = rMaxSquare * rMaxSquare;
+                    initialized = true;
+                }
             }
-            if (rMaxSquare > geomNodeRMax) { // dangerous! This is probably not what the user wants!
-                Main.minorError(
-                        "WARNING: The maximum transmission range used for the UDG connectivity model is larger than the maximum transmission range specified for the GeometricNodeCollection.\nAs a result, not all connections will be found! Either fix the problem in the project-specific configuration file or the '-overwrite' command line argument.");
-            }
-            rMaxSquare = rMaxSquare * rMaxSquare;
-            initialized = true;
         }
     }
 
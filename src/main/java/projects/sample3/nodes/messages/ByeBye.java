@@ -1,11 +1,12 @@
 package projects.sample3.nodes.messages;
 
+import sinalgo.nodes.messages.ImmutableMessage;
 import sinalgo.nodes.messages.Message;
 
 /**
  * Sent by a mobile node when it decides to switch to another antenna
  */
-public class ByeBye extends Message {
+public class ByeBye extends Message implements ImmutableMessage {
 
     @Override
     public Message clone() {
@@ -1,11 +1,12 @@
 package projects.sample3.nodes.messages;
 
+import sinalgo.nodes.messages.ImmutableMessage;
 import sinalgo.nodes.messages.Message;
 
 /**
  * Sent by a mobile node to the antenna to subscribe
  */
-public class SubscirbeMessage extends Message {
+public class SubscirbeMessage extends Message implements ImmutableMessage {
 
     @Override
     public Message clone() {
@@ -36,6 +36,10 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package projects.sample4;
 
+import projects.sample4.nodes.nodeImplementations.S4Node;
+import sinalgo.configuration.Configuration;
+import sinalgo.exception.CorruptConfigurationEntryException;
+import sinalgo.exception.SinalgoFatalException;
 import sinalgo.nodes.Node;
 import sinalgo.runtime.AbstractCustomGlobal;
 import sinalgo.tools.Tools;
@@ -64,11 +68,42 @@ import java.awt.*;
  */
 public class CustomGlobal extends AbstractCustomGlobal {
 
+    // alternates between green and yellow floods, such that each flood reaches all nodes
+    private boolean floodGreen;
+
     @Override
     public boolean hasTerminated() {
         return false;
     }
 
+    @Override
+    public void handleEmptyEventQueue() {
+        // start a new flood from a random node if the AutoFlood flag is set. This
+        // keeps batch runs busy, e.g. for benchmarking.
+        try {
+            if (Configuration.hasParameter("AutoFlood") && Configuration.getBooleanParameter("AutoFlood")) {
+                // a flood from a node without neighbors would leave the event queue empty
+                S4Node n = null;
+                for (int i = 0; i < 100 && (n == null || n.getOutgoingConnections().size() == 0); i++) {
+                    n = (S4Node) Tools.getRandomNode();
+                }
+                if (n == null) {
+                    return;
+                }
+                this.floodGreen = !this.floodGreen;
+                if (this.floodGreen) {
+                    n.broadcastGREEN();
+                } else {
+                    n.broadcastYELLOW();
+                }
+            }
+        } catch (CorruptConfigurationEntryException e) {
+            throw new SinalgoFatalException("The 'AutoFlood' option in the configuration file specifies whether a random"
+                    + " node should start a new flood whenever the event queue is empty. This flag needs to be"
+                    + " of type boolean (true|false).");
+        }
+    }
+
     /**
      * An example of a method that will be available through the menu of the GUI.
      */
@@ -37,8 +37,12 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package projects.sample5;
 
 import projects.sample5.nodes.nodeImplementations.FNode;
+import sinalgo.configuration.Configuration;
+import sinalgo.exception.CorruptConfigurationEntryException;
+import sinalgo.exception.SinalgoFatalException;
 import sinalgo.nodes.Node;
 import sinalgo.runtime.AbstractCustomGlobal;
+import sinalgo.runtime.Global;
 import sinalgo.tools.Tools;
 
 import java.awt.*;
@@ -69,6 +73,30 @@ public class CustomGlobal extends AbstractCustomGlobal {
         return false;
     }
 
+    @Override
+    public void preRound() {
+        // If AutoSend is set to a positive number of rounds, a random node sends a
+        // message to another random node every AutoSend rounds. This keeps batch runs
+        // busy, e.g. for benchmarking.
+        try {
+            if (!Configuration.hasParameter("AutoSend")) {
+                return;
+            }
+            int interval = Configuration.getIntegerParameter("AutoSend");
+            if (interval > 0 && ((long) Global.getCurrentTime()) % interval == 0 && Tools.getNodeList().size() > 1) {
+                FNode sender = (FNode) Tools.getRandomNode();
+                Node destination = Tools.getRandomNode();
+                while (destination == sender) {
+                    destination = Tools.getRandomNode();
+                }
+                sender.sendMessageTo(destination);
+            }
+        } catch (CorruptConfigurationEntryException e) {
+            throw new SinalgoFatalException("The 'AutoSend' option in the configuration file specifies every how many"
+                    + " rounds a random node sends a message to another random node. It needs to be a valid integer.");
+        }
+    }
+
     @GlobalMethod(menuText = "Clear Routing Tables")
     public void clearRoutingTalbes() {
         for (Node n : Tools.getNodeList()) {
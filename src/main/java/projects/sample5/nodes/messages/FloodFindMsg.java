@@ -53,7 +53,7 @@ public class FloodFindMsg extends Message {
     public FloodFindMsg(int seqID, Node sender, Node dest) {
         this.setTtl(4); // initial TTL
         this.setFindMessage(true);
-        this.setHopsToSender(0);
+        this.setHopsToSender(1); // the receivers are one hop away from the sender
         this.setSequenceID(seqID);
         this.setSender(sender);
         this.setDestination(dest);
@@ -90,7 +90,7 @@ public class FNode extends Node {
                         if (re == null) { // add a new routing entry
                             this.routingTable.put(m.getSender(),
                                     new RoutingEntry(m.getSequenceID(), m.getHopsToSender(), inbox.getSender()));
-                            this.useNewRoutingInfo(m.getDestination(), inbox.getSender());
+                            this.useNewRoutingInfo(m.getSender(), inbox.getSender());
                         } else if (re.sequenceNumber < m.getSequenceID()) { // update the existing entry
                             re.numHops = m.getHopsToSender();
                             re.sequenceNumber = m.getSequenceID();
@@ -181,14 +181,24 @@ public class FNode extends Node {
             if (n == null) {
                 return; // aborted
             }
-            PayloadMsg msg = new PayloadMsg(n, FNode.this);
-            msg.setRequireACK(true);
-            msg.setSequenceNumber(++FNode.this.seqID);
-            PayloadMessageTimer t = new PayloadMessageTimer(msg);
-            t.startRelative(1, FNode.this);
+            this.sendMessageTo(n);
         }, "Select a node to send a message to...");
     }
 
+    /**
+     * Schedules this node to send an acknowledged payload message to the given
+     * node in the next round.
+     *
+     * @param destination The node to send the message to.
+     */
+    public void sendMessageTo(Node destination) {
+        PayloadMsg msg = new PayloadMsg(destination, this);
+        msg.setRequireACK(true);
+        msg.setSequenceNumber(++this.seqID);
+        PayloadMessageTimer t = new PayloadMessageTimer(msg);
+        t.startRelative(1, this);
+    }
+
     /**
      * Tries to send a message if there is a routing entry. If there is no routing
      * entry, a search is started, and the message is put in a buffer of messages on
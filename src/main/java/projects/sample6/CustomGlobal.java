@@ -39,8 +39,11 @@ package projects.sample6;
 import projects.sample6.nodes.nodeImplementations.LeafNode;
 import projects.sample6.nodes.nodeImplementations.TreeNode;
 import sinalgo.configuration.Configuration;
+import sinalgo.exception.CorruptConfigurationEntryException;
+import sinalgo.exception.SinalgoFatalException;
 import sinalgo.nodes.Node;
 import sinalgo.runtime.AbstractCustomGlobal;
+import sinalgo.runtime.Global;
 import sinalgo.runtime.SinalgoRuntime;
 import sinalgo.tools.Tools;
 
@@ -83,6 +86,43 @@ public class CustomGlobal extends AbstractCustomGlobal {
         this.buildTree(fanOut, numLeaves);
     }
 
+    /**
+     * Builds the tree at startup if BuildTree/numLeaves is set to a positive
+     * number, such that the tree can be used in batch mode.
+     */
+    @Override
+    public void preRun() {
+        int numLeaves = this.getTreeParameter("numLeaves", 0);
+        if (numLeaves > 0) {
+            this.buildTree(this.getTreeParameter("fanOut", 2), numLeaves);
+        }
+    }
+
+    /**
+     * If BuildTree/markInterval is set to a positive number of rounds, the root of
+     * the tree marks all nodes of the tree every markInterval rounds. This keeps
+     * batch runs busy, e.g. for benchmarking.
+     */
+    @Override
+    public void preRound() {
+        int interval = this.getTreeParameter("markInterval", 0);
+        if (this.root != null && interval > 0 && ((long) Global.getCurrentTime()) % interval == 0) {
+            this.root.colorKids();
+        }
+    }
+
+    private int getTreeParameter(String name, int defaultValue) {
+        String key = "BuildTree/" + name;
+        if (!Configuration.hasParameter(key)) {
+            return defaultValue;
+        }
+        try {
+            return Configuration.getIntegerParameter(key);
+        } catch (CorruptConfigurationEntryException e) {
+            throw new SinalgoFatalException("The '" + key + "' entry in the configuration file needs to be a valid integer.");
+        }
+    }
+
     /**
      * remove the markings from all nodes
      */
@@ -98,6 +138,8 @@ public class CustomGlobal extends AbstractCustomGlobal {
     private Vector<TreeNode> treeNodes = new Vector<>();
     // the leaves of the node
     private Vector<LeafNode> leaves = new Vector<>();
+    // the root of the tree, null if there is no tree
+    private TreeNode root;
 
     /**
      * Builds a tree for the specified number of leaves and fan-out, and removes all
@@ -191,6 +233,8 @@ public class CustomGlobal extends AbstractCustomGlobal {
             toProcess2 = swap;
         }
 
+        this.root = toProcess.isEmpty() ? null : toProcess.firstElement();
+
         // Repaint the GUI as we have added some nodes
         Tools.repaintGUI();
     }
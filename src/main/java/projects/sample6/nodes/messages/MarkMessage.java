@@ -1,11 +1,12 @@
 package projects.sample6.nodes.messages;
 
+import sinalgo.nodes.messages.ImmutableMessage;
 import sinalgo.nodes.messages.Message;
 
 /**
  * A message sent to children that should be marked.
  */
-public class MarkMessage extends Message {
+public class MarkMessage extends Message implements ImmutableMessage {
 
     @Override
     public Message clone() {
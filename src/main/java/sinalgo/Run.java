@@ -67,7 +67,6 @@ public class Run {
 
     public static void main(String args[]) {
         Thread.currentThread().setUncaughtExceptionHandler(new SinalgoUncaughtExceptionHandler());
-        Global.init();
 
         testJavaVersion();
 
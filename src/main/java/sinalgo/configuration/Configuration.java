@@ -64,10 +64,13 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static sinalgo.configuration.Configuration.ImplementationChoiceInConfigFile.ImplementationType.*;
 
@@ -287,6 +290,37 @@ public class Configuration {
             + "change their position to increase performance.")
     private static boolean mobility = true;
 
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("If set to true and all nodes use a distance based\n"
+            + "connectivity model (e.g. UDG or QUDG), the connections of all\n"
+            + "nodes are updated in one pass that evaluates each pair of close\n"
+            + "nodes only once.")
+    private static boolean bulkConnectivityUpdate = true;
+
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("If set to true, all nodes using the same model with\n"
+            + "the same parameters share a single instance of the model,\n"
+            + "provided that the model is annotated as Shareable.")
+    private static boolean shareModelInstances = true;
+
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("The number of threads constructing the nodes and their\n"
+            + "models when many nodes are generated at once, e.g. with the\n"
+            + "-gen command line argument. Use 0 to take one thread per\n"
+            + "processor. With more than one thread, the constructors of\n"
+            + "the nodes and their models must be thread-safe. Each thread\n"
+            + "draws from its own random generator, seeded from the seed of\n"
+            + "the simulation, such that the generated nodes depend on the\n"
+            + "seed and the number of threads. The nodes receive their IDs\n"
+            + "before their constructor runs, as with a single thread.")
+    private static int nodeGenerationThreads = 1;
+
     /** */
     @Getter
     @Setter
@@ -368,6 +402,18 @@ public class Configuration {
             + "immediately upon arrival in asynchronous mode.")
     private static boolean generateNAckMessages;
 
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("This flag only affects the asynchronous simulation mode\n"
+            + "without interference. When set to true, a broadcast creates a\n"
+            + "single packet and packet event for all neighbors whose message\n"
+            + "arrives at the same time, instead of one per neighbor. Note that\n"
+            + "the number of events given by -rounds and the single steps of the\n"
+            + "GUI then count such a packet event once, no matter to how many\n"
+            + "neighbors it delivers the message.")
+    private static boolean asynchronousMulticast;
+
     /** */
     @Getter
     @Setter
@@ -454,6 +500,128 @@ public class Configuration {
     @DefaultInConfigFile("If set to true, the log files are flushed every time\n" + "a new log is added.")
     private static boolean eagerFlush;
 
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("If set to true, the log files are written by a background\n"
+            + "thread. Log statements are placed in a bounded buffer and\n"
+            + "written in large blocks, such that the simulation does not\n"
+            + "wait for the disk. The eagerFlush flag is ignored in this mode.")
+    private static boolean asyncLogging;
+
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("The number of log statements the buffer of the asynchronous\n"
+            + "logging can hold. The value is rounded up to a power of two.")
+    private static int asyncLoggingBufferSize = 65536;
+
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("If set to true, log statements are dropped while the buffer\n"
+            + "of the asynchronous logging is full. Otherwise, the logging\n"
+            + "thread waits until the background thread has made room.")
+    private static boolean asyncLoggingDropOnOverflow;
+
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("Name of the binary trace file, which records the simulation\n"
+            + "events (sending, delivery and dropping of messages, changes\n"
+            + "of the nodes and edges) for offline analysis. The file is\n"
+            + "placed next to the log files. No trace is recorded if empty.\n"
+            + "Use sinalgo.tools.trace.TraceReader to convert the trace to CSV.")
+    private static String traceFileName = "";
+
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("The events written to the trace file, separated by ';',\n"
+            + "or 'all'. The events are SEND, DELIVER, DROP, NACK,\n"
+            + "INTERFERENCE, NODE_ADDED, NODE_REMOVED, EDGE_ADDED and\n"
+            + "EDGE_REMOVED.")
+    private static String traceEvents = "all";
+
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("Name of the file to which the metrics of the simulation\n"
+            + "(e.g. the number of sent, delivered and dropped messages)\n"
+            + "are written periodically. The file is placed next to the\n"
+            + "log files. No metrics are written if empty.")
+    private static String metricsFileName = "";
+
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("The format of the metrics file, either 'csv' or 'jsonl'\n"
+            + "(one JSON object per line).")
+    private static String metricsFormat = "csv";
+
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("In synchronous mode, the metrics are written every\n"
+            + "metricsSampleRounds rounds.")
+    private static int metricsSampleRounds = 1;
+
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("In asynchronous mode, the metrics are written every\n"
+            + "metricsSampleEvents events.")
+    private static int metricsSampleEvents = 10000;
+
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("If set to true, the time spent in each phase of the\n"
+            + "simulation loop (mobility, connectivity, interference, the\n"
+            + "steps of the nodes, the events, the GUI, ...) is measured and\n"
+            + "written to the default log file when the application exits.\n"
+            + "With a metrics file, the durations of the phases are also\n"
+            + "written to the metrics file.")
+    private static boolean profilePhases;
+
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("If profilePhases is set, the time spent in each phase\n"
+            + "is additionally written to the default log file every\n"
+            + "profileReportRounds rounds (synchronous mode), or every\n"
+            + "profileReportRounds * 1000 events (asynchronous mode).\n"
+            + "Use 0 to only write the report at exit.")
+    private static int profileReportRounds;
+
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("If set to true, the time spent in the methods implemented\n"
+            + "by the project (handleMessages, preStep, postStep, timers,\n"
+            + "message cloning, models, ...) is accumulated per class and\n"
+            + "written to the default log file when the application exits.")
+    private static boolean profileUserCode;
+
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("If set to true, the bytes allocated by the simulation\n"
+            + "thread are measured per round (synchronous mode) or per event\n"
+            + "(asynchronous mode), and written to the default log file when\n"
+            + "the application exits. Requires a JVM that supports the\n"
+            + "allocation counters of threads.")
+    private static boolean measureAllocations;
+
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("If measureAllocations is set, the number of rounds\n"
+            + "(synchronous mode) or events (asynchronous mode) that are not\n"
+            + "measured at the start of the simulation, until the pools and\n"
+            + "buffers of the framework have reached their steady-state size.")
+    private static int allocationWarmUp = 100;
+
     // -------------------------------------------------------------------------
     // GUI
     // -------------------------------------------------------------------------
@@ -623,13 +791,21 @@ public class Configuration {
     /** */
     @Getter
     @Setter
-    @OptionalInConfigFile("Node collection implementation for 2D.")
+    @OptionalInConfigFile("Node collection implementation for 2D. Use\n"
+            + "sinalgo.runtime.nodeCollection.SparseGeometric2DNodeCollection\n"
+            + "for large and sparsely populated deployment areas, or\n"
+            + "sinalgo.runtime.nodeCollection.KdTreeNodeCollection\n"
+            + "for clustered deployments.")
     private static String nodeCollection2D = "sinalgo.runtime.nodeCollection.Geometric2DNodeCollection";
 
     /** */
     @Getter
     @Setter
-    @OptionalInConfigFile("Node collection implementation for 3D.")
+    @OptionalInConfigFile("Node collection implementation for 3D. Use\n"
+            + "sinalgo.runtime.nodeCollection.SparseGeometric3DNodeCollection\n"
+            + "for large and sparsely populated deployment areas, or\n"
+            + "sinalgo.runtime.nodeCollection.KdTreeNodeCollection\n"
+            + "for clustered deployments.")
     private static String nodeCollection3D = "sinalgo.runtime.nodeCollection.Geometric3DNodeCollection";
 
     // -------------------------------------------------------------------------
@@ -745,6 +921,23 @@ public class Configuration {
     @OptionalInConfigFile("The dsfault value of the rounds field.")
     private static int defaultRoundNumber = 1;
 
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("The maximum number of unused objects (packets, edges, events)\n"
+            + "kept for recycling in the single free list of each object\n"
+            + "pool, which all threads share. Objects freed beyond this\n"
+            + "number are left to the garbage collector. Set to 0 for no limit.")
+    private static int objectPoolCapacity;
+
+    /** */
+    @Getter
+    @Setter
+    @OptionalInConfigFile("If set to true, the object pools keep track of all issued\n"
+            + "objects to help finding objects that are never freed.\n"
+            + "This slows down the simulation.")
+    private static boolean trackPooledObjects;
+
     ///**
     // * Indicates whether the three plotted frame lines are also exported to the eps
     // * as a dotted line.
@@ -899,7 +1092,14 @@ public class Configuration {
      * paramters.get("UDG/Sample/Factor");'. This will result in the String 'value'
      * to be "7".
      */
-    private static HashMap<String, String> parameters = new HashMap<>();
+    private static HashMap<String, ParameterEntry> parameters = new HashMap<>();
+
+    /**
+     * The entries of the parameters map, indexed by the keys exactly as passed to
+     * the methods retrieving them. As the keys are typically string constants,
+     * this avoids converting the key to lower-case for each access.
+     */
+    private static final Map<String, ParameterEntry> entriesByRequestedKey = new ConcurrentHashMap<>();
 
     /**
      * Adds a property entry to the list of properties.
@@ -908,7 +1108,34 @@ public class Configuration {
      * @param property The value of the property
      */
     public static void putPropertyEntry(String key, String property) {
-        parameters.put(key.toLowerCase(), property);
+        ParameterEntry entry = parameters.get(key.toLowerCase());
+        if (entry != null) {
+            entry.set(property); // keeps the entries already looked up valid
+        } else {
+            parameters.put(key.toLowerCase(), new ParameterEntry(property));
+        }
+    }
+
+    /**
+     * Looks up the entry of the configuration file with the given key.
+     *
+     * @param key The key of the entry, which is case-insensitive.
+     * @return The entry, null if there is no entry for the key.
+     */
+    private static ParameterEntry getEntry(String key) {
+        ParameterEntry entry = entriesByRequestedKey.get(key);
+        if (entry == null) {
+            entry = parameters.get(key.toLowerCase());
+            if (entry != null) {
+                entriesByRequestedKey.put(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    private static CorruptConfigurationEntryException missingEntry(String key) {
+        return new CorruptConfigurationEntryException(
+                "Missing entry in the configuration file: An entry for the key '" + key.toLowerCase() + "' is missing.");
     }
 
     /**
@@ -922,12 +1149,12 @@ public class Configuration {
      * @throws CorruptConfigurationEntryException If no entry is associated with the key.
      */
     public static String getStringParameter(String key) throws CorruptConfigurationEntryException {
-        key = key.toLowerCase();
-        if (parameters.containsKey(key)) {
-            return parameters.get(key);
+        ParameterEntry entry = getEntry(key);
+        if (entry != null) {
+            return entry.getValue();
         } else {
             throw new CorruptConfigurationEntryException(
-                    "Missing entry in the configuration file: An entry for the key '" + key
+                    "Missing entry in the configuration file: An entry for the key '" + key.toLowerCase()
                             + "' is missing in the config file of project '" + Global.getProjectName() + "'.");
         }
     }
@@ -942,7 +1169,7 @@ public class Configuration {
      * @return true if there is an entry for this key, otherwise false.
      */
     public static boolean hasParameter(String key) {
-        return parameters.containsKey(key.toLowerCase());
+        return getEntry(key) != null;
     }
 
     /**
@@ -957,18 +1184,15 @@ public class Configuration {
      *                                            converted to a double.
      */
     public static double getDoubleParameter(String key) throws CorruptConfigurationEntryException {
-        key = key.toLowerCase();
-        if (parameters.containsKey(key)) {
-            try {
-                return Double.parseDouble(parameters.get(key));
-            } catch (NumberFormatException e) {
-                throw new CorruptConfigurationEntryException(
-                        "The entry '" + key + "' in the configuration file cannot be converted to a double value.");
-            }
-        } else {
-            throw new CorruptConfigurationEntryException(
-                    "Missing entry in the configuration file: An entry for the key '" + key + "' is missing.");
+        ParameterEntry entry = getEntry(key);
+        if (entry == null) {
+            throw missingEntry(key);
         }
+        if (!entry.isDouble()) {
+            throw new CorruptConfigurationEntryException("The entry '" + key.toLowerCase()
+                    + "' in the configuration file cannot be converted to a double value.");
+        }
+        return entry.getDoubleValue();
     }
 
     /**
@@ -983,18 +1207,38 @@ public class Configuration {
      *                                            converted to a integer.
      */
     public static int getIntegerParameter(String key) throws CorruptConfigurationEntryException {
-        key = key.toLowerCase();
-        if (parameters.containsKey(key)) {
-            try {
-                return Integer.parseInt(parameters.get(key));
-            } catch (NumberFormatException e) {
-                throw new CorruptConfigurationEntryException(
-                        "The entry '" + key + "' in the configuration file cannot be converted to a integer value.");
-            }
-        } else {
-            throw new CorruptConfigurationEntryException(
-                    "Missing entry in the configuration file: An entry for the key '" + key + "' is missing.");
+        ParameterEntry entry = getEntry(key);
+        if (entry == null) {
+            throw missingEntry(key);
+        }
+        if (!entry.isInteger()) {
+            throw new CorruptConfigurationEntryException("The entry '" + key.toLowerCase()
+                    + "' in the configuration file cannot be converted to a integer value.");
+        }
+        return entry.getIntegerValue();
+    }
+
+    /**
+     * Retrieves an entry of the configuration file corresponding to the given key
+     * and converts it to a long value.
+     *
+     * @param key The key of the configuration entry, which is first converted to
+     *            lower case.
+     * @return The entry in the configuration file corresponding to the key,
+     * converted to a long.
+     * @throws CorruptConfigurationEntryException If no entry is associated with the key or the entry cannot be
+     *                                            converted to a long.
+     */
+    public static long getLongParameter(String key) throws CorruptConfigurationEntryException {
+        ParameterEntry entry = getEntry(key);
+        if (entry == null) {
+            throw missingEntry(key);
         }
+        if (!entry.isLong()) {
+            throw new CorruptConfigurationEntryException("The entry '" + key.toLowerCase()
+                    + "' in the configuration file cannot be converted to a long value.");
+        }
+        return entry.getLongValue();
     }
 
     /**
@@ -1008,13 +1252,11 @@ public class Configuration {
      * @throws CorruptConfigurationEntryException If no entry is associated with the key.
      */
     public static boolean getBooleanParameter(String key) throws CorruptConfigurationEntryException {
-        key = key.toLowerCase();
-        if (parameters.containsKey(key)) {
-            return Boolean.parseBoolean(parameters.get(key));
-        } else {
-            throw new CorruptConfigurationEntryException(
-                    "Missing entry in the configuration file: An entry for the key '" + key + "' is missing.");
+        ParameterEntry entry = getEntry(key);
+        if (entry == null) {
+            throw missingEntry(key);
         }
+        return entry.getBooleanValue();
     }
 
     /**
@@ -1030,12 +1272,11 @@ public class Configuration {
      *                                            class).
      */
     public static Color getColorParameter(String key) throws CorruptConfigurationEntryException {
-        key = key.toLowerCase();
-        if (!parameters.containsKey(key)) {
-            throw new CorruptConfigurationEntryException(
-                    "Missing entry in the configuration file: An entry for the key '" + key + "' is missing.");
+        ParameterEntry entry = getEntry(key);
+        if (entry == null) {
+            throw missingEntry(key);
         }
-        String color = parameters.get(key);
+        String color = entry.getValue();
         try {
             Field f = Color.class.getDeclaredField(color.toLowerCase());
             return (Color) f.get(null);
@@ -1046,6 +1287,114 @@ public class Configuration {
         }
     }
 
+    /**
+     * The annotation to be used for fields that are set from an entry of the
+     * configuration file by {@link #bindParameters(Object)}. The value is the key of
+     * the entry, e.g. "SINR/alpha". Fields of type double, int, long, boolean,
+     * String and Color are supported.
+     */
+    @Target(ElementType.FIELD)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface BoundToConfigEntry {
+
+        /** */
+        String value();
+
+        /**
+         * Set to true if the field keeps its value when the configuration file has no
+         * such entry, otherwise, a missing entry is reported as an error.
+         */
+        boolean optional() default false;
+    }
+
+    /**
+     * A field annotated with {@link BoundToConfigEntry}, resolved once per class.
+     */
+    private static final class BoundField {
+
+        private final Field field;
+        private final String key;
+        private final boolean optional;
+
+        private BoundField(Field field, BoundToConfigEntry annotation) {
+            this.field = field;
+            this.key = annotation.value();
+            this.optional = annotation.optional();
+            field.setAccessible(true);
+        }
+    }
+
+    private static final ClassValue<BoundField[]> boundFields = new ClassValue<BoundField[]>() {
+
+        @Override
+        protected BoundField[] computeValue(Class<?> c) {
+            List<BoundField> result = new ArrayList<>();
+            for (Class<?> k = c; k != null && k != Object.class; k = k.getSuperclass()) {
+                for (Field f : k.getDeclaredFields()) {
+                    BoundToConfigEntry annotation = f.getAnnotation(BoundToConfigEntry.class);
+                    if (annotation != null) {
+                        result.add(new BoundField(f, annotation));
+                    }
+                }
+            }
+            return result.toArray(new BoundField[0]);
+        }
+    };
+
+    /**
+     * Sets all fields of an object annotated with {@link BoundToConfigEntry} to the
+     * value of the corresponding entry of the configuration file. Static fields are
+     * set as well.
+     * <p>
+     * The annotated fields of each class are looked up only once, and each entry
+     * of the configuration file is parsed only once per type, such that binding the
+     * fields of a new object is cheap. Typically, a model calls this method in its
+     * constructor:
+     *
+     * <pre>
+     * &#64;BoundToConfigEntry("SINR/alpha")
+     * private int alpha;
+     *
+     * public SINR() throws CorruptConfigurationEntryException {
+     *     Configuration.bindParameters(this);
+     * }
+     * </pre>
+     *
+     * @param target The object whose fields are set.
+     * @throws CorruptConfigurationEntryException If an entry is missing or cannot be converted to the type of
+     *                                            the field.
+     */
+    public static void bindParameters(Object target) throws CorruptConfigurationEntryException {
+        for (BoundField b : boundFields.get(target.getClass())) {
+            if (b.optional && getEntry(b.key) == null) {
+                continue;
+            }
+            Class<?> type = b.field.getType();
+            try {
+                if (type == double.class) {
+                    b.field.setDouble(target, getDoubleParameter(b.key));
+                } else if (type == int.class) {
+                    b.field.setInt(target, getIntegerParameter(b.key));
+                } else if (type == long.class) {
+                    b.field.setLong(target, getLongParameter(b.key));
+                } else if (type == boolean.class) {
+                    b.field.setBoolean(target, getBooleanParameter(b.key));
+                } else if (type == String.class) {
+                    b.field.set(target, getStringParameter(b.key));
+                } else if (type == Color.class) {
+                    b.field.set(target, getColorParameter(b.key));
+                } else {
+                    throw new SinalgoFatalException("The field '" + b.field.getName() + "' of "
+                            + b.field.getDeclaringClass().getName() + " cannot be bound to the configuration entry '"
+                            + b.key + "': fields of type " + type.getSimpleName() + " are not supported.");
+                }
+            } catch (IllegalAccessException e) {
+                throw new SinalgoFatalException("Cannot set the field '" + b.field.getName() + "' of "
+                        + b.field.getDeclaringClass().getName() + " to the configuration entry '" + b.key + "'.", e);
+            }
+        }
+    }
+
     /*-**********************************************************************************************
      * BEGIN of ADDITIONAL SETTINGS
      *
@@ -1342,8 +1691,8 @@ public class Configuration {
                 + "------------------------------------------------------");
         // sort the custom settings
         SortableVector<String> sv = new SortableVector<>();
-        for (Entry<String, String> e : parameters.entrySet()) {
-            sv.add(" " + e.getKey() + " = " + e.getValue());
+        for (Entry<String, ParameterEntry> e : parameters.entrySet()) {
+            sv.add(" " + e.getKey() + " = " + e.getValue().getValue());
         }
         sv.sort(); // sorts ascending
         for (String s : sv) {
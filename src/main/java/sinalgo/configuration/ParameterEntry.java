@@ -0,0 +1,143 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.configuration;
+
+import lombok.Getter;
+
+/**
+ * An entry of the configuration file. The value is parsed into a number the
+ * first time it is retrieved as such a number, and the result is kept, such
+ * that retrieving the entry again does not parse the value again. Entries that
+ * are never retrieved as numbers are never parsed.
+ */
+final class ParameterEntry {
+
+    private static final byte UNPARSED = 0;
+    private static final byte VALID = 1;
+    private static final byte INVALID = 2;
+
+    @Getter
+    private volatile String value;
+
+    // the parsed values, and whether the value has been parsed and is valid for the type
+    private double doubleValue;
+    private volatile byte doubleState;
+    private int integerValue;
+    private volatile byte integerState;
+    private long longValue;
+    private volatile byte longState;
+
+    ParameterEntry(String value) {
+        this.set(value);
+    }
+
+    /**
+     * Replaces the value of this entry.
+     *
+     * @param value The new value of the entry.
+     */
+    void set(String value) {
+        this.value = value;
+        this.doubleState = UNPARSED;
+        this.integerState = UNPARSED;
+        this.longState = UNPARSED;
+    }
+
+    /**
+     * @return True if the value of this entry is a double, in which case
+     * {@link #getDoubleValue()} returns it.
+     */
+    boolean isDouble() {
+        if (this.doubleState == UNPARSED) {
+            try {
+                this.doubleValue = Double.parseDouble(this.value);
+                this.doubleState = VALID;
+            } catch (NumberFormatException | NullPointerException e) {
+                this.doubleState = INVALID;
+            }
+        }
+        return this.doubleState == VALID;
+    }
+
+    double getDoubleValue() {
+        return this.doubleValue;
+    }
+
+    /**
+     * @return True if the value of this entry is an integer, in which case
+     * {@link #getIntegerValue()} returns it.
+     */
+    boolean isInteger() {
+        if (this.integerState == UNPARSED) {
+            try {
+                this.integerValue = Integer.parseInt(this.value);
+                this.integerState = VALID;
+            } catch (NumberFormatException e) {
+                this.integerState = INVALID;
+            }
+        }
+        return this.integerState == VALID;
+    }
+
+    int getIntegerValue() {
+        return this.integerValue;
+    }
+
+    /**
+     * @return True if the value of this entry is a long, in which case
+     * {@link #getLongValue()} returns it.
+     */
+    boolean isLong() {
+        if (this.longState == UNPARSED) {
+            try {
+                this.longValue = Long.parseLong(this.value);
+                this.longState = VALID;
+            } catch (NumberFormatException e) {
+                this.longState = INVALID;
+            }
+        }
+        return this.longState == VALID;
+    }
+
+    long getLongValue() {
+        return this.longValue;
+    }
+
+    boolean getBooleanValue() {
+        return Boolean.parseBoolean(this.value);
+    }
+}
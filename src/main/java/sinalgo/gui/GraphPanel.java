@@ -57,6 +57,7 @@ import sinalgo.nodes.edges.Edge;
 import sinalgo.runtime.Global;
 import sinalgo.runtime.Main;
 import sinalgo.runtime.SinalgoRuntime;
+import sinalgo.runtime.nodeCollection.NodeQueryCursor;
 import sinalgo.tools.Tuple;
 import sinalgo.tools.logging.LogL;
 import sinalgo.tools.logging.Logging;
@@ -126,6 +127,12 @@ public class GraphPanel extends JPanel {
     // The first time we draw the graph, apply the default view
     private boolean defaultViewOnNextDraw = true;
 
+    // the biggest size in pixels of the nodes drawn by the last paint, 0 if
+    // unknown. Used to restrict the search for nodes under the cursor.
+    private int maxNodeDrawingSizeInPixels;
+    private NodeQueryCursor hitTestCursor = new NodeQueryCursor();
+    private Position hitTestPosition = new Position();
+
     /**
      * A boolean indicating whether the graph was already painted once or not.
      */
@@ -315,7 +322,7 @@ public class GraphPanel extends JPanel {
      */
     private void draw(Graphics g) {
         synchronized (this.getPt()) {
-            this.getLog().logln(LogL.GUI_SEQ, "GraphPanel.draw(): draw imgSize=(" + this.getImageSizeX() + "," + this.getImageSizeY() + ")");
+            this.getLog().logln(LogL.GUI_SEQ, "GraphPanel.draw(): draw imgSize=({},{})", this.getImageSizeX(), this.getImageSizeY());
             if (this.isDefaultViewOnNextDraw()) {
                 this.defaultViewWithoutRedraw();
                 this.setDefaultViewOnNextDraw(false);
@@ -345,13 +352,16 @@ public class GraphPanel extends JPanel {
                     }
                 }
                 // Draw the nodes in a separate loop
+                this.setMaxNodeDrawingSizeInPixels(0);
                 if (Configuration.isDrawNodes()) {
                     // Draw the nodes in a separate loop
+                    Node.setMaxDrawingSizeInPixels(0);
                     nodeEnumer = SinalgoRuntime.getNodes().getSortedNodeEnumeration(true);
                     while (nodeEnumer.hasMoreElements()) {
                         Node node = nodeEnumer.nextElement();
                         node.draw(g, this.getPt(), false);
                     }
+                    this.setMaxNodeDrawingSizeInPixels(Node.getMaxDrawingSizeInPixels());
                 }
             } catch (ConcurrentModificationException eME) {
                 // catch the concurrent modification exception from the iterators of the
@@ -647,6 +657,25 @@ public class GraphPanel extends JPanel {
      * no node covers this position.
      */
     public Node getFirstNodeAtPosition(int x, int y) {
+        PositionTransformation t = this.getPt();
+        if (Configuration.getDimensions() == 2 && t.supportReverseTranslation() && this.getMaxNodeDrawingSizeInPixels() > 0) {
+            // only nodes within the diagonal of the biggest node drawn can cover (x,y)
+            t.translateToLogicPosition(x, y);
+            this.getHitTestPosition().assign(t.getLogicX(), t.getLogicY(), 0);
+            double radius = Math.sqrt(2) * (0.5 * this.getMaxNodeDrawingSizeInPixels() + 1) / t.getZoomFactor();
+            NodeQueryCursor cursor = SinalgoRuntime.getNodes().getNodesInRadius(this.getHitTestPosition(), radius,
+                    this.getHitTestCursor());
+            Node closest = null;
+            double closestDistance = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < cursor.size(); i++) {
+                Node node = cursor.getNode(i);
+                if (cursor.getDistance(i) < closestDistance && node.isInside(x, y, t)) {
+                    closest = node;
+                    closestDistance = cursor.getDistance(i);
+                }
+            }
+            return closest;
+        }
         Enumeration<Node> nodeEnumer = SinalgoRuntime.getNodes().getSortedNodeEnumeration(false);
         while (nodeEnumer.hasMoreElements()) {
             Node node = nodeEnumer.nextElement();
@@ -854,7 +883,7 @@ public class GraphPanel extends JPanel {
                     }
                 }
                 if (clickedNode != null) {
-                    Global.getLog().logln(LogL.GUI_DETAIL, "User clicked on node " + clickedNode.getID());
+                    Global.getLog().logln(LogL.GUI_DETAIL, "User clicked on node {}", clickedNode.getID());
                     GraphPanel.this.getNodePopupMenu().compose(clickedNode);
                     GraphPanel.this.getNodePopupMenu().show(event.getComponent(), event.getX(), event.getY());
                 } else if (clickedEdge != null) {
@@ -1219,7 +1248,7 @@ public class GraphPanel extends JPanel {
             // react to pressing escape
             if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
                 if (GraphPanel.this.getNodeToDrag() != null) { // stop dragging a node, and undo
-                    GraphPanel.this.getNodeToDrag().getPosition().assign(GraphPanel.this.getNodeToDragInitialPosition());
+                    GraphPanel.this.getNodeToDrag().setPosition(GraphPanel.this.getNodeToDragInitialPosition());
                     GraphPanel.this.setNodeToDragDrawCoordCube(null);
                     GraphPanel.this.setNodeToDrag(null);
                     GraphPanel.this.getParentGUI().redrawGUI(); // node position has changed, full repaint
@@ -52,6 +52,7 @@ import sinalgo.models.DistributionModel;
 import sinalgo.models.InterferenceModel;
 import sinalgo.models.MobilityModel;
 import sinalgo.models.Model;
+import sinalgo.models.ModelType;
 import sinalgo.models.ReliabilityModel;
 import sinalgo.nodes.Node;
 import sinalgo.nodes.Position;
@@ -376,21 +377,14 @@ public class GenerateNodesDialog extends JDialog implements ActionListener, Prog
         Node node = Node.createNodeByClassname(this.getNodeTypeSel());
         node.setPosition(pos);
 
-        InterferenceModel im = Model.getInterferenceModelInstance(this.getInterferenceSel());
-        im.setParamString(this.getInterferenceDefString());
-        node.setInterferenceModel(im);
-
-        MobilityModel mm = Model.getMobilityModelInstance(this.getMobilitySel());
-        mm.setParamString(this.getMobilityDefString());
-        node.setMobilityModel(mm);
-
-        ReliabilityModel rm = Model.getReliabilityModelInstance(this.getReliabilitySel());
-        rm.setParamString(this.getReliabilityDefString());
-        node.setReliabilityModel(rm);
-
-        ConnectivityModel cm = Model.getConnectivityModelInstance(this.getConnectivitySel());
-        cm.setParamString(this.getConnectivityDefString());
-        node.setConnectivityModel(cm);
+        node.setInterferenceModel((InterferenceModel) Model.getModelInstanceForNode(ModelType.InterferenceModel,
+                this.getInterferenceSel(), this.getInterferenceDefString()));
+        node.setMobilityModel((MobilityModel) Model.getModelInstanceForNode(ModelType.MobilityModel,
+                this.getMobilitySel(), this.getMobilityDefString()));
+        node.setReliabilityModel((ReliabilityModel) Model.getModelInstanceForNode(ModelType.ReliabilityModel,
+                this.getReliabilitySel(), this.getReliabilityDefString()));
+        node.setConnectivityModel((ConnectivityModel) Model.getModelInstanceForNode(ModelType.ConnectivityModel,
+                this.getConnectivitySel(), this.getConnectivityDefString()));
         return node;
     }
 
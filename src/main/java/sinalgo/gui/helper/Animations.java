@@ -50,25 +50,46 @@ public class Animations {
      */
     public static void drawEnvelopes(Graphics g, PositionTransformation pt) {
         double time = Tools.getGlobalTime();
-        synchronized (Packet.ISSUED_PACKETS) {
-            for (Packet p : Packet.ISSUED_PACKETS) {
-                if (p.getArrivingTime() < time || p.getSendingTime() > time || p.getOrigin() == null || p.getDestination() == null) {
-                    continue;
-                }
-                double fraction = (time - p.getSendingTime()) / (p.getArrivingTime() - p.getSendingTime());
-                Position startPos = p.getOrigin().getPosition();
-                Position endPos = p.getDestination().getPosition();
-                double x = startPos.getXCoord() + (endPos.getXCoord() - startPos.getXCoord()) * fraction;
-                double y = startPos.getYCoord() + (endPos.getYCoord() - startPos.getYCoord()) * fraction;
-                double z = startPos.getZCoord() + (endPos.getZCoord() - startPos.getZCoord()) * fraction;
-                pt.translateToGUIPosition(x, y, z);
-                Color c = p.getMessage().getEnvelopeColor(); // may return null, in which case the default color is chosen
-                if (c == null) {
-                    c = Configuration.getMessageAnimationEnvelopeColor();
+        Packet.getPool().forEachIssued(p -> {
+            if (p.getArrivingTime() < time || p.getSendingTime() > time || p.getOrigin() == null || p.getDestination() == null
+                    || p.getMessage() == null) {
+                return; // not being sent, or just being freed
+            }
+            double fraction = (time - p.getSendingTime()) / (p.getArrivingTime() - p.getSendingTime());
+            Color c = p.getMessage().getEnvelopeColor(); // may return null, in which case the default color is chosen
+            if (c == null) {
+                c = Configuration.getMessageAnimationEnvelopeColor();
+            }
+            if (p.isMulticast()) {
+                // one envelope per receiver of the broadcast
+                for (int i = 0; i < p.getNumReceivers(); i++) {
+                    if (p.getReceiver(i) != null) {
+                        drawEnvelope(g, pt, p.getOrigin().getPosition(), p.getReceiver(i).getPosition(), fraction, c);
+                    }
                 }
-                drawEnvelope(g, pt.getGuiX(), pt.getGuiY(), pt.getZoomFactor(), c);
+            } else {
+                drawEnvelope(g, pt, p.getOrigin().getPosition(), p.getDestination().getPosition(), fraction, c);
             }
-        }
+        });
+    }
+
+    /**
+     * Draws an envelope on the direct line of sight between two positions.
+     *
+     * @param g        The graphics to paint to
+     * @param pt       The position transformation object
+     * @param startPos The position of the sender
+     * @param endPos   The position of the receiver
+     * @param fraction The fraction of the way already covered by the envelope
+     * @param color    The color of the envelope
+     */
+    private static void drawEnvelope(Graphics g, PositionTransformation pt, Position startPos, Position endPos,
+                                     double fraction, Color color) {
+        double x = startPos.getXCoord() + (endPos.getXCoord() - startPos.getXCoord()) * fraction;
+        double y = startPos.getYCoord() + (endPos.getYCoord() - startPos.getYCoord()) * fraction;
+        double z = startPos.getZCoord() + (endPos.getZCoord() - startPos.getZCoord()) * fraction;
+        pt.translateToGUIPosition(x, y, z);
+        drawEnvelope(g, pt.getGuiX(), pt.getGuiY(), pt.getZoomFactor(), color);
     }
 
 }
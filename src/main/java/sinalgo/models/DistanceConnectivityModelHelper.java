@@ -0,0 +1,241 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.models;
+
+import sinalgo.configuration.Configuration;
+import sinalgo.nodes.Node;
+import sinalgo.runtime.SinalgoRuntime;
+import sinalgo.runtime.nodeCollection.AbstractNodeCollection;
+import sinalgo.runtime.nodeCollection.AbstractNodeCollection.NodePairVisitor;
+import sinalgo.tools.metrics.HotSpotProfiler;
+import sinalgo.tools.metrics.HotSpotProfiler.Callback;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A helper class for connectivity models that decide whether two nodes are
+ * connected based on their distance, such as the UDG.
+ * <p>
+ * Subclasses implement {@link #isConnected(Node, Node, double)}, which receives
+ * the squared distance between the two nodes, and
+ * {@link #getMaxConnectionDistance()}. When all nodes use such a model, the
+ * framework updates the connections of all nodes in one pass: it visits every
+ * pair of nodes closer than the biggest maximal connection distance only once,
+ * computes their squared distance once and asks the models of both nodes
+ * whether they are connected. Otherwise, or if
+ * <code>bulkConnectivityUpdate</code> is turned off in the configuration file,
+ * the connections of each node are updated separately, as for any other
+ * ConnectivityModelHelper.
+ * <p>
+ * The bulk update does not call {@link #isConnected(Node, Node)} nor
+ * {@link #updateConnections(Node)}. Therefore, the connections are updated
+ * separately as well if the model of a node, or one of its superclasses,
+ * overrides one of these methods, unless that class is annotated with
+ * {@link BulkUpdateCompatible}.
+ */
+public abstract class DistanceConnectivityModelHelper extends ConnectivityModelHelper {
+
+    /**
+     * @return The maximal distance at which this model may connect two nodes. This
+     * distance should not exceed the rMax of the node collection.
+     */
+    public abstract double getMaxConnectionDistance();
+
+    /**
+     * Function to find out, if two nodes are connected when evaluating the current
+     * Connectivity Model. The connectivity is always checked only in one direction,
+     * from node 'from' to node 'to'.
+     *
+     * @param from            The origin of a connection you want to check.
+     * @param to              The Target of a connection you want to check.
+     * @param squaredDistance The squared distance between the two nodes.
+     * @return If the two Nodes are connected in the specified direction.
+     */
+    protected abstract boolean isConnected(Node from, Node to, double squaredDistance);
+
+    @Override
+    protected boolean isConnected(Node from, Node to) {
+        return this.isConnected(from, to, from.getPosition().squareDistanceTo(to.getPosition()));
+    }
+
+    /**
+     * Indicates whether the connections of nodes using this model are currently
+     * not updated at all, e.g. because the model is static. Frozen nodes keep all
+     * their outgoing connections during a bulk update.
+     *
+     * @return True if the outgoing connections of the nodes using this model must not
+     * be changed, false by default.
+     */
+    protected boolean isFrozen() {
+        return false;
+    }
+
+    /**
+     * Called on the model of each node after a bulk update of the connections of
+     * all nodes has completed.
+     *
+     * @param n The node using this model.
+     */
+    protected void onBulkUpdateCompleted(Node n) {
+    }
+
+    /**
+     * This annotation marks subclasses of DistanceConnectivityModelHelper whose
+     * overrides of {@link #isConnected(Node, Node)} or
+     * {@link #updateConnections(Node)} agree with the bulk update of the
+     * connections, e.g. because they only delegate to the superclass or are
+     * replaced by {@link #isFrozen()} during the bulk update.
+     * <p>
+     * This annotation is not inherited, i.e. each subclass overriding one of these
+     * methods needs to be annotated itself.
+     */
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface BulkUpdateCompatible {
+
+    }
+
+    /**
+     * Whether the classes of models may take part in the bulk update, i.e. none of
+     * the classes between the model class and this class overrides
+     * {@link #isConnected(Node, Node)} or {@link #updateConnections(Node)} without
+     * being annotated with {@link BulkUpdateCompatible}.
+     */
+    private static final ClassValue<Boolean> BULK_UPDATE_COMPATIBLE = new ClassValue<Boolean>() {
+
+        @Override
+        protected Boolean computeValue(Class<?> c) {
+            for (Class<?> k = c; k != DistanceConnectivityModelHelper.class; k = k.getSuperclass()) {
+                if (!k.isAnnotationPresent(BulkUpdateCompatible.class)
+                        && (declares(k, "isConnected", Node.class, Node.class) || declares(k, "updateConnections", Node.class))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    };
+
+    private static boolean declares(Class<?> c, String name, Class<?>... parameterTypes) {
+        try {
+            c.getDeclaredMethod(name, parameterTypes);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    // the number of nodes using each model class in the bulk update in progress, only counted for the profiler
+    private static final Map<Class<?>, Integer> modelClasses = new HashMap<>();
+
+    // whether the bulk update in progress records the changes of the neighborhood of the nodes
+    private static boolean recordChanges;
+
+    private static final NodePairVisitor PAIR_VISITOR = (n1, n2, squaredDistance) -> {
+        connectIfConnected(n1, n2, squaredDistance);
+        connectIfConnected(n2, n1, squaredDistance);
+    };
+
+    private static void connectIfConnected(Node from, Node to, double squaredDistance) {
+        DistanceConnectivityModelHelper model = (DistanceConnectivityModelHelper) from.getConnectivityModel();
+        if (!model.isFrozen() && model.isConnected(from, to, squaredDistance)) {
+            // add returns false if the edge is new
+            if (!from.getOutgoingConnections().add(from, to, true) && recordChanges) {
+                from.setNeighborhoodChanged(true);
+            }
+        }
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Updates the connections of all nodes in one pass, provided
+     * that the bulk update is enabled in the configuration file and all nodes use
+     * a DistanceConnectivityModelHelper that does not override the per-node
+     * methods, see {@link BulkUpdateCompatible}.
+     *
+     * @param recordChanges Set to true to record for each node whether its neighborhood has
+     *                      changed, as {@link Node#updateConnections()} does.
+     * @return True if the connections have been updated, false if the connections
+     * of each node need to be updated separately.
+     */
+    public static boolean updateAllConnections(boolean recordChanges) {
+        if (!Configuration.isBulkConnectivityUpdate()) {
+            return false;
+        }
+        AbstractNodeCollection nodes = SinalgoRuntime.getNodes();
+        boolean profile = HotSpotProfiler.isEnabled();
+        modelClasses.clear();
+        double maxDistance = 0;
+        for (Node n : nodes) {
+            if (!(n.getConnectivityModel() instanceof DistanceConnectivityModelHelper)
+                    || !BULK_UPDATE_COMPATIBLE.get(n.getConnectivityModel().getClass())) {
+                return false;
+            }
+            maxDistance = Math.max(maxDistance,
+                    ((DistanceConnectivityModelHelper) n.getConnectivityModel()).getMaxConnectionDistance());
+            if (recordChanges) {
+                n.setNeighborhoodChanged(false);
+            }
+            if (profile) {
+                modelClasses.merge(n.getConnectivityModel().getClass(), 1, Integer::sum);
+            }
+        }
+        // the time of the pass is charged to the model classes as if each node had been updated separately
+        long start = HotSpotProfiler.start();
+        try {
+            DistanceConnectivityModelHelper.recordChanges = recordChanges;
+            nodes.forEachNodePair(maxDistance, PAIR_VISITOR);
+            // remove the edges that have not been marked 'valid' in this pass
+            for (Node n : nodes) {
+                DistanceConnectivityModelHelper model = (DistanceConnectivityModelHelper) n.getConnectivityModel();
+                if (!model.isFrozen() && n.getOutgoingConnections().removeInvalidLinks() && recordChanges) {
+                    n.setNeighborhoodChanged(true);
+                }
+            }
+            for (Node n : nodes) {
+                ((DistanceConnectivityModelHelper) n.getConnectivityModel()).onBulkUpdateCompleted(n);
+            }
+        } finally {
+            HotSpotProfiler.stop(Callback.CONNECTIVITY_MODEL, modelClasses, start);
+        }
+        return true;
+    }
+}
@@ -36,13 +36,12 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package sinalgo.models;
 
-import lombok.AccessLevel;
-import lombok.Getter;
-import lombok.Setter;
 import sinalgo.configuration.Configuration;
 import sinalgo.nodes.messages.Packet;
 import sinalgo.runtime.Main;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * The Superclass for all interference models. Extend this class to implement a
  * concrete Interference model.
@@ -52,9 +51,7 @@ import sinalgo.runtime.Main;
  */
 public abstract class InterferenceModel extends Model {
 
-    @Getter(AccessLevel.PRIVATE)
-    @Setter(AccessLevel.PRIVATE)
-    private static boolean firstTime = true;
+    private static final AtomicBoolean firstTime = new AtomicBoolean(true); // nodes may be generated by several threads
 
     /**
      * The framework calls this method to determine whether a given packet is
@@ -81,10 +78,9 @@ public abstract class InterferenceModel extends Model {
      * The default constructor tests that interference is enabled.
      */
     protected InterferenceModel() {
-        if (isFirstTime() && !Configuration.isInterference()) {
+        if (!Configuration.isInterference() && firstTime.compareAndSet(true, false)) { // important to only have one message.
             Main.warning(
                     "Some nodes are using an interference model even though interference is explicitly turned off in the XML Configuration file.");
-            setFirstTime(false); // important to only have one message.
         }
     }
 
@@ -96,10 +92,9 @@ public abstract class InterferenceModel extends Model {
      *              performed if false.
      */
     protected InterferenceModel(boolean check) {
-        if (check && isFirstTime() && !Configuration.isInterference()) {
+        if (check && !Configuration.isInterference() && firstTime.compareAndSet(true, false)) {
             Main.warning(
                     "Some nodes are using an interference model even though interference is explicitly turned off in the XML Configuration file.");
-            setFirstTime(false);
         }
     }
 }
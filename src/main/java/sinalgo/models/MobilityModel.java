@@ -41,18 +41,24 @@ import sinalgo.nodes.Node;
 import sinalgo.nodes.Position;
 import sinalgo.runtime.Main;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * The superclass for all the MobilityModels. Extend it to implement a concrete
  * mobility model.
  */
 public abstract class MobilityModel extends Model {
 
-    private static boolean firstTime = true;
+    private static final AtomicBoolean firstTime = new AtomicBoolean(true); // nodes may be generated by several threads
 
     /**
      * This method returns the next position of a node. It is called from the system
      * to update the position of the nodes during the update pass of a round.
      *
+     * The framework copies the coordinates of the returned position into the
+     * position of the node. Therefore, a mobility model may return the same
+     * position object from each call instead of allocating a new one.
+     *
      * @param n The node to get the next position for.
      * @return The next position oth the given node.
      */
@@ -67,10 +73,9 @@ public abstract class MobilityModel extends Model {
      * The default constructor tests that mobility is enabled.
      */
     protected MobilityModel() {
-        if (firstTime && !Configuration.isMobility()) {
+        if (!Configuration.isMobility() && firstTime.compareAndSet(true, false)) { // important to only have one message.
             Main.warning(
                     "Some nodes are using a mobility model even though mobility is explicitly turned off in the XML Configuration file.");
-            firstTime = false; // important to only have one message.
         }
     }
 
@@ -82,10 +87,9 @@ public abstract class MobilityModel extends Model {
      *              false.
      */
     protected MobilityModel(boolean check) {
-        if (check && firstTime && !Configuration.isMobility()) {
+        if (check && !Configuration.isMobility() && firstTime.compareAndSet(true, false)) {
             Main.warning(
                     "Some nodes are using an mobility model even though mobility is explicitly turned off in the XML Configuration file.");
-            firstTime = false;
         }
     }
 }
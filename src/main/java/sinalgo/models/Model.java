@@ -38,11 +38,19 @@ package sinalgo.models;
 
 import sinalgo.configuration.Configuration;
 import sinalgo.exception.WrongConfigurationException;
+import sinalgo.tools.ConstructorCache;
 import sinalgo.tools.Tuple;
 
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This model class provides some static functionalities to create models.
@@ -79,6 +87,102 @@ public abstract class Model {
      */
     public abstract ModelType getType();
 
+    /**
+     * This annotation marks models that keep no state per node, such that a single
+     * instance of the model may serve all nodes.
+     * <p>
+     * When a node is created with a model annotated this way, the framework reuses
+     * the instance of the model already created for other nodes with the same
+     * parameter string, instead of creating a new one. Thus, such a model must not
+     * store any information about the node it is used by, and any changes made to
+     * the model affect all nodes sharing it.
+     * <p>
+     * This annotation is not inherited, i.e. each subclass of a shareable model
+     * needs to be annotated itself.
+     * <p>
+     * The sharing of model instances can be turned off with the
+     * <code>shareModelInstances</code> entry of the configuration file.
+     */
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Shareable {
+
+    }
+
+    /**
+     * Whether the classes of models are annotated with {@link Shareable}.
+     */
+    private static final ClassValue<Boolean> SHAREABLE = new ClassValue<Boolean>() {
+
+        @Override
+        protected Boolean computeValue(Class<?> c) {
+            return c.isAnnotationPresent(Shareable.class);
+        }
+    };
+
+    /**
+     * The instances of shareable models used by the nodes, indexed by the class of
+     * the model and its parameter string.
+     */
+    private static final Map<Class<?>, Map<String, Model>> sharedInstances = new ConcurrentHashMap<>();
+
+    /**
+     * Tests whether the nodes share the instances of a given model class, see
+     * {@link Shareable}.
+     *
+     * @param c The class of a model.
+     * @return True if the class is annotated with {@link Shareable} and the sharing of
+     * models is enabled in the configuration file, otherwise false.
+     */
+    public static boolean isShareable(Class<?> c) {
+        return Configuration.isShareModelInstances() && SHAREABLE.get(c);
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Returns the instance of a shareable model already used by other
+     * nodes.
+     *
+     * @param c           The class of the model.
+     * @param paramString The parameter string of the model.
+     * @return The shared instance of the model, null if the model is not shareable or
+     * there is no such instance yet.
+     */
+    public static Model getSharedInstance(Class<?> c, String paramString) {
+        if (!isShareable(c)) {
+            return null;
+        }
+        Map<String, Model> instances = sharedInstances.get(c);
+        return instances == null ? null : instances.get(paramString);
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Offers a newly created model to be shared among the nodes. If
+     * another instance with the same class and parameter string has been shared in
+     * the meantime, that instance is returned instead.
+     *
+     * @param m The newly created model.
+     * @return The model to use.
+     */
+    public static Model shareInstance(Model m) {
+        if (!isShareable(m.getClass())) {
+            return m;
+        }
+        Model existing = sharedInstances.computeIfAbsent(m.getClass(), c -> new ConcurrentHashMap<>())
+                .putIfAbsent(m.getParamString(), m);
+        return existing == null ? m : existing;
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Discards the shared model instances, such that nodes created
+     * afterwards use new instances.
+     */
+    public static void clearSharedInstances() {
+        sharedInstances.clear();
+    }
+
     /**
      * Returns the class-object of a given model.
      *
@@ -93,6 +197,11 @@ public abstract class Model {
      * @throws WrongConfigurationException If the specified class cannot be found or created.
      */
     public static Class<?> getModelClass(ModelType type, String className) throws WrongConfigurationException {
+        Map<String, Class<?>> classesOfType = modelClasses.get(type);
+        Class<?> cached = classesOfType.get(className);
+        if (cached != null) {
+            return cached;
+        }
         String modelName = type.name();
         // replace first letter with lower-case version and append an 's'
         modelName = modelName.substring(0, 1).toLowerCase() + modelName.substring(1) + "s";
@@ -113,6 +222,7 @@ public abstract class Model {
             throw new WrongConfigurationException(e, "Cannot generate class for the " + modelName + ". The class "
                     + className + " cannot be found. (" + e.getMessage() + ")");
         }
+        classesOfType.put(className, result);
 
         return result;
     }
@@ -140,6 +250,33 @@ public abstract class Model {
         return getModelInstance(c, className, parameters);
     }
 
+    /**
+     * Returns a model to be used by a node, given the name of the model and its
+     * parameter string. If the model is {@link Shareable}, all nodes requesting the
+     * same model with the same parameter string obtain the same instance.
+     * Otherwise, a new instance is created.
+     *
+     * @param type        The type of the model.
+     * @param className   The name of the model, see
+     *                    {@link #getModelInstance(ModelType, String, Object...)}.
+     * @param paramString The parameter string of the model.
+     * @return An instance of the specified model.
+     * @throws WrongConfigurationException If the constructor cannot be created or the instanciation fails.
+     *                                     Note: call <code>getCause()</code> to obtain the original
+     *                                     exception.
+     */
+    public static Model getModelInstanceForNode(ModelType type, String className, String paramString)
+            throws WrongConfigurationException {
+        Class<?> c = getModelClass(type, className);
+        Model result = getSharedInstance(c, paramString);
+        if (result == null) {
+            result = getModelInstance(c, className);
+            result.setParamString(paramString);
+            result = shareInstance(result);
+        }
+        return result;
+    }
+
     /**
      * Creates an instance of a connectivity model given the name of the model.
      *
@@ -283,13 +420,18 @@ public abstract class Model {
     private static Model getModelInstance(Class<?> c, String className, Object... parameters)
             throws WrongConfigurationException {
         Class<?>[] types = new Class[parameters.length];
-        for (Object parameter : parameters) {
-            types[1] = parameter.getClass();
+        for (int i = 0; i < parameters.length; i++) {
+            types[i] = parameters[i].getClass();
         }
         Model result;
         try {
-            Constructor<?> constructor = c.getConstructor(types);
-            result = (Model) constructor.newInstance(parameters);
+            if (parameters.length == 0) {
+                // the constructor is resolved only once per model class
+                result = (Model) ConstructorCache.newInstance(c);
+            } else {
+                Constructor<?> constructor = c.getConstructor(types);
+                result = (Model) constructor.newInstance(parameters);
+            }
         } catch (SecurityException e) {
             throw new WrongConfigurationException("Cannot generate constructor of the model '" + className
                     + "' due to a SecurityException: " + e.getMessage());
@@ -329,7 +471,16 @@ public abstract class Model {
      */
     private static HashMap<String, ModelType> modelEnumPrefix = new HashMap<>();
 
+    /**
+     * The model classes resolved by {@link #getModelClass(ModelType, String)},
+     * indexed by the type and the name of the model.
+     */
+    private static final EnumMap<ModelType, Map<String, Class<?>>> modelClasses = new EnumMap<>(ModelType.class);
+
     static {
+        for (ModelType type : ModelType.values()) {
+            modelClasses.put(type, new ConcurrentHashMap<>());
+        }
         // initialize the mapping from prefix to ModelEnum
         modelEnumPrefix.put("C", ModelType.ConnectivityModel);
         modelEnumPrefix.put("D", ModelType.DistributionModel);
@@ -43,8 +43,11 @@ import sinalgo.nodes.messages.Packet;
 import sinalgo.nodes.messages.PacketCollection;
 import sinalgo.runtime.Global;
 import sinalgo.runtime.SinalgoRuntime;
+import sinalgo.tools.metrics.MetricsRegistry;
 import sinalgo.tools.storage.DoublyLinkedList;
 import sinalgo.tools.storage.ReusableListIterator;
+import sinalgo.tools.trace.TraceEvent;
+import sinalgo.tools.trace.TraceRecorder;
 
 /**
  * A list implementation that holds the messages arriving at a node.
@@ -61,7 +64,7 @@ public class InboxPacketBuffer extends DoublyLinkedList<Packet> implements Packe
      * The default constructor of the dllPacketBuffer-class.
      */
     public InboxPacketBuffer() {
-        super();
+        super(false, Packet.DLL_SLOT_INBOX_BUFFER);
     }
 
     /**
@@ -73,10 +76,11 @@ public class InboxPacketBuffer extends DoublyLinkedList<Packet> implements Packe
      *
      * @param keepFinger If set to true, entries keep their finger for for later reuse (in
      *                   this or a different list) when they are removed from this list.
-     *                   When set to false, the finger is removed.
+     *                   When set to false, the finger is removed. Has no effect, as
+     *                   packets reserve a fixed finger slot for this list.
      */
     public InboxPacketBuffer(boolean keepFinger) {
-        super(keepFinger);
+        super(keepFinger, Packet.DLL_SLOT_INBOX_BUFFER);
     }
 
     @Override
@@ -112,10 +116,15 @@ public class InboxPacketBuffer extends DoublyLinkedList<Packet> implements Packe
                 }
                 if (p.isPositiveDelivery()) {
                     // successful transmission
+                    TraceRecorder.recordPacket(TraceEvent.DELIVER, p);
+                    MetricsRegistry.messageDelivered(p);
                     this.arrivingPackets.add(p);
                 } else {
                     // failed transmission, drop the package
+                    TraceRecorder.recordPacket(TraceEvent.DROP, p);
+                    MetricsRegistry.MESSAGES_DROPPED.increment();
                     if (Configuration.isGenerateNAckMessages()) {
+                        TraceRecorder.recordPacket(TraceEvent.NACK, p);
                         p.getOrigin().addNackPacket(p); // return the packet to the sender
                     } else {
                         Packet.free(p);
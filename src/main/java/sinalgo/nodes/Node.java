@@ -51,6 +51,7 @@ import sinalgo.models.ConnectivityModel;
 import sinalgo.models.InterferenceModel;
 import sinalgo.models.MobilityModel;
 import sinalgo.models.Model;
+import sinalgo.models.ModelType;
 import sinalgo.models.ReliabilityModel;
 import sinalgo.nodes.edges.Edge;
 import sinalgo.nodes.messages.Inbox;
@@ -66,20 +67,30 @@ import sinalgo.runtime.Main;
 import sinalgo.runtime.SinalgoRuntime;
 import sinalgo.runtime.events.PacketEvent;
 import sinalgo.runtime.nodeCollection.NodeCollectionInfoInterface;
+import sinalgo.tools.ConstructorCache;
 import sinalgo.tools.logging.LogL;
+import sinalgo.tools.metrics.HotSpotProfiler;
+import sinalgo.tools.metrics.HotSpotProfiler.Callback;
+import sinalgo.tools.metrics.MetricsRegistry;
 import sinalgo.tools.storage.DoublyLinkedListEntry;
 import sinalgo.tools.storage.ReusableListIterator;
 import sinalgo.tools.storage.SortableVector;
+import sinalgo.tools.trace.TraceEvent;
+import sinalgo.tools.trace.TraceRecorder;
 
 import java.awt.*;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
-import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The base class for all node implementations.
@@ -244,6 +255,9 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
      * @return The collection of timers currently active at this node.
      */
     public TimerCollection getTimers() {
+        if (this.timers == null) {
+            this.timers = new TimerCollection();
+        }
         return this.timers;
     }
 
@@ -286,16 +300,38 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
      * @see Node#createNodeByClassname(String)
      */
     @Getter
-    @Setter
     private long ID;
 
+    /**
+     * Sets the ID of this node. The system requires two nodes not to have the same
+     * ID.
+     *
+     * @param id The new ID of this node.
+     */
+    public void setID(long id) {
+        long oldID = this.ID;
+        this.ID = id;
+        if (this.isHoldInNodeCollection()) {
+            SinalgoRuntime.getNodes().nodeIDChanged(this, oldID);
+        }
+    }
+
     /**
      * The collection of all outgoing Links.
      */
     @Getter
-    @Setter
     private Connections outgoingConnections = new NodeOutgoingConnectionsList(true);
 
+    /**
+     * Sets the collection of all outgoing links.
+     *
+     * @param outgoingConnections The new collection of outgoing links.
+     */
+    public void setOutgoingConnections(Connections outgoingConnections) {
+        this.outgoingConnections = outgoingConnections;
+        this.edgeIteratorInstance = null; // bound to the previous collection
+    }
+
     /**
      * Adds a (unidirectional) connection from this node to another node.
      * <p>
@@ -408,9 +444,9 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
     public final void send(Message m, Node target, double intensity) {
         Edge connection = null;
         // check, if a connection to the destination node exists
-        this.edgeIteratorInstance.reset();
-        while (this.edgeIteratorInstance.hasNext()) {
-            Edge edge = this.edgeIteratorInstance.next();
+        ReusableListIterator<Edge> edgeIter = this.getEdgeIteratorInstance();
+        while (edgeIter.hasNext()) {
+            Edge edge = edgeIter.next();
             if (edge.getEndNode().equals(target)) {
                 connection = edge;
                 break;
@@ -455,13 +491,8 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
      * @param target The destination node of the message
      */
     public final void sendDirect(Message msg, Node target) {
-        Message clonedMsg = msg.clone(); // send a copy of the message
-        if (clonedMsg == null) {
-            throw new SinalgoFatalException("The clone() method of '" + msg.getClass().getName() + "' returns null \n"
-                    + "instead of a copy of the message.");
-        }
-        Packet packet = Packet.fabricatePacket(clonedMsg);
-        double transmissionTime = Global.getMessageTransmissionModel().timeToReach(this, target, msg);
+        Packet packet = Packet.fabricatePacket(msg.getCopyForDelivery());
+        double transmissionTime = timeToReach(this, target, msg);
 
         // fill in the data of the header
         packet.setArrivingTime(Global.getCurrentTime() + transmissionTime);
@@ -472,8 +503,9 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
         packet.setIntensity(this.intensity);
         packet.setPositiveDelivery(true); // no disturbtion
         packet.setType(PacketType.UNICAST);
+        TraceRecorder.recordPacket(TraceEvent.SEND, packet);
 
-        Global.setNumberOfMessagesInThisRound(Global.getNumberOfMessagesInThisRound() + 1); // statistics
+        MetricsRegistry.MESSAGES_SENT.increment(); // statistics
 
         if (Global.isAsynchronousMode()) {
             // add a packet event to the event list
@@ -657,9 +689,33 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
      * the 'defaultDrwaingSizeInPixels' member.
      */
     @Getter(AccessLevel.PROTECTED)
-    @Setter(AccessLevel.PROTECTED)
     private int drawingSizeInPixels;
 
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> The biggest drawing size (in pixels) assigned to any node
+     * since this member was last reset. The GUI uses it to restrict the search
+     * for the node under the cursor.
+     *
+     * @param maxDrawingSizeInPixels The new maximum, typically 0 to reset it.
+     * @return The biggest drawing size assigned to any node since the last reset.
+     */
+    @Getter
+    @Setter
+    private static int maxDrawingSizeInPixels;
+
+    /**
+     * Sets the diameter (in pixels) at which this node is drawn.
+     *
+     * @param drawingSizeInPixels The diameter in pixels.
+     */
+    protected void setDrawingSizeInPixels(int drawingSizeInPixels) {
+        this.drawingSizeInPixels = drawingSizeInPixels;
+        if (drawingSizeInPixels > maxDrawingSizeInPixels) {
+            maxDrawingSizeInPixels = drawingSizeInPixels;
+        }
+    }
+
     /**
      * The default size of this node (in pixels) when the zoom factor equals 1.
      * The size is specified in pixels and denotes the size of this node when
@@ -938,18 +994,30 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
     public final void step() throws WrongConfigurationException {
 
         // update the message buffer
-        this.getPacketBuffer().updateMessageBuffer();
+        if (this.packetBuffer != null) {
+            this.packetBuffer.updateMessageBuffer();
+        }
 
-        this.preStep();
+        long start = HotSpotProfiler.start();
+        try {
+            this.preStep();
+        } finally {
+            HotSpotProfiler.stop(Callback.PRE_STEP, this, start);
+        }
 
         // check, if some connections have changed in the last step
         if (this.neighborhoodChanged) {
-            this.neighborhoodChange();
+            start = HotSpotProfiler.start();
+            try {
+                this.neighborhoodChange();
+            } finally {
+                HotSpotProfiler.stop(Callback.NEIGHBORHOOD_CHANGE, this, start);
+            }
         }
 
         timersToHandle.clear();
         // Fire all timers which are going off in this round
-        if (this.timers.size() > 0) {
+        if (this.timers != null && this.timers.size() > 0) {
             Iterator<Timer> it = this.timers.iterator();
             while (it.hasNext()) {
                 Timer timer = it.next();
@@ -966,7 +1034,12 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
             // sort timers by their exact time when they expired
             timersToHandle.sort();
             for (Timer t : timersToHandle) {
-                t.fire();
+                start = HotSpotProfiler.start();
+                try {
+                    t.fire();
+                } finally {
+                    HotSpotProfiler.stop(Callback.TIMER_FIRE, t, start);
+                }
             }
         }
 
@@ -974,21 +1047,43 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
         // not arrive.
         if (Configuration.isGenerateNAckMessages()) {
             PacketCollection pc = Global.isEvenRound() ? this.nAckBufferEvenRound : this.nAckBufferOddRound;
+            if (pc == null) {
+                pc = emptyPacketCollection; // this node has never had a dropped message
+            }
             if (this.getNackBox() == null) {
                 this.setNackBox(new NackBox(pc));
             } else {
                 this.getNackBox().resetForList(pc);
             }
-            this.handleNAckMessages(this.getNackBox());
+            start = HotSpotProfiler.start();
+            try {
+                this.handleNAckMessages(this.getNackBox());
+            } finally {
+                HotSpotProfiler.stop(Callback.HANDLE_NACK_MESSAGES, this, start);
+            }
         }
 
         // call the 'handleMessages' ALWAYS, and pass the appropriate Inbox. This Inbox
         // can also be a an Iterator over an empty list.
-        this.setInbox(this.getPacketBuffer().getInbox());
-        this.handleMessages(this.getInbox());
+        if (this.packetBuffer != null) {
+            this.setInbox(this.packetBuffer.getInbox());
+        } else { // this node has never received a message
+            this.setInbox(emptyInbox.resetForList(emptyPacketCollection));
+        }
+        start = HotSpotProfiler.start();
+        try {
+            this.handleMessages(this.getInbox());
+        } finally {
+            HotSpotProfiler.stop(Callback.HANDLE_MESSAGES, this, start);
+        }
 
         // a custom method that may do something at the end of the step
-        this.postStep();
+        start = HotSpotProfiler.start();
+        try {
+            this.postStep();
+        } finally {
+            HotSpotProfiler.stop(Callback.POST_STEP, this, start);
+        }
 
         // all the packets in the inbox and nackBox are not used anymore and can be
         // freed.
@@ -1015,10 +1110,15 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
     // be reused by all the nodes.
     private static SortableVector<Timer> timersToHandle = new SortableVector<>();
 
+    // An empty list of packets and an inbox over it, shared by all nodes whose
+    // packet buffers have not been allocated yet.
+    private static PacketCollection emptyPacketCollection = new PacketCollection();
+    private static Inbox emptyInbox = new Inbox();
+
     /**
-     * The list of active timers.
+     * The list of active timers, allocated upon the first call to getTimers().
      */
-    private TimerCollection timers = new TimerCollection();
+    private TimerCollection timers;
 
     /**
      * The current sending intensity of this node. The value lies in the range [0,
@@ -1029,7 +1129,7 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
     /**
      * A counter to assign each node a unique ID, at the time when it is generated.
      */
-    private static long idCounter;
+    private static final AtomicLong idCounter = new AtomicLong();
 
     /**
      * <b>This member is framework internal and should not be used by the project
@@ -1042,7 +1142,47 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
      * calling this method should not be used anymore.
      */
     public static void resetIDCounter() {
-        idCounter = 0;
+        idCounter.set(0);
+    }
+
+    /**
+     * The next ID handed out to a node constructed by the current thread, if the
+     * thread constructs nodes with IDs reserved through {@link #reserveIDs(int)}.
+     */
+    private static final ThreadLocal<long[]> reservedIDs = new ThreadLocal<>();
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b>
+     * <p>
+     * Reserves a range of consecutive IDs for nodes that are constructed later,
+     * possibly by several threads at once.
+     *
+     * @param count The number of IDs to reserve.
+     * @return The first reserved ID.
+     */
+    public static long reserveIDs(int count) {
+        return idCounter.getAndAdd(count) + 1;
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b>
+     * <p>
+     * Makes the nodes constructed subsequently by the current thread take the IDs
+     * starting at the given ID, which must have been reserved through
+     * {@link #reserveIDs(int)}. Thus, the constructors of the nodes already see
+     * their final ID.
+     *
+     * @param firstID The ID of the next node constructed by the current thread, or
+     *                a negative value to take the next free ID again.
+     */
+    public static void useReservedIDs(long firstID) {
+        if (firstID < 0) {
+            reservedIDs.remove();
+        } else {
+            reservedIDs.set(new long[]{firstID});
+        }
     }
 
     /**
@@ -1069,30 +1209,67 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
     private boolean holdInNodeCollection;
 
     /**
-     * A node-internal iterator over all outgoing edges of this node.
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b><br>
+     * The index of this node in the coordinate store of the node collection, see
+     * {@link sinalgo.runtime.nodeCollection.NodeCoordinates}, -1 if this node has
+     * not been added to the node collection.
      */
-    private ReusableListIterator<Edge> edgeIteratorInstance = this.outgoingConnections.iterator();
+    @Getter
+    @Setter
+    private int coordinateIndex = -1;
 
     /**
-     * The buffer, where all arriving messages are stored.
+     * A node-internal iterator over all outgoing edges of this node, allocated
+     * upon the first broadcast of this node.
      */
-    private PacketBuffer packetBuffer = new InboxPacketBuffer(true);
+    @Getter(AccessLevel.NONE)
+    private ReusableListIterator<Edge> edgeIteratorInstance;
+
+    /**
+     * @return The node-internal iterator over all outgoing edges of this node,
+     * reset to the first edge.
+     */
+    private ReusableListIterator<Edge> getEdgeIteratorInstance() {
+        if (this.edgeIteratorInstance == null) {
+            this.edgeIteratorInstance = this.outgoingConnections.iterator();
+        }
+        this.edgeIteratorInstance.reset();
+        return this.edgeIteratorInstance;
+    }
+
+    /**
+     * The buffer, where all arriving messages are stored. The buffer is allocated
+     * when the first packet is sent to this node in synchronous mode.
+     */
+    @Getter(AccessLevel.NONE)
+    private PacketBuffer packetBuffer;
+
+    /**
+     * @return The buffer where all arriving messages are stored.
+     */
+    private PacketBuffer getPacketBuffer() {
+        if (this.packetBuffer == null) {
+            this.packetBuffer = new InboxPacketBuffer(true);
+        }
+        return this.packetBuffer;
+    }
 
     /**
      * Buffer that holds all packets that were sent by this round, and should have
      * arrived in the previous round, but were dropped. This list contains the
      * messages that should be reported in the following round, whose round-number
-     * is even.
+     * is even. Allocated when the first packet is added.
      */
-    private PacketCollection nAckBufferEvenRound = new PacketCollection();
+    private PacketCollection nAckBufferEvenRound;
 
     /**
      * Buffer that holds all packets that were sent by this round, and should have
      * arrived in the previous round, but were dropped. This list contains the
      * messages that should be reported in the following round, whose round-number
-     * is odd.
+     * is odd. Allocated when the first packet is added.
      */
-    private PacketCollection nAckBufferOddRound = new PacketCollection();
+    private PacketCollection nAckBufferOddRound;
 
     /**
      * Determines the color in which this node is painted.
@@ -1108,10 +1285,12 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
      */
     @Getter
     @Setter
-    private Color color = new Color(0, 0, 0);
+    private Color color = Color.BLACK; // colors are immutable and may be shared by all nodes
 
     /**
-     * This node's position.
+     * This node's position. Do not modify the returned object in place, call
+     * {@link #setPosition(Position)} instead, such that the node collection and
+     * its coordinate store see the new position.
      *
      * @return The position of the node.
      * @param position The new position.
@@ -1128,8 +1307,9 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
         } catch (CorruptConfigurationEntryException e) {
             throw new SinalgoFatalException(e.getMessage());
         }
-        // assign the next free ID
-        this.setID(++idCounter);
+        // assign the next free ID, or the next reserved ID of this thread
+        long[] reserved = reservedIDs.get();
+        this.setID(reserved == null ? idCounter.incrementAndGet() : reserved[0]++);
     }
 
     /**
@@ -1138,7 +1318,24 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
      * update all outgoing connections of this node.
      */
     public final void updateConnections() {
-        this.neighborhoodChanged = this.connectivityModel.updateConnections(this);
+        long start = HotSpotProfiler.start();
+        try {
+            this.neighborhoodChanged = this.connectivityModel.updateConnections(this);
+        } finally {
+            HotSpotProfiler.stop(Callback.CONNECTIVITY_MODEL, this.connectivityModel, start);
+        }
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Records whether the outgoing connections of this node have
+     * changed, for connectivity updates that evaluate all nodes at once instead of
+     * calling {@link #updateConnections()} for each node.
+     *
+     * @param neighborhoodChanged True if an edge of this node has been added or removed.
+     */
+    public final void setNeighborhoodChanged(boolean neighborhoodChanged) {
+        this.neighborhoodChanged = neighborhoodChanged;
     }
 
     /**
@@ -1163,8 +1360,14 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
             return; // only nacknowledge unicast messages
         }
         if (Global.isEvenRound()) { // add to the buffer of the next round
+            if (this.nAckBufferOddRound == null) {
+                this.nAckBufferOddRound = new PacketCollection();
+            }
             this.nAckBufferOddRound.add(p);
         } else {
+            if (this.nAckBufferEvenRound == null) {
+                this.nAckBufferEvenRound = new PacketCollection();
+            }
             this.nAckBufferEvenRound.add(p);
         }
     }
@@ -1241,16 +1444,20 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
         // set default (empty) models if they're not yet set
         try {
             if (this.connectivityModel == null) {
-                this.setConnectivityModel(Model.getConnectivityModelInstance(Configuration.getDefaultConnectivityModel()));
+                this.setConnectivityModel((ConnectivityModel) Model.getModelInstanceForNode(
+                        ModelType.ConnectivityModel, Configuration.getDefaultConnectivityModel(), ""));
             }
             if (this.interferenceModel == null) {
-                this.setInterferenceModel(Model.getInterferenceModelInstance(Configuration.getDefaultInterferenceModel()));
+                this.setInterferenceModel((InterferenceModel) Model.getModelInstanceForNode(
+                        ModelType.InterferenceModel, Configuration.getDefaultInterferenceModel(), ""));
             }
             if (this.mobilityModel == null) {
-                this.setMobilityModel(Model.getMobilityModelInstance(Configuration.getDefaultMobilityModel()));
+                this.setMobilityModel((MobilityModel) Model.getModelInstanceForNode(
+                        ModelType.MobilityModel, Configuration.getDefaultMobilityModel(), ""));
             }
             if (this.reliabilityModel == null) {
-                this.setReliabilityModel(Model.getReliabilityModelInstance(Configuration.getDefaultReliabilityModel()));
+                this.setReliabilityModel((ReliabilityModel) Model.getModelInstanceForNode(
+                        ModelType.ReliabilityModel, Configuration.getDefaultReliabilityModel(), ""));
             }
             if (addToRuntime) {
                 this.init();
@@ -1297,9 +1504,9 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
             Packet longestPacket = null; // find the packet that takes longest until delivery
 
             // send the Message to all your neighbors
-            this.edgeIteratorInstance.reset();
-            while (this.edgeIteratorInstance.hasNext()) {
-                Edge e = this.edgeIteratorInstance.next();
+            ReusableListIterator<Edge> edgeIter = this.getEdgeIteratorInstance();
+            while (edgeIter.hasNext()) {
+                Edge e = edgeIter.next();
                 Packet sentP = this.sendMessage(m, e, e.getStartNode(), e.getEndNode(), intensity);
                 sentP.setType(PacketType.MULTICAST);
                 SinalgoRuntime.getPacketsInTheAir().addPassivePacket(sentP);
@@ -1321,10 +1528,12 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
                 sentP.denyDelivery(); // ensure that the packet never arrives at this node
                 SinalgoRuntime.getPacketsInTheAir().add(sentP);
             }
+        } else if (Global.isAsynchronousMode() && Configuration.isAsynchronousMulticast()) {
+            this.asynchronousMulticast(m, intensity);
         } else { // no interference
-            this.edgeIteratorInstance.reset();
-            while (this.edgeIteratorInstance.hasNext()) {
-                Edge e = this.edgeIteratorInstance.next();
+            ReusableListIterator<Edge> edgeIter = this.getEdgeIteratorInstance();
+            while (edgeIter.hasNext()) {
+                Edge e = edgeIter.next();
                 Packet sentP = this.sendMessage(m, e, e.getStartNode(), e.getEndNode(), intensity);
                 sentP.setType(PacketType.DUMMY);
             }
@@ -1348,11 +1557,14 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
      * @return The packet that has been transmitted.
      */
     private Packet sendMessage(Message msg, Edge edge, Node sender, Node target, double intensity) {
+        Packet packet;
         if (Global.isAsynchronousMode()) {
-            return this.asynchronousSending(msg, edge, sender, target, intensity);
+            packet = this.asynchronousSending(msg, edge, sender, target, intensity);
         } else {
-            return this.synchronousSending(msg, edge, sender, target, intensity);
+            packet = this.synchronousSending(msg, edge, sender, target, intensity);
         }
+        TraceRecorder.recordPacket(TraceEvent.SEND, packet);
+        return packet;
     }
 
     /**
@@ -1368,13 +1580,8 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
      */
     private Packet asynchronousSending(Message msg, Edge edge, Node sender, Node target, double intensity) {
 
-        Message clonedMsg = msg.clone(); // send a copy of the message
-        if (clonedMsg == null) {
-            throw new SinalgoFatalException("The clone() method of '" + msg.getClass().getName() + "' returns null \n"
-                    + "instead of a copy of the message.");
-        }
-        Packet packet = Packet.fabricatePacket(clonedMsg);
-        double transmissionTime = Global.getMessageTransmissionModel().timeToReach(sender, target, msg);
+        Packet packet = Packet.fabricatePacket(msg.getCopyForDelivery());
+        double transmissionTime = timeToReach(sender, target, msg);
 
         // fill in the data of the header
         packet.setArrivingTime(Global.getCurrentTime() + transmissionTime);
@@ -1386,20 +1593,83 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
         packet.setType(PacketType.UNICAST);
         // this property must be checked when the entire packet was assembled
         if (edge != null) {
-            packet.setPositiveDelivery(this.reliabilityModel.reachesDestination(packet));
+            packet.setPositiveDelivery(this.reachesDestination(packet));
             edge.addMessageForThisEdge(packet.getMessage());
         } else {
             packet.setPositiveDelivery(false); // when there is no edge, the packet is immediately dropped
         }
 
-        Global.setNumberOfMessagesOverAll(Global.getNumberOfMessagesOverAll() + 1); // statistics (don't increment the counter that counts the number of sent
-        // messages per round. This counter has no meaning in the async mode.)
+        MetricsRegistry.MESSAGES_SENT.increment(); // statistics
 
         SinalgoRuntime.getEventQueue().insert(PacketEvent.getNewPacketEvent(packet, Global.getCurrentTime() + transmissionTime));
 
         return packet;
     }
 
+    /**
+     * The packets of the broadcast that is currently being sent by
+     * asynchronousMulticast, at most one for each arrival time.
+     */
+    private static final ArrayList<Packet> multicastPackets = new ArrayList<>();
+
+    /**
+     * The packets of multicastPackets by their arrival time.
+     */
+    private static final HashMap<Double, Packet> multicastPacketsByTime = new HashMap<>();
+
+    /**
+     * Sends a message to all neighbors in the asynchronous simulation mode without
+     * interference. Instead of one packet per neighbor, this method creates a
+     * single packet and packet event for all neighbors that receive the message at
+     * the same time. The packet is expanded into the individual deliveries when
+     * the event is handled.
+     *
+     * @param msg       The message to be sent
+     * @param intensity The intensity at which the message is sent
+     */
+    private void asynchronousMulticast(Message msg, double intensity) {
+        ReusableListIterator<Edge> edgeIter = this.getEdgeIteratorInstance();
+        while (edgeIter.hasNext()) {
+            Edge e = edgeIter.next();
+            Node target = e.getEndNode();
+            double arrivingTime = Global.getCurrentTime() + timeToReach(this, target, msg);
+
+            // with a constant transmission time, all neighbors share the last packet
+            Packet packet = multicastPackets.isEmpty() ? null : multicastPackets.get(multicastPackets.size() - 1);
+            if (packet != null && packet.getArrivingTime() != arrivingTime) {
+                packet = multicastPacketsByTime.get(arrivingTime);
+            }
+            Message copy = msg.getCopyForDelivery();
+            if (packet == null) {
+                packet = Packet.fabricatePacket(copy);
+                packet.setArrivingTime(arrivingTime);
+                packet.setSendingTime(Global.getCurrentTime());
+                packet.setOrigin(this);
+                packet.setIntensity(intensity);
+                packet.setType(PacketType.MULTICAST);
+                multicastPackets.add(packet);
+                multicastPacketsByTime.put(arrivingTime, packet);
+            }
+            // the reliability model expects the packet to be assembled for this receiver
+            packet.setDestination(target);
+            packet.setEdge(e);
+            packet.setMessage(copy);
+            packet.setPositiveDelivery(true);
+            packet.addReceiver(target, e, copy, this.reachesDestination(packet));
+            e.addMessageForThisEdge(copy);
+            TraceRecorder.recordPacket(TraceEvent.SEND, packet, target);
+
+            MetricsRegistry.MESSAGES_SENT.increment(); // statistics
+        }
+        for (int i = 0; i < multicastPackets.size(); i++) {
+            Packet packet = multicastPackets.get(i);
+            packet.selectReceiver(0);
+            SinalgoRuntime.getEventQueue().insert(PacketEvent.getNewPacketEvent(packet, packet.getArrivingTime()));
+        }
+        multicastPackets.clear();
+        multicastPacketsByTime.clear();
+    }
+
     /**
      * Sends a message in the synchronous simulation mode
      *
@@ -1424,13 +1694,8 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
                     + "This problem probably came up due to a call from a nodes popup method.\n"
                     + "Do not directly call the send-method but start a timer so that the node sends during its simulation cycle.");
         } else {
-            Message clonedMsg = msg.clone(); // send a copy of the message
-            if (clonedMsg == null) {
-                throw new SinalgoFatalException("The clone() method of '" + msg.getClass().getName() + "' returns null \n"
-                        + "instead of a copy of the message.");
-            }
-            Packet packet = Packet.fabricatePacket(clonedMsg);
-            double transmissionTime = Global.getMessageTransmissionModel().timeToReach(sender, target, msg);
+            Packet packet = Packet.fabricatePacket(msg.getCopyForDelivery());
+            double transmissionTime = timeToReach(sender, target, msg);
 
             // fill in the data of the header
             packet.setArrivingTime(Global.getCurrentTime() + transmissionTime);
@@ -1442,7 +1707,7 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
             packet.setType(PacketType.UNICAST);
             // this property must be checked when the entire packet was assembled
             if (edge != null) {
-                packet.setPositiveDelivery(this.reliabilityModel.reachesDestination(packet));
+                packet.setPositiveDelivery(this.reachesDestination(packet));
                 edge.addMessageForThisEdge(packet.getMessage());
             } else {
                 packet.setPositiveDelivery(false); // when there is no edge, the packet is immediately dropped
@@ -1450,13 +1715,51 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
 
             target.getPacketBuffer().addPacket(packet); // place the packet in the targets receive buffer
 
-            Global.setNumberOfMessagesInThisRound(Global.getNumberOfMessagesInThisRound() + 1); // statistics (At the end of the round, this member is added to
-            // Global.numberOfMessagesOverAll.)
+            MetricsRegistry.MESSAGES_SENT.increment(); // statistics
 
             return packet;
         }
     }
 
+    /**
+     * Asks the reliability model of this node whether a packet reaches its
+     * destination.
+     *
+     * @param packet The packet to test.
+     * @return True if the packet reaches its destination.
+     */
+    private boolean reachesDestination(Packet packet) {
+        long start = HotSpotProfiler.start();
+        try {
+            return this.reliabilityModel.reachesDestination(packet);
+        } finally {
+            HotSpotProfiler.stop(Callback.RELIABILITY_MODEL, this.reliabilityModel, start);
+        }
+    }
+
+    /**
+     * Asks the message transmission model how long a message takes to be sent.
+     *
+     * @param sender   The sender of the message.
+     * @param receiver The receiver of the message.
+     * @param msg      The message.
+     * @return The time the message takes to reach the receiver.
+     */
+    private static double timeToReach(Node sender, Node receiver, Message msg) {
+        long start = HotSpotProfiler.start();
+        try {
+            return Global.getMessageTransmissionModel().timeToReach(sender, receiver, msg);
+        } finally {
+            HotSpotProfiler.stop(Callback.TRANSMISSION_MODEL, Global.getMessageTransmissionModel(), start);
+        }
+    }
+
+    /**
+     * The node classes resolved by {@link #createNodeByClassname(String)}, indexed by
+     * the class path passed to that method.
+     */
+    private static final Map<String, Class<?>> nodeClasses = new ConcurrentHashMap<>();
+
     /**
      * <b>This member is framework internal and should not be used by the project
      * developer.</b> Generates a node given its class name.
@@ -1477,10 +1780,11 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
      * @throws WrongConfigurationException If the node cannot be created.
      */
     public static Node createNodeByClassname(String classPath) throws WrongConfigurationException {
-        Class<?> nodeClass;
+        Class<?> nodeClass = nodeClasses.get(classPath);
         Node node;
 
-        if (!classPath.contains(".")) { // is a relative path
+        String name = classPath;
+        if (nodeClass == null && !classPath.contains(".")) { // is a relative path
             if (classPath.contains(":")) { // project implementation
                 String[] splitter = classPath.split(":");
                 classPath = Configuration.getUserProjectsPackage() + "." + splitter[0] + ".nodes.nodeImplementations."
@@ -1491,12 +1795,12 @@ public abstract class Node implements DoublyLinkedListEntry, Comparable<Node> {
         }
 
         try {
-            nodeClass = Thread.currentThread().getContextClassLoader().loadClass(classPath);
-            Constructor<?> constructor = nodeClass.getConstructor();
-            // NOTE: we could also call newInstance() on the class-object. But this would
-            // not encapsulate
-            // exceptions that may be thrown in the constructor.
-            node = (Node) constructor.newInstance();
+            if (nodeClass == null) {
+                nodeClass = Thread.currentThread().getContextClassLoader().loadClass(classPath);
+                nodeClasses.put(name, nodeClass);
+            }
+            // exceptions thrown in the constructor are wrapped in an InvocationTargetException
+            node = (Node) ConstructorCache.newInstance(nodeClass);
         } catch (ClassNotFoundException e) {
             throw new WrongConfigurationException(e,
                     "Class not found. Please write a class called: " + classPath + ".java and compile it.");
@@ -38,8 +38,11 @@ package sinalgo.nodes;
 
 import sinalgo.exception.WrongConfigurationException;
 import sinalgo.nodes.edges.Edge;
+import sinalgo.tools.metrics.MetricsRegistry;
 import sinalgo.tools.storage.DoublyLinkedList;
 import sinalgo.tools.storage.ReusableListIterator;
+import sinalgo.tools.trace.TraceEvent;
+import sinalgo.tools.trace.TraceRecorder;
 
 /**
  * A list that holds the links to all neighbors of a given node.
@@ -56,10 +59,11 @@ public class NodeOutgoingConnectionsList extends DoublyLinkedList<Edge> implemen
      *
      * @param keepFinger If set to true, entries keep their finger for later reuse (in this
      *                   or a different list) when they are removed from this list. When
-     *                   set to false, the finger is removed.
+     *                   set to false, the finger is removed. Has no effect, as edges
+     *                   reserve a fixed finger slot for this list.
      */
     public NodeOutgoingConnectionsList(boolean keepFinger) {
-        super(keepFinger);
+        super(keepFinger, Edge.DLL_SLOT_OUTGOING_CONNECTIONS);
     }
 
     @Override
@@ -70,6 +74,8 @@ public class NodeOutgoingConnectionsList extends DoublyLinkedList<Edge> implemen
             Edge e = Edge.fabricateEdge(startNode, endNode);
             e.setValid(valid);
             this.append(e);
+            TraceRecorder.recordEdge(TraceEvent.EDGE_ADDED, e);
+            MetricsRegistry.EDGES_ADDED.increment();
             return false;
         } else {
             return true;
@@ -85,6 +91,8 @@ public class NodeOutgoingConnectionsList extends DoublyLinkedList<Edge> implemen
             if ((from.getID() == edge.getStartNode().getID()) && (to.getID() == edge.getEndNode().getID())) {
                 this.edgeIterator.remove();
                 edge.removeEdgeFromGraph(); // does not free the edge
+                TraceRecorder.recordEdge(TraceEvent.EDGE_REMOVED, edge);
+                MetricsRegistry.EDGES_REMOVED.increment();
                 return edge;
             }
         }
@@ -98,6 +106,8 @@ public class NodeOutgoingConnectionsList extends DoublyLinkedList<Edge> implemen
             Edge edge = this.edgeIterator.next();
             this.edgeIterator.remove();
             edge.removeEdgeFromGraph(); // called after the edge is removed from the outgoingConnectionList
+            TraceRecorder.recordEdge(TraceEvent.EDGE_REMOVED, edge);
+            MetricsRegistry.EDGES_REMOVED.increment();
             edge.free();
         }
     }
@@ -128,6 +138,8 @@ public class NodeOutgoingConnectionsList extends DoublyLinkedList<Edge> implemen
             if (!edge.isValid()) {
                 this.edgeIterator.remove(); // remove the edge from the list of outgoing connections from this node
                 edge.removeEdgeFromGraph();
+                TraceRecorder.recordEdge(TraceEvent.EDGE_REMOVED, edge);
+                MetricsRegistry.EDGES_REMOVED.increment();
                 edge.free(); // return this edge to the edge factory s.t. it can be reused
                 rval = true;
             } else {
@@ -218,5 +230,7 @@ public class NodeOutgoingConnectionsList extends DoublyLinkedList<Edge> implemen
     @Override
     public void hackyAppend(Edge e) {
         this.append(e);
+        TraceRecorder.recordEdge(TraceEvent.EDGE_ADDED, e);
+        MetricsRegistry.EDGES_ADDED.increment();
     }
 }
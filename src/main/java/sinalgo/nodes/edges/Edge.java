@@ -51,12 +51,12 @@ import sinalgo.nodes.Position;
 import sinalgo.nodes.messages.Message;
 import sinalgo.runtime.Global;
 import sinalgo.runtime.SinalgoRuntime;
+import sinalgo.tools.ConstructorCache;
 import sinalgo.tools.logging.Logging;
 import sinalgo.tools.storage.DoublyLinkedListEntry;
 
 import java.awt.*;
 import java.awt.geom.Line2D;
-import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 
 /**
@@ -362,10 +362,10 @@ public class Edge implements DoublyLinkedListEntry {
     }
 
     /**
-     * This is a stack containig all the unused packet instances. To reduce the
-     * garbage collection time, used Packets are not destroyed but are added to a
-     * Packet pool. When a new instance is requested, the system only creates a new
-     * instance, when the stack is empty.
+     * The pool containing all the unused edge instances. To reduce the garbage
+     * collection time, used Edges are not destroyed but are added to this pool.
+     * When a new instance is requested, the system only creates a new instance,
+     * when the pool is empty.
      */
     @Getter(AccessLevel.PRIVATE)
     @Setter(AccessLevel.PRIVATE)
@@ -381,15 +381,18 @@ public class Edge implements DoublyLinkedListEntry {
 
     @Getter(AccessLevel.PRIVATE)
     @Setter(AccessLevel.PRIVATE)
-    private static Constructor<?> constructor;
+    private static Class<?> edgeClass;
 
     @Getter(AccessLevel.PRIVATE)
     @Setter(AccessLevel.PRIVATE)
     private static String nameOfSearchedEdge = "";
 
-    @Getter
-    @Setter
-    private static long numEdgesOnTheFly;
+    /**
+     * @return The number of edges in the system, not yet freed.
+     */
+    public static long getNumEdgesOnTheFly() {
+        return EdgePool.getNumEdgesInUse();
+    }
 
     /**
      * <b>This member is framework internal and should not be used by the project
@@ -405,49 +408,10 @@ public class Edge implements DoublyLinkedListEntry {
      * @return An Edge form the given startNode to the given endNode.
      */
     public static Edge fabricateEdge(Node from, Node to) {
-        Edge edge = freeEdges.get();
-        // TODO: this is expensive!
-        if (edge != null) { // we can recycle an edge
-            if (edge.getStartNode() != null || edge.getEndNode() != null) { // sanity check
-                throw new SinalgoFatalException(Logging.getCodePosition()
-                        + " Edge factory failed! About to return an edge that was already returned. (Probably, free() was called > 1 on this edge.)");
-            }
-        } else {
-            try { // need to construct a new edge
-                if (Configuration.isEdgeTypeChanged() || constructor == null) { //
-                    constructor = null;
-                    nameOfSearchedEdge = Configuration.getEdgeType();
-                    Class<?> edgeClass = Thread.currentThread().getContextClassLoader().loadClass(nameOfSearchedEdge);
-                    Constructor<?>[] list = edgeClass.getDeclaredConstructors();
-                    // Test all constructors of the edge-class whether it has
-                    // a corresponding constructor.
-                    for (Constructor<?> c : list) {
-                        Class<?>[] paramClasses = c.getParameterTypes();
-                        if (paramClasses.length == 0) {
-                            constructor = c;
-                            break;
-                        }
-                    }
-                    if (constructor == null) {
-                        throw new NoSuchMethodException(
-                                "Did not find a valid constructor for the " + nameOfSearchedEdge + " class.");
-                    }
-                    Configuration.setEdgeTypeChanged(false);
-                }
-                edge = (Edge) constructor.newInstance();
-            } catch (ClassNotFoundException cNFE) {
-                throw new SinalgoFatalException("The implementation of the edge '" + nameOfSearchedEdge + "' could not be found.\n"
-                        + "Change the Type in the XML-File or implement it." + "");
-            } catch (IllegalArgumentException | SecurityException | IllegalAccessException | InstantiationException e) {
-                throw new SinalgoFatalException("Exception caught while creating edge '" + nameOfSearchedEdge + "'.\n" + e);
-            } catch (InvocationTargetException e) {
-                throw new SinalgoFatalException("Exception caught while creating edge '" + nameOfSearchedEdge + "'.\n" + e.getCause());
-            } catch (NoSuchMethodException e) {
-                throw new SinalgoFatalException("Cannot instanciate an edge of type '" + nameOfSearchedEdge
-                        + "' for two nodes of type \n(" + from.getClass().getName() + ", " + to.getClass().getName()
-                        + ").\n" + "To select a different edge type, change the config.xml file\n"
-                        + "or use the settings dialog in the GUI.");
-            }
+        Edge edge = freeEdges.get(Edge::newEdgeOfConfiguredType);
+        if (edge.getStartNode() != null || edge.getEndNode() != null) { // sanity check
+            throw new SinalgoFatalException(Logging.getCodePosition()
+                    + " Edge factory failed! About to return an edge that was already returned. (Probably, free() was called > 1 on this edge.)");
         }
 
         // initialize the edge
@@ -464,10 +428,39 @@ public class Edge implements DoublyLinkedListEntry {
 
         edge.findOppositeEdge(); // if there is an edge in the opposite direction, set the oppositeEdge field
         edge.initializeEdge(); // Finally, call a custom initialization method
-        setNumEdgesOnTheFly(getNumEdgesOnTheFly() + 1);
         return edge;
     }
 
+    /**
+     * Creates a new edge of the type specified in the configuration file.
+     *
+     * @return A new edge, not yet initialized.
+     */
+    private static Edge newEdgeOfConfiguredType() {
+        try { // need to construct a new edge
+            if (Configuration.isEdgeTypeChanged() || edgeClass == null) {
+                edgeClass = null;
+                nameOfSearchedEdge = Configuration.getEdgeType();
+                edgeClass = Thread.currentThread().getContextClassLoader().loadClass(nameOfSearchedEdge);
+                Configuration.setEdgeTypeChanged(false);
+            }
+            // the constructor is resolved only once per edge class
+            return (Edge) ConstructorCache.newInstance(edgeClass);
+        } catch (ClassNotFoundException cNFE) {
+            throw new SinalgoFatalException("The implementation of the edge '" + nameOfSearchedEdge + "' could not be found.\n"
+                    + "Change the Type in the XML-File or implement it." + "");
+        } catch (IllegalArgumentException | SecurityException | IllegalAccessException | InstantiationException e) {
+            throw new SinalgoFatalException("Exception caught while creating edge '" + nameOfSearchedEdge + "'.\n" + e);
+        } catch (InvocationTargetException e) {
+            throw new SinalgoFatalException("Exception caught while creating edge '" + nameOfSearchedEdge + "'.\n" + e.getCause());
+        } catch (NoSuchMethodException e) {
+            throw new SinalgoFatalException("Cannot instanciate an edge of type '" + nameOfSearchedEdge + "'.\n"
+                    + "The edge class needs a constructor without parameters.\n"
+                    + "To select a different edge type, change the config.xml file\n"
+                    + "or use the settings dialog in the GUI.");
+        }
+    }
+
     /**
      * <b>This member is framework internal and should not be used by the project
      * developer.</b> Method called to remove this edge from the graph and drop
@@ -513,7 +506,7 @@ public class Edge implements DoublyLinkedListEntry {
         this.setEndNode(null);
         this.setDefaultColor(null);
         this.setSendingColor(null);
-        setNumEdgesOnTheFly(getNumEdgesOnTheFly() - 1);
+        this.getDoublyLinkedListFinger().releaseSlots();
         freeEdges.add(this);
     }
 
@@ -524,7 +517,13 @@ public class Edge implements DoublyLinkedListEntry {
      * @see sinalgo.tools.storage.DoublyLinkedListEntry#getDoublyLinkedListFinger()
      */
     @Getter
-    private DLLFingerList doublyLinkedListFinger = new DLLFingerList();
+    private DLLFingerList doublyLinkedListFinger = new DLLFingerList(1);
+
+    /**
+     * The slot in the finger-list of an edge reserved for the list of outgoing
+     * connections of its start node.
+     */
+    public static final int DLL_SLOT_OUTGOING_CONNECTIONS = 0;
 
     /**
      * <b>This member is framework internal and should not be used by the project
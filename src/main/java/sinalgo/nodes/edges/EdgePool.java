@@ -37,43 +37,66 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package sinalgo.nodes.edges;
 
 import sinalgo.configuration.Configuration;
+import sinalgo.tools.storage.ObjectPool;
 
 import java.util.Hashtable;
-import java.util.Stack;
+import java.util.function.Supplier;
 
 /**
  * This class stores unused Edges to recycle them when a new one is used. This
- * is used to reduce the garbage collection load.
+ * is used to reduce the garbage collection load. There is a separate object
+ * pool for each type of edge.
  */
 public class EdgePool {
 
-    private static Hashtable<String, Stack<Edge>> stacks = new Hashtable<>();
-    private static Stack<Edge> lastStack;
-    private static String lastStackTypeName = "";
+    private static Hashtable<String, ObjectPool<Edge>> pools = new Hashtable<>();
+    private static ObjectPool<Edge> lastPool;
+    private static String lastPoolTypeName = "";
+
+    /**
+     * Returns the pool for a given type of edges, and creates it if necessary.
+     *
+     * @param typename The name of the edge class.
+     * @return The pool for the given type of edges.
+     */
+    private static ObjectPool<Edge> getPool(String typename) {
+        ObjectPool<Edge> pool = pools.get(typename);
+        if (pool == null) {
+            pool = new ObjectPool<>("Edges (" + typename + ")");
+            pools.put(typename, pool);
+        }
+        return pool;
+    }
 
     /**
      * @return The number of freed edges, ready to be reused
      */
     public static int getNumFreedEdges() {
-        if (lastStack != null) {
-            return lastStack.size();
-        } else {
-            return 0;
+        int sum = 0;
+        for (ObjectPool<Edge> pool : pools.values()) {
+            sum += pool.getNumFree();
         }
+        return sum;
+    }
+
+    /**
+     * @return The number of edges issued and not yet freed
+     */
+    public static long getNumEdgesInUse() {
+        long sum = 0;
+        for (ObjectPool<Edge> pool : pools.values()) {
+            sum += pool.getNumInUse();
+        }
+        return sum;
     }
 
     /**
      * Removes all edges stored for reuse
      */
     public static void clear() {
-        for (Stack<Edge> s : stacks.values()) {
-            s.clear();
+        for (ObjectPool<Edge> pool : pools.values()) {
+            pool.clear();
         }
-        stacks.clear();
-        if (lastStack != null) {
-            lastStack.clear();
-        }
-        lastStack = null;
     }
 
     /**
@@ -83,38 +106,26 @@ public class EdgePool {
      */
     public void add(Edge e) {
         String typename = e.getClass().getName();
-        Stack<Edge> st;
-        if (typename.equals(lastStackTypeName)) {
-            st = lastStack;
+        if (typename.equals(lastPoolTypeName)) {
+            lastPool.free(e);
         } else {
-            st = stacks.get(typename);
-        }
-        if (st == null) {
-            st = new Stack<>();
-            stacks.put(typename, st);
+            getPool(typename).free(e);
         }
-        st.push(e);
     }
 
     /**
      * This method returns a Edge from the edge pool. The type of the edge is
      * defined through the config file.
      *
-     * @return An edge of the type given as parameter, null if there is no edge to
-     * reuse.
+     * @param factory The factory to create a new edge of the type defined in the
+     *                config file, used if there is no edge to reuse.
+     * @return A recycled edge, or a new one if there is no edge to reuse.
      */
-    public Edge get() {
-        if (lastStack == null || Configuration.isEdgeTypeChanged()) {
-            lastStackTypeName = Configuration.getEdgeType();
-            lastStack = stacks.get(lastStackTypeName);
-            if (lastStack == null) {
-                lastStack = new Stack<>();
-                stacks.put(Configuration.getEdgeType(), lastStack);
-            }
-        }
-        if (lastStack.empty()) {
-            return null;
+    public Edge get(Supplier<Edge> factory) {
+        if (lastPool == null || Configuration.isEdgeTypeChanged()) {
+            lastPoolTypeName = Configuration.getEdgeType();
+            lastPool = getPool(lastPoolTypeName);
         }
-        return lastStack.pop();
+        return lastPool.get(factory);
     }
 }
@@ -36,6 +36,10 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package sinalgo.nodes.messages;
 
+import sinalgo.exception.SinalgoFatalException;
+import sinalgo.tools.metrics.HotSpotProfiler;
+import sinalgo.tools.metrics.HotSpotProfiler.Callback;
+
 import java.awt.*;
 
 /**
@@ -64,10 +68,52 @@ public abstract class Message {
      * message forwards it. Sending a message does <i>not</i> modify the message
      * object. The message is encapsulated in a <code>packet</code> that stores the
      * meta information for the transmission.)
+     * <p>
+     * Alternatively, let your message class implement {@link ImmutableMessage}, in
+     * which case the framework does not call this method at all when the message
+     * is sent.
      */
     @Override
     public abstract Message clone();
 
+    /**
+     * Caches for each message class whether it implements {@link ImmutableMessage}.
+     */
+    private static final ClassValue<Boolean> IMMUTABLE_TYPES = new ClassValue<Boolean>() {
+
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return ImmutableMessage.class.isAssignableFrom(type);
+        }
+    };
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Returns the message object that is handed to the destination
+     * of a send call. This is this message itself if its class implements
+     * {@link ImmutableMessage}, otherwise a copy obtained through
+     * {@link #clone()}.
+     *
+     * @return The message object to be encapsulated in a packet.
+     */
+    public final Message getCopyForDelivery() {
+        if (IMMUTABLE_TYPES.get(this.getClass())) {
+            return this; // shared among all packets
+        }
+        long start = HotSpotProfiler.start();
+        Message clonedMsg;
+        try {
+            clonedMsg = this.clone(); // send a copy of the message
+        } finally {
+            HotSpotProfiler.stop(Callback.MESSAGE_CLONE, this, start);
+        }
+        if (clonedMsg == null) {
+            throw new SinalgoFatalException("The clone() method of '" + this.getClass().getName() + "' returns null \n"
+                    + "instead of a copy of the message.");
+        }
+        return clonedMsg;
+    }
+
     /**
      * @return The color in which the envelope for this message should be drawn,
      * null if the default color (specified in the configuration file)
@@ -39,15 +39,14 @@ package sinalgo.nodes.messages;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import sinalgo.configuration.Configuration;
 import sinalgo.exception.SinalgoFatalException;
 import sinalgo.nodes.Node;
 import sinalgo.nodes.edges.Edge;
 import sinalgo.runtime.Main;
 import sinalgo.tools.logging.Logging;
-import sinalgo.tools.storage.DoublyLinkedList;
 import sinalgo.tools.storage.DoublyLinkedListEntry;
-
-import java.util.Stack;
+import sinalgo.tools.storage.ObjectPool;
 
 /* TODO: base packet delivery on edge ID
  *  2) While a packet is being sent, there needs to be a check in every round that the edge it uses is
@@ -128,10 +127,13 @@ public final class Packet implements DoublyLinkedListEntry, Comparable<Packet> {
 
     /**
      * Sets the positiveDelivery flag of this packet to false such that this packet
-     * is not delivered.
+     * is not delivered (to any of its receivers, if it is a multicast packet).
      */
     public void denyDelivery() {
         this.positiveDelivery = false;
+        for (int i = 0; i < this.numReceivers; i++) {
+            this.receiverDelivery[i] = false;
+        }
     }
 
     /**
@@ -147,9 +149,12 @@ public final class Packet implements DoublyLinkedListEntry, Comparable<Packet> {
     // -----------------------------------------------------------------------------------
     // -----------------------------------------------------------------------------------
 
-    @Getter
-    @Setter
-    private static int numPacketsOnTheFly; // number of packets in the system, not yet freed
+    /**
+     * @return The number of packets in the system, not yet freed.
+     */
+    public static int getNumPacketsOnTheFly() {
+        return (int) pool.getNumInUse();
+    }
 
     /**
      * Constructor to create new Packet objects. If possible, this method returns a
@@ -159,26 +164,15 @@ public final class Packet implements DoublyLinkedListEntry, Comparable<Packet> {
      * @return A Packet instance, either a new one or a recycled one.
      */
     public static Packet fabricatePacket(Message msg) {
-        setNumPacketsOnTheFly(getNumPacketsOnTheFly() + 1);
-        if (freePackets.empty()) {
-            Packet p = new Packet(msg);
-            synchronized (ISSUED_PACKETS) {
-                ISSUED_PACKETS.append(p);
-            }
-            return p;
-        } else {
-            Packet rP = freePackets.pop();
-            if (rP.getMessage() != null) {
-                throw new SinalgoFatalException(Logging.getCodePosition()
-                        + " Packet factory failed! About to return a packet that was already returned. (Probably, free() was called > 1 on this packet.)");
-            }
-            rP.setID(getNextFreeID());
-            rP.setMessage(msg);
-            synchronized (ISSUED_PACKETS) {
-                ISSUED_PACKETS.append(rP);
-            }
-            return rP;
+        Packet p = pool.get(Packet::new);
+        if (p.getMessage() != null) {
+            throw new SinalgoFatalException(Logging.getCodePosition()
+                    + " Packet factory failed! About to return a packet that was already returned. (Probably, free() was called > 1 on this packet.)");
         }
+        p.pooled = false;
+        p.setID(getNextFreeID());
+        p.setMessage(msg);
+        return p;
     }
 
     /**
@@ -188,20 +182,193 @@ public final class Packet implements DoublyLinkedListEntry, Comparable<Packet> {
      * @param pack The packet to free.
      */
     public static void free(Packet pack) {
-        synchronized (ISSUED_PACKETS) {
-            if (!ISSUED_PACKETS.remove(pack)) { // nothing happens if the packet is not in the list
-                System.err.println(Logging.getCodePosition()
-                        + " Bug in packet factory. Please report this error if you see this line.\n\n\n");
-            }
+        if (pack.pooled) {
+            System.err.println(Logging.getCodePosition()
+                    + " Bug in packet factory: the packet was already freed. (Probably, free() was called > 1 on this packet.)\n");
+            return; // do not issue the packet twice
         }
-        setNumPacketsOnTheFly(getNumPacketsOnTheFly() - 1);
+        pack.pooled = true;
+        pack.getDoublyLinkedListFinger().releaseSlots();
         pack.setDestination(null);
         pack.setOrigin(null);
         pack.setEdge(null);
         pack.setMessage(null);
-        freePackets.push(pack);
+        pack.clearReceivers();
+        pool.free(pack);
     }
 
+    // -----------------------------------------------------------------------------------
+    // Receiver set of a multicast packet
+    // -----------------------------------------------------------------------------------
+
+    /**
+     * The receivers of a multicast packet, null entries denote receivers that have
+     * been removed while the packet was being sent.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Node[] receivers = new Node[0];
+
+    /**
+     * The edges over which the multicast packet is sent to the corresponding
+     * receivers.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Edge[] receiverEdges = new Edge[0];
+
+    /**
+     * The message delivered to each of the receivers.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Message[] receiverMessages = new Message[0];
+
+    /**
+     * The positiveDelivery flag for each of the receivers.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean[] receiverDelivery = new boolean[0];
+
+    /**
+     * The number of receivers of this packet. This number is 0 for all packets
+     * except the ones that carry a broadcast to several neighbors in a single
+     * packet.
+     */
+    @Setter(AccessLevel.NONE)
+    private int numReceivers;
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Adds a receiver to this packet. A packet with at least one
+     * receiver is delivered to each of its receivers in turn, see
+     * {@link #selectReceiver(int)}.
+     *
+     * @param receiver         The receiver to add.
+     * @param edge             The edge over which the packet is sent to the receiver.
+     * @param msg              The message delivered to the receiver.
+     * @param positiveDelivery True if the packet reaches the receiver, otherwise
+     *                         false.
+     */
+    public void addReceiver(Node receiver, Edge edge, Message msg, boolean positiveDelivery) {
+        if (this.numReceivers == this.receivers.length) {
+            int newLength = Math.max(4, 2 * this.numReceivers);
+            Node[] r = new Node[newLength];
+            Edge[] e = new Edge[newLength];
+            Message[] m = new Message[newLength];
+            boolean[] d = new boolean[newLength];
+            System.arraycopy(this.receivers, 0, r, 0, this.numReceivers);
+            System.arraycopy(this.receiverEdges, 0, e, 0, this.numReceivers);
+            System.arraycopy(this.receiverMessages, 0, m, 0, this.numReceivers);
+            System.arraycopy(this.receiverDelivery, 0, d, 0, this.numReceivers);
+            this.receivers = r;
+            this.receiverEdges = e;
+            this.receiverMessages = m;
+            this.receiverDelivery = d;
+        }
+        this.receivers[this.numReceivers] = receiver;
+        this.receiverEdges[this.numReceivers] = edge;
+        this.receiverMessages[this.numReceivers] = msg;
+        this.receiverDelivery[this.numReceivers] = positiveDelivery;
+        this.numReceivers++;
+    }
+
+    /**
+     * @return True if this packet carries a set of receivers, otherwise false.
+     */
+    public boolean isMulticast() {
+        return this.numReceivers > 0;
+    }
+
+    /**
+     * @param i The index of the receiver, 0 &lt;= i &lt; getNumReceivers().
+     * @return The i-th receiver of this packet, null if the receiver has been removed
+     * meanwhile.
+     */
+    public Node getReceiver(int i) {
+        return this.receivers[i];
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Sets the destination, edge, message and positiveDelivery flag
+     * of this packet to the values of the i-th receiver.
+     *
+     * @param i The index of the receiver, 0 &lt;= i &lt; getNumReceivers().
+     * @return The i-th receiver of this packet, null if the receiver has been removed
+     * meanwhile.
+     */
+    public Node selectReceiver(int i) {
+        this.destination = this.receivers[i];
+        this.edge = this.receiverEdges[i];
+        this.message = this.receiverMessages[i];
+        this.positiveDelivery = this.receiverDelivery[i];
+        return this.destination;
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Removes a node from the receivers of this packet.
+     *
+     * @param n The node to remove.
+     * @return True if this packet still has at least one receiver, otherwise false.
+     */
+    public boolean removeReceiver(Node n) {
+        boolean hasReceivers = false;
+        for (int i = 0; i < this.numReceivers; i++) {
+            if (n.equals(this.receivers[i])) {
+                this.receivers[i] = null;
+                this.receiverEdges[i] = null;
+                this.receiverMessages[i] = null;
+                this.receiverDelivery[i] = false;
+            } else if (this.receivers[i] != null) {
+                hasReceivers = true;
+            }
+        }
+        return hasReceivers;
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Invalidates the delivery to all receivers that are reached
+     * over the given edge.
+     *
+     * @param e The edge that is being removed.
+     * @return True if at least one receiver was affected, otherwise false.
+     */
+    public boolean invalidateReceiversOfEdge(Edge e) {
+        boolean changed = false;
+        for (int i = 0; i < this.numReceivers; i++) {
+            if (this.receiverEdges[i] != null && this.receiverEdges[i].getID() == e.getID()) {
+                this.receiverDelivery[i] = false;
+                this.receiverEdges[i] = null; // the edge may not exist anymore
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Removes all receivers from this packet.
+     */
+    private void clearReceivers() {
+        for (int i = 0; i < this.numReceivers; i++) {
+            this.receivers[i] = null;
+            this.receiverEdges[i] = null;
+            this.receiverMessages[i] = null;
+        }
+        this.numReceivers = 0;
+    }
+
+    /**
+     * True while this packet is in the pool, to detect packets that are freed
+     * twice.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean pooled;
+
     /**
      * The internal ID of this packet.
      */
@@ -228,52 +395,51 @@ public final class Packet implements DoublyLinkedListEntry, Comparable<Packet> {
     }
 
     /**
-     * This is a stack containing all the unused packet instances. To reduce the
-     * garbage collection time, used Packets are not destroyed but are added to a
-     * Packet pool. When a new instance is requested, the system only creates a new
-     * instance, when the stack is empty.
-     */
-    private static Stack<Packet> freePackets = new Stack<>();
-
-    /**
-     * List of all packet-objects issued and not yet returned with free. In theory,
-     * all of these packets are 'on the fly', i.e. being sent. In practice, some of
-     * the packets are just being created / destroyed, or are kept for further
-     * processing.
-     * <p>
-     * Note that this list is not equivalent to the 'packetsInTheAir' list used for
-     * interference! This list simply contains all packets objects that are
-     * currently used. For now, this member is only experimental.
+     * The pool containing all the unused packet instances. To reduce the garbage
+     * collection time, used Packets are not destroyed but are returned to this
+     * pool. When a new instance is requested, the system only creates a new
+     * instance, when the pool is empty.
      * <p>
-     * Whenever accessing this member, you should synchronize on this member
+     * While message animations are shown, the pool keeps track of all issued
+     * packets, i.e. the packets being sent.
      */
-    public final static DoublyLinkedList<Packet> ISSUED_PACKETS = new DoublyLinkedList<>(true);
+    @Getter
+    private static final ObjectPool<Packet> pool = new ObjectPool<>("Packets",
+            () -> Configuration.isTrackPooledObjects() || Configuration.isShowMessageAnimations());
 
     public static void clearUnusedPackets() {
-        freePackets.clear();
+        pool.clear();
     }
 
     /**
      * @return The number of packets ready to be reused.
      */
     public static int getNumFreedPackets() {
-        return freePackets.size();
+        return pool.getNumFree();
     }
 
     /**
      * The constructor for the Packet class. This constructor is private to ensure
      * nobody uses it. The proper way to create a Packet is to get an instance by
      * calling the fabricatePacket() method.
-     *
-     * @param msg The message to create a packet for.
      */
-    private Packet(Message msg) {
-        this.setMessage(msg);
-        this.setID(getNextFreeID());
+    private Packet() {
     }
 
-    // the DLLE entry for the DoublyLinkedList
-    private DLLFingerList doublyLinkedListFinger = new DLLFingerList();
+    /**
+     * The slot in the finger-list of a packet reserved for the inbox buffer of the
+     * destination.
+     */
+    public static final int DLL_SLOT_INBOX_BUFFER = 0;
+
+    /**
+     * The slot in the finger-list of a packet reserved for the packets in the air.
+     */
+    public static final int DLL_SLOT_PACKETS_IN_THE_AIR = 1;
+
+    // the DLLE entry for the DoublyLinkedList, the finger of a slot is only allocated when the packet
+    // is first added to the inbox buffer or the packets in the air, and remains with the pooled packet
+    private DLLFingerList doublyLinkedListFinger = new DLLFingerList(2);
 
     /**
      * Compare method to sort lists of packets according to their arriving time.
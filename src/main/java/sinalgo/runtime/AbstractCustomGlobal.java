@@ -41,6 +41,8 @@ import lombok.Setter;
 import sinalgo.gui.transformation.PositionTransformation;
 import sinalgo.nodes.Node;
 import sinalgo.nodes.timers.Timer;
+import sinalgo.tools.metrics.HotSpotProfiler;
+import sinalgo.tools.metrics.HotSpotProfiler.Callback;
 
 import java.awt.*;
 import java.lang.annotation.ElementType;
@@ -48,6 +50,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.Method;
+import java.util.List;
 import java.util.TreeSet;
 
 /**
@@ -249,6 +252,22 @@ public abstract class AbstractCustomGlobal {
         // file in your project.
     }
 
+    /**
+     * The framework calls this method whenever many nodes are added to the
+     * framework at once, e.g. by the -gen command line argument. (The method is
+     * called after all nodes have been added.)
+     * <p>
+     * By default, this method calls {@link #nodeAddedEvent(Node)} for each node.
+     * Overwrite this method to handle all added nodes at once.
+     *
+     * @param nodes The nodes that were added
+     */
+    public void nodesAddedEvent(List<Node> nodes) {
+        for (Node n : nodes) {
+            this.nodeAddedEvent(n);
+        }
+    }
+
     /**
      * The framework calls this method whenever a single node is removed from the
      * framework. (The method is called after removal.) The method is NOT called
@@ -286,7 +305,12 @@ public abstract class AbstractCustomGlobal {
         Timer t = this.getGlobalTimers().first();
         while (t.getFireTime() <= Global.getCurrentTime()) {
             this.getGlobalTimers().remove(t);
-            t.fire();
+            long start = HotSpotProfiler.start();
+            try {
+                t.fire();
+            } finally {
+                HotSpotProfiler.stop(Callback.TIMER_FIRE, t, start);
+            }
             if (this.getGlobalTimers().isEmpty()) {
                 break;
             }
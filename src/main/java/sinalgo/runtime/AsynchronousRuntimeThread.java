@@ -40,10 +40,18 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import sinalgo.configuration.Configuration;
+import sinalgo.models.DistanceConnectivityModelHelper;
 import sinalgo.nodes.Node;
 import sinalgo.runtime.events.Event;
 import sinalgo.runtime.events.EventQueue;
+import sinalgo.runtime.events.PacketEvent;
 import sinalgo.tools.logging.LogL;
+import sinalgo.tools.metrics.AllocationMeter;
+import sinalgo.tools.metrics.MetricsRegistry;
+import sinalgo.tools.metrics.PhaseProfiler;
+import sinalgo.tools.metrics.PhaseProfiler.Phase;
+
+import java.util.Date;
 
 /**
  * This is the asynchronous SinalgoRuntime Thread that executes the simulation in the
@@ -103,6 +111,9 @@ public class AsynchronousRuntimeThread extends Thread {
      */
     static void initializeConnectivity() {
         connectivityInitialized = true;
+        if (DistanceConnectivityModelHelper.updateAllConnections(false)) {
+            return;
+        }
         for (Node n : SinalgoRuntime.getNodes()) {
             n.getConnectivityModel().updateConnections(n);
         }
@@ -112,6 +123,8 @@ public class AsynchronousRuntimeThread extends Thread {
     public void run() {
         Global.setRunning(true);
 
+        Global.setStartTime(new Date());
+
         Event event = null;
 
         if (!connectivityInitialized && Configuration.isInitializeConnectionsOnStartup()) {
@@ -127,6 +140,7 @@ public class AsynchronousRuntimeThread extends Thread {
             if (event != null) {
                 event.free(); // free the previous event
             }
+            long t = PhaseProfiler.start();
             event = SinalgoRuntime.getEventQueue().getNextEvent(); // returns null if there is no further event
 
             if (event == null && Configuration.isHandleEmptyEventQueue()) {
@@ -142,9 +156,15 @@ public class AsynchronousRuntimeThread extends Thread {
                 }
             }
 
+            t = PhaseProfiler.stop(Phase.EVENT_QUEUE, t);
+
             if (event != null) {
                 Global.setCurrentTime(event.getTime());
                 event.handle(); // does not yet free the event
+                t = PhaseProfiler.stop(event instanceof PacketEvent ? Phase.PACKET_EVENTS : Phase.TIMER_EVENTS, t);
+                MetricsRegistry.eventHandled();
+                PhaseProfiler.eventHandled();
+                AllocationMeter.eventHandled();
             }
 
             if (Global.isGuiMode()) {
@@ -154,14 +174,17 @@ public class AsynchronousRuntimeThread extends Thread {
                         lastEventNode.highlight(false);
                     }
                     if (event != null) {
-                        if (event.isNodeEvent()) {
-                            event.getEventNode().highlight(true);
+                        // may be null, if the event does not execute on a node or if all receivers
+                        // of a multicast packet have been removed
+                        lastEventNode = event.getEventNode();
+                        if (event.isNodeEvent() && lastEventNode != null) {
+                            lastEventNode.highlight(true);
                         }
-                        lastEventNode = event.getEventNode(); // may be null, if the event does not execute on a node
                     }
                     this.getRuntime().getGUI().setRoundsPerformed((Global.getCurrentTime()), EventQueue.getEventNumber());
                     this.getRuntime().getGUI().setCurrentlyProcessedEvent(event); // does not store the event
                     this.getRuntime().getGUI().redrawGUINow();
+                    PhaseProfiler.stop(Phase.GUI, t);
                 }
             }
         }
@@ -174,10 +197,12 @@ public class AsynchronousRuntimeThread extends Thread {
                 if (lastEventNode != null) {
                     lastEventNode.highlight(false);
                 }
-                if (event.isNodeEvent()) {
-                    event.getEventNode().highlight(true);
+                // may be null, if the event does not execute on a node or if all receivers
+                // of a multicast packet have been removed
+                lastEventNode = event.getEventNode();
+                if (event.isNodeEvent() && lastEventNode != null) {
+                    lastEventNode.highlight(true);
                 }
-                lastEventNode = event.getEventNode();// may be null, if the event does not execute on a node
             } else {
                 this.getRuntime().getGUI().setCurrentlyProcessedEvent(null);
                 if (lastEventNode != null) {
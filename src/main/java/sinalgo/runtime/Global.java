@@ -48,7 +48,13 @@ import sinalgo.models.MessageTransmissionModel;
 import sinalgo.runtime.AbstractCustomGlobal.GlobalMethod;
 import sinalgo.tools.Tools;
 import sinalgo.tools.logging.Logging;
+import sinalgo.tools.metrics.MetricsRegistry;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
@@ -132,18 +138,47 @@ public class Global {
      */
 
     /**
-     * Global information about the number of messages sent in this round.
+     * @return The number of messages sent in this round, at most
+     * Integer.MAX_VALUE. {@link MetricsRegistry#MESSAGES_SENT} holds the exact
+     * count.
      */
-    @Getter
-    @Setter
-    private static int numberOfMessagesInThisRound;
+    public static int getNumberOfMessagesInThisRound() {
+        return (int) Math.min(Integer.MAX_VALUE, MetricsRegistry.MESSAGES_SENT.getInRound());
+    }
 
     /**
-     * Global information about the number of messages sent in all previous rounds.
+     * Sets the number of messages sent in this round.
+     *
+     * @param numberOfMessagesInThisRound The new number of messages sent in this round.
+     * @deprecated The count is kept by {@link MetricsRegistry#MESSAGES_SENT}, use
+     * {@link sinalgo.tools.metrics.Counter#setInRound(long)}.
      */
-    @Getter
-    @Setter
-    private static int numberOfMessagesOverAll;
+    @Deprecated
+    public static void setNumberOfMessagesInThisRound(int numberOfMessagesInThisRound) {
+        MetricsRegistry.MESSAGES_SENT.setInRound(numberOfMessagesInThisRound);
+    }
+
+    /**
+     * @return The number of messages sent since the start of the simulation,
+     * including the current round, at most Integer.MAX_VALUE.
+     * {@link MetricsRegistry#MESSAGES_SENT} holds the exact count.
+     */
+    public static int getNumberOfMessagesOverAll() {
+        return (int) Math.min(Integer.MAX_VALUE, MetricsRegistry.MESSAGES_SENT.get());
+    }
+
+    /**
+     * Sets the number of messages sent since the start of the simulation.
+     *
+     * @param numberOfMessagesOverAll The new number of messages sent since the start of the
+     *                                simulation.
+     * @deprecated The count is kept by {@link MetricsRegistry#MESSAGES_SENT}, use
+     * {@link sinalgo.tools.metrics.Counter#set(long)}.
+     */
+    @Deprecated
+    public static void setNumberOfMessagesOverAll(int numberOfMessagesOverAll) {
+        MetricsRegistry.MESSAGES_SENT.set(numberOfMessagesOverAll);
+    }
 
     /**
      * The current time of the simulation.
@@ -214,13 +249,7 @@ public class Global {
         try {
             Pattern projectPattern = Pattern.compile("^(" + Configuration.getUserProjectsPackage() + "\\.\\w+).*$");
 
-            Map<String, List<String>> allImplementations = new ClassGraph()
-                    .blacklistPackages("sinalgo")
-                    .whitelistPackages(Configuration.getUserProjectsPackage())
-                    .scan(Math.max(Math.min(Runtime.getRuntime().availableProcessors(), 4), 1))
-                    .getAllClasses()
-                    .parallelStream()
-                    .map(ClassInfo::getName)
+            Map<String, List<String>> allImplementations = getProjectClassNames()
                     .map(projectPattern::matcher)
                     .filter(Matcher::matches)
                     .collect(Collectors.groupingBy(m -> m.group(1), Collectors.mapping(Matcher::group, Collectors.toList())));
@@ -255,6 +284,45 @@ public class Global {
         }
     }
 
+    /**
+     * The name of the resource holding the implementation index which is generated at build time. The index lists the
+     * fully qualified names of all compiled classes outside the framework, one per line.
+     */
+    private static final String IMPLEMENTATION_INDEX = "sinalgo/implementationIndex.txt";
+
+    /**
+     * Returns the fully qualified names of all classes in the user projects package. In batch mode, the names are read
+     * from the implementation index generated at build time, such that no classpath scan is necessary at startup. In
+     * GUI mode, where the classes may have been compiled by an IDE since the index was generated, or if the index is
+     * not available or lists no class in the user projects package, the classpath is scanned instead.
+     *
+     * @return A stream of the fully qualified class names of the user projects.
+     * @throws IOException If the implementation index cannot be read.
+     */
+    private static Stream<String> getProjectClassNames() throws IOException {
+        InputStream index = isGuiMode() ? null
+                : Thread.currentThread().getContextClassLoader().getResourceAsStream(IMPLEMENTATION_INDEX);
+        if (index != null) {
+            String userProjectsPrefix = Configuration.getUserProjectsPackage() + ".";
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(index, StandardCharsets.UTF_8))) {
+                List<String> classNames = reader.lines()
+                        .map(String::trim)
+                        .filter(s -> s.startsWith(userProjectsPrefix))
+                        .collect(Collectors.toList());
+                if (!classNames.isEmpty()) {
+                    return classNames.stream();
+                }
+            }
+        }
+        return new ClassGraph()
+                .blacklistPackages("sinalgo")
+                .whitelistPackages(Configuration.getUserProjectsPackage())
+                .scan(Math.max(Math.min(Runtime.getRuntime().availableProcessors(), 4), 1))
+                .getAllClasses()
+                .parallelStream()
+                .map(ClassInfo::getName);
+    }
+
     /**
      * Gets the last name of a package or class given a full name separated by dots
      *
@@ -269,7 +337,7 @@ public class Global {
      * @return A vector containing all project names scanned in the classpath.
      */
     public static Vector<String> getProjectNames() {
-        if (initialized.get()) {
+        if (!initialized.get()) {
             init();
         }
         return new Vector<>(projectNames);
@@ -51,7 +51,12 @@ import sinalgo.models.Model;
 import sinalgo.tools.Tools;
 import sinalgo.tools.logging.LogL;
 import sinalgo.tools.logging.Logging;
+import sinalgo.tools.metrics.AllocationMeter;
+import sinalgo.tools.metrics.HotSpotProfiler;
+import sinalgo.tools.metrics.MetricsRegistry;
+import sinalgo.tools.metrics.PhaseProfiler;
 import sinalgo.tools.statistics.Distribution;
+import sinalgo.tools.trace.TraceRecorder;
 
 import javax.swing.*;
 import java.io.PrintStream;
@@ -85,7 +90,6 @@ public class Main {
     // just an internal method to not have it static...
     private void go(String[] args) {
         Thread.setDefaultUncaughtExceptionHandler(new SinalgoUncaughtExceptionHandler());
-        Global.init();
 
         for (String s : args) { // any argument '-help' triggers the help to be printed
             if (s.equals("-help")) {
@@ -127,6 +131,13 @@ public class Main {
         // activate the logging (after all overwrite parameters have been handled)
         Logging.activate();
 
+        // open the trace and metrics files, if any
+        TraceRecorder.start();
+        MetricsRegistry.start();
+        PhaseProfiler.activate();
+        HotSpotProfiler.activate();
+        AllocationMeter.activate();
+
         // sets the Async/Sync flag
         Global.setAsynchronousMode(Configuration.isAsynchronousMode());
 
@@ -175,8 +186,10 @@ public class Main {
         Global.getCustomGlobal().checkProjectRequirements(); // note that the runtime is not yet initialized at this point of
         // time!
 
-        // Test whether this is the latest version
-        VersionTester.testVersion(true, false);
+        // Test whether this is the latest version. Batch runs do not go online.
+        if (Global.isGuiMode()) {
+            VersionTester.testVersion(true, false);
+        }
 
         try {
             // initialize the appropriate runtime environment
@@ -379,6 +392,7 @@ public class Main {
                         } else {
                             try {
                                 Field field = Configuration.class.getDeclaredField(nameVal[0]);
+                                field.setAccessible(true); // the entries are private, with Lombok accessors
                                 if (field.getType() == int.class) {
                                     field.setInt(null, Integer.parseInt(nameVal[1]));
                                 } else if (field.getType().equals(boolean.class)) {
@@ -453,6 +467,13 @@ public class Main {
     static void cleanup() {
         // write the app config
         AppConfig.getAppConfig().writeConfig();
+        // write the profile, pending log statements, trace records and metrics
+        PhaseProfiler.close();
+        HotSpotProfiler.close();
+        AllocationMeter.close();
+        Logging.flushAll();
+        TraceRecorder.close();
+        MetricsRegistry.close();
     }
 
     /**
@@ -0,0 +1,190 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.runtime;
+
+import sinalgo.configuration.Configuration;
+import sinalgo.exception.SinalgoWrappedException;
+import sinalgo.exception.WrongConfigurationException;
+import sinalgo.models.DistributionModel;
+import sinalgo.models.ModelType;
+import sinalgo.nodes.Node;
+import sinalgo.tools.Tools;
+import sinalgo.tools.Tuple;
+import sinalgo.tools.statistics.Distribution;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.Vector;
+import java.util.function.DoubleConsumer;
+
+/**
+ * <b>This class is framework internal and should not be used by the project
+ * developer.</b> Generates many nodes at once, as requested by the -gen command
+ * line argument.
+ * <p>
+ * The nodes are generated in three steps:
+ * <ol>
+ * <li>The nodes and their models are constructed, in parallel if
+ * <code>nodeGenerationThreads</code> is set in the configuration file. The
+ * first node is always constructed by the calling thread, such that the
+ * classes of the node and its models are initialized there. Each thread then
+ * constructs a fixed range of the remaining nodes, with the IDs reserved for
+ * this range, such that the IDs increase with the order in which the nodes
+ * are generated, as for sequential generation. Each thread draws random
+ * numbers from its own random object, seeded from the seed of the
+ * simulation.</li>
+ * <li>The nodes are placed at the positions returned by the distribution model,
+ * drawn in order, and initialized.</li>
+ * <li>All nodes are added to the node collection at once, and the
+ * CustomGlobal is notified once through
+ * {@link AbstractCustomGlobal#nodesAddedEvent(java.util.List)}.</li>
+ * </ol>
+ */
+public final class NodeGenerator {
+
+    private NodeGenerator() {
+    }
+
+    /**
+     * Generates nodes and adds them to the framework.
+     *
+     * @param numNodes           The number of nodes to generate.
+     * @param nodeTypeName       The type of the nodes.
+     * @param distribution       The initialized distribution model placing the nodes.
+     * @param models             The models given explicitly for the nodes.
+     * @param modelParams        The parameter strings of the models.
+     * @param modelNames         The names of the models.
+     * @param numSpecifiedModels The number of models given explicitly.
+     * @param progress           Receives the progress in percent, may be null.
+     * @return The generated nodes.
+     */
+    public static Vector<Node> generateNodes(int numNodes, String nodeTypeName, DistributionModel distribution,
+                                             Vector<Tuple<ModelType, Class<?>>> models, String[] modelParams,
+                                             String[] modelNames, int numSpecifiedModels, DoubleConsumer progress) {
+        Node[] nodes = new Node[numNodes];
+        int numThreads = Configuration.getNodeGenerationThreads() > 0 ? Configuration.getNodeGenerationThreads()
+                : Runtime.getRuntime().availableProcessors();
+        // starting threads does not pay off for a few nodes
+        numThreads = Math.max(1, Math.min(numThreads, numNodes / 1024));
+        if (numThreads == 1) {
+            constructNodes(nodes, 0, numNodes, nodeTypeName, models, modelParams, modelNames, numSpecifiedModels);
+        } else {
+            // initializes the classes of the node and its models on this thread
+            constructNodes(nodes, 0, 1, nodeTypeName, models, modelParams, modelNames, numSpecifiedModels);
+            constructNodesInParallel(nodes, numThreads, nodeTypeName, models, modelParams, modelNames,
+                    numSpecifiedModels);
+        }
+
+        Vector<Node> result = new Vector<>(numNodes);
+        for (int j = 0; j < numNodes; j++) {
+            if (progress != null) {
+                progress.accept(100.0d * j / numNodes);
+            }
+            Node node = nodes[j];
+            node.setPosition(distribution.getNextPosition());
+            node.init();
+            node.checkRequirements();
+            result.add(node);
+        }
+        SinalgoRuntime.addNodes(result);
+        return result;
+    }
+
+    private static void constructNodes(Node[] nodes, int from, int to, String nodeTypeName,
+                                       Vector<Tuple<ModelType, Class<?>>> models, String[] modelParams,
+                                       String[] modelNames, int numSpecifiedModels) {
+        for (int j = from; j < to; j++) {
+            Node node;
+            try {
+                node = Node.createNodeByClassname(nodeTypeName);
+            } catch (WrongConfigurationException e) {
+                throw new SinalgoWrappedException(e);
+            }
+            // set the models
+            Tools.setModels(models, modelParams, modelNames, numSpecifiedModels, node);
+            // set default models
+            node.finishInitializationWithDefaultModels(false);
+            nodes[j] = node;
+        }
+    }
+
+    private static void constructNodesInParallel(Node[] nodes, int numThreads, String nodeTypeName,
+                                                 Vector<Tuple<ModelType, Class<?>>> models, String[] modelParams,
+                                                 String[] modelNames, int numSpecifiedModels) {
+        // the nodes but the first one, which is already constructed
+        int numNodes = nodes.length - 1;
+        long firstID = Node.reserveIDs(numNodes);
+        SplittableRandom seeds = new SplittableRandom(Distribution.getSeed());
+        Thread[] workers = new Thread[numThreads];
+        Throwable[] failures = new Throwable[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            int index = t;
+            int from = 1 + (int) ((long) numNodes * t / numThreads);
+            int to = 1 + (int) ((long) numNodes * (t + 1) / numThreads);
+            Random random = new Random(seeds.split().nextLong());
+            workers[t] = new Thread(() -> {
+                Node.useReservedIDs(firstID + from - 1);
+                Distribution.setThreadRandom(random);
+                try {
+                    constructNodes(nodes, from, to, nodeTypeName, models, modelParams, modelNames, numSpecifiedModels);
+                } catch (Throwable e) {
+                    failures[index] = e;
+                } finally {
+                    Distribution.setThreadRandom(null);
+                    Node.useReservedIDs(-1);
+                }
+            }, "NodeGenerator-" + t);
+            workers[t].start();
+        }
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            throw new SinalgoWrappedException(e);
+        }
+        for (Throwable failure : failures) {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            } else if (failure != null) {
+                throw new SinalgoWrappedException(failure);
+            }
+        }
+    }
+}
@@ -49,6 +49,7 @@ import sinalgo.gui.GraphPanel;
 import sinalgo.gui.transformation.PositionTransformation;
 import sinalgo.io.IOUtils;
 import sinalgo.io.mapIO.Map;
+import sinalgo.models.DistanceConnectivityModelHelper;
 import sinalgo.models.DistributionModel;
 import sinalgo.models.Model;
 import sinalgo.models.ModelType;
@@ -60,12 +61,15 @@ import sinalgo.runtime.nodeCollection.AbstractNodeCollection;
 import sinalgo.runtime.packetsInTheAir.PacketsInTheAirBuffer;
 import sinalgo.tools.Tools;
 import sinalgo.tools.Tuple;
+import sinalgo.tools.trace.TraceEvent;
+import sinalgo.tools.trace.TraceRecorder;
 
 import java.io.FileNotFoundException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.Vector;
 
 /**
@@ -383,7 +387,28 @@ public abstract class SinalgoRuntime {
      */
     public static void addNode(Node n) {
         getNodes().addNode(n);
+        TraceRecorder.recordNode(TraceEvent.NODE_ADDED, n);
         Global.getCustomGlobal().nodeAddedEvent(n);
+        forceDrawInNextPaint();
+    }
+
+    /**
+     * This method adds several nodes to the collection of nodes at once.
+     *
+     * @param nodes The nodes to add.
+     */
+    public static void addNodes(List<Node> nodes) {
+        getNodes().addNodes(nodes);
+        if (TraceRecorder.isRecording(TraceEvent.NODE_ADDED)) {
+            for (Node n : nodes) {
+                TraceRecorder.recordNode(TraceEvent.NODE_ADDED, n);
+            }
+        }
+        Global.getCustomGlobal().nodesAddedEvent(nodes);
+        forceDrawInNextPaint();
+    }
+
+    private static void forceDrawInNextPaint() {
         if (Global.isGuiMode()) {
             try {
                 GraphPanel gp = Main.getGuiRuntime().getGUI().getGraphPanel();
@@ -422,6 +447,7 @@ public abstract class SinalgoRuntime {
         n.getOutgoingConnections().removeAndFreeAllEdges();
 
         getNodes().removeNode(n);
+        TraceRecorder.recordNode(TraceEvent.NODE_REMOVED, n);
         getEventQueue().removeAllEventsForThisNode(n);
         if (Global.isGuiMode()) {
             // un highlight this node
@@ -509,6 +535,9 @@ public abstract class SinalgoRuntime {
      * the graph.
      */
     public static void reevaluateConnections() {
+        if (DistanceConnectivityModelHelper.updateAllConnections(false)) {
+            return;
+        }
         for (Node n : getNodes()) {
             n.getConnectivityModel().updateConnections(n);
         }
@@ -529,6 +558,7 @@ public abstract class SinalgoRuntime {
         }
         setNodes(createNewNodeCollection());
         Node.resetIDCounter(); // new nodes restart their ID with 1
+        Model.clearSharedInstances();
         if (Global.isGuiMode()) {
             GUI gui = Tools.getGUI();
             gui.allNodesAreRemoved();
@@ -555,23 +585,8 @@ public abstract class SinalgoRuntime {
      */
     public synchronized void createNodes() {
         // Create the nodes
-        for (int j = 0; j < this.numNodes; j++) {
-
-            this.setProgress(100.0d * j / this.numNodes);
-
-            Node node;
-            try {
-                node = Node.createNodeByClassname(this.nodeTypeName);
-            } catch (WrongConfigurationException e) {
-                throw new SinalgoWrappedException(e);
-            }
-            node.setPosition(this.nodeDistribution.getNextPosition());
-
-            // set the models
-            Tools.setModels(this.models, this.modelParams, this.modelNames, this.numSpecifiedModels, node);
-            // set default models
-            node.finishInitializationWithDefaultModels(true);
-        }
+        NodeGenerator.generateNodes(this.numNodes, this.nodeTypeName, this.nodeDistribution, this.models,
+                this.modelParams, this.modelNames, this.numSpecifiedModels, this::setProgress);
         // the system nodes are initialized and thus the waiting thread (the
         // main-Thread) can be invoked again. (If it is still waiting
         this.setNodeCreationFinished(true);
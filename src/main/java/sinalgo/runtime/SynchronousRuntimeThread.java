@@ -41,8 +41,16 @@ import lombok.Getter;
 import lombok.Setter;
 import sinalgo.configuration.Configuration;
 import sinalgo.exception.WrongConfigurationException;
+import sinalgo.models.DistanceConnectivityModelHelper;
 import sinalgo.nodes.Node;
+import sinalgo.nodes.Position;
 import sinalgo.tools.logging.LogL;
+import sinalgo.tools.metrics.AllocationMeter;
+import sinalgo.tools.metrics.HotSpotProfiler;
+import sinalgo.tools.metrics.HotSpotProfiler.Callback;
+import sinalgo.tools.metrics.MetricsRegistry;
+import sinalgo.tools.metrics.PhaseProfiler;
+import sinalgo.tools.metrics.PhaseProfiler.Phase;
 
 import java.util.Date;
 
@@ -104,28 +112,43 @@ public class SynchronousRuntimeThread extends Thread {
             Global.setEvenRound(!Global.isEvenRound()); // flip the bit
 
             Global.setStartTimeOfRound(new Date());
-            Global.setNumberOfMessagesInThisRound(0);
+            MetricsRegistry.startRound();
 
+            long t = PhaseProfiler.start();
             Global.getCustomGlobal().preRound();
+            t = PhaseProfiler.stop(Phase.PRE_ROUND, t);
             Global.getCustomGlobal().handleGlobalTimers();
+            t = PhaseProfiler.stop(Phase.GLOBAL_TIMERS, t);
 
             // Mobility is performed in a separate iteration over all nodes to avoid
             // inconsistencies.
             if (Configuration.isMobility()) {
                 for (Node n : SinalgoRuntime.getNodes()) {
-                    n.setPosition(n.getMobilityModel().getNextPos(n));
+                    long start = HotSpotProfiler.start();
+                    Position pos;
+                    try {
+                        pos = n.getMobilityModel().getNextPos(n);
+                    } finally {
+                        HotSpotProfiler.stop(Callback.MOBILITY_MODEL, n.getMobilityModel(), start);
+                    }
+                    n.setPosition(pos);
                 }
+                t = PhaseProfiler.stop(Phase.MOBILITY, t);
             }
 
             // Before the nodes perform their step, the entire network graph is updated
             // such that all nodes see the same network when they perform their step.
-            for (Node n : SinalgoRuntime.getNodes()) {
-                n.updateConnections();
+            if (!DistanceConnectivityModelHelper.updateAllConnections(true)) {
+                for (Node n : SinalgoRuntime.getNodes()) {
+                    n.updateConnections();
+                }
             }
+            t = PhaseProfiler.stop(Phase.CONNECTIVITY, t);
 
             // Test all messages still being sent for interference
             if (Configuration.isInterference()) {
                 SinalgoRuntime.getPacketsInTheAir().testForInterference();
+                t = PhaseProfiler.stop(Phase.INTERFERENCE, t);
             }
 
             // Perform the step for each node
@@ -133,6 +156,7 @@ public class SynchronousRuntimeThread extends Thread {
                 for (Node n : SinalgoRuntime.getNodes()) {
                     n.step();
                 }
+                t = PhaseProfiler.stop(Phase.NODE_STEP, t);
             } catch (WrongConfigurationException wCE) {
                 Main.minorError(wCE); // in gui, a popup is shown. in batch, exits.
                 if (Global.isGuiMode()) {
@@ -144,6 +168,7 @@ public class SynchronousRuntimeThread extends Thread {
             }
 
             Global.getCustomGlobal().postRound();
+            t = PhaseProfiler.stop(Phase.POST_ROUND, t);
 
             if (Global.isGuiMode()) { // redraw the graph all 'refreshRate' Steps except the last
                 if ((i % this.getRefreshRate()) == (this.getRefreshRate() - 1)) {
@@ -152,7 +177,11 @@ public class SynchronousRuntimeThread extends Thread {
                     }
                 }
                 this.getRuntime().getGUI().setRoundsPerformed((int) (Global.getCurrentTime()));
+                PhaseProfiler.stop(Phase.GUI, t);
             }
+            MetricsRegistry.roundFinished();
+            PhaseProfiler.roundFinished();
+            AllocationMeter.roundFinished();
 
             // test whether the application should exit
             if (Global.getCustomGlobal().hasTerminated()) {
@@ -174,12 +203,10 @@ public class SynchronousRuntimeThread extends Thread {
                 Main.exitApplication(); // exit the application
             }
 
-            Global.setNumberOfMessagesOverAll(Global.getNumberOfMessagesOverAll() + Global.getNumberOfMessagesInThisRound());
-
-            if (LogL.ROUND_DETAIL) {
-                Global.getLog().logln("Round " + (Global.getCurrentTime()) + " finished");
-                Global.getLog().logln("In this round " + Global.getNumberOfMessagesInThisRound() + " Messages were sent");
-                Global.getLog().logln("Overall " + Global.getNumberOfMessagesOverAll() + " Messages were sent\n");
+            if (Global.getLog().isEnabled(LogL.ROUND_DETAIL)) {
+                Global.getLog().logln(LogL.ROUND_DETAIL, "Round {} finished", Global.getCurrentTime());
+                Global.getLog().logln(LogL.ROUND_DETAIL, "In this round {} Messages were sent", Global.getNumberOfMessagesInThisRound());
+                Global.getLog().logln(LogL.ROUND_DETAIL, "Overall {} Messages were sent\n", Global.getNumberOfMessagesOverAll());
             }
         }
 
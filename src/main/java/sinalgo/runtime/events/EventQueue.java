@@ -41,6 +41,7 @@ import lombok.Getter;
 import lombok.Setter;
 import sinalgo.nodes.Node;
 import sinalgo.nodes.edges.Edge;
+import sinalgo.nodes.messages.Packet;
 import sinalgo.runtime.SinalgoRuntime;
 
 import java.util.Comparator;
@@ -121,7 +122,18 @@ public class EventQueue extends TreeSet<Event> {
         Iterator<Event> eventIter = this.iterator();
         while (eventIter.hasNext()) {
             Event e = eventIter.next();
-            if (e.isNodeEvent() && n.equals(e.getEventNode())) {
+            if (e instanceof PacketEvent && ((PacketEvent) e).getPacket().isMulticast()) {
+                // a broadcast, possibly sent by or to this node
+                Packet p = ((PacketEvent) e).getPacket();
+                if (p.getOrigin().equals(n)) {
+                    p.denyDelivery();
+                }
+                if (!p.removeReceiver(n)) {
+                    eventIter.remove();
+                    e.free();
+                    changed = true;
+                }
+            } else if (e.isNodeEvent() && n.equals(e.getEventNode())) {
                 // an event that would execute on this node
                 eventIter.remove();
                 e.free(); // free the event (and also the packet, if it's a packet event)
@@ -137,6 +149,14 @@ public class EventQueue extends TreeSet<Event> {
             }
         }
 
+        PacketEvent inProgress = PacketEvent.getMulticastInProgress();
+        if (inProgress != null) {
+            if (inProgress.getPacket().getOrigin().equals(n)) {
+                inProgress.getPacket().denyDelivery();
+            }
+            inProgress.getPacket().removeReceiver(n);
+        }
+
         if (changed) {
             this.notifyListeners();
         }
@@ -155,13 +175,18 @@ public class EventQueue extends TreeSet<Event> {
         for (Event eventInQueue : this) {
             if (eventInQueue instanceof PacketEvent) {
                 PacketEvent pe = (PacketEvent) eventInQueue;
-                if (pe.getPacket().getEdge() != null && toDelFor.getID() == pe.getPacket().getEdge().getID()) {
+                if (pe.getPacket().isMulticast()) {
+                    changed |= pe.getPacket().invalidateReceiversOfEdge(toDelFor);
+                } else if (pe.getPacket().getEdge() != null && toDelFor.getID() == pe.getPacket().getEdge().getID()) {
                     pe.getPacket().setPositiveDelivery(false);
                     pe.getPacket().setEdge(null); // the edge may not exist anymore
                     changed = true;
                 }
             }
         }
+        if (PacketEvent.getMulticastInProgress() != null) {
+            PacketEvent.getMulticastInProgress().getPacket().invalidateReceiversOfEdge(toDelFor);
+        }
 
         if (changed) {
             this.notifyListeners();
@@ -36,6 +36,7 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package sinalgo.runtime.events;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import sinalgo.configuration.Configuration;
@@ -48,8 +49,12 @@ import sinalgo.nodes.messages.Packet.PacketType;
 import sinalgo.runtime.Global;
 import sinalgo.runtime.SinalgoRuntime;
 import sinalgo.tools.logging.Logging;
-
-import java.util.Stack;
+import sinalgo.tools.metrics.HotSpotProfiler;
+import sinalgo.tools.metrics.HotSpotProfiler.Callback;
+import sinalgo.tools.metrics.MetricsRegistry;
+import sinalgo.tools.storage.ObjectPool;
+import sinalgo.tools.trace.TraceEvent;
+import sinalgo.tools.trace.TraceRecorder;
 
 /**
  * The event that represents that a message is reaching its destination.
@@ -58,18 +63,18 @@ import java.util.Stack;
 @Setter
 public class PacketEvent extends Event {
 
-    private static Stack<PacketEvent> unusedPacketEvents = new Stack<>();
+    private static final ObjectPool<PacketEvent> pool = new ObjectPool<>("PacketEvents");
 
-    @Getter
-    @Setter
-    private static int numPacketEventsOnTheFly;
+    public static int getNumPacketEventsOnTheFly() {
+        return (int) pool.getNumInUse();
+    }
 
     public static int getNumFreedPacketEvents() {
-        return unusedPacketEvents.size();
+        return pool.getNumFree();
     }
 
     public static void clearUnusedPacketEvents() {
-        unusedPacketEvents.clear();
+        pool.clear();
     }
 
     /**
@@ -99,20 +104,14 @@ public class PacketEvent extends Event {
      * @return An instance of PacketEvent
      */
     public static PacketEvent getNewPacketEvent(Packet packet, double time) {
-        PacketEvent pe;
-        if (unusedPacketEvents.size() > 0) {
-            pe = unusedPacketEvents.pop();
-            if (pe.getPacket() != null) { // sanity check
-                throw new SinalgoFatalException(Logging.getCodePosition()
-                        + " PacketEvent factory failed! About to return a packet-event that was already returned. (Probably, free() was called > 1 on this packet event.)");
-            }
-            pe.setPacket(packet);
-            pe.setTime(time);
-            pe.setID(getNextFreeID());
-        } else {
-            pe = new PacketEvent(packet, time);
+        PacketEvent pe = pool.get(() -> new PacketEvent(null, 0));
+        if (pe.getPacket() != null) { // sanity check
+            throw new SinalgoFatalException(Logging.getCodePosition()
+                    + " PacketEvent factory failed! About to return a packet-event that was already returned. (Probably, free() was called > 1 on this packet event.)");
         }
-        setNumPacketEventsOnTheFly(getNumPacketEventsOnTheFly() + 1);
+        pe.setPacket(packet);
+        pe.setTime(time);
+        pe.setID(getNextFreeID());
         return pe;
     }
 
@@ -126,16 +125,29 @@ public class PacketEvent extends Event {
             Packet.free(this.packet);
             this.packet = null;
         }
-        unusedPacketEvents.push(this);
-        setNumPacketEventsOnTheFly(getNumPacketEventsOnTheFly() - 1);
+        pool.free(this);
     }
 
     // Two static objects to prevent from allocating them all over again
     private static Inbox inbox = new Inbox();
     private static NackBox nAckBox = new NackBox();
 
+    /**
+     * The multicast packet event that is currently being handled, null if there is
+     * none. Such an event is not in the event queue anymore, but its remaining
+     * receivers need to be updated if nodes or edges are removed while it is
+     * being handled.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PRIVATE)
+    private static PacketEvent multicastInProgress;
+
     @Override
     public void handle() {
+        if (this.getPacket().isMulticast()) {
+            this.handleMulticast();
+            return;
+        }
         // the arrival of a packet in the asynchronous case
         if (Configuration.isInterference()) {
             SinalgoRuntime.getPacketsInTheAir().performInterferenceTestBeforeRemove();
@@ -145,17 +157,83 @@ public class PacketEvent extends Event {
             this.getPacket().getEdge().removeMessageForThisEdge(this.getPacket().getMessage());
         }
         if (this.getPacket().isPositiveDelivery()) {
-            this.getPacket().getDestination().handleMessages(inbox.resetForPacket(this.getPacket()));
+            TraceRecorder.recordPacket(TraceEvent.DELIVER, this.getPacket());
+            MetricsRegistry.messageDelivered(this.getPacket());
+            long start = HotSpotProfiler.start();
+            try {
+                this.getPacket().getDestination().handleMessages(inbox.resetForPacket(this.getPacket()));
+            } finally {
+                HotSpotProfiler.stop(Callback.HANDLE_MESSAGES, this.getPacket().getDestination(), start);
+            }
         } else {
+            TraceRecorder.recordPacket(TraceEvent.DROP, this.getPacket());
+            MetricsRegistry.MESSAGES_DROPPED.increment();
             if (Configuration.isGenerateNAckMessages() && this.getPacket().getType() == PacketType.UNICAST) {
-                this.getPacket().getOrigin().handleNAckMessages(nAckBox.resetForPacket(this.packet));
+                TraceRecorder.recordPacket(TraceEvent.NACK, this.getPacket());
+                long start = HotSpotProfiler.start();
+                try {
+                    this.getPacket().getOrigin().handleNAckMessages(nAckBox.resetForPacket(this.packet));
+                } finally {
+                    HotSpotProfiler.stop(Callback.HANDLE_NACK_MESSAGES, this.getPacket().getOrigin(), start);
+                }
+            }
+        }
+    }
+
+    /**
+     * Delivers a multicast packet to each of its receivers in turn.
+     */
+    private void handleMulticast() {
+        setMulticastInProgress(this);
+        try {
+            Packet p = this.getPacket();
+            for (int i = 0; i < p.getNumReceivers(); i++) {
+                Node receiver = p.selectReceiver(i);
+                if (receiver == null) {
+                    continue; // the receiver has been removed meanwhile
+                }
+                if (p.getEdge() != null) {
+                    p.getEdge().removeMessageForThisEdge(p.getMessage());
+                }
+                if (p.isPositiveDelivery()) {
+                    TraceRecorder.recordPacket(TraceEvent.DELIVER, p, receiver);
+                    MetricsRegistry.messageDelivered(p);
+                    long start = HotSpotProfiler.start();
+                    try {
+                        receiver.handleMessages(inbox.resetForPacket(p));
+                    } finally {
+                        HotSpotProfiler.stop(Callback.HANDLE_MESSAGES, receiver, start);
+                    }
+                } else {
+                    TraceRecorder.recordPacket(TraceEvent.DROP, p, receiver);
+                    MetricsRegistry.MESSAGES_DROPPED.increment();
+                }
             }
+        } finally {
+            setMulticastInProgress(null);
         }
     }
 
     @Override
     public void drop() {
+        if (this.getPacket().isMulticast()) {
+            Packet p = this.getPacket();
+            for (int i = 0; i < p.getNumReceivers(); i++) {
+                Node receiver = p.selectReceiver(i);
+                if (receiver == null) {
+                    continue; // the receiver has been removed meanwhile
+                }
+                TraceRecorder.recordPacket(TraceEvent.DROP, p, receiver);
+                MetricsRegistry.MESSAGES_DROPPED.increment();
+                if (p.getEdge() != null) {
+                    p.getEdge().removeMessageForThisEdge(p.getMessage());
+                }
+            }
+            return;
+        }
         // similar to the arrival of a packet in the asynchronous case
+        TraceRecorder.recordPacket(TraceEvent.DROP, this.getPacket());
+        MetricsRegistry.MESSAGES_DROPPED.increment();
         if (Configuration.isInterference()) {
             SinalgoRuntime.getPacketsInTheAir().remove(this.getPacket());
         }
@@ -171,6 +249,13 @@ public class PacketEvent extends Event {
 
     @Override
     public String getEventListText(boolean hasExecuted) {
+        if (this.getPacket().isMulticast()) {
+            if (hasExecuted) {
+                return "Packet at " + this.getPacket().getNumReceivers() + " nodes";
+            } else {
+                return "PE (Nodes:" + this.getPacket().getNumReceivers() + ", Time:" + this.getExecutionTimeString(4) + ")";
+            }
+        }
         if (hasExecuted) {
             return "Packet at node " + this.getPacket().getDestination().getID()
                     + (this.getPacket().isPositiveDelivery() ? " (delivered)" : " (dropped)");
@@ -181,6 +266,11 @@ public class PacketEvent extends Event {
 
     @Override
     public String getEventListToolTipText(boolean hasExecuted) {
+        if (this.getPacket().isMulticast()) {
+            return (hasExecuted ? "" : "At time " + this.getTime() + " ") + "a broadcast message of node "
+                    + this.getPacket().getOrigin().getID() + " reaches " + this.getPacket().getNumReceivers() + " nodes\n"
+                    + "The type of the message is: " + Global.toShortName(this.getPacket().getMessage().getClass().getName());
+        }
         if (hasExecuted) {
             return "The type of the message is: " + Global.toShortName(this.getPacket().getMessage().getClass().getName()) + "\n"
                     + (this.getPacket().isPositiveDelivery() ? "The message was delivered" : "The message was dropped.");
@@ -194,6 +284,14 @@ public class PacketEvent extends Event {
 
     @Override
     public Node getEventNode() {
+        if (this.getPacket().isMulticast()) {
+            for (int i = 0; i < this.getPacket().getNumReceivers(); i++) {
+                if (this.getPacket().getReceiver(i) != null) {
+                    return this.getPacket().getReceiver(i);
+                }
+            }
+            return null;
+        }
         return this.getPacket().getDestination();
     }
 
@@ -43,26 +43,27 @@ import sinalgo.nodes.Node;
 import sinalgo.nodes.timers.Timer;
 import sinalgo.runtime.Global;
 import sinalgo.tools.logging.Logging;
-
-import java.util.Stack;
+import sinalgo.tools.metrics.HotSpotProfiler;
+import sinalgo.tools.metrics.HotSpotProfiler.Callback;
+import sinalgo.tools.storage.ObjectPool;
 
 /**
  * A event representing the fireing of a timer.
  */
 public class TimerEvent extends Event {
 
-    private static Stack<TimerEvent> unusedTimerEvents = new Stack<>();
+    private static final ObjectPool<TimerEvent> pool = new ObjectPool<>("TimerEvents");
 
-    @Getter
-    @Setter
-    private static int numTimerEventsOnTheFly;
+    public static int getNumTimerEventsOnTheFly() {
+        return (int) pool.getNumInUse();
+    }
 
     public static int getNumFreedTimerEvents() {
-        return unusedTimerEvents.size();
+        return pool.getNumFree();
     }
 
     public static void clearUnusedTimerEvents() {
-        unusedTimerEvents.clear();
+        pool.clear();
     }
 
     /**
@@ -94,20 +95,14 @@ public class TimerEvent extends Event {
      * @return An instance of PacketEvent
      */
     public static TimerEvent getNewTimerEvent(Timer timer, double time) {
-        TimerEvent te;
-        if (unusedTimerEvents.size() > 0) {
-            te = unusedTimerEvents.pop();
-            if (te.getTimer() != null) { // sanity check
-                throw new SinalgoFatalException(Logging.getCodePosition()
-                        + " TimerEvent factory failed! About to return a timer-event that was already returned. (Probably, free() was called > 1 on this timer event.)");
-            }
-            te.setTimer(timer);
-            te.setTime(time);
-            te.setID(getNextFreeID());
-        } else {
-            te = new TimerEvent(timer, time);
+        TimerEvent te = pool.get(() -> new TimerEvent(null, 0));
+        if (te.getTimer() != null) { // sanity check
+            throw new SinalgoFatalException(Logging.getCodePosition()
+                    + " TimerEvent factory failed! About to return a timer-event that was already returned. (Probably, free() was called > 1 on this timer event.)");
         }
-        setNumTimerEventsOnTheFly(getNumTimerEventsOnTheFly() + 1);
+        te.setTimer(timer);
+        te.setTime(time);
+        te.setID(getNextFreeID());
         return te;
     }
 
@@ -117,14 +112,18 @@ public class TimerEvent extends Event {
     @Override
     public void free() {
         this.setTimer(null);
-        unusedTimerEvents.push(this);
-        setNumTimerEventsOnTheFly(getNumTimerEventsOnTheFly() - 1);
+        pool.free(this);
     }
 
     @Override
     public void handle() {
         // a timer fires in the asynchronous case
-        this.getTimer().fire();
+        long start = HotSpotProfiler.start();
+        try {
+            this.getTimer().fire();
+        } finally {
+            HotSpotProfiler.stop(Callback.TIMER_FIRE, this.getTimer(), start);
+        }
     }
 
     @Override
@@ -36,11 +36,15 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package sinalgo.runtime.nodeCollection;
 
+import lombok.Getter;
+import sinalgo.configuration.Configuration;
 import sinalgo.nodes.Node;
+import sinalgo.nodes.Position;
 import sinalgo.tools.statistics.Distribution;
 
 import java.util.Enumeration;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Vector;
 
 /**
@@ -62,6 +66,39 @@ import java.util.Vector;
  */
 public abstract class AbstractNodeCollection implements Iterable<Node> {
 
+    /**
+     * The coordinates of all nodes in this collection, stored in primitive arrays
+     * for fast loops over the positions of the nodes.
+     */
+    @Getter
+    private final NodeCoordinates coordinates = new NodeCoordinates();
+
+    // maps the IDs of the nodes in this collection to the nodes
+    private final NodeIDIndex idIndex = new NodeIDIndex();
+
+    /**
+     * Returns the node with the given ID in constant time.
+     *
+     * @param id The ID of the node to return.
+     * @return The node with the given ID, null if this collection holds no such
+     * node. If several nodes have the given ID, the one added first is returned.
+     */
+    public Node getNodeByID(long id) {
+        return this.idIndex.get(id);
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Called by a node of this collection when its ID has changed.
+     *
+     * @param n     The node whose ID has changed.
+     * @param oldID The previous ID of the node.
+     */
+    public void nodeIDChanged(Node n, long oldID) {
+        this.idIndex.remove(n, oldID);
+        this.idIndex.add(n);
+    }
+
     /**
      * This method returns an enumeration over all the nodes.
      *
@@ -109,6 +146,168 @@ public abstract class AbstractNodeCollection implements Iterable<Node> {
      */
     public abstract Enumeration<Node> getPossibleNeighborsEnumeration(Node n);
 
+    /**
+     * Retrieves all nodes whose distance to a given position is at most a given
+     * radius.
+     * <p>
+     * The result is stored in the provided cursor, which is returned for
+     * convenience. Reuse the cursor for subsequent queries to avoid allocations.
+     * <p>
+     * This default implementation scans the coordinates of all nodes. Node
+     * collections that store the nodes according to their position should override
+     * this method.
+     *
+     * @param center The center of the query.
+     * @param radius The maximal distance of the nodes to the center.
+     * @param cursor The cursor to hold the result.
+     * @return The cursor, which enumerates the nodes found in arbitrary order.
+     */
+    public NodeQueryCursor getNodesInRadius(Position center, double radius, NodeQueryCursor cursor) {
+        cursor.begin(Integer.MAX_VALUE);
+        double radiusSquared = radius * radius;
+        NodeCoordinates c = this.getCoordinates();
+        double x = center.getXCoord();
+        double y = center.getYCoord();
+        double z = center.getZCoord();
+        for (int i = 0; i < c.size(); i++) {
+            double d = c.squareDistanceTo(i, x, y, z);
+            if (d <= radiusSquared) {
+                cursor.offer(c.getNode(i), d);
+            }
+        }
+        cursor.finish();
+        return cursor;
+    }
+
+    /**
+     * Retrieves all nodes placed in an axis-aligned box, including its border.
+     * In 2D, the z coordinates are ignored.
+     * <p>
+     * The result is stored in the provided cursor, which is returned for
+     * convenience. Reuse the cursor for subsequent queries to avoid allocations.
+     * <p>
+     * This default implementation scans the coordinates of all nodes. Node
+     * collections that store the nodes according to their position should override
+     * this method.
+     *
+     * @param min    The corner of the box with the smallest coordinates.
+     * @param max    The corner of the box with the biggest coordinates.
+     * @param cursor The cursor to hold the result.
+     * @return The cursor, which enumerates the nodes found in arbitrary order.
+     */
+    public NodeQueryCursor getNodesInBox(Position min, Position max, NodeQueryCursor cursor) {
+        cursor.begin(Integer.MAX_VALUE);
+        NodeCoordinates c = this.getCoordinates();
+        double[] xs = c.getXCoords();
+        double[] ys = c.getYCoords();
+        double[] zs = c.getZCoords();
+        boolean ignoreZ = Configuration.getDimensions() != 3;
+        for (int i = 0; i < c.size(); i++) {
+            if (xs[i] >= min.getXCoord() && xs[i] <= max.getXCoord()
+                    && ys[i] >= min.getYCoord() && ys[i] <= max.getYCoord()
+                    && (ignoreZ || (zs[i] >= min.getZCoord() && zs[i] <= max.getZCoord()))) {
+                cursor.offer(c.getNode(i), 0);
+            }
+        }
+        cursor.finish();
+        return cursor;
+    }
+
+    /**
+     * Retrieves the k nodes closest to a given position. If the collection holds
+     * less than k nodes, all nodes are returned. Ties are broken arbitrarily.
+     * <p>
+     * The result is stored in the provided cursor, which is returned for
+     * convenience. Reuse the cursor for subsequent queries to avoid allocations.
+     * <p>
+     * This default implementation scans the coordinates of all nodes. Node
+     * collections that store the nodes according to their position should override
+     * this method.
+     *
+     * @param center The center of the query.
+     * @param k      The number of nodes to retrieve.
+     * @param cursor The cursor to hold the result.
+     * @return The cursor, which enumerates the nodes found by increasing distance to
+     * the center.
+     */
+    public NodeQueryCursor getNearestNodes(Position center, int k, NodeQueryCursor cursor) {
+        cursor.begin(k);
+        if (k > 0) {
+            NodeCoordinates c = this.getCoordinates();
+            double x = center.getXCoord();
+            double y = center.getYCoord();
+            double z = center.getZCoord();
+            for (int i = 0; i < c.size(); i++) {
+                cursor.offer(c.getNode(i), c.squareDistanceTo(i, x, y, z));
+            }
+        }
+        cursor.finish();
+        return cursor;
+    }
+
+    /**
+     * Calls the visitor for each unordered pair of distinct nodes whose distance is
+     * at most maxDistance. Each pair is visited exactly once, in arbitrary order.
+     * The visitor must not add, remove or move any nodes.
+     * <p>
+     * Like {@link #getPossibleNeighborsEnumeration(Node)}, this method may rely on
+     * the rMax of the node collection and miss pairs farther apart than rMax.
+     * <p>
+     * This default implementation enumerates the possible neighbors of each node.
+     * Node collections that store the nodes according to their position may
+     * override this method to visit the pairs more efficiently.
+     *
+     * @param maxDistance The maximal distance of the pairs to visit.
+     * @param visitor     The visitor to call for each pair.
+     */
+    public void forEachNodePair(double maxDistance, NodePairVisitor visitor) {
+        double maxSquaredDistance = maxDistance * maxDistance;
+        for (Node n : this) {
+            Enumeration<Node> pNE = this.getPossibleNeighborsEnumeration(n);
+            while (pNE.hasMoreElements()) {
+                Node possibleNeighbor = pNE.nextElement();
+                if (n.getID() < possibleNeighbor.getID()) {
+                    double d = n.getPosition().squareDistanceTo(possibleNeighbor.getPosition());
+                    if (d <= maxSquaredDistance) {
+                        visitor.visitPair(n, possibleNeighbor, d);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A visitor of pairs of nodes, see {@link #forEachNodePair(double, NodePairVisitor)}.
+     */
+    @FunctionalInterface
+    public interface NodePairVisitor {
+
+        /**
+         * Called for each pair of nodes.
+         *
+         * @param n1              The first node of the pair.
+         * @param n2              The second node of the pair.
+         * @param squaredDistance The squared distance between the two nodes.
+         */
+        void visitPair(Node n1, Node n2, double squaredDistance);
+    }
+
+    /**
+     * Tests whether a position lies in an axis-aligned box, including its border.
+     * In 2D, the z coordinates are ignored.
+     *
+     * @param p   The position to test.
+     * @param min The corner of the box with the smallest coordinates.
+     * @param max The corner of the box with the biggest coordinates.
+     * @return True if the position lies in the box, otherwise false.
+     */
+    protected static boolean isInBox(Position p, Position min, Position max) {
+        return p.getXCoord() >= min.getXCoord() && p.getXCoord() <= max.getXCoord()
+                && p.getYCoord() >= min.getYCoord() && p.getYCoord() <= max.getYCoord()
+                && (Configuration.getDimensions() != 3
+                || (p.getZCoord() >= min.getZCoord() && p.getZCoord() <= max.getZCoord()));
+    }
+
     /**
      * Adds a node to this node collection.
      * <p>
@@ -125,11 +324,36 @@ public abstract class AbstractNodeCollection implements Iterable<Node> {
      */
     public void addNode(Node n) {
         this._addNode(n);
+        this.getCoordinates().add(n);
+        this.idIndex.add(n);
         for (NodeCollectionListener l : listeners) {
             l.nodeAdded(n);
         }
     }
 
+    /**
+     * Adds several nodes to this node collection, e.g. after generating many nodes
+     * at once. The listeners are notified for each node after all nodes have been
+     * added.
+     * <p>
+     * The nodes are handed to the subclass at once through
+     * {@link #_addNodes(List)}.
+     *
+     * @param nodes The nodes to add to the collection.
+     */
+    public void addNodes(List<Node> nodes) {
+        this._addNodes(nodes);
+        for (Node n : nodes) {
+            this.getCoordinates().add(n);
+            this.idIndex.add(n);
+        }
+        for (Node n : nodes) {
+            for (NodeCollectionListener l : listeners) {
+                l.nodeAdded(n);
+            }
+        }
+    }
+
     /**
      * The subclass implements this method to add a node.
      *
@@ -137,6 +361,19 @@ public abstract class AbstractNodeCollection implements Iterable<Node> {
      */
     protected abstract void _addNode(Node n);
 
+    /**
+     * The subclass implements this method to add several nodes at once. This
+     * default implementation adds the nodes one by one. Subclasses that can build
+     * their data structure more efficiently for many nodes override it.
+     *
+     * @param nodes The nodes which will be added
+     */
+    protected void _addNodes(List<Node> nodes) {
+        for (Node n : nodes) {
+            this._addNode(n);
+        }
+    }
+
     /**
      * This method removes a node from the local datastructure. This method is
      * primarily called by the framework. To remove a node from user code, you
@@ -149,6 +386,8 @@ public abstract class AbstractNodeCollection implements Iterable<Node> {
      */
     public void removeNode(Node n) {
         this._removeNode(n);
+        this.getCoordinates().remove(n);
+        this.idIndex.remove(n, n.getID());
         for (NodeCollectionListener l : listeners) {
             l.nodeRemoved(n);
         }
@@ -173,6 +412,7 @@ public abstract class AbstractNodeCollection implements Iterable<Node> {
      */
     public void updateNodeCollection(Node n) {
         this._updateNodeCollection(n);
+        this.getCoordinates().update(n);
         for (NodeCollectionListener l : listeners) {
             l.nodeUpdated(n);
         }
@@ -0,0 +1,176 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.runtime.nodeCollection;
+
+import sinalgo.nodes.Node;
+import sinalgo.runtime.nodeCollection.AbstractNodeCollection.NodePairVisitor;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Enumerates the pairs of close nodes of a grid based node collection cell by
+ * cell. The nodes of a cell are paired among each other and with the nodes of
+ * the adjacent cells in one half of the neighborhood, such that each pair is
+ * visited exactly once. The squared distances are computed on the
+ * {@link NodeCoordinates} of the node collection, such that the positions of
+ * the nodes are not read during the sweep.
+ * <p>
+ * <b>This class is framework internal and should not be used by the project
+ * developer.</b>
+ */
+class CellPairSweep {
+
+    // the indices of the nodes of the current cell in the coordinate store
+    private int[] cellA = new int[16];
+    private int sizeA;
+
+    // the indices of the nodes of the other cell in the coordinate store
+    private int[] cellB = new int[16];
+    private int sizeB;
+
+    // the number of indices stored by the last call to gather
+    private int gathered;
+
+    private NodeCoordinates coordinates;
+    private double maxSquaredDistance;
+    private NodePairVisitor visitor;
+
+    /**
+     * Prepares a new sweep.
+     *
+     * @param coordinates The coordinates of the nodes of the node collection.
+     * @param maxDistance The maximal distance of the pairs to visit.
+     * @param visitor     The visitor to call for each pair.
+     */
+    void begin(NodeCoordinates coordinates, double maxDistance, NodePairVisitor visitor) {
+        this.coordinates = coordinates;
+        this.maxSquaredDistance = maxDistance * maxDistance;
+        this.visitor = visitor;
+    }
+
+    /**
+     * Completes the sweep and releases the references to the nodes.
+     */
+    void end() {
+        this.sizeA = this.sizeB = 0;
+        this.coordinates = null;
+        this.visitor = null;
+    }
+
+    /**
+     * Visits all pairs of nodes within a cell, which becomes the current cell for
+     * subsequent calls to {@link #pairWith(NodeListInterface)}.
+     *
+     * @param cell The nodes of the cell.
+     * @return True if the cell contains any nodes.
+     */
+    boolean loadCell(NodeListInterface cell) {
+        this.cellA = gather(cell, this.cellA);
+        this.sizeA = this.gathered;
+        NodeCoordinates c = this.coordinates;
+        double[] xs = c.getXCoords();
+        double[] ys = c.getYCoords();
+        double[] zs = c.getZCoords();
+        for (int i = 0; i < this.sizeA; i++) {
+            int a = this.cellA[i];
+            for (int j = i + 1; j < this.sizeA; j++) {
+                int b = this.cellA[j];
+                double dx = xs[a] - xs[b];
+                double dy = ys[a] - ys[b];
+                double dz = zs[a] - zs[b];
+                double d = dx * dx + dy * dy + dz * dz;
+                if (d <= this.maxSquaredDistance) {
+                    this.visitor.visitPair(c.getNode(a), c.getNode(b), d);
+                }
+            }
+        }
+        return this.sizeA > 0;
+    }
+
+    /**
+     * Visits all pairs of a node in the current cell and a node in another cell.
+     *
+     * @param cell The nodes of the other cell, may be null.
+     */
+    void pairWith(NodeListInterface cell) {
+        if (cell == null) {
+            return;
+        }
+        this.cellB = gather(cell, this.cellB);
+        this.sizeB = this.gathered;
+        NodeCoordinates c = this.coordinates;
+        double[] xs = c.getXCoords();
+        double[] ys = c.getYCoords();
+        double[] zs = c.getZCoords();
+        for (int i = 0; i < this.sizeA; i++) {
+            int a = this.cellA[i];
+            for (int j = 0; j < this.sizeB; j++) {
+                int b = this.cellB[j];
+                double dx = xs[a] - xs[b];
+                double dy = ys[a] - ys[b];
+                double dz = zs[a] - zs[b];
+                double d = dx * dx + dy * dy + dz * dz;
+                if (d <= this.maxSquaredDistance) {
+                    this.visitor.visitPair(c.getNode(a), c.getNode(b), d);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores the indices of the nodes of a cell in the coordinate store.
+     *
+     * @param cell    The nodes of the cell.
+     * @param indices The array to store the indices in.
+     * @return The given array, or a bigger copy if it was too small. The number of
+     * stored indices is held in {@link #gathered}.
+     */
+    private int[] gather(NodeListInterface cell, int[] indices) {
+        int size = 0;
+        Iterator<Node> it = cell.iterator();
+        while (it.hasNext()) {
+            if (size == indices.length) {
+                indices = Arrays.copyOf(indices, 2 * size);
+            }
+            // all nodes of the collection are contained in its coordinate store
+            indices[size++] = it.next().getCoordinateIndex();
+        }
+        this.gathered = size;
+        return indices;
+    }
+}
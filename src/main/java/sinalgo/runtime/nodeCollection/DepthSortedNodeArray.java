@@ -0,0 +1,162 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.runtime.nodeCollection;
+
+import sinalgo.gui.transformation.PositionTransformation;
+import sinalgo.gui.transformation.Transformation3D;
+import sinalgo.nodes.Node;
+import sinalgo.runtime.Main;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.Vector;
+
+/**
+ * Keeps the nodes of a 3D node collection sorted according to their distance
+ * to the viewer, such that they can be drawn in proper order. The array is
+ * only sorted again if the transformation or the set of nodes has changed.
+ * <p>
+ * <b>This class is framework internal and should not be used by the project
+ * developer.</b>
+ */
+class DepthSortedNodeArray {
+
+    private Node[] sortedNodeArray = new Node[1];
+    private int sortedNodeArraySize; // Number of non-null nodes in sortedNodeArray
+    private DepthComparator myDepthComparator;
+
+    private long lastVersionNumber;
+
+    /**
+     * Returns an enumeration over the given nodes, sorted according to their
+     * distance to the viewer.
+     *
+     * @param nodes        All nodes of the node collection.
+     * @param nodesChanged True if nodes were added to or removed from the collection
+     *                     since the last call to this method.
+     * @param backToFront  Set to true to traverse the node with the biggest distance to
+     *                     the viewer first.
+     * @return An enumeration over the sorted nodes.
+     */
+    Enumeration<Node> elements(Vector<Node> nodes, boolean nodesChanged, boolean backToFront) {
+        PositionTransformation t3d = Main.getRuntime().getTransformator();
+        long actualVersionNumber = t3d.getVersionNumber();
+        if ((this.lastVersionNumber != actualVersionNumber) || nodesChanged) {
+            // the transformation has changed. Need to resort the array.
+            this.lastVersionNumber = actualVersionNumber;
+
+            this.sortedNodeArray = nodes.toArray(this.sortedNodeArray);
+            this.sortedNodeArraySize = nodes.size();
+            if (this.sortedNodeArraySize > 1) {
+                if (this.myDepthComparator == null) {
+                    this.myDepthComparator = new DepthComparator();
+                }
+                Arrays.sort(this.sortedNodeArray, 0, this.sortedNodeArraySize, this.myDepthComparator);
+            }
+        }
+
+        return new ArrayEnumeration(backToFront);
+    }
+
+    // An enumeration over the array of sorted nodes.
+    private class ArrayEnumeration implements Enumeration<Node> {
+
+        boolean backToFront;
+
+        /**
+         * Constructs an arrayEnumeration with the given modal.
+         *
+         * @param backToFront Indicates whether the array has to be sorted forward or backward.
+         *                    Set to true to sort it so that the element with the biggest
+         *                    distance to the viewer has is traversed first.
+         */
+        private ArrayEnumeration(boolean backToFront) {
+            this.backToFront = backToFront;
+        }
+
+        int currentIndex;
+
+        @Override
+        public boolean hasMoreElements() {
+            return this.currentIndex < DepthSortedNodeArray.this.sortedNodeArraySize;
+        }
+
+        @Override
+        public Node nextElement() {
+            if (this.backToFront) {
+                return DepthSortedNodeArray.this.sortedNodeArray[this.currentIndex++]; // implicit incrementation
+            } else {
+                return DepthSortedNodeArray.this.sortedNodeArray[DepthSortedNodeArray.this.sortedNodeArraySize - ++this.currentIndex]; // implicit incrementation BEFORE
+                // evaulation to have the offset one
+                // smaller
+            }
+        }
+    }
+
+    /**
+     * Sorts the elements such that nodes in the back are drawn first
+     */
+    private class DepthComparator implements Comparator<Node> {
+
+        PositionTransformation pt;
+        Transformation3D t3d;
+
+        /**
+         * Creates a new DepthComparator instance. Note that the DepthComparator only
+         * does something in 3 Dimensions.
+         */
+        private DepthComparator() {
+            this.pt = Main.getRuntime().getTransformator();
+            if (this.pt instanceof Transformation3D) {
+                this.t3d = (Transformation3D) this.pt;
+            }
+        }
+
+        @Override
+        public int compare(Node n1, Node n2) {
+            if (this.t3d != null) {
+                double zN1 = this.t3d.translateToGUIPositionAndGetZOffset(n1.getPosition());
+                double zN2 = this.t3d.translateToGUIPositionAndGetZOffset(n2.getPosition());
+                return (int) (zN1 - zN2);
+            } else {
+                // The deptcompator is not used in 2 dimensions.
+                return 0;
+            }
+        }
+    }
+}
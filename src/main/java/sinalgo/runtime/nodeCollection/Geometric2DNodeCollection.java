@@ -42,6 +42,7 @@ import sinalgo.exception.SinalgoFatalException;
 import sinalgo.nodes.Node;
 import sinalgo.nodes.Position;
 
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.Vector;
@@ -96,10 +97,30 @@ public class Geometric2DNodeCollection extends AbstractNodeCollection {
     // getPossibleNeighborsEnumeration method.
     private GeometricNodeEnumeration geometricNodeEnumeration;
 
+    // the spatial query in progress, either a radius query around queryCenter or a
+    // box query
+    private Position queryCenter, queryMin, queryMax;
+    private double queryRadiusSquared;
+
+    // the helper to enumerate pairs of close nodes
+    private CellPairSweep pairSweep = new CellPairSweep();
+
     /**
      * The constructor for the GeometricNodeCollection class.
      */
     public Geometric2DNodeCollection() {
+        this(true);
+    }
+
+    /**
+     * Constructor for subclasses that store the cells of the grid differently.
+     *
+     * @param allocateGrid Set to true to allocate a list for each cell of the playground,
+     *                     false if the subclass overrides the cell accessors
+     *                     {@link #getCell(int, int)}, {@link #getOrCreateCell(int, int)}
+     *                     and {@link #releaseCell(int, int, NodeListInterface)}.
+     */
+    protected Geometric2DNodeCollection(boolean allocateGrid) {
         // Immediately stop execution if rMax is not defined in the xml config file.
         try {
             this.rMax = Configuration.getDoubleParameter("GeometricNodeCollection/rMax");
@@ -111,6 +132,9 @@ public class Geometric2DNodeCollection extends AbstractNodeCollection {
         this.xDim = (int) Math.ceil(Configuration.getDimX() / this.rMax);
         this.yDim = (int) Math.ceil(Configuration.getDimY() / this.rMax);
 
+        if (!allocateGrid) {
+            return;
+        }
         this.lists = new DLLNodeList[this.xDim][this.yDim];
         for (int i = 0; i < this.xDim; i++) {
             for (int j = 0; j < this.yDim; j++) {
@@ -141,7 +165,7 @@ public class Geometric2DNodeCollection extends AbstractNodeCollection {
         // searching faster
         n.setNodeCollectionInfo(new SquarePos(location.getX(), location.getY()));
 
-        this.lists[location.getX()][location.getY()].addNode(n);
+        this.getOrCreateCell(location.getX(), location.getY()).addNode(n);
 
         this.localNodes.add(n);
     }
@@ -159,13 +183,14 @@ public class Geometric2DNodeCollection extends AbstractNodeCollection {
 
             // do not call this.remove. Already calculated the new position and thus we can
             // save time to directly call the remove on the list and on the localNodes.
-            NodeListInterface list = this.lists[oldPosition.getX()][oldPosition.getY()];
+            NodeListInterface list = this.getCell(oldPosition.getX(), oldPosition.getY());
             list.removeNode(n);
+            this.releaseCell(oldPosition.getX(), oldPosition.getY(), list);
 
             oldPosition.setX(newPosition.getX());
             oldPosition.setY(newPosition.getY());
 
-            this.lists[newPosition.getX()][newPosition.getY()].addNode(n);
+            this.getOrCreateCell(newPosition.getX(), newPosition.getY()).addNode(n);
         }
 
     }
@@ -174,15 +199,214 @@ public class Geometric2DNodeCollection extends AbstractNodeCollection {
     protected void _removeNode(Node n) {
         n.setHoldInNodeCollection(false);
         SquarePos pos = this.getPosOfNode(n);
-        NodeListInterface nList = this.lists[pos.getX()][pos.getY()];
-        if (!nList.removeNode(n)) {
+        NodeListInterface nList = this.getCell(pos.getX(), pos.getY());
+        if (nList == null || !nList.removeNode(n)) {
             // the node was not located where it said! ERROR!
             throw new SinalgoFatalException("Geometric2DNodeCollection.removeNode(Node):\n" + "A node is being removed, but it is not"
                     + "located in the matrix cell " + "in which it claims to be.");
         }
+        this.releaseCell(pos.getX(), pos.getY(), nList);
         this.localNodes.remove(n);
     }
 
+    /**
+     * Returns the list of nodes stored in a given cell of the grid.
+     *
+     * @param x The x coordinate of the cell.
+     * @param y The y coordinate of the cell.
+     * @return The list of nodes in the cell, null if the cell does not exist.
+     */
+    protected NodeListInterface getCell(int x, int y) {
+        if (x < 0 || y < 0 || x >= this.xDim || y >= this.yDim) {
+            return null;
+        }
+        return this.lists[x][y];
+    }
+
+    /**
+     * Returns the list of nodes stored in a given cell of the grid, creating the
+     * cell if necessary.
+     *
+     * @param x The x coordinate of the cell.
+     * @param y The y coordinate of the cell.
+     * @return The list of nodes in the cell.
+     */
+    protected NodeListInterface getOrCreateCell(int x, int y) {
+        return this.lists[x][y];
+    }
+
+    /**
+     * Called after a node has been removed from a cell of the grid. Subclasses
+     * may discard the cell if it is empty. The dense grid keeps all cells.
+     *
+     * @param x    The x coordinate of the cell.
+     * @param y    The y coordinate of the cell.
+     * @param cell The list of nodes in the cell.
+     */
+    protected void releaseCell(int x, int y, NodeListInterface cell) {
+    }
+
+    @Override
+    public NodeQueryCursor getNodesInRadius(Position center, double radius, NodeQueryCursor cursor) {
+        cursor.begin(Integer.MAX_VALUE);
+        this.queryCenter = center;
+        this.queryRadiusSquared = radius * radius;
+        this.collectRange(center.getXCoord() - radius, center.getYCoord() - radius, center.getXCoord() + radius,
+                center.getYCoord() + radius, cursor);
+        this.queryCenter = null;
+        cursor.finish();
+        return cursor;
+    }
+
+    @Override
+    public NodeQueryCursor getNodesInBox(Position min, Position max, NodeQueryCursor cursor) {
+        cursor.begin(Integer.MAX_VALUE);
+        this.queryMin = min;
+        this.queryMax = max;
+        this.collectRange(min.getXCoord(), min.getYCoord(), max.getXCoord(), max.getYCoord(), cursor);
+        this.queryMin = this.queryMax = null;
+        cursor.finish();
+        return cursor;
+    }
+
+    @Override
+    public NodeQueryCursor getNearestNodes(Position center, int k, NodeQueryCursor cursor) {
+        cursor.begin(k);
+        if (k > 0) {
+            int cx = (int) Math.floor(center.getXCoord() / this.rMax);
+            int cy = (int) Math.floor(center.getYCoord() / this.rMax);
+            int visitedNodes = 0;
+            long visitedCells = 0;
+            // visit the squares ring by ring around the square containing the center
+            for (int ring = 0; visitedNodes < this.localNodes.size(); ring++) {
+                // the squares not yet visited are at least (ring - 1) * rMax away
+                double reach = Math.max(0, ring - 1) * this.rMax;
+                if (ring > 0 && cursor.getMaxSquaredDistance() <= reach * reach) {
+                    break;
+                }
+                if (visitedCells > this.localNodes.size()) {
+                    // most squares are empty, it is cheaper to test all nodes
+                    cursor.begin(k);
+                    for (Node n : this.localNodes) {
+                        cursor.offer(n, center.squareDistanceTo(n.getPosition()));
+                    }
+                    break;
+                }
+                for (int dx = -ring; dx <= ring; dx++) {
+                    // only the squares on the border of the ring
+                    int step = (dx == -ring || dx == ring) ? 1 : 2 * ring;
+                    for (int dy = -ring; dy <= ring; dy += step) {
+                        visitedCells++;
+                        NodeListInterface cell = this.getCell(cx + dx, cy + dy);
+                        if (cell != null) {
+                            Iterator<Node> it = cell.iterator();
+                            while (it.hasNext()) {
+                                Node n = it.next();
+                                visitedNodes++;
+                                cursor.offer(n, center.squareDistanceTo(n.getPosition()));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        cursor.finish();
+        return cursor;
+    }
+
+    /**
+     * Offers all nodes of the squares intersecting the given rectangle that match
+     * the query in progress to the cursor.
+     */
+    private void collectRange(double minX, double minY, double maxX, double maxY, NodeQueryCursor cursor) {
+        int x0 = (int) Math.floor(minX / this.rMax);
+        int y0 = (int) Math.floor(minY / this.rMax);
+        int x1 = (int) Math.floor(maxX / this.rMax);
+        int y1 = (int) Math.floor(maxY / this.rMax);
+        if (this.lists != null) { // the dense grid covers the playground only
+            x0 = Math.max(x0, 0);
+            y0 = Math.max(y0, 0);
+            x1 = Math.min(x1, this.xDim - 1);
+            y1 = Math.min(y1, this.yDim - 1);
+        }
+        if (x1 < x0 || y1 < y0) {
+            return;
+        }
+        if (((long) x1 - x0 + 1) * ((long) y1 - y0 + 1) > this.localNodes.size()) {
+            // more squares than nodes, it is cheaper to test all nodes
+            for (Node n : this.localNodes) {
+                this.offerIfMatching(n, cursor);
+            }
+            return;
+        }
+        for (int x = x0; x <= x1; x++) {
+            for (int y = y0; y <= y1; y++) {
+                NodeListInterface cell = this.getCell(x, y);
+                if (cell != null) {
+                    Iterator<Node> it = cell.iterator();
+                    while (it.hasNext()) {
+                        this.offerIfMatching(it.next(), cursor);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void forEachNodePair(double maxDistance, NodePairVisitor visitor) {
+        if (maxDistance > this.rMax) {
+            // the adjacent squares do not cover the requested distance
+            super.forEachNodePair(maxDistance, visitor);
+            return;
+        }
+        this.pairSweep.begin(this.getCoordinates(), maxDistance, visitor);
+        try {
+            this.sweepCells();
+        } finally {
+            this.pairSweep.end();
+        }
+    }
+
+    /**
+     * Calls {@link #sweepCell(int, int, NodeListInterface)} for each square that
+     * may contain nodes.
+     */
+    protected void sweepCells() {
+        for (int x = 0; x < this.xDim; x++) {
+            for (int y = 0; y < this.yDim; y++) {
+                this.sweepCell(x, y, this.lists[x][y]);
+            }
+        }
+    }
+
+    /**
+     * Visits the pairs of nodes within a square and between the square and the
+     * adjacent squares in one half of its neighborhood.
+     *
+     * @param x    The x coordinate of the square.
+     * @param y    The y coordinate of the square.
+     * @param cell The nodes of the square.
+     */
+    protected final void sweepCell(int x, int y, NodeListInterface cell) {
+        if (this.pairSweep.loadCell(cell)) {
+            this.pairSweep.pairWith(this.getCell(x + 1, y - 1));
+            this.pairSweep.pairWith(this.getCell(x + 1, y));
+            this.pairSweep.pairWith(this.getCell(x + 1, y + 1));
+            this.pairSweep.pairWith(this.getCell(x, y + 1));
+        }
+    }
+
+    private void offerIfMatching(Node n, NodeQueryCursor cursor) {
+        if (this.queryCenter != null) {
+            double d = this.queryCenter.squareDistanceTo(n.getPosition());
+            if (d <= this.queryRadiusSquared) {
+                cursor.offer(n, d);
+            }
+        } else if (isInBox(n.getPosition(), this.queryMin, this.queryMax)) {
+            cursor.offer(n, 0);
+        }
+    }
+
     private SquarePos getPosOfNode(Node n) {
         Position p = n.getPosition();
         this.oneSquarePos.setX((int) Math.floor(p.getXCoord() / this.rMax));
@@ -211,6 +435,8 @@ public class Geometric2DNodeCollection extends AbstractNodeCollection {
 
             if (this.sNLE.hasMoreElements()) {
                 this.nI = this.sNLE.nextElement().iterator();
+            } else {
+                this.nI = Collections.emptyIterator();
             }
         }
 
@@ -230,6 +456,8 @@ public class Geometric2DNodeCollection extends AbstractNodeCollection {
 
             if (this.sNLE.hasMoreElements()) {
                 this.nI = this.sNLE.nextElement().iterator();
+            } else {
+                this.nI = Collections.emptyIterator();
             }
         }
 
@@ -288,10 +516,6 @@ public class Geometric2DNodeCollection extends AbstractNodeCollection {
         private SquarePos location;
         // the enumeration over the
         private Enumeration<SquarePos> listEnumeration;
-        // the mask where the possible neighbors nay be. Initially all neighboring
-        // squares are possible. If the node is in a
-        // "border"-square some 1's are changed to 0's.
-        private int[][] mask = {{1, 1, 1}, {1, 1, 1}, {1, 1, 1}};
 
         /**
          * The constructor for the GeometricNodeListEnumeration class. This class is
@@ -302,41 +526,7 @@ public class Geometric2DNodeCollection extends AbstractNodeCollection {
          */
         public GeometricNodeListEnumeration(Node n) {
             this.squares = new SquarePositionCollection();
-            // calculate the position in the datastructure of the node
-            this.location = Geometric2DNodeCollection.this.getPosOfNode(n);
-
-            // fill the vector with the addresses of the neighborhood squares
-            if (this.location.getX() == 0) {
-                this.mask[0][0] = 0;
-                this.mask[0][1] = 0;
-                this.mask[0][2] = 0;
-            }
-            if (this.location.getX() + 1 == Geometric2DNodeCollection.this.xDim) {
-                this.mask[2][0] = 0;
-                this.mask[2][1] = 0;
-                this.mask[2][2] = 0;
-            }
-            if (this.location.getY() == 0) {
-                this.mask[0][0] = 0;
-                this.mask[1][0] = 0;
-                this.mask[2][0] = 0;
-            }
-            if (this.location.getY() + 1 == Geometric2DNodeCollection.this.yDim) {
-                this.mask[0][2] = 0;
-                this.mask[1][2] = 0;
-                this.mask[2][2] = 0;
-            }
-
-            for (int i = 0; i < 3; i++) {
-                for (int j = 0; j < 3; j++) {
-                    if (this.mask[j][i] != 0) {
-                        this.squares.add(this.location.getX() + (j - 1), this.location.getY() + (i - 1));
-                    }
-                }
-            }
-
-            // initialize the enumeration over the vector
-            this.listEnumeration = this.squares.elements();
+            this.resetForNode(n);
         }
 
         /**
@@ -347,44 +537,16 @@ public class Geometric2DNodeCollection extends AbstractNodeCollection {
          * @param n The node to create reset the enumeration for.
          */
         public void resetForNode(Node n) {
-
             this.squares.clear();
 
-            for (int i = 0; i < 3; i++) {
-                for (int j = 0; j < 3; j++) {
-                    this.mask[j][i] = 1;
-                }
-            }
-
             // calculate the position in the datastructure of the node
             this.location = Geometric2DNodeCollection.this.getPosOfNode(n);
 
-            // fill the vector with the addresses of the neighborhood squares
-            if (this.location.getX() == 0) {
-                this.mask[0][0] = 0;
-                this.mask[0][1] = 0;
-                this.mask[0][2] = 0;
-            }
-            if (this.location.getX() + 1 == Geometric2DNodeCollection.this.xDim) {
-                this.mask[2][0] = 0;
-                this.mask[2][1] = 0;
-                this.mask[2][2] = 0;
-            }
-            if (this.location.getY() == 0) {
-                this.mask[0][0] = 0;
-                this.mask[1][0] = 0;
-                this.mask[2][0] = 0;
-            }
-            if (this.location.getY() + 1 == Geometric2DNodeCollection.this.yDim) {
-                this.mask[0][2] = 0;
-                this.mask[1][2] = 0;
-                this.mask[2][2] = 0;
-            }
-
-            for (int i = 0; i < 3; i++) {
-                for (int j = 0; j < 3; j++) {
-                    if (this.mask[j][i] != 0) {
-                        this.squares.add(this.location.getX() + (j - 1), this.location.getY() + (i - 1));
+            // fill the vector with the addresses of the existing neighborhood squares
+            for (int i = -1; i <= 1; i++) {
+                for (int j = -1; j <= 1; j++) {
+                    if (Geometric2DNodeCollection.this.getCell(this.location.getX() + j, this.location.getY() + i) != null) {
+                        this.squares.add(this.location.getX() + j, this.location.getY() + i);
                     }
                 }
             }
@@ -400,7 +562,7 @@ public class Geometric2DNodeCollection extends AbstractNodeCollection {
         @Override
         public NodeListInterface nextElement() {
             SquarePos sp = this.listEnumeration.nextElement();
-            return Geometric2DNodeCollection.this.lists[sp.getX()][sp.getY()];
+            return Geometric2DNodeCollection.this.getCell(sp.getX(), sp.getY());
         }
     }
 
@@ -39,14 +39,10 @@ package sinalgo.runtime.nodeCollection;
 import sinalgo.configuration.Configuration;
 import sinalgo.exception.CorruptConfigurationEntryException;
 import sinalgo.exception.SinalgoFatalException;
-import sinalgo.gui.transformation.PositionTransformation;
-import sinalgo.gui.transformation.Transformation3D;
 import sinalgo.nodes.Node;
 import sinalgo.nodes.Position;
-import sinalgo.runtime.Main;
 
-import java.util.Arrays;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.Vector;
@@ -71,9 +67,8 @@ public class Geometric3DNodeCollection extends AbstractNodeCollection {
     private Vector<Node> flatList = new Vector<>();
     private boolean flatListChanged;
 
-    private Node[] sortedNodeArray = new Node[1];
-    private int sortedNodeArraySize; // Number of non-null nodes in sortedNodeArray
-    private DepthComparator myDepthComparator;
+    // the nodes sorted according to their distance to the viewer
+    private DepthSortedNodeArray sortedNodes = new DepthSortedNodeArray();
 
     // the maximal distance between any two connected nodes
     private double rMax;
@@ -85,10 +80,33 @@ public class Geometric3DNodeCollection extends AbstractNodeCollection {
     // node
     private Geometric3DNodeEnumeration enumeration = new Geometric3DNodeEnumeration();
 
+    // the spatial query in progress, either a radius query around queryCenter or a
+    // box query
+    private Position queryCenter, queryMin, queryMax;
+    private double queryRadiusSquared;
+
+    // the helper to enumerate pairs of close nodes
+    private CellPairSweep pairSweep = new CellPairSweep();
+
     /**
      * Default constructor. Creates and initializes the geometric node collection.
      */
     public Geometric3DNodeCollection() {
+        this(true);
+    }
+
+    /**
+     * Constructor for subclasses that store the cells of the matrix differently.
+     *
+     * @param allocateMatrix Set to true to allocate a list for each cell of the field, false
+     *                       if the subclass overrides the cell accessors
+     *                       {@link #getCell(int, int, int)},
+     *                       {@link #getOrCreateCell(int, int, int)} and
+     *                       {@link #releaseCell(int, int, int, NodeListInterface)}. In
+     *                       the latter case, the matrix is not bounded by the
+     *                       dimensions of the field.
+     */
+    protected Geometric3DNodeCollection(boolean allocateMatrix) {
         // Immediately stop execution if rMax is not defined in the xml config file.
         try {
             this.rMax = Configuration.getDoubleParameter("GeometricNodeCollection/rMax");
@@ -107,6 +125,10 @@ public class Geometric3DNodeCollection extends AbstractNodeCollection {
         this.numY = (int) Math.ceil(dimY / this.rMax);
         int dimZ = Configuration.getDimZ();
         this.numZ = (int) Math.ceil(dimZ / this.rMax);
+        if (!allocateMatrix) {
+            this.numX = this.numY = this.numZ = Integer.MAX_VALUE;
+            return;
+        }
         // create and initialize the matrix
         this.list = new DLLNodeList[this.numX][this.numY][this.numZ];
         for (int i = 0; i < this.numX; i++) {
@@ -126,31 +148,14 @@ public class Geometric3DNodeCollection extends AbstractNodeCollection {
         return (int) Math.floor(c / this.rMax);
     }
 
-    private long lastVersionNumber;
-
     @Override
     public Enumeration<Node> getSortedNodeEnumeration(boolean backToFront) {
         if (!Configuration.isDraw3DGraphNodesInProperOrder()) {
             return this.flatList.elements();
         }
-        PositionTransformation t3d = Main.getRuntime().getTransformator();
-        long actualVersionNumber = t3d.getVersionNumber();
-        if ((this.lastVersionNumber != actualVersionNumber) || (this.flatListChanged)) {
-            // the transformation has changed. Need to resort the array.
-            this.lastVersionNumber = actualVersionNumber;
-            this.flatListChanged = false;
-
-            this.sortedNodeArray = this.flatList.toArray(this.sortedNodeArray);
-            this.sortedNodeArraySize = this.flatList.size();
-            if (this.sortedNodeArraySize > 1) {
-                if (this.myDepthComparator == null) {
-                    this.myDepthComparator = new DepthComparator();
-                }
-                Arrays.sort(this.sortedNodeArray, 0, this.sortedNodeArraySize, this.myDepthComparator);
-            }
-        }
-
-        return new ArrayEnumeration(backToFront);
+        Enumeration<Node> result = this.sortedNodes.elements(this.flatList, this.flatListChanged, backToFront);
+        this.flatListChanged = false;
+        return result;
     }
 
     @Override
@@ -203,6 +208,181 @@ public class Geometric3DNodeCollection extends AbstractNodeCollection {
         return this.enumeration;
     }
 
+    @Override
+    public NodeQueryCursor getNodesInRadius(Position center, double radius, NodeQueryCursor cursor) {
+        cursor.begin(Integer.MAX_VALUE);
+        this.queryCenter = center;
+        this.queryRadiusSquared = radius * radius;
+        this.collectRange(center.getXCoord() - radius, center.getYCoord() - radius, center.getZCoord() - radius,
+                center.getXCoord() + radius, center.getYCoord() + radius, center.getZCoord() + radius, cursor);
+        this.queryCenter = null;
+        cursor.finish();
+        return cursor;
+    }
+
+    @Override
+    public NodeQueryCursor getNodesInBox(Position min, Position max, NodeQueryCursor cursor) {
+        cursor.begin(Integer.MAX_VALUE);
+        this.queryMin = min;
+        this.queryMax = max;
+        this.collectRange(min.getXCoord(), min.getYCoord(), min.getZCoord(), max.getXCoord(), max.getYCoord(),
+                max.getZCoord(), cursor);
+        this.queryMin = this.queryMax = null;
+        cursor.finish();
+        return cursor;
+    }
+
+    @Override
+    public NodeQueryCursor getNearestNodes(Position center, int k, NodeQueryCursor cursor) {
+        cursor.begin(k);
+        if (k > 0) {
+            int cx = this.mapCoord(center.getXCoord());
+            int cy = this.mapCoord(center.getYCoord());
+            int cz = this.mapCoord(center.getZCoord());
+            int visitedNodes = 0;
+            long visitedCells = 0;
+            // visit the cells shell by shell around the cell containing the center
+            for (int ring = 0; visitedNodes < this.flatList.size(); ring++) {
+                // the cells not yet visited are at least (ring - 1) * rMax away
+                double reach = Math.max(0, ring - 1) * this.rMax;
+                if (ring > 0 && cursor.getMaxSquaredDistance() <= reach * reach) {
+                    break;
+                }
+                if (visitedCells > this.flatList.size()) {
+                    // most cells are empty, it is cheaper to test all nodes
+                    cursor.begin(k);
+                    for (Node n : this.flatList) {
+                        cursor.offer(n, center.squareDistanceTo(n.getPosition()));
+                    }
+                    break;
+                }
+                for (int dx = -ring; dx <= ring; dx++) {
+                    for (int dy = -ring; dy <= ring; dy++) {
+                        // only the cells on the surface of the shell
+                        int step = (dx == -ring || dx == ring || dy == -ring || dy == ring) ? 1 : 2 * ring;
+                        for (int dz = -ring; dz <= ring; dz += step) {
+                            visitedCells++;
+                            NodeListInterface cell = this.getCell(cx + dx, cy + dy, cz + dz);
+                            if (cell != null) {
+                                Iterator<Node> it = cell.iterator();
+                                while (it.hasNext()) {
+                                    Node n = it.next();
+                                    visitedNodes++;
+                                    cursor.offer(n, center.squareDistanceTo(n.getPosition()));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        cursor.finish();
+        return cursor;
+    }
+
+    /**
+     * Offers all nodes of the cells intersecting the given box that match the query
+     * in progress to the cursor.
+     */
+    private void collectRange(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                              NodeQueryCursor cursor) {
+        int x0 = this.mapCoord(minX), y0 = this.mapCoord(minY), z0 = this.mapCoord(minZ);
+        int x1 = this.mapCoord(maxX), y1 = this.mapCoord(maxY), z1 = this.mapCoord(maxZ);
+        if (this.list != null) { // the dense matrix covers the field only
+            x0 = Math.max(x0, 0);
+            y0 = Math.max(y0, 0);
+            z0 = Math.max(z0, 0);
+            x1 = Math.min(x1, this.numX - 1);
+            y1 = Math.min(y1, this.numY - 1);
+            z1 = Math.min(z1, this.numZ - 1);
+        }
+        if (x1 < x0 || y1 < y0 || z1 < z0) {
+            return;
+        }
+        if (((long) x1 - x0 + 1) * ((long) y1 - y0 + 1) * ((long) z1 - z0 + 1) > this.flatList.size()) {
+            // more cells than nodes, it is cheaper to test all nodes
+            for (Node n : this.flatList) {
+                this.offerIfMatching(n, cursor);
+            }
+            return;
+        }
+        for (int x = x0; x <= x1; x++) {
+            for (int y = y0; y <= y1; y++) {
+                for (int z = z0; z <= z1; z++) {
+                    NodeListInterface cell = this.getCell(x, y, z);
+                    if (cell != null) {
+                        Iterator<Node> it = cell.iterator();
+                        while (it.hasNext()) {
+                            this.offerIfMatching(it.next(), cursor);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void forEachNodePair(double maxDistance, NodePairVisitor visitor) {
+        if (maxDistance > this.rMax) {
+            // the adjacent cells do not cover the requested distance
+            super.forEachNodePair(maxDistance, visitor);
+            return;
+        }
+        this.pairSweep.begin(this.getCoordinates(), maxDistance, visitor);
+        try {
+            this.sweepCells();
+        } finally {
+            this.pairSweep.end();
+        }
+    }
+
+    /**
+     * Calls {@link #sweepCell(int, int, int, NodeListInterface)} for each cell that
+     * may contain nodes.
+     */
+    protected void sweepCells() {
+        for (int x = 0; x < this.numX; x++) {
+            for (int y = 0; y < this.numY; y++) {
+                for (int z = 0; z < this.numZ; z++) {
+                    this.sweepCell(x, y, z, this.list[x][y][z]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Visits the pairs of nodes within a cell and between the cell and the 13
+     * adjacent cells in one half of its neighborhood.
+     *
+     * @param x    The x offset of the cell.
+     * @param y    The y offset of the cell.
+     * @param z    The z offset of the cell.
+     * @param cell The nodes of the cell.
+     */
+    protected final void sweepCell(int x, int y, int z, NodeListInterface cell) {
+        if (!this.pairSweep.loadCell(cell)) {
+            return;
+        }
+        for (int dx = 0; dx <= 1; dx++) {
+            for (int dy = (dx == 0 ? 0 : -1); dy <= 1; dy++) {
+                for (int dz = (dx == 0 && dy == 0 ? 1 : -1); dz <= 1; dz++) {
+                    this.pairSweep.pairWith(this.getCell(x + dx, y + dy, z + dz));
+                }
+            }
+        }
+    }
+
+    private void offerIfMatching(Node n, NodeQueryCursor cursor) {
+        if (this.queryCenter != null) {
+            double d = this.queryCenter.squareDistanceTo(n.getPosition());
+            if (d <= this.queryRadiusSquared) {
+                cursor.offer(n, d);
+            }
+        } else if (isInBox(n.getPosition(), this.queryMin, this.queryMax)) {
+            cursor.offer(n, 0);
+        }
+    }
+
     @Override
     protected void _addNode(Node n) {
         n.setHoldInNodeCollection(true);
@@ -213,7 +393,7 @@ public class Geometric3DNodeCollection extends AbstractNodeCollection {
         int z = this.mapCoord(pos.getZCoord());
         n.setNodeCollectionInfo(new CubePos(x, y, z));
 
-        this.list[x][y][z].addNode(n);
+        this.getOrCreateCell(x, y, z).addNode(n);
         this.flatList.add(n);
         this.flatListChanged = true;
         // sensitiveInformationChanged = true;
@@ -223,11 +403,13 @@ public class Geometric3DNodeCollection extends AbstractNodeCollection {
     protected void _removeNode(Node n) {
         n.setHoldInNodeCollection(false);
         CubePos pos = (CubePos) n.getNodeCollectionInfo();
-        if (!this.list[pos.getX()][pos.getY()][pos.getZ()].removeNode(n)) {
+        NodeListInterface cell = this.getCell(pos.getX(), pos.getY(), pos.getZ());
+        if (cell == null || !cell.removeNode(n)) {
             // the node was not located where it said! ERROR!
             throw new SinalgoFatalException("Geometric3DNodeCollection.removeNode(Node):\n" + "A node is being removed, but it is not "
                     + "located in the matrix cell " + "in which it claims to be.");
         }
+        this.releaseCell(pos.getX(), pos.getY(), pos.getZ(), cell);
         this.flatList.remove(n);
         this.flatListChanged = true;
         n.setNodeCollectionInfo(null);
@@ -251,12 +433,14 @@ public class Geometric3DNodeCollection extends AbstractNodeCollection {
         if (oldPos.getX() != x || oldPos.getY() != y || oldPos.getZ() != z) {
             // the node needs to be stored in a different cell of the matrix
             // remove it from the old matrix cell...
-            if (!this.list[oldPos.getX()][oldPos.getY()][oldPos.getZ()].removeNode(n)) {
+            NodeListInterface cell = this.getCell(oldPos.getX(), oldPos.getY(), oldPos.getZ());
+            if (cell == null || !cell.removeNode(n)) {
                 throw new SinalgoFatalException(
                         "Geometric3DNodeCollection.updateNodeCollection(Node):\nA node is being removed from the matrix, but it is not located in the matrix cell in which it claims to be.");
             }
+            this.releaseCell(oldPos.getX(), oldPos.getY(), oldPos.getZ(), cell);
             // ... and add it to the new matrix cell
-            this.list[x][y][z].addNode(n);
+            this.getOrCreateCell(x, y, z).addNode(n);
             // update the matrix-cell info stored at the node
             oldPos.setX(x);
             oldPos.setY(y);
@@ -264,6 +448,46 @@ public class Geometric3DNodeCollection extends AbstractNodeCollection {
         }
     }
 
+    /**
+     * Returns the list of nodes stored in a given cell of the matrix.
+     *
+     * @param x The x offset of the cell.
+     * @param y The y offset of the cell.
+     * @param z The z offset of the cell.
+     * @return The list of nodes in the cell, null if the cell does not exist.
+     */
+    protected NodeListInterface getCell(int x, int y, int z) {
+        if (x < 0 || y < 0 || z < 0 || x >= this.numX || y >= this.numY || z >= this.numZ) {
+            return null;
+        }
+        return this.list[x][y][z];
+    }
+
+    /**
+     * Returns the list of nodes stored in a given cell of the matrix, creating
+     * the cell if necessary.
+     *
+     * @param x The x offset of the cell.
+     * @param y The y offset of the cell.
+     * @param z The z offset of the cell.
+     * @return The list of nodes in the cell.
+     */
+    protected NodeListInterface getOrCreateCell(int x, int y, int z) {
+        return this.list[x][y][z];
+    }
+
+    /**
+     * Called after a node has been removed from a cell of the matrix. Subclasses
+     * may discard the cell if it is empty. The dense matrix keeps all cells.
+     *
+     * @param x    The x offset of the cell.
+     * @param y    The y offset of the cell.
+     * @param z    The z offset of the cell.
+     * @param cell The list of nodes in the cell.
+     */
+    protected void releaseCell(int x, int y, int z, NodeListInterface cell) {
+    }
+
     // public boolean hasSensitiveInfoChanged() {
     // boolean tmp = sensitiveInformationChanged;
     // sensitiveInformationChanged = false;
@@ -291,6 +515,7 @@ public class Geometric3DNodeCollection extends AbstractNodeCollection {
 
         int ox, oy, oz; // base position for the 3-dimensional iteration
         int dx, dy, dz = -1; // the offset from the base position
+        NodeListInterface cell; // the matrix cell currently visited
         Iterator<Node> iterator;
 
         /**
@@ -309,7 +534,9 @@ public class Geometric3DNodeCollection extends AbstractNodeCollection {
             this.oz = Math.min(Geometric3DNodeCollection.this.numZ - 1, Geometric3DNodeCollection.this.mapCoord(pos.getZCoord())) - 1;
             this.dx = this.dy = 0;
             this.dz = -1; // is incremented in call 'getNextValidMatrixCell'
-            this.gotoNextValidMatrixCell(); // get the first iterator - there's at least one
+            if (!this.gotoNextValidMatrixCell()) { // get the first iterator
+                this.iterator = Collections.emptyIterator(); // the node is not stored in this collection
+            }
         }
 
         /**
@@ -331,10 +558,10 @@ public class Geometric3DNodeCollection extends AbstractNodeCollection {
                 if (this.dx > 2) {
                     return false; // we have visited all neighboring matrix cells
                 }
+                this.cell = Geometric3DNodeCollection.this.getCell(this.ox + this.dx, this.oy + this.dy, this.oz + this.dz);
             }
-            while (this.ox + this.dx < 0 || this.oy + this.dy < 0 || this.oz + this.dz < 0 || this.ox + this.dx >= Geometric3DNodeCollection.this.numX || this.oy + this.dy >= Geometric3DNodeCollection.this.numY
-                    || this.oz + this.dz >= Geometric3DNodeCollection.this.numZ);
-            this.iterator = Geometric3DNodeCollection.this.list[this.ox + this.dx][this.oy + this.dy][this.oz + this.dz].iterator(); // get new iterator
+            while (this.cell == null);
+            this.iterator = this.cell.iterator(); // get new iterator
             return true;
         }
 
@@ -355,71 +582,4 @@ public class Geometric3DNodeCollection extends AbstractNodeCollection {
             return this.iterator.next();
         }
     }
-
-    // An enumeration over the array of sorted nodes.
-    private class ArrayEnumeration implements Enumeration<Node> {
-
-        boolean backToFront;
-
-        /**
-         * Constructs an arrayEnumeration with the given modal.
-         *
-         * @param backToFront Indicates whether the array has to be sorted forward or backward.
-         *                    Set to true to sort it so that the element with the biggest
-         *                    distance to the viewer has is traversed first.
-         */
-        private ArrayEnumeration(boolean backToFront) {
-            this.backToFront = backToFront;
-        }
-
-        int currentIndex;
-
-        @Override
-        public boolean hasMoreElements() {
-            return this.currentIndex < Geometric3DNodeCollection.this.sortedNodeArraySize;
-        }
-
-        @Override
-        public Node nextElement() {
-            if (this.backToFront) {
-                return Geometric3DNodeCollection.this.sortedNodeArray[this.currentIndex++]; // implicit incrementation
-            } else {
-                return Geometric3DNodeCollection.this.sortedNodeArray[Geometric3DNodeCollection.this.sortedNodeArraySize - ++this.currentIndex]; // implicit incrementation BEFORE
-                // evaulation to have the offset one
-                // smaller
-            }
-        }
-    }
-
-    /**
-     * Sorts the elements such that nodes in the back are drawn first
-     */
-    private class DepthComparator implements Comparator<Node> {
-
-        PositionTransformation pt;
-        Transformation3D t3d;
-
-        /**
-         * Creates a new DepthComparator instance. Note that the DepthComparator only
-         * does something in 3 Dimensions.
-         */
-        private DepthComparator() {
-            this.pt = Main.getRuntime().getTransformator();
-            if (this.pt instanceof Transformation3D) {
-                this.t3d = (Transformation3D) this.pt;
-            }
-        }
-
-        @Override
-        public int compare(Node n1, Node n2) {
-            if (this.t3d != null) {
-                double zN1 = this.t3d.translateToGUIPositionAndGetZOffset(n1.getPosition());
-                double zN2 = this.t3d.translateToGUIPositionAndGetZOffset(n2.getPosition());
-                return (int) (zN1 - zN2);
-            } else {
-                // The deptcompator is not used in 2 dimensions.
-                return 0;
-            }
-        }
-    }
 }
@@ -0,0 +1,657 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.runtime.nodeCollection;
+
+import sinalgo.configuration.Configuration;
+import sinalgo.exception.CorruptConfigurationEntryException;
+import sinalgo.exception.SinalgoFatalException;
+import sinalgo.nodes.Node;
+import sinalgo.nodes.Position;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Vector;
+
+/**
+ * A node collection that stores the nodes in an adaptive k-d tree, for 2D as
+ * well as for 3D simulations.
+ * <p>
+ * Compared to the Geometric2DNodeCollection and the
+ * Geometric3DNodeCollection, which tessellate the field into cells of fixed
+ * size rMax, this collection splits the space where the nodes are: a leaf of
+ * the tree is split at the median of its nodes along the axis with the
+ * biggest spread as soon as it holds more than <code>bucketSize</code>
+ * nodes, and subtrees that hold less than half a bucket are merged again.
+ * Whenever a subtree becomes unbalanced because nodes were added or moved,
+ * it is rebuilt from scratch. Therefore, densely populated regions are
+ * resolved finely while empty regions cost nothing, which is beneficial for
+ * clustered deployments. Nodes added at once, e.g. through the -gen command
+ * line argument, are not inserted one by one: the tree is built anew from all
+ * nodes by median splits.
+ * <p>
+ * The possible neighbors of a node are all nodes whose coordinates differ by
+ * at most rMax from the coordinates of the node, where rMax is read from the
+ * same <code>GeometricNodeCollection/rMax</code> entry of the configuration
+ * file as for the grid based collections. The optional entry
+ * <code>KdTreeNodeCollection/bucketSize</code> sets the maximum number of
+ * nodes per leaf (default 16).
+ * <p>
+ * To use this node collection, set the <code>nodeCollection2D</code> or
+ * <code>nodeCollection3D</code> entry of the configuration file to
+ * <code>sinalgo.runtime.nodeCollection.KdTreeNodeCollection</code>.
+ */
+public class KdTreeNodeCollection extends AbstractNodeCollection {
+
+    // a subtree is rebuilt if one of its children holds more than this fraction of its nodes
+    private static final double BALANCE_FACTOR = 0.75;
+
+    // the number of coordinates considered, 2 or 3
+    private int dimensions;
+
+    // the maximal distance between any two connected nodes
+    private double rMax;
+
+    // the maximal number of nodes in a leaf of the tree
+    private int bucketSize;
+
+    private Cell root = new Cell(null);
+
+    // a flat list for fast iteration over all nodes
+    private Vector<Node> flatList = new Vector<>();
+    private boolean flatListChanged;
+
+    // the nodes sorted according to their distance to the viewer
+    private DepthSortedNodeArray sortedNodes = new DepthSortedNodeArray();
+
+    // scratch buffers to (re)build subtrees: the nodes, and their coordinates per axis
+    private Node[] buildBuffer = new Node[16];
+    private double[][] buildCoords = new double[3][16];
+
+    // The cursor used repeatedly to access the potential neighbors of a node
+    private NodeQueryCursor neighborCursor = new NodeQueryCursor();
+
+    // the spatial query in progress: all nodes in the box between queryLower and
+    // queryUpper, which are additionally within the radius around queryCenter if
+    // it is set
+    private double[] queryLower = new double[3];
+    private double[] queryUpper = new double[3];
+    private Position queryCenter;
+    private double queryRadiusSquared;
+    private Cell[] stack = new Cell[16];
+
+    /**
+     * Default constructor. Creates and initializes the node collection.
+     */
+    public KdTreeNodeCollection() {
+        try {
+            this.rMax = Configuration.getDoubleParameter("GeometricNodeCollection/rMax");
+            this.bucketSize = Configuration.hasParameter("KdTreeNodeCollection/bucketSize")
+                    ? Configuration.getIntegerParameter("KdTreeNodeCollection/bucketSize")
+                    : 16;
+        } catch (CorruptConfigurationEntryException e) {
+            throw new SinalgoFatalException(e.getMessage());
+        }
+        if (this.rMax <= 0) {
+            throw new SinalgoFatalException("KdTreeNodeCollection: The value of rMax from the config file entry "
+                    + "<GeometricNodeCollection rMax=\"" + this.rMax + "\"/>"
+                    + "is not valid. The value of rMax must be positive.");
+        }
+        if (this.bucketSize < 2) {
+            throw new SinalgoFatalException("KdTreeNodeCollection: The value of bucketSize from the config file entry "
+                    + "<KdTreeNodeCollection bucketSize=\"" + this.bucketSize + "\"/>"
+                    + "is not valid. The value of bucketSize must be at least 2.");
+        }
+        this.dimensions = Configuration.getDimensions() == 3 ? 3 : 2;
+    }
+
+    /**
+     * Returns one coordinate of the position of a node.
+     */
+    private static double coord(Node n, int axis) {
+        return coord(n.getPosition(), axis);
+    }
+
+    /**
+     * Returns one coordinate of a position.
+     */
+    private static double coord(Position p, int axis) {
+        switch (axis) {
+            case 0:
+                return p.getXCoord();
+            case 1:
+                return p.getYCoord();
+            default:
+                return p.getZCoord();
+        }
+    }
+
+    @Override
+    public Enumeration<Node> getSortedNodeEnumeration(boolean backToFront) {
+        if (this.dimensions < 3 || !Configuration.isDraw3DGraphNodesInProperOrder()) {
+            return this.flatList.elements();
+        }
+        Enumeration<Node> result = this.sortedNodes.elements(this.flatList, this.flatListChanged, backToFront);
+        this.flatListChanged = false;
+        return result;
+    }
+
+    @Override
+    public Enumeration<Node> getNodeEnumeration() {
+        return this.flatList.elements();
+    }
+
+    @Override
+    public Iterator<Node> iterator() {
+        // removing nodes through the iterator would corrupt the tree
+        return Collections.unmodifiableList(this.flatList).iterator();
+    }
+
+    @Override
+    public Enumeration<Node> getPossibleNeighborsEnumeration(Node n) {
+        for (int a = 0; a < this.dimensions; a++) {
+            double c = coord(n, a);
+            this.queryLower[a] = c - this.rMax;
+            this.queryUpper[a] = c + this.rMax;
+        }
+        this.neighborCursor.begin(Integer.MAX_VALUE);
+        this.collectRange(this.neighborCursor);
+        this.neighborCursor.finish();
+        return this.neighborCursor;
+    }
+
+    @Override
+    public NodeQueryCursor getNodesInRadius(Position center, double radius, NodeQueryCursor cursor) {
+        for (int a = 0; a < this.dimensions; a++) {
+            double c = coord(center, a);
+            this.queryLower[a] = c - radius;
+            this.queryUpper[a] = c + radius;
+        }
+        this.queryCenter = center;
+        this.queryRadiusSquared = radius * radius;
+        cursor.begin(Integer.MAX_VALUE);
+        this.collectRange(cursor);
+        cursor.finish();
+        this.queryCenter = null;
+        return cursor;
+    }
+
+    @Override
+    public NodeQueryCursor getNodesInBox(Position min, Position max, NodeQueryCursor cursor) {
+        for (int a = 0; a < this.dimensions; a++) {
+            this.queryLower[a] = coord(min, a);
+            this.queryUpper[a] = coord(max, a);
+        }
+        cursor.begin(Integer.MAX_VALUE);
+        this.collectRange(cursor);
+        cursor.finish();
+        return cursor;
+    }
+
+    @Override
+    public NodeQueryCursor getNearestNodes(Position center, int k, NodeQueryCursor cursor) {
+        cursor.begin(k);
+        if (k > 0) {
+            this.collectNearest(this.root, center, cursor);
+        }
+        cursor.finish();
+        return cursor;
+    }
+
+    /**
+     * Offers all nodes matching the query in progress to the cursor.
+     */
+    private void collectRange(NodeQueryCursor cursor) {
+        int top = 0;
+        this.stack[top++] = this.root;
+        while (top > 0) {
+            Cell cell = this.stack[--top];
+            if (cell.isLeaf()) {
+                for (int i = 0; i < cell.numNodes; i++) {
+                    this.offerIfMatching(cell.nodes[i], cursor);
+                }
+            } else {
+                if (top + 2 > this.stack.length) {
+                    this.stack = Arrays.copyOf(this.stack, 2 * this.stack.length);
+                }
+                if (this.queryLower[cell.axis] < cell.split) {
+                    this.stack[top++] = cell.low;
+                }
+                if (this.queryUpper[cell.axis] >= cell.split) {
+                    this.stack[top++] = cell.high;
+                }
+            }
+        }
+    }
+
+    private void offerIfMatching(Node n, NodeQueryCursor cursor) {
+        for (int a = 0; a < this.dimensions; a++) {
+            double c = coord(n, a);
+            if (c < this.queryLower[a] || c > this.queryUpper[a]) {
+                return;
+            }
+        }
+        if (this.queryCenter == null) {
+            cursor.offer(n, 0);
+        } else {
+            double d = this.queryCenter.squareDistanceTo(n.getPosition());
+            if (d <= this.queryRadiusSquared) {
+                cursor.offer(n, d);
+            }
+        }
+    }
+
+    /**
+     * Offers the nodes of a subtree to a limited cursor, skipping subtrees that
+     * cannot contain nodes closer than the ones already found.
+     */
+    private void collectNearest(Cell cell, Position center, NodeQueryCursor cursor) {
+        if (cell.isLeaf()) {
+            for (int i = 0; i < cell.numNodes; i++) {
+                cursor.offer(cell.nodes[i], center.squareDistanceTo(cell.nodes[i].getPosition()));
+            }
+            return;
+        }
+        double diff = coord(center, cell.axis) - cell.split;
+        this.collectNearest(diff < 0 ? cell.low : cell.high, center, cursor);
+        if (diff * diff < cursor.getMaxSquaredDistance()) {
+            this.collectNearest(diff < 0 ? cell.high : cell.low, center, cursor);
+        }
+    }
+
+    @Override
+    protected void _addNode(Node n) {
+        n.setHoldInNodeCollection(true);
+        n.setNodeCollectionInfo(new LeafPos());
+        this.insert(n);
+        this.flatList.add(n);
+        this.flatListChanged = true;
+    }
+
+    @Override
+    protected void _addNodes(List<Node> nodes) {
+        // build a balanced tree from the nodes already in the tree and the new ones,
+        // instead of splitting and rebuilding subtrees while inserting one by one
+        this.ensureBuildCapacity(this.root.count + nodes.size());
+        int offset = this.root.count > 0 ? this.root.collect(this.buildBuffer, 0) : 0;
+        for (Node n : nodes) {
+            n.setHoldInNodeCollection(true);
+            n.setNodeCollectionInfo(new LeafPos());
+            this.buildBuffer[offset++] = n;
+        }
+        this.buildFromBuffer(this.root, offset);
+        this.flatList.addAll(nodes);
+        this.flatListChanged = true;
+    }
+
+    @Override
+    protected void _removeNode(Node n) {
+        n.setHoldInNodeCollection(false);
+        this.remove(n);
+        this.flatList.remove(n);
+        this.flatListChanged = true;
+        n.setNodeCollectionInfo(null);
+    }
+
+    @Override
+    protected void _updateNodeCollection(Node n) {
+        if (!n.isHoldInNodeCollection()) {
+            return; // the node is not yet hold by this node collection
+        }
+        LeafPos pos = (LeafPos) n.getNodeCollectionInfo();
+        if (!pos.leaf.contains(n, this.dimensions)) {
+            // the node left the region of its leaf
+            this.remove(n);
+            this.insert(n);
+        }
+    }
+
+    @Override
+    public Node getRandomNode() {
+        return super.defaultGetRandomNode(this.flatList);
+    }
+
+    @Override
+    public int size() {
+        return this.flatList.size();
+    }
+
+    /**
+     * @return The depth of the tree, where a tree consisting of a single leaf has
+     * depth 1.
+     */
+    public int getDepth() {
+        return this.root.depth();
+    }
+
+    /**
+     * Adds a node to the leaf containing its position and splits or rebuilds the
+     * tree where necessary.
+     */
+    private void insert(Node n) {
+        Cell cell = this.root;
+        while (!cell.isLeaf()) {
+            cell.count++;
+            cell = coord(n, cell.axis) < cell.split ? cell.low : cell.high;
+        }
+        cell.count++;
+        cell.add(n);
+
+        // rebuild the topmost subtree on the path that got unbalanced
+        Cell unbalanced = null;
+        for (Cell c = cell.parent; c != null; c = c.parent) {
+            if (c.count > 2 * this.bucketSize && c.count >= c.minCountForRebuild
+                    && Math.max(c.low.count, c.high.count) > BALANCE_FACTOR * c.count) {
+                unbalanced = c;
+            }
+        }
+        if (unbalanced != null) {
+            this.rebuild(unbalanced);
+        } else if (cell.count > this.bucketSize && cell.count >= cell.minCountForRebuild) {
+            this.rebuild(cell);
+        }
+    }
+
+    /**
+     * Removes a node from its leaf and merges subtrees that became too small.
+     */
+    private void remove(Node n) {
+        LeafPos pos = (LeafPos) n.getNodeCollectionInfo();
+        Cell leaf = pos.leaf;
+        if (leaf == null || pos.index >= leaf.numNodes || leaf.nodes[pos.index] != n) {
+            // the node was not located where it said! ERROR!
+            throw new SinalgoFatalException("KdTreeNodeCollection.removeNode(Node):\n" + "A node is being removed, but it is not "
+                    + "located in the leaf " + "in which it claims to be.");
+        }
+        leaf.removeAt(pos.index);
+        pos.leaf = null;
+        for (Cell c = leaf; c != null; c = c.parent) {
+            c.count--;
+        }
+
+        // merge the topmost subtree on the path that got too small
+        Cell small = null;
+        for (Cell c = leaf.parent; c != null && c.count <= this.bucketSize / 2; c = c.parent) {
+            small = c;
+        }
+        if (small != null) {
+            this.rebuild(small);
+        }
+    }
+
+    /**
+     * Collects all nodes of a subtree and builds a balanced subtree from them.
+     */
+    private void rebuild(Cell cell) {
+        this.ensureBuildCapacity(cell.count);
+        this.buildFromBuffer(cell, cell.collect(this.buildBuffer, 0));
+    }
+
+    private void ensureBuildCapacity(int size) {
+        if (this.buildBuffer.length < size) {
+            int capacity = Math.max(size, 2 * this.buildBuffer.length);
+            this.buildBuffer = new Node[capacity];
+            this.buildCoords = new double[3][capacity];
+        }
+    }
+
+    /**
+     * Builds a balanced subtree from the first nodes of the build buffer.
+     */
+    private void buildFromBuffer(Cell cell, int size) {
+        // copy the coordinates such that partitioning does not dereference the nodes
+        for (int a = 0; a < this.dimensions; a++) {
+            double[] coords = this.buildCoords[a];
+            for (int i = 0; i < size; i++) {
+                coords[i] = coord(this.buildBuffer[i], a);
+            }
+        }
+        this.build(cell, 0, size);
+        Arrays.fill(this.buildBuffer, 0, size, null);
+    }
+
+    /**
+     * Turns a cell into the root of a balanced subtree holding the given range of
+     * the build buffer.
+     */
+    private void build(Cell cell, int from, int to) {
+        if (cell.nodes != null) {
+            Arrays.fill(cell.nodes, 0, cell.numNodes, null);
+        }
+        cell.low = cell.high = null;
+        cell.count = to - from;
+        cell.numNodes = 0;
+        cell.minCountForRebuild = 0;
+        if (cell.count > this.bucketSize) {
+            // split along the axis with the biggest spread
+            int axis = -1;
+            double maxSpread = 0;
+            for (int a = 0; a < this.dimensions; a++) {
+                double[] coords = this.buildCoords[a];
+                double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+                for (int i = from; i < to; i++) {
+                    double c = coords[i];
+                    min = Math.min(min, c);
+                    max = Math.max(max, c);
+                }
+                if (max - min > maxSpread) {
+                    maxSpread = max - min;
+                    axis = a;
+                }
+            }
+            if (axis >= 0) { // otherwise, all nodes are at the same position and the leaf stays oversized
+                // all nodes left of mid have a smaller coordinate than the split value
+                int mid = this.partitionAtMedian(from, to, axis);
+                double split = this.buildCoords[axis][mid];
+                cell.axis = axis;
+                cell.split = split;
+                cell.low = new Cell(cell);
+                cell.low.max[axis] = split;
+                cell.high = new Cell(cell);
+                cell.high.min[axis] = split;
+                this.build(cell.low, from, mid);
+                this.build(cell.high, mid, to);
+                cell.nodes = null;
+                if (Math.max(cell.low.count, cell.high.count) > BALANCE_FACTOR * cell.count) {
+                    // too many nodes share the split coordinate, do not retry before the subtree has grown
+                    cell.minCountForRebuild = 2 * cell.count;
+                }
+                return;
+            }
+            // do not retry splitting before the leaf has grown
+            cell.minCountForRebuild = 2 * cell.count;
+        }
+        for (int i = from; i < to; i++) {
+            cell.add(this.buildBuffer[i]);
+        }
+    }
+
+    /**
+     * Reorders the given range of the build buffers along an axis, such that the
+     * nodes left of the returned index have a smaller coordinate than all other
+     * nodes, and the node at the returned index has the smallest coordinate of the
+     * other nodes. The returned index is the first one holding the median
+     * coordinate, or the first one above the nodes with the median coordinate if
+     * the median is the minimum. The range must contain at least two distinct
+     * coordinates along the axis.
+     */
+    private int partitionAtMedian(int from, int to, int axis) {
+        double[] coords = this.buildCoords[axis];
+        int k = (from + to) >>> 1;
+        int lo = from, hi = to;
+        int lt, gt;
+        while (true) {
+            // three-way partition of [lo, hi) around the median of three coordinates,
+            // nodes with equal coordinates are frequent in clustered deployments
+            double a = coords[lo], b = coords[(lo + hi) >>> 1], c = coords[hi - 1];
+            double pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+            lt = lo;
+            gt = hi;
+            int i = lo;
+            while (i < gt) {
+                double x = coords[i];
+                if (x < pivot) {
+                    this.swap(lt++, i++);
+                } else if (x > pivot) {
+                    this.swap(i, --gt);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                hi = lt;
+            } else if (k >= gt) {
+                lo = gt;
+            } else {
+                break;
+            }
+        }
+        // [from, lt) holds smaller, [lt, gt) equal and [gt, to) bigger coordinates than coords[k]
+        if (lt > from) {
+            return lt;
+        }
+        // the median is the minimum, split above it instead
+        int min = gt;
+        for (int i = gt + 1; i < to; i++) {
+            if (coords[i] < coords[min]) {
+                min = i;
+            }
+        }
+        this.swap(gt, min);
+        return gt;
+    }
+
+    /**
+     * Swaps two entries of the build buffers.
+     */
+    private void swap(int i, int j) {
+        Node n = this.buildBuffer[i];
+        this.buildBuffer[i] = this.buildBuffer[j];
+        this.buildBuffer[j] = n;
+        for (int a = 0; a < this.dimensions; a++) {
+            double[] coords = this.buildCoords[a];
+            double c = coords[i];
+            coords[i] = coords[j];
+            coords[j] = c;
+        }
+    }
+
+    /**
+     * The information a node stores about its place in this collection.
+     */
+    private static class LeafPos implements NodeCollectionInfoInterface {
+
+        Cell leaf; // the leaf holding the node
+        int index; // the offset of the node in the array of the leaf
+    }
+
+    /**
+     * A cell of the tree, which is either a leaf holding nodes or an inner cell
+     * split into two children.
+     */
+    private static class Cell {
+
+        Cell parent;
+        Cell low, high; // the children, null for leafs
+        int axis; // the axis along which an inner cell is split
+        double split; // nodes with a coordinate smaller than split are in the low child
+
+        // the region covered by this cell, the lower bounds are inclusive
+        double[] min = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        double[] max = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+
+        int count; // the number of nodes in this subtree
+        int minCountForRebuild; // the subtree is not rebuilt while it holds less nodes
+        Node[] nodes; // the nodes of a leaf
+        int numNodes; // the number of nodes in the array of a leaf
+
+        Cell(Cell parent) {
+            this.parent = parent;
+            if (parent != null) {
+                System.arraycopy(parent.min, 0, this.min, 0, 3);
+                System.arraycopy(parent.max, 0, this.max, 0, 3);
+            }
+        }
+
+        boolean isLeaf() {
+            return this.low == null;
+        }
+
+        boolean contains(Node n, int dimensions) {
+            for (int a = 0; a < dimensions; a++) {
+                double c = coord(n, a);
+                if (c < this.min[a] || c >= this.max[a]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void add(Node n) {
+            if (this.nodes == null) {
+                this.nodes = new Node[8];
+            } else if (this.numNodes == this.nodes.length) {
+                this.nodes = Arrays.copyOf(this.nodes, 2 * this.numNodes);
+            }
+            LeafPos pos = (LeafPos) n.getNodeCollectionInfo();
+            pos.leaf = this;
+            pos.index = this.numNodes;
+            this.nodes[this.numNodes++] = n;
+        }
+
+        void removeAt(int index) {
+            Node last = this.nodes[--this.numNodes];
+            this.nodes[index] = last;
+            ((LeafPos) last.getNodeCollectionInfo()).index = index;
+            this.nodes[this.numNodes] = null;
+        }
+
+        int collect(Node[] buffer, int offset) {
+            if (this.isLeaf()) {
+                System.arraycopy(this.nodes, 0, buffer, offset, this.numNodes);
+                return offset + this.numNodes;
+            }
+            return this.high.collect(buffer, this.low.collect(buffer, offset));
+        }
+
+        int depth() {
+            return this.isLeaf() ? 1 : 1 + Math.max(this.low.depth(), this.high.depth());
+        }
+    }
+}
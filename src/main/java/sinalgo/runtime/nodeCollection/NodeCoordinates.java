@@ -0,0 +1,199 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.runtime.nodeCollection;
+
+import sinalgo.nodes.Node;
+import sinalgo.nodes.Position;
+
+import java.util.Arrays;
+
+/**
+ * Stores the coordinates of all nodes of a node collection in primitive arrays,
+ * indexed by a dense index between 0 and size() - 1.
+ * <p>
+ * Loops over the positions of many nodes, e.g. to compute distances, run faster
+ * over these contiguous arrays than over the Position objects of the nodes. The
+ * node collection keeps this store up to date whenever a node is added, removed
+ * or changes its position through {@link Node#setPosition(Position)}.
+ * <p>
+ * The index of a node may change whenever another node is removed from the
+ * collection. The arrays returned by {@link #getXCoords()},
+ * {@link #getYCoords()} and {@link #getZCoords()} are only valid until the
+ * next node is added, and may be longer than size().
+ */
+public class NodeCoordinates {
+
+    private double[] xCoords = new double[16];
+    private double[] yCoords = new double[16];
+    private double[] zCoords = new double[16];
+    private Node[] nodes = new Node[16];
+    private int size;
+
+    /**
+     * @return The number of nodes in this store.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @param index The index of a node, between 0 and size() - 1.
+     * @return The node at the given index.
+     */
+    public Node getNode(int index) {
+        return this.nodes[index];
+    }
+
+    /**
+     * @param n A node.
+     * @return The index of the node in this store, -1 if the node is not contained
+     * in this store.
+     */
+    public int indexOf(Node n) {
+        int index = n.getCoordinateIndex();
+        return index >= 0 && index < this.size && this.nodes[index] == n ? index : -1;
+    }
+
+    /**
+     * @return The x coordinates of the nodes, indexed by the index of the nodes.
+     * Must not be modified.
+     */
+    public double[] getXCoords() {
+        return this.xCoords;
+    }
+
+    /**
+     * @return The y coordinates of the nodes, indexed by the index of the nodes.
+     * Must not be modified.
+     */
+    public double[] getYCoords() {
+        return this.yCoords;
+    }
+
+    /**
+     * @return The z coordinates of the nodes, indexed by the index of the nodes.
+     * Must not be modified.
+     */
+    public double[] getZCoords() {
+        return this.zCoords;
+    }
+
+    /**
+     * Computes the squared distance between a position and the node at a given
+     * index.
+     *
+     * @param index The index of the node.
+     * @param x     The x coordinate of the position.
+     * @param y     The y coordinate of the position.
+     * @param z     The z coordinate of the position.
+     * @return The squared distance between the position and the node.
+     */
+    public double squareDistanceTo(int index, double x, double y, double z) {
+        double dx = this.xCoords[index] - x;
+        double dy = this.yCoords[index] - y;
+        double dz = this.zCoords[index] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Adds a node to this store, unless it is already contained.
+     *
+     * @param n The node to add.
+     */
+    public void add(Node n) {
+        if (this.indexOf(n) >= 0) {
+            return;
+        }
+        if (this.size == this.nodes.length) {
+            int capacity = 2 * this.size;
+            this.xCoords = Arrays.copyOf(this.xCoords, capacity);
+            this.yCoords = Arrays.copyOf(this.yCoords, capacity);
+            this.zCoords = Arrays.copyOf(this.zCoords, capacity);
+            this.nodes = Arrays.copyOf(this.nodes, capacity);
+        }
+        this.nodes[this.size] = n;
+        n.setCoordinateIndex(this.size);
+        this.store(this.size, n.getPosition());
+        this.size++;
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Removes a node from this store. The last node of the store
+     * takes over the index of the removed node.
+     *
+     * @param n The node to remove.
+     */
+    public void remove(Node n) {
+        int index = this.indexOf(n);
+        if (index < 0) {
+            return;
+        }
+        this.size--;
+        if (index < this.size) {
+            Node last = this.nodes[this.size];
+            this.nodes[index] = last;
+            last.setCoordinateIndex(index);
+            this.xCoords[index] = this.xCoords[this.size];
+            this.yCoords[index] = this.yCoords[this.size];
+            this.zCoords[index] = this.zCoords[this.size];
+        }
+        this.nodes[this.size] = null;
+        n.setCoordinateIndex(-1);
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Copies the current position of a node into this store, if the
+     * node is contained in this store.
+     *
+     * @param n The node whose position has changed.
+     */
+    public void update(Node n) {
+        int index = this.indexOf(n);
+        if (index >= 0) {
+            this.store(index, n.getPosition());
+        }
+    }
+
+    private void store(int index, Position p) {
+        this.xCoords[index] = p.getXCoord();
+        this.yCoords[index] = p.getYCoord();
+        this.zCoords[index] = p.getZCoord();
+    }
+}
@@ -0,0 +1,175 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.runtime.nodeCollection;
+
+import sinalgo.nodes.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Maps the IDs of the nodes in a node collection to the nodes.
+ * <p>
+ * The framework assigns the IDs consecutively, starting with 1, such that the
+ * nodes are stored in an array indexed by their ID. IDs far beyond the number
+ * of nodes, which a project may assign explicitly, are kept in a hash map
+ * instead, such that the array does not grow out of bounds.
+ * <p>
+ * A project may also assign the same ID to several nodes, e.g. temporarily
+ * while swapping the IDs of two nodes. The nodes added later are chained
+ * behind the first node with the ID, and take its place when it is removed.
+ */
+class NodeIDIndex {
+
+    private Node[] nodesByID = new Node[64];
+    private final HashMap<Long, Node> sparseNodes = new HashMap<>();
+    private int size;
+
+    // the further nodes with the same ID as a node in the array or the hash map, in the order they were added
+    private final HashMap<Long, ArrayList<Node>> duplicates = new HashMap<>();
+
+    /**
+     * @param id The ID of a node.
+     * @return The node with the given ID, null if there is no such node. If several
+     * nodes have the given ID, the one added first is returned.
+     */
+    Node get(long id) {
+        if (id >= 0 && id < this.nodesByID.length) {
+            Node n = this.nodesByID[(int) id];
+            // nodes added to the hash map remain there when the array grows
+            if (n != null || this.sparseNodes.isEmpty()) {
+                return n;
+            }
+        }
+        return this.sparseNodes.isEmpty() ? null : this.sparseNodes.get(id);
+    }
+
+    /**
+     * Adds a node to the index. If the index already holds another node with the
+     * same ID, the node is chained behind that node.
+     *
+     * @param n The node to add.
+     */
+    void add(Node n) {
+        long id = n.getID();
+        Node existing = this.get(id);
+        if (existing == n) {
+            return;
+        }
+        if (existing != null) {
+            ArrayList<Node> chain = this.duplicates.computeIfAbsent(id, k -> new ArrayList<>(2));
+            if (indexOf(chain, n) < 0) {
+                chain.add(n);
+            }
+            return;
+        }
+        if (id >= 0 && id < this.nodesByID.length) {
+            this.nodesByID[(int) id] = n;
+        } else if (id >= 0 && id <= 2L * this.size + 1024) {
+            this.nodesByID = Arrays.copyOf(this.nodesByID, (int) Math.max(2L * this.nodesByID.length, id + 1));
+            this.nodesByID[(int) id] = n;
+        } else {
+            this.sparseNodes.put(id, n);
+        }
+        this.size++;
+    }
+
+    /**
+     * Removes a node from the index.
+     *
+     * @param n  The node to remove.
+     * @param id The ID under which the node has been added to this index.
+     */
+    void remove(Node n, long id) {
+        if (id >= 0 && id < this.nodesByID.length && this.nodesByID[(int) id] == n) {
+            this.nodesByID[(int) id] = this.nextDuplicate(id);
+            if (this.nodesByID[(int) id] == null) {
+                this.size--;
+            }
+        } else if (!this.sparseNodes.isEmpty() && this.sparseNodes.get(id) == n) {
+            Node next = this.nextDuplicate(id);
+            if (next != null) {
+                this.sparseNodes.put(id, next);
+            } else {
+                this.sparseNodes.remove(id);
+                this.size--;
+            }
+        } else if (!this.duplicates.isEmpty()) {
+            ArrayList<Node> chain = this.duplicates.get(id);
+            int index = chain == null ? -1 : indexOf(chain, n);
+            if (index >= 0) {
+                chain.remove(index);
+                if (chain.isEmpty()) {
+                    this.duplicates.remove(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the first node chained behind a removed node.
+     *
+     * @param id The ID of the removed node.
+     * @return The node to take the place of the removed node, null if no other
+     * node has the same ID.
+     */
+    private Node nextDuplicate(long id) {
+        if (this.duplicates.isEmpty()) {
+            return null;
+        }
+        ArrayList<Node> chain = this.duplicates.get(id);
+        if (chain == null) {
+            return null;
+        }
+        Node next = chain.remove(0);
+        if (chain.isEmpty()) {
+            this.duplicates.remove(id);
+        }
+        return next;
+    }
+
+    // nodes are equal if their IDs are equal, hence the chains are searched by identity
+    private static int indexOf(ArrayList<Node> chain, Node n) {
+        for (int i = 0; i < chain.size(); i++) {
+            if (chain.get(i) == n) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,224 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.runtime.nodeCollection;
+
+import sinalgo.nodes.Node;
+import sinalgo.tools.storage.ReusableEnumeration;
+
+import java.util.Arrays;
+
+/**
+ * Holds the result of a spatial query on a node collection, see
+ * {@link AbstractNodeCollection#getNodesInRadius},
+ * {@link AbstractNodeCollection#getNodesInBox} and
+ * {@link AbstractNodeCollection#getNearestNodes}.
+ * <p>
+ * A cursor is meant to be reused for many queries: each query overwrites the
+ * result of the previous one, and the arrays of the cursor only grow, such
+ * that a query on a cursor that has been used before does not allocate any
+ * objects. A cursor must not be used by two queries at the same time.
+ * <p>
+ * The cursor enumerates the nodes found by the query. For nearest neighbor
+ * queries, the nodes are sorted by increasing distance, for the other queries,
+ * the order is arbitrary. Besides the enumeration, the nodes and their
+ * distances to the query center can be accessed by index.
+ */
+public class NodeQueryCursor implements ReusableEnumeration<Node> {
+
+    private Node[] nodes = new Node[16];
+    private double[] squaredDistances = new double[16];
+    private int size;
+    private int current;
+
+    // the maximal number of nodes to keep, the closest ones are kept
+    private int limit = Integer.MAX_VALUE;
+
+    /**
+     * @return The number of nodes found by the last query.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @param index The index of the node, between 0 and size() - 1.
+     * @return The node found by the last query at the given index.
+     */
+    public Node getNode(int index) {
+        if (index >= this.size) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return this.nodes[index];
+    }
+
+    /**
+     * @param index The index of the node, between 0 and size() - 1.
+     * @return The distance of the node at the given index to the center of the last
+     * query, or 0 for box queries.
+     */
+    public double getDistance(int index) {
+        if (index >= this.size) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return Math.sqrt(this.squaredDistances[index]);
+    }
+
+    @Override
+    public boolean hasMoreElements() {
+        return this.current < this.size;
+    }
+
+    @Override
+    public Node nextElement() {
+        return this.nodes[this.current++];
+    }
+
+    @Override
+    public void reset() {
+        this.current = 0;
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Clears the cursor for a new query.
+     *
+     * @param limit The maximal number of nodes to keep, Integer.MAX_VALUE to keep all
+     *              offered nodes. If limited, the offered nodes closest to the query
+     *              center are kept.
+     */
+    public void begin(int limit) {
+        Arrays.fill(this.nodes, 0, this.size, null);
+        this.size = 0;
+        this.current = 0;
+        this.limit = limit;
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Offers a node matching the query to this cursor.
+     *
+     * @param n               The node.
+     * @param squaredDistance The squared distance of the node to the query center.
+     */
+    public void offer(Node n, double squaredDistance) {
+        if (this.limit == Integer.MAX_VALUE) {
+            this.ensureCapacity(this.size + 1);
+            this.nodes[this.size] = n;
+            this.squaredDistances[this.size++] = squaredDistance;
+        } else if (this.size < this.limit) {
+            // add to the max-heap on the squared distances
+            this.ensureCapacity(this.size + 1);
+            int i = this.size++;
+            while (i > 0 && this.squaredDistances[(i - 1) >> 1] < squaredDistance) {
+                int parent = (i - 1) >> 1;
+                this.nodes[i] = this.nodes[parent];
+                this.squaredDistances[i] = this.squaredDistances[parent];
+                i = parent;
+            }
+            this.nodes[i] = n;
+            this.squaredDistances[i] = squaredDistance;
+        } else if (this.size > 0 && squaredDistance < this.squaredDistances[0]) {
+            // replace the farthest node
+            this.siftDown(n, squaredDistance, this.size);
+        }
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b>
+     *
+     * @return The squared distance a node needs to undercut to be kept by a limited
+     * query, Double.POSITIVE_INFINITY while the limit has not been reached.
+     */
+    public double getMaxSquaredDistance() {
+        if (this.size < this.limit || this.size == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return this.squaredDistances[0];
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Completes the query, such that the result can be accessed.
+     */
+    public void finish() {
+        if (this.limit != Integer.MAX_VALUE) {
+            // heap sort: repeatedly move the farthest node to the end
+            for (int end = this.size - 1; end > 0; end--) {
+                Node n = this.nodes[end];
+                double d = this.squaredDistances[end];
+                this.nodes[end] = this.nodes[0];
+                this.squaredDistances[end] = this.squaredDistances[0];
+                this.siftDown(n, d, end);
+            }
+        }
+        this.current = 0;
+    }
+
+    /**
+     * Places a node at the root of the max-heap of the given size and restores the
+     * heap order.
+     */
+    private void siftDown(Node n, double squaredDistance, int heapSize) {
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && this.squaredDistances[child + 1] > this.squaredDistances[child]) {
+                child++;
+            }
+            if (this.squaredDistances[child] <= squaredDistance) {
+                break;
+            }
+            this.nodes[i] = this.nodes[child];
+            this.squaredDistances[i] = this.squaredDistances[child];
+            i = child;
+        }
+        this.nodes[i] = n;
+        this.squaredDistances[i] = squaredDistance;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > this.nodes.length) {
+            int newLength = Math.max(capacity, 2 * this.nodes.length);
+            this.nodes = Arrays.copyOf(this.nodes, newLength);
+            this.squaredDistances = Arrays.copyOf(this.squaredDistances, newLength);
+        }
+    }
+}
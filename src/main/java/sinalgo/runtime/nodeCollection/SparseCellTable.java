@@ -0,0 +1,203 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.runtime.nodeCollection;
+
+import sinalgo.tools.storage.ObjectPool;
+
+/**
+ * A hash table that maps the packed coordinates of the occupied cells of a
+ * sparse geometric node collection to the lists of nodes stored in these cells.
+ * <p>
+ * The table uses open addressing with linear probing on primitive
+ * <code>long</code> keys, such that looking up a cell does not allocate any
+ * objects. Cells are created when the first node enters them and are discarded
+ * as soon as the last node leaves them. The lists of discarded cells are
+ * recycled.
+ * <p>
+ * <b>This class is framework internal and should not be used by the project
+ * developer.</b>
+ */
+class SparseCellTable {
+
+    /**
+     * The recycled lists of the discarded cells.
+     */
+    private static final ObjectPool<DLLNodeList> CELL_POOL = new ObjectPool<>("GeometricCell");
+
+    private static final int INITIAL_CAPACITY = 64; // must be a power of two
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private DLLNodeList[] cells = new DLLNodeList[INITIAL_CAPACITY];
+    private int size; // number of occupied cells
+
+    /**
+     * Returns the list of nodes of a cell.
+     *
+     * @param key The packed coordinates of the cell.
+     * @return The list of nodes of the cell, null if the cell is not occupied.
+     */
+    NodeListInterface get(long key) {
+        int mask = this.keys.length - 1;
+        for (int i = hash(key) & mask; this.cells[i] != null; i = (i + 1) & mask) {
+            if (this.keys[i] == key) {
+                return this.cells[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the list of nodes of a cell, creating the cell if it is not yet
+     * occupied.
+     *
+     * @param key The packed coordinates of the cell.
+     * @return The list of nodes of the cell.
+     */
+    NodeListInterface getOrCreate(long key) {
+        int mask = this.keys.length - 1;
+        int i = hash(key) & mask;
+        for (; this.cells[i] != null; i = (i + 1) & mask) {
+            if (this.keys[i] == key) {
+                return this.cells[i];
+            }
+        }
+        DLLNodeList cell = CELL_POOL.get(() -> new DLLNodeList(true));
+        this.keys[i] = key;
+        this.cells[i] = cell;
+        this.size++;
+        if (2 * this.size > this.keys.length) { // keep the load factor below 1/2
+            this.rehash(2 * this.keys.length);
+        }
+        return cell;
+    }
+
+    /**
+     * Discards a cell if it does not contain any nodes anymore.
+     *
+     * @param key The packed coordinates of the cell.
+     */
+    void releaseIfEmpty(long key) {
+        int mask = this.keys.length - 1;
+        int i = hash(key) & mask;
+        for (; this.cells[i] != null; i = (i + 1) & mask) {
+            if (this.keys[i] == key) {
+                break;
+            }
+        }
+        DLLNodeList cell = this.cells[i];
+        if (cell == null || !cell.isEmpty()) {
+            return;
+        }
+        CELL_POOL.free(cell);
+        this.size--;
+        // shift the following entries of the probe sequence back to close the gap
+        int gap = i;
+        for (int j = (i + 1) & mask; this.cells[j] != null; j = (j + 1) & mask) {
+            int home = hash(this.keys[j]) & mask;
+            // move the entry if its home slot does not lie cyclically in (gap, j]
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                this.keys[gap] = this.keys[j];
+                this.cells[gap] = this.cells[j];
+                gap = j;
+            }
+        }
+        this.cells[gap] = null;
+    }
+
+    /**
+     * @return The number of slots of this table, see {@link #getCellAt(int)}.
+     */
+    int getCapacity() {
+        return this.keys.length;
+    }
+
+    /**
+     * Gives access to the cells by slot, to iterate over all occupied cells. The
+     * table must not be modified during the iteration.
+     *
+     * @param slot The slot, between 0 and getCapacity() - 1.
+     * @return The list of nodes of the cell in the given slot, null if the slot is
+     * empty.
+     */
+    NodeListInterface getCellAt(int slot) {
+        return this.cells[slot];
+    }
+
+    /**
+     * @param slot The slot of an occupied cell.
+     * @return The packed coordinates of the cell in the given slot.
+     */
+    long getKeyAt(int slot) {
+        return this.keys[slot];
+    }
+
+    /**
+     * @return The number of occupied cells.
+     */
+    int size() {
+        return this.size;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = this.keys;
+        DLLNodeList[] oldCells = this.cells;
+        this.keys = new long[capacity];
+        this.cells = new DLLNodeList[capacity];
+        int mask = capacity - 1;
+        for (int k = 0; k < oldKeys.length; k++) {
+            if (oldCells[k] != null) {
+                int i = hash(oldKeys[k]) & mask;
+                while (this.cells[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                this.keys[i] = oldKeys[k];
+                this.cells[i] = oldCells[k];
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of the packed cell coordinates, such that neighboring cells
+     * do not form long probe sequences.
+     */
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.runtime.nodeCollection;
+
+/**
+ * A variant of the Geometric2DNodeCollection for large deployment areas with
+ * comparatively few nodes. Like its parent, it tessellates the plane into
+ * squares of side length rMax, but it only stores the squares that currently
+ * contain at least one node in a hash table. Thus, the memory used by this
+ * collection is proportional to the number of nodes and not to the size of the
+ * playground, and nodes may even be placed outside of the playground.
+ * <p>
+ * To use this node collection, set the <code>nodeCollection2D</code> entry of
+ * the configuration file to
+ * <code>sinalgo.runtime.nodeCollection.SparseGeometric2DNodeCollection</code>.
+ * It requires the same <code>GeometricNodeCollection/rMax</code> entry as its
+ * parent.
+ */
+public class SparseGeometric2DNodeCollection extends Geometric2DNodeCollection {
+
+    // the occupied squares, keyed by their packed coordinates
+    private SparseCellTable cells = new SparseCellTable();
+
+    /**
+     * The constructor for the SparseGeometric2DNodeCollection class.
+     */
+    public SparseGeometric2DNodeCollection() {
+        super(false);
+    }
+
+    /**
+     * Packs the coordinates of a square into a single key.
+     */
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    @Override
+    protected NodeListInterface getCell(int x, int y) {
+        return this.cells.get(key(x, y));
+    }
+
+    @Override
+    protected NodeListInterface getOrCreateCell(int x, int y) {
+        return this.cells.getOrCreate(key(x, y));
+    }
+
+    @Override
+    protected void releaseCell(int x, int y, NodeListInterface cell) {
+        this.cells.releaseIfEmpty(key(x, y));
+    }
+
+    @Override
+    protected void sweepCells() {
+        for (int slot = 0; slot < this.cells.getCapacity(); slot++) {
+            NodeListInterface cell = this.cells.getCellAt(slot);
+            if (cell != null) {
+                long key = this.cells.getKeyAt(slot);
+                this.sweepCell((int) (key >> 32), (int) key, cell);
+            }
+        }
+    }
+
+    /**
+     * @return The number of squares that currently contain at least one node.
+     */
+    public int getNumOccupiedCells() {
+        return this.cells.size();
+    }
+}
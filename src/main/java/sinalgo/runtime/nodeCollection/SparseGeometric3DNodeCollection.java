@@ -0,0 +1,111 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.runtime.nodeCollection;
+
+/**
+ * A variant of the Geometric3DNodeCollection for large deployment areas with
+ * comparatively few nodes. Like its parent, it tessellates the space into cubes
+ * of side length rMax, but it only stores the cubes that currently contain at
+ * least one node in a hash table. Thus, the memory used by this collection is
+ * proportional to the number of nodes and not to the size of the field.
+ * <p>
+ * The coordinates of a cube are packed into 21 bits per dimension. Nodes more
+ * than 2^20 cubes apart in one dimension may therefore share a hash table
+ * entry, which only adds further candidates to the enumeration of possible
+ * neighbors.
+ * <p>
+ * To use this node collection, set the <code>nodeCollection3D</code> entry of
+ * the configuration file to
+ * <code>sinalgo.runtime.nodeCollection.SparseGeometric3DNodeCollection</code>.
+ * It requires the same <code>GeometricNodeCollection/rMax</code> entry as its
+ * parent.
+ */
+public class SparseGeometric3DNodeCollection extends Geometric3DNodeCollection {
+
+    private static final long COORD_MASK = (1L << 21) - 1;
+
+    // the occupied cubes, keyed by their packed coordinates
+    private SparseCellTable cells = new SparseCellTable();
+
+    /**
+     * Default constructor. Creates and initializes the sparse node collection.
+     */
+    public SparseGeometric3DNodeCollection() {
+        super(false);
+    }
+
+    /**
+     * Packs the coordinates of a cube into a single key.
+     */
+    private static long key(int x, int y, int z) {
+        return ((x & COORD_MASK) << 42) | ((y & COORD_MASK) << 21) | (z & COORD_MASK);
+    }
+
+    @Override
+    protected NodeListInterface getCell(int x, int y, int z) {
+        return this.cells.get(key(x, y, z));
+    }
+
+    @Override
+    protected NodeListInterface getOrCreateCell(int x, int y, int z) {
+        return this.cells.getOrCreate(key(x, y, z));
+    }
+
+    @Override
+    protected void releaseCell(int x, int y, int z, NodeListInterface cell) {
+        this.cells.releaseIfEmpty(key(x, y, z));
+    }
+
+    @Override
+    protected void sweepCells() {
+        for (int slot = 0; slot < this.cells.getCapacity(); slot++) {
+            NodeListInterface cell = this.cells.getCellAt(slot);
+            if (cell != null) {
+                // unpack and sign-extend the 21 bit coordinates
+                long key = this.cells.getKeyAt(slot);
+                this.sweepCell((int) ((key << 1) >> 43), (int) ((key << 22) >> 43), (int) ((key << 43) >> 43), cell);
+            }
+        }
+    }
+
+    /**
+     * @return The number of cubes that currently contain at least one node.
+     */
+    public int getNumOccupiedCells() {
+        return this.cells.size();
+    }
+}
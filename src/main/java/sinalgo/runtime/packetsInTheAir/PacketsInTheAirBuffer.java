@@ -37,9 +37,14 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package sinalgo.runtime.packetsInTheAir;
 
 import sinalgo.configuration.Configuration;
+import sinalgo.models.InterferenceModel;
 import sinalgo.nodes.messages.Packet;
+import sinalgo.tools.metrics.HotSpotProfiler;
+import sinalgo.tools.metrics.HotSpotProfiler.Callback;
 import sinalgo.tools.storage.DoublyLinkedList;
 import sinalgo.tools.storage.ReusableListIterator;
+import sinalgo.tools.trace.TraceEvent;
+import sinalgo.tools.trace.TraceRecorder;
 
 import java.util.Iterator;
 
@@ -57,7 +62,7 @@ public class PacketsInTheAirBuffer implements Iterable<Packet> {
     private boolean newAdded = true;
 
     // The list of all packets that actively contribute to interference.
-    private DoublyLinkedList<Packet> activePackets = new DoublyLinkedList<>(true);
+    private DoublyLinkedList<Packet> activePackets = new DoublyLinkedList<>(true, Packet.DLL_SLOT_PACKETS_IN_THE_AIR);
 
     // the list of all packets that may experience interference, but do not actively
     // contribute to
@@ -65,7 +70,7 @@ public class PacketsInTheAirBuffer implements Iterable<Packet> {
     // list. Only the
     // packet from a multicast that takes longest is added to the active 'packets'
     // list.
-    private DoublyLinkedList<Packet> passivePackets = new DoublyLinkedList<>(true);
+    private DoublyLinkedList<Packet> passivePackets = new DoublyLinkedList<>(true, Packet.DLL_SLOT_PACKETS_IN_THE_AIR);
 
     private ReusableListIterator<Packet> activePacketsIterator = this.activePackets.iterator();
     private ReusableListIterator<Packet> passivePacketsIterator = this.passivePackets.iterator();
@@ -109,22 +114,36 @@ public class PacketsInTheAirBuffer implements Iterable<Packet> {
         // disturbed.
         this.activePacketsIterator.reset();
         while (this.activePacketsIterator.hasNext()) {
-            Packet pack = this.activePacketsIterator.next();
-            if (pack.isPositiveDelivery()) {
-                // test if the packet is disturbed according to the destinations interference
-                // model.
-                pack.setPositiveDelivery(!pack.getDestination().getInterferenceModel().isDisturbed(pack));
-            }
+            testForInterference(this.activePacketsIterator.next());
         }
         // and the same for the passive packets
         this.passivePacketsIterator.reset();
         while (this.passivePacketsIterator.hasNext()) {
-            Packet pack = this.passivePacketsIterator.next();
-            if (pack.isPositiveDelivery()) {
-                // test if the packet is disturbed according to the destinations interference
-                // model.
-                pack.setPositiveDelivery(!pack.getDestination().getInterferenceModel().isDisturbed(pack));
-            }
+            testForInterference(this.passivePacketsIterator.next());
+        }
+    }
+
+    /**
+     * Tests whether a packet is disturbed according to the interference model of
+     * its destination, if it has not been disturbed before.
+     *
+     * @param pack The packet to test.
+     */
+    private static void testForInterference(Packet pack) {
+        if (!pack.isPositiveDelivery()) {
+            return;
+        }
+        InterferenceModel model = pack.getDestination().getInterferenceModel();
+        long start = HotSpotProfiler.start();
+        boolean disturbed;
+        try {
+            disturbed = model.isDisturbed(pack);
+        } finally {
+            HotSpotProfiler.stop(Callback.INTERFERENCE_MODEL, model, start);
+        }
+        if (disturbed) {
+            pack.setPositiveDelivery(false);
+            TraceRecorder.recordPacket(TraceEvent.INTERFERENCE, pack);
         }
     }
 
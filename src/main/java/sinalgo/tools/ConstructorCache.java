@@ -0,0 +1,186 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.function.Supplier;
+
+/**
+ * Creates instances of classes through their public constructor without
+ * parameters, as <code>c.getConstructor().newInstance()</code> does, but
+ * resolves the constructor only once per class.
+ * <p>
+ * The constructor is bound to a generated {@link Supplier}, such that creating
+ * an object costs about the same as a plain <code>new</code>. The exceptions
+ * thrown by this class are the ones thrown by the reflective approach, i.e.
+ * exceptions thrown by the constructor itself are wrapped in an
+ * InvocationTargetException.
+ */
+public final class ConstructorCache {
+
+    private ConstructorCache() {
+    }
+
+    /**
+     * The resolved constructor of a class, or the exception raised while resolving
+     * it.
+     */
+    private static final class Factory {
+
+        private final Supplier<?> supplier;
+        private final ReflectiveOperationException failure;
+
+        private Factory(Supplier<?> supplier, ReflectiveOperationException failure) {
+            this.supplier = supplier;
+            this.failure = failure;
+        }
+    }
+
+    private static final ClassValue<Factory> FACTORIES = new ClassValue<Factory>() {
+
+        @Override
+        protected Factory computeValue(Class<?> c) {
+            try {
+                return new Factory(createSupplier(c), null);
+            } catch (ReflectiveOperationException e) {
+                return new Factory(null, e);
+            }
+        }
+    };
+
+    /**
+     * Creates a new instance of a class by calling its public constructor without
+     * parameters.
+     *
+     * @param c   The class to instantiate.
+     * @param <T> The type of the class.
+     * @return A new instance of the class.
+     * @throws NoSuchMethodException     If the class has no public constructor without parameters.
+     * @throws IllegalAccessException    If the constructor is not accessible.
+     * @throws InstantiationException    If the class is abstract or an interface.
+     * @throws InvocationTargetException If the constructor throws an exception, which is available
+     *                                   through <code>getCause()</code>.
+     */
+    public static <T> T newInstance(Class<T> c)
+            throws NoSuchMethodException, IllegalAccessException, InstantiationException, InvocationTargetException {
+        Factory factory = FACTORIES.get(c);
+        if (factory.failure != null) {
+            throwFailure(factory.failure);
+        }
+        Object result;
+        try {
+            result = factory.supplier.get();
+        } catch (UndeclaredCheckedException e) {
+            throw new InvocationTargetException(e.getCause());
+        } catch (Throwable t) {
+            // the constructor may throw checked exceptions, which the supplier does not declare
+            throw new InvocationTargetException(t);
+        }
+        return c.cast(result);
+    }
+
+    private static void throwFailure(ReflectiveOperationException e)
+            throws NoSuchMethodException, IllegalAccessException, InstantiationException {
+        if (e instanceof NoSuchMethodException) {
+            throw (NoSuchMethodException) e;
+        } else if (e instanceof InstantiationException) {
+            throw (InstantiationException) e;
+        } else if (e instanceof IllegalAccessException) {
+            throw (IllegalAccessException) e;
+        }
+        throw new InstantiationException(e.getMessage());
+    }
+
+    private static Supplier<?> createSupplier(Class<?> c) throws ReflectiveOperationException {
+        if (c.isInterface() || Modifier.isAbstract(c.getModifiers())) {
+            throw new InstantiationException(c.getName());
+        }
+        // fails with NoSuchMethodException if there is no public constructor
+        c.getConstructor();
+        MethodHandle constructor = MethodHandles.publicLookup().findConstructor(c, MethodType.methodType(void.class));
+        if (isVisible(c)) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(MethodHandles.lookup(), "get",
+                        MethodType.methodType(Supplier.class), MethodType.methodType(Object.class),
+                        constructor, MethodType.methodType(c));
+                return (Supplier<?>) site.getTarget().invoke();
+            } catch (Throwable t) {
+                // fall back to invoking the method handle
+            }
+        }
+        MethodHandle generic = constructor.asType(MethodType.methodType(Object.class));
+        return () -> {
+            try {
+                return generic.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new UndeclaredCheckedException(t);
+            }
+        };
+    }
+
+    /**
+     * The generated supplier refers to the class by its name, which only works if
+     * the class is visible to the class loader of this class.
+     */
+    private static boolean isVisible(Class<?> c) {
+        try {
+            return Class.forName(c.getName(), false, ConstructorCache.class.getClassLoader()) == c;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Carries a checked exception thrown by a constructor through a supplier.
+     */
+    private static final class UndeclaredCheckedException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private UndeclaredCheckedException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -47,20 +47,16 @@ import sinalgo.models.*;
 import sinalgo.nodes.Node;
 import sinalgo.nodes.Position;
 import sinalgo.nodes.edges.Edge;
-import sinalgo.nodes.edges.EdgePool;
-import sinalgo.nodes.messages.Packet;
 import sinalgo.runtime.*;
 import sinalgo.runtime.events.EventQueue;
-import sinalgo.runtime.events.PacketEvent;
-import sinalgo.runtime.events.TimerEvent;
 import sinalgo.runtime.nodeCollection.AbstractNodeCollection;
 import sinalgo.runtime.packetsInTheAir.PacketsInTheAirBuffer;
 import sinalgo.tools.logging.Logging;
 import sinalgo.tools.statistics.Distribution;
+import sinalgo.tools.storage.ObjectPool;
 
 import javax.swing.*;
 import java.io.PrintStream;
-import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Date;
 import java.util.Random;
@@ -363,20 +359,15 @@ public class Tools {
     }
 
     /**
-     * Returns the node with the given ID, null if there is no such node. Note: This
-     * method is rather expensive, as it loops over all nodes until it finds the
-     * suitable node.
+     * Returns the node with the given ID, null if there is no such node. The node
+     * collection keeps an index of the node IDs, such that this method runs in
+     * constant time.
      *
      * @param id The ID of the node to return.
      * @return The node with the given ID, null if there is no such node.
      */
-    public static Node getNodeByID(int id) {
-        for (Node n : SinalgoRuntime.getNodes()) {
-            if (n.getID() == id) {
-                return n;
-            }
-        }
-        return null;
+    public static Node getNodeByID(long id) {
+        return SinalgoRuntime.getNodes().getNodeByID(id);
     }
 
     /**
@@ -466,20 +457,8 @@ public class Tools {
         models = parseModels(modelNames, numSpecifiedModels);
 
         // Create the nodes
-        for (int j = 0; j < numNodes; j++) {
-            Node node;
-            try {
-                node = Node.createNodeByClassname(nodeTypeName);
-            } catch (WrongConfigurationException e) {
-                throw new SinalgoWrappedException(e);
-            }
-            node.setPosition(nodeDistribution.getNextPosition());
-
-            // set the models
-            setModels(models, modelParams, modelNames, numSpecifiedModels, node);
-            // set default models
-            node.finishInitializationWithDefaultModels(true);
-        }
+        NodeGenerator.generateNodes(numNodes, nodeTypeName, nodeDistribution, models, modelParams, modelNames,
+                numSpecifiedModels, null);
     }
 
     /**
@@ -495,12 +474,13 @@ public class Tools {
         for (int k = 0; k < numSpecifiedModels; k++) {
             Tuple<ModelType, Class<?>> tmp = models.elementAt(k);
             try {
-                // NOTE: we could also call newInstance() on the class-object. But this would
-                // not encapsulate
-                // exceptions that may be thrown in the constructor.
-                Constructor<?> constructor = tmp.getSecond().getConstructor();
-                Model m = (Model) constructor.newInstance();
-                m.setParamString(modelParams[k]); // set the parameter string for this model
+                Model m = Model.getSharedInstance(tmp.getSecond(), modelParams[k]);
+                if (m == null) {
+                    // exceptions thrown in the constructor are wrapped in an InvocationTargetException
+                    m = (Model) ConstructorCache.newInstance(tmp.getSecond());
+                    m.setParamString(modelParams[k]); // set the parameter string for this model
+                    m = Model.shareInstance(m);
+                }
                 switch (tmp.getFirst()) {
                     case ConnectivityModel: {
                         node.setConnectivityModel((ConnectivityModel) m);
@@ -867,15 +847,8 @@ public class Tools {
      * @param ps The stream to write to.
      */
     public static void printSinalgoMemoryStats(PrintStream ps) {
-        ps.print("\nSinalgo Memory Stats:\nRecycling:  (used / recycled)\n");
-        ps.print("  Packets \t(" + Packet.getNumPacketsOnTheFly() + " / " + Packet.getNumFreedPackets() + ")\n");
-        if (Global.isAsynchronousMode()) {
-            ps.print("  PacketEvents \t(" + PacketEvent.getNumPacketEventsOnTheFly() + " / "
-                    + PacketEvent.getNumFreedPacketEvents() + ")\n");
-            ps.print("  TimerEvents \t(" + TimerEvent.getNumTimerEventsOnTheFly() + " / "
-                    + TimerEvent.getNumFreedTimerEvents() + ")\n");
-        }
-        ps.print("  Edges \t(" + Edge.getNumEdgesOnTheFly() + " / " + EdgePool.getNumFreedEdges() + ")\n");
+        ps.print("\nSinalgo Memory Stats:\n");
+        ObjectPool.printStatistics(ps);
 
         ps.print("General Memory:\n");
         Runtime r = Runtime.getRuntime();
@@ -884,6 +857,13 @@ public class Tools {
         ps.print("  Free: " + (100 - usedP) + "%\t" + (r.freeMemory() / MEGABYTE_SIZE) + " MB\n");
         ps.print("  Total Alloc.:\t" + (r.totalMemory() / MEGABYTE_SIZE) + " MB\n");
         ps.print("  Max:  \t" + (r.maxMemory() / MEGABYTE_SIZE) + " MB\n");
+
+        int numNodes = SinalgoRuntime.getNodes().size();
+        if (numNodes > 0) {
+            // the whole used heap divided by the number of nodes, not the size of a node
+            ps.print("  Used heap / nodes:\t" + ((r.totalMemory() - r.freeMemory()) / numNodes) + " B\t(" + numNodes
+                    + " nodes)\n");
+        }
     }
 
     /**
@@ -919,10 +899,7 @@ public class Tools {
      * @param ps The print stream to print the result to, null for no output
      */
     public static void disposeRecycledObjects(PrintStream ps) {
-        EdgePool.clear();
-        PacketEvent.clearUnusedPacketEvents();
-        TimerEvent.clearUnusedTimerEvents();
-        Packet.clearUnusedPackets();
+        ObjectPool.clearAll();
         if (ps != null) {
             ps.print("\nCleared Recycled Objects.\n");
         }
@@ -989,6 +966,9 @@ public class Tools {
                 Global.setGuiMode(true);
             }
         }
+        if (guiBatch == 0) { // the GUI is the default
+            Global.setGuiMode(true);
+        }
         return guiBatch;
     }
 
@@ -0,0 +1,352 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.logging;
+
+import sinalgo.configuration.Configuration;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <b>This class is framework internal and should not be used by the project
+ * developer.</b> The background writer of the asynchronous logging.
+ * <p>
+ * The log statements of all loggers are placed in a single bounded ring buffer,
+ * which any number of threads may fill without locking. A single background
+ * thread drains the buffer and writes the statements to buffered streams, such
+ * that the log files are written in large blocks. When the buffer is full, the
+ * logging thread either waits for the background thread or drops the statement,
+ * depending on the configuration.
+ */
+final class AsyncLogWriter implements Runnable {
+
+    /**
+     * The size of the blocks written to the log files.
+     */
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    /**
+     * The maximum number of statements the background thread writes before it
+     * checks whether a flush has been requested.
+     */
+    private static final int BATCH_SIZE = 4096;
+
+    /**
+     * The time the background thread sleeps when there is nothing to write.
+     */
+    private static final long IDLE_NANOS = 1_000_000;
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private static AsyncLogWriter instance;
+
+    /**
+     * @return The writer of the asynchronous logging, which is started upon the
+     * first call to this method.
+     */
+    static synchronized AsyncLogWriter getInstance() {
+        if (instance == null) {
+            AsyncLogWriter writer = new AsyncLogWriter(Configuration.getAsyncLoggingBufferSize(),
+                    Configuration.isAsyncLoggingDropOnOverflow());
+            writer.thread = new Thread(writer, "AsyncLogWriter");
+            writer.thread.setDaemon(true);
+            writer.thread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(writer::flush));
+            instance = writer;
+        }
+        return instance;
+    }
+
+    /**
+     * Writes all pending log statements to their files, if the asynchronous
+     * logging has been started.
+     */
+    static void flushInstance() {
+        AsyncLogWriter writer;
+        synchronized (AsyncLogWriter.class) {
+            writer = instance;
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    private final int mask;
+    private final boolean dropOnOverflow;
+
+    // slot i holds the statement with position p iff sequences[i] == p + 1
+    private final AtomicLongArray sequences;
+    private final Target[] targets;
+    private final Object[] payloads;
+    private final boolean[] newLines;
+
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong flushRequested = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    // all statements before this position have been written and flushed
+    private volatile long written;
+
+    // only accessed by the background thread
+    private long head;
+    private final List<Target> dirtyTargets = new ArrayList<>();
+
+    private Thread thread;
+
+    private AsyncLogWriter(int bufferSize, boolean dropOnOverflow) {
+        int capacity = Integer.highestOneBit(Math.max(bufferSize, 2) - 1) << 1;
+        this.mask = capacity - 1;
+        this.dropOnOverflow = dropOnOverflow;
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.sequences.set(i, i);
+        }
+        this.targets = new Target[capacity];
+        this.payloads = new Object[capacity];
+        this.newLines = new boolean[capacity];
+    }
+
+    /**
+     * @param out The stream to write the log statements of a logger to.
+     * @return A target for the log statements of the logger.
+     */
+    Target createTarget(OutputStream out) {
+        return new Target(out);
+    }
+
+    /**
+     * @return The number of log statements that have been dropped because the
+     * buffer was full.
+     */
+    long getDroppedCount() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Places a log statement in the buffer. If the buffer is full, the statement is
+     * dropped or this method waits until the background thread has made room.
+     *
+     * @param target  The target to write the statement to.
+     * @param payload The statement, either a String or a byte array.
+     * @param newLine True if a line break is to be written after the statement.
+     */
+    void enqueue(Target target, Object payload, boolean newLine) {
+        while (!this.offer(target, payload, newLine)) {
+            if (this.dropOnOverflow) {
+                this.dropped.incrementAndGet();
+                return;
+            }
+            LockSupport.unpark(this.thread);
+            Thread.yield();
+        }
+    }
+
+    private boolean offer(Target target, Object payload, boolean newLine) {
+        long pos = this.tail.get();
+        int index;
+        for (; ; ) {
+            index = (int) (pos & this.mask);
+            long diff = this.sequences.get(index) - pos;
+            if (diff == 0) {
+                if (this.tail.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+                pos = this.tail.get();
+            } else if (diff < 0) {
+                return false; // the slot still holds a statement of the previous cycle
+            } else {
+                pos = this.tail.get();
+            }
+        }
+        this.targets[index] = target;
+        this.payloads[index] = payload;
+        this.newLines[index] = newLine;
+        this.sequences.lazySet(index, pos + 1);
+        return true;
+    }
+
+    /**
+     * Blocks until all log statements placed in the buffer before this call have
+     * been written to their files.
+     */
+    void flush() {
+        long target = this.tail.get();
+        this.flushRequested.accumulateAndGet(target, Math::max);
+        while (this.written < target && this.thread.isAlive()) {
+            LockSupport.unpark(this.thread);
+            LockSupport.parkNanos(this, IDLE_NANOS / 10);
+        }
+    }
+
+    @Override
+    public void run() {
+        for (; ; ) {
+            int count = this.drain();
+            long requested = this.flushRequested.get();
+            if (count == 0 || (requested > this.written && this.head >= requested)) {
+                this.flushTargets();
+                this.written = this.head;
+            }
+            if (count == 0) {
+                LockSupport.parkNanos(this, IDLE_NANOS);
+            }
+        }
+    }
+
+    private int drain() {
+        int count = 0;
+        while (count < BATCH_SIZE) {
+            int index = (int) (this.head & this.mask);
+            if (this.sequences.get(index) != this.head + 1) {
+                break; // empty, or the producer has not yet published the statement
+            }
+            Target target = this.targets[index];
+            target.write(this.payloads[index], this.newLines[index]);
+            if (!target.dirty) {
+                target.dirty = true;
+                this.dirtyTargets.add(target);
+            }
+            this.targets[index] = null;
+            this.payloads[index] = null;
+            this.sequences.lazySet(index, this.head + this.mask + 1);
+            this.head++;
+            count++;
+        }
+        return count;
+    }
+
+    private void flushTargets() {
+        for (Target target : this.dirtyTargets) {
+            target.flush();
+            target.dirty = false;
+        }
+        this.dirtyTargets.clear();
+    }
+
+    /**
+     * The destination of the log statements of a logger. Only the background
+     * thread writes to the underlying stream. As with a PrintStream, write errors
+     * are not reported to the logging code.
+     */
+    final class Target {
+
+        private final OutputStream stream;
+        private final Writer writer;
+        private boolean dirty;
+        private boolean failed;
+
+        private Target(OutputStream out) {
+            this.stream = new BufferedOutputStream(out, BLOCK_SIZE);
+            this.writer = new OutputStreamWriter(this.stream);
+        }
+
+        /**
+         * Places a log statement for this target in the buffer.
+         *
+         * @param txt     The log statement.
+         * @param newLine True if a line break is to be written after the statement.
+         */
+        void enqueue(String txt, boolean newLine) {
+            AsyncLogWriter.this.enqueue(this, txt, newLine);
+        }
+
+        /**
+         * @return An output stream that places everything written to it in the
+         * buffer. Flushing the stream waits until the background thread has
+         * written the buffer.
+         */
+        OutputStream asOutputStream() {
+            return new OutputStream() {
+
+                @Override
+                public void write(int b) {
+                    AsyncLogWriter.this.enqueue(Target.this, new byte[]{(byte) b}, false);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    AsyncLogWriter.this.enqueue(Target.this, Arrays.copyOfRange(b, off, off + len), false);
+                }
+
+                @Override
+                public void flush() {
+                    AsyncLogWriter.this.flush();
+                }
+            };
+        }
+
+        private void write(Object payload, boolean newLine) {
+            if (this.failed) {
+                return;
+            }
+            try {
+                if (payload instanceof byte[]) {
+                    this.writer.flush(); // keep the order of the text written before
+                    this.stream.write((byte[]) payload);
+                } else if (payload != null) {
+                    this.writer.write((String) payload);
+                }
+                if (newLine) {
+                    this.writer.write(LINE_SEPARATOR);
+                }
+            } catch (IOException e) {
+                this.failed = true;
+            }
+        }
+
+        private void flush() {
+            if (this.failed) {
+                return;
+            }
+            try {
+                this.writer.flush();
+            } catch (IOException e) {
+                this.failed = true;
+            }
+        }
+    }
+
+}
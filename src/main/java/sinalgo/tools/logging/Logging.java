@@ -46,10 +46,12 @@ import sinalgo.runtime.Global;
 
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.function.Supplier;
 
 /**
  * Provides methods to create log-files and add logging statements to an
@@ -173,6 +175,14 @@ import java.util.HashMap;
  * myLog.log("Test"); //we don't need the log-level anymore<br>
  * }
  * </code>
+ * <p>
+ * Alternatively, pass the arguments of the message separately, or a supplier
+ * of the message. The message is then only composed if it is actually
+ * written. E.g.<br>
+ * <code>
+ * myLog.logln(LogL.testLog, "Node {} received {} messages", node.getID(), count);<br>
+ * myLog.logln(LogL.testLog, () -&gt; "Node state: " + node.describe());
+ * </code>
  */
 public class Logging {
 
@@ -281,10 +291,7 @@ public class Logging {
      */
     public void log(boolean logFlag, String txt) {
         if (logFlag) {
-            this.getOut().print(txt);
-            if (Configuration.isEagerFlush()) {
-                this.getOut().flush();
-            }
+            this.write(txt, false);
         }
     }
 
@@ -294,10 +301,7 @@ public class Logging {
      * @param txt The text to log.
      */
     public void log(String txt) {
-        this.getOut().print(txt);
-        if (Configuration.isEagerFlush()) {
-            this.getOut().flush();
-        }
+        this.write(txt, false);
     }
 
     /**
@@ -308,10 +312,7 @@ public class Logging {
      */
     public void logln(boolean logFlag, String txt) {
         if (logFlag) {
-            this.getOut().println(txt);
-            if (Configuration.isEagerFlush()) {
-                this.getOut().flush();
-            }
+            this.write(txt, true);
         }
     }
 
@@ -321,20 +322,14 @@ public class Logging {
      * @param txt The log message to be printed.
      */
     public void logln(String txt) {
-        this.getOut().println(txt);
-        if (Configuration.isEagerFlush()) {
-            this.getOut().flush();
-        }
+        this.write(txt, true);
     }
 
     /**
      * Adds a line-break to the log-file.
      */
     public void logln() {
-        this.getOut().println();
-        if (Configuration.isEagerFlush()) {
-            this.getOut().flush();
-        }
+        this.write(null, true);
     }
 
     /**
@@ -344,12 +339,7 @@ public class Logging {
      * @param txt The log message to be printed.
      */
     public void logPos(String txt) {
-        this.getOut().print(getCodePosition(1));
-        this.getOut().print(" ");
-        this.getOut().print(txt);
-        if (Configuration.isEagerFlush()) {
-            this.getOut().flush();
-        }
+        this.write(getCodePosition(1) + " " + txt, false);
     }
 
     /**
@@ -361,12 +351,7 @@ public class Logging {
      */
     public void logPos(boolean logFlag, String txt) {
         if (logFlag) {
-            this.getOut().print(getCodePosition(1));
-            this.getOut().print(" ");
-            this.getOut().print(txt);
-            if (Configuration.isEagerFlush()) {
-                this.getOut().flush();
-            }
+            this.write(getCodePosition(1) + " " + txt, false);
         }
     }
 
@@ -377,12 +362,7 @@ public class Logging {
      * @param txt The log message to be printed.
      */
     public void logPosln(String txt) {
-        this.getOut().print(getCodePosition(1));
-        this.getOut().print(" ");
-        this.getOut().println(txt);
-        if (Configuration.isEagerFlush()) {
-            this.getOut().flush();
-        }
+        this.write(getCodePosition(1) + " " + txt, true);
     }
 
     /**
@@ -394,15 +374,241 @@ public class Logging {
      */
     public void logPosln(boolean logFlag, String txt) {
         if (logFlag) {
-            this.getOut().print(getCodePosition(1));
-            this.getOut().print(" ");
-            this.getOut().println(txt);
-            if (Configuration.isEagerFlush()) {
-                this.getOut().flush();
+            this.write(getCodePosition(1) + " " + txt, true);
+        }
+    }
+
+    /**
+     * Adds a log-message to the log file, if the logFlag is set. The message is only
+     * created if it is actually written.
+     *
+     * @param logFlag Flag to enable/disable ths log-message
+     * @param msg     Supplies the text to print to the log file
+     */
+    public void log(boolean logFlag, Supplier<String> msg) {
+        if (this.isEnabled(logFlag)) {
+            this.write(msg.get(), false);
+        }
+    }
+
+    /**
+     * Adds a log-message with line-break to the log file, if the logFlag is set. The
+     * message is only created if it is actually written.
+     *
+     * @param logFlag Flag to enable/disable ths log-message
+     * @param msg     Supplies the log message to be printed.
+     */
+    public void logln(boolean logFlag, Supplier<String> msg) {
+        if (this.isEnabled(logFlag)) {
+            this.write(msg.get(), true);
+        }
+    }
+
+    /**
+     * Adds a log-message to the log file, if the logFlag is set. Each occurrence of
+     * {} in the format is replaced by the argument, which is only formatted if the
+     * message is actually written.
+     *
+     * @param logFlag Flag to enable/disable ths log-message
+     * @param format  The text to print to the log file, containing a {} for the argument
+     * @param arg     The argument
+     */
+    public void log(boolean logFlag, String format, Object arg) {
+        if (this.isEnabled(logFlag)) {
+            this.write(format(format, 1, arg, null, null, null), false);
+        }
+    }
+
+    /**
+     * @param logFlag Flag to enable/disable ths log-message
+     * @param format  The text to print to the log file, containing a {} for each argument
+     * @param arg1    The first argument
+     * @param arg2    The second argument
+     * @see #log(boolean, String, Object)
+     */
+    public void log(boolean logFlag, String format, Object arg1, Object arg2) {
+        if (this.isEnabled(logFlag)) {
+            this.write(format(format, 2, arg1, arg2, null, null), false);
+        }
+    }
+
+    /**
+     * @param logFlag Flag to enable/disable ths log-message
+     * @param format  The text to print to the log file, containing a {} for each argument
+     * @param arg1    The first argument
+     * @param arg2    The second argument
+     * @param arg3    The third argument
+     * @see #log(boolean, String, Object)
+     */
+    public void log(boolean logFlag, String format, Object arg1, Object arg2, Object arg3) {
+        if (this.isEnabled(logFlag)) {
+            this.write(format(format, 3, arg1, arg2, arg3, null), false);
+        }
+    }
+
+    /**
+     * @param logFlag Flag to enable/disable ths log-message
+     * @param format  The text to print to the log file, containing a {} for each argument
+     * @param args    The arguments
+     * @see #log(boolean, String, Object)
+     */
+    public void log(boolean logFlag, String format, Object... args) {
+        if (this.isEnabled(logFlag)) {
+            this.write(format(format, args == null ? 0 : args.length, null, null, null, args), false);
+        }
+    }
+
+    /**
+     * Adds a log-message with line-break to the log file, if the logFlag is set. Each
+     * occurrence of {} in the format is replaced by the argument, which is only
+     * formatted if the message is actually written.
+     *
+     * @param logFlag Flag to enable/disable ths log-message
+     * @param format  The log message to be printed, containing a {} for the argument
+     * @param arg     The argument
+     */
+    public void logln(boolean logFlag, String format, Object arg) {
+        if (this.isEnabled(logFlag)) {
+            this.write(format(format, 1, arg, null, null, null), true);
+        }
+    }
+
+    /**
+     * @param logFlag Flag to enable/disable ths log-message
+     * @param format  The log message to be printed, containing a {} for each argument
+     * @param arg1    The first argument
+     * @param arg2    The second argument
+     * @see #logln(boolean, String, Object)
+     */
+    public void logln(boolean logFlag, String format, Object arg1, Object arg2) {
+        if (this.isEnabled(logFlag)) {
+            this.write(format(format, 2, arg1, arg2, null, null), true);
+        }
+    }
+
+    /**
+     * @param logFlag Flag to enable/disable ths log-message
+     * @param format  The log message to be printed, containing a {} for each argument
+     * @param arg1    The first argument
+     * @param arg2    The second argument
+     * @param arg3    The third argument
+     * @see #logln(boolean, String, Object)
+     */
+    public void logln(boolean logFlag, String format, Object arg1, Object arg2, Object arg3) {
+        if (this.isEnabled(logFlag)) {
+            this.write(format(format, 3, arg1, arg2, arg3, null), true);
+        }
+    }
+
+    /**
+     * @param logFlag Flag to enable/disable ths log-message
+     * @param format  The log message to be printed, containing a {} for each argument
+     * @param args    The arguments
+     * @see #logln(boolean, String, Object)
+     */
+    public void logln(boolean logFlag, String format, Object... args) {
+        if (this.isEnabled(logFlag)) {
+            this.write(format(format, args == null ? 0 : args.length, null, null, null, args), true);
+        }
+    }
+
+    /**
+     * Tests whether a log statement with the given flag is written by this logger.
+     * Use this method to guard expensive code that only prepares a log statement.
+     *
+     * @param logFlag Flag to enable/disable ths log-message
+     * @return True if the flag is set and this logger is enabled.
+     */
+    public boolean isEnabled(boolean logFlag) {
+        return logFlag && this.isEnabled();
+    }
+
+    /**
+     * Replaces the {} in the format by the arguments. The message is composed in a
+     * buffer of the calling thread, which is reused by subsequent calls.
+     *
+     * @param format  The format containing a {} for each argument.
+     * @param numArgs The number of arguments.
+     * @param arg1    The first argument, if args is null.
+     * @param arg2    The second argument, if args is null.
+     * @param arg3    The third argument, if args is null.
+     * @param args    All arguments, null if they are given individually.
+     * @return The formatted message.
+     */
+    private static String format(String format, int numArgs, Object arg1, Object arg2, Object arg3, Object[] args) {
+        FormatBuffer buffer = FORMAT_BUFFER.get();
+        // an argument may log itself while being formatted
+        StringBuilder sb = buffer.isInUse() ? new StringBuilder() : buffer.getBuilder();
+        buffer.setInUse(true);
+        try {
+            sb.setLength(0);
+            int argIndex = 0;
+            int start = 0;
+            int pos;
+            while (argIndex < numArgs && (pos = format.indexOf("{}", start)) >= 0) {
+                sb.append(format, start, pos);
+                Object arg = args != null ? args[argIndex] : argIndex == 0 ? arg1 : argIndex == 1 ? arg2 : arg3;
+                appendArgument(sb, arg);
+                argIndex++;
+                start = pos + 2;
+            }
+            sb.append(format, start, format.length());
+            return sb.toString();
+        } finally {
+            if (sb == buffer.getBuilder()) {
+                buffer.setInUse(false);
+                if (sb.capacity() > MAX_FORMAT_BUFFER_SIZE) {
+                    buffer.setBuilder(new StringBuilder());
+                }
             }
         }
     }
 
+    /**
+     * Appends an argument of a formatted message, without creating an intermediate
+     * string for the primitive types.
+     */
+    private static void appendArgument(StringBuilder sb, Object arg) {
+        if (arg instanceof Long) {
+            sb.append(((Long) arg).longValue());
+        } else if (arg instanceof Integer) {
+            sb.append(((Integer) arg).intValue());
+        } else if (arg instanceof Double) {
+            sb.append(((Double) arg).doubleValue());
+        } else if (arg instanceof Boolean) {
+            sb.append(((Boolean) arg).booleanValue());
+        } else if (arg instanceof CharSequence) {
+            sb.append((CharSequence) arg);
+        } else {
+            sb.append(arg);
+        }
+    }
+
+    /**
+     * Writes a log statement to the output of this logger.
+     *
+     * @param txt     The text to write, null to only write a line break.
+     * @param newLine True if a line break is to be written after the text.
+     */
+    private void write(String txt, boolean newLine) {
+        if (!this.isEnabled()) {
+            return;
+        }
+        if (this.getAsyncTarget() != null) {
+            this.getAsyncTarget().enqueue(txt, newLine);
+            return;
+        }
+        if (txt != null) {
+            this.getOut().print(txt);
+        }
+        if (newLine) {
+            this.getOut().println();
+        }
+        if (Configuration.isEagerFlush()) {
+            this.getOut().flush();
+        }
+    }
+
     /**
      * Returns the print stream where this logger logs to.
      *
@@ -492,6 +698,46 @@ public class Logging {
     @Setter(AccessLevel.PRIVATE)
     private PrintStream out;
 
+    /**
+     * Whether this logger writes its log statements. A disabled logger ignores all
+     * log statements, and does not format the messages passed with arguments.
+     *
+     * @param enabled True if this logger is to write its log statements.
+     * @return Whether this logger writes its log statements.
+     */
+    @Getter
+    @Setter
+    private boolean enabled = true;
+
+    /**
+     * The buffers used by the threads to format log messages.
+     */
+    private static final ThreadLocal<FormatBuffer> FORMAT_BUFFER = ThreadLocal.withInitial(FormatBuffer::new);
+
+    /**
+     * Buffers growing beyond this capacity are not kept for later messages.
+     */
+    private static final int MAX_FORMAT_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The reusable buffer of a thread to format log messages.
+     */
+    @Getter
+    @Setter
+    private static class FormatBuffer {
+
+        private StringBuilder builder = new StringBuilder();
+        private boolean inUse;
+    }
+
+    /**
+     * The target of the background writer if asynchronous logging is enabled,
+     * null otherwise.
+     */
+    @Getter(AccessLevel.PRIVATE)
+    @Setter(AccessLevel.PRIVATE)
+    private AsyncLogWriter.Target asyncTarget;
+
     /**
      * The time when the simulation started - can be prefixed to the log-files to
      * distringish different rounds.
@@ -546,11 +792,7 @@ public class Logging {
                 IOUtils.createDir(dir + path);
             }
 
-            if (append) {
-                this.setOut(new PrintStream(new FileOutputStream(dir + aFileName, true)));
-            } else {
-                this.setOut(new PrintStream(dir + aFileName));
-            }
+            this.setOutputStream(new FileOutputStream(dir + aFileName, append));
         } catch (FileNotFoundException e) {
             throw new SinalgoFatalException("Could not open the logfile " + aFileName);
         }
@@ -563,7 +805,41 @@ public class Logging {
      * @param aStream The stream this logger should print to.
      */
     private Logging(PrintStream aStream) {
-        this.setOut(aStream);
+        if (Configuration.isAsyncLogging()) {
+            this.setOutputStream(aStream);
+        } else {
+            this.setOut(aStream);
+        }
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Lets this logger print to the given stream, through the
+     * background writer if asynchronous logging is enabled.
+     *
+     * @param aStream The stream this logger should print to.
+     */
+    private void setOutputStream(OutputStream aStream) {
+        if (Configuration.isAsyncLogging()) {
+            this.setAsyncTarget(AsyncLogWriter.getInstance().createTarget(aStream));
+            this.setOut(new PrintStream(this.getAsyncTarget().asOutputStream()));
+        } else {
+            this.setOut(new PrintStream(aStream));
+        }
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Writes all pending log statements to their files. With
+     * asynchronous logging, this method blocks until the background writer has
+     * written all log statements issued before this call.
+     */
+    public static void flushAll() {
+        AsyncLogWriter.flushInstance();
+        if (getInstance() != null) {
+            getInstance().getOut().flush();
+        }
+        getLoggers().values().forEach(l -> l.getOut().flush());
     }
 
     /**
@@ -0,0 +1,205 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.metrics;
+
+import lombok.Getter;
+import sinalgo.configuration.Configuration;
+import sinalgo.runtime.Global;
+import sinalgo.tools.logging.LogL;
+import sinalgo.tools.logging.Logging;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the bytes allocated by the simulation thread per round (synchronous
+ * mode) or per event (asynchronous mode), using the allocation counters of the
+ * threads of the JVM. Once the pools of packets, edges and events have reached
+ * their size, the rounds of a simulation should hardly allocate, and this meter
+ * reveals the code that does. The meter is enabled by the measureAllocations
+ * entry of the configuration. When disabled, finishing a round only tests a
+ * flag.
+ * <p>
+ * The first allocationWarmUp rounds or events are not measured. The mean and
+ * the maximum number of bytes allocated per round or event, and per message
+ * sent, are written to the default log file at exit. The AllocationBudget
+ * harness of the jmh source set checks these figures against a budget.
+ */
+public class AllocationMeter {
+
+    /**
+     * @return True if the allocations are measured.
+     */
+    @Getter
+    private static boolean enabled;
+
+    /**
+     * @return The number of measured rounds or events.
+     */
+    @Getter
+    private static long numMeasured;
+
+    /**
+     * @return The bytes allocated in the measured rounds or events.
+     */
+    @Getter
+    private static long totalBytes;
+
+    /**
+     * @return The most bytes allocated in a single measured round or event.
+     */
+    @Getter
+    private static long maxBytes;
+
+    /**
+     * @return The number of messages sent in the measured rounds or events.
+     */
+    @Getter
+    private static long numMessages;
+
+    private static com.sun.management.ThreadMXBean threadBean;
+    private static long overhead; // the bytes allocated to read the counter
+    private static long threadId = -1;
+    private static long lastBytes;
+    private static long numSkipped;
+    private static long messagesAtStart;
+
+    /**
+     * @return The mean number of bytes allocated per measured round or event, 0 if
+     * nothing was measured.
+     */
+    public static double getMeanBytes() {
+        return numMeasured == 0 ? 0 : (double) totalBytes / numMeasured;
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Enables the meter if requested by the configuration and
+     * supported by the JVM.
+     */
+    public static synchronized void activate() {
+        if (enabled || !Configuration.isMeasureAllocations()) {
+            return;
+        }
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            if (Logging.isActivated()) {
+                Global.getLog().log(LogL.ALWAYS, "> This JVM does not count the allocations of threads, "
+                        + "the allocations are not measured.\n");
+            }
+            return;
+        }
+        threadBean = (com.sun.management.ThreadMXBean) bean;
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        // reading the counter may allocate itself, which is not attributed to the rounds
+        long id = Thread.currentThread().getId();
+        overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            long before = threadBean.getThreadAllocatedBytes(id);
+            overhead = Math.min(overhead, threadBean.getThreadAllocatedBytes(id) - before);
+        }
+        enabled = true;
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Called at the end of each round in synchronous mode.
+     */
+    public static void roundFinished() {
+        if (enabled) {
+            measure();
+        }
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Called after each event in asynchronous mode.
+     */
+    public static void eventHandled() {
+        if (enabled) {
+            measure();
+        }
+    }
+
+    /**
+     * Attributes the bytes allocated by the current thread since its last call to
+     * the round or event that just finished.
+     */
+    private static void measure() {
+        long id = Thread.currentThread().getId();
+        long bytes = threadBean.getThreadAllocatedBytes(id);
+        if (id != threadId) {
+            // the first round of a new simulation thread, there is no previous reading
+            threadId = id;
+            lastBytes = bytes;
+            numSkipped++;
+            return;
+        }
+        long allocated = Math.max(0, bytes - lastBytes - overhead);
+        lastBytes = bytes;
+        if (numSkipped < Configuration.getAllocationWarmUp()) {
+            numSkipped++;
+            messagesAtStart = MetricsRegistry.MESSAGES_SENT.get();
+            return;
+        }
+        numMeasured++;
+        totalBytes += allocated;
+        if (allocated > maxBytes) {
+            maxBytes = allocated;
+        }
+        numMessages = MetricsRegistry.MESSAGES_SENT.get() - messagesAtStart;
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Writes the measured allocations to the default log file and
+     * disables the meter. The measured figures remain available.
+     */
+    public static synchronized void close() {
+        if (!enabled) {
+            return;
+        }
+        enabled = false;
+        if (Logging.isActivated()) {
+            String unit = Global.isAsynchronousMode() ? "event" : "round";
+            Global.getLog().log(LogL.ALWAYS, String.format("> Bytes allocated per %s in %d %ss after %d %ss of warm-up:"
+                            + " mean %.1f, max %d, per message sent %.1f%n", unit, numMeasured, unit, numSkipped, unit,
+                    getMeanBytes(), maxBytes, numMessages == 0 ? 0 : (double) totalBytes / numMessages));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.metrics;
+
+/**
+ * A metric that counts the occurrences of an event, e.g. the number of messages
+ * sent. Besides the total count, the counter keeps the count since the start of
+ * the current round.
+ * <p>
+ * Counters are not synchronized and must only be changed by the simulation
+ * thread.
+ */
+public class Counter extends Metric {
+
+    private long value;
+    private long valueAtRoundStart;
+
+    /**
+     * Creates a new counter. Use {@link MetricsRegistry#counter(String)} to create
+     * a counter that is written to the metrics file.
+     *
+     * @param name The name of the counter.
+     */
+    public Counter(String name) {
+        super(name);
+    }
+
+    /**
+     * Increments this counter by one.
+     */
+    public void increment() {
+        this.value++;
+    }
+
+    /**
+     * @param amount The amount to add to this counter.
+     */
+    public void add(long amount) {
+        this.value += amount;
+    }
+
+    /**
+     * Sets the total count. The count since the start of the current round is not
+     * changed.
+     *
+     * @param value The new total count.
+     */
+    public void set(long value) {
+        this.valueAtRoundStart += value - this.value;
+        this.value = value;
+    }
+
+    /**
+     * Sets the count since the start of the current round. The total count is not
+     * changed.
+     *
+     * @param count The new count since the start of the current round.
+     */
+    public void setInRound(long count) {
+        this.valueAtRoundStart = this.value - count;
+    }
+
+    /**
+     * @return The total count.
+     */
+    public long get() {
+        return this.value;
+    }
+
+    /**
+     * @return The count since the start of the current round.
+     */
+    public long getInRound() {
+        return this.value - this.valueAtRoundStart;
+    }
+
+    /**
+     * Marks the start of a new round.
+     */
+    void startRound() {
+        this.valueAtRoundStart = this.value;
+    }
+
+    /**
+     * Resets this counter to zero.
+     */
+    void reset() {
+        this.value = 0;
+        this.valueAtRoundStart = 0;
+    }
+
+    @Override
+    protected int getNumFields() {
+        return 1;
+    }
+
+    @Override
+    protected String getFieldName(int field) {
+        return "";
+    }
+
+    @Override
+    protected void appendField(int field, StringBuilder sb) {
+        sb.append(this.value);
+    }
+}
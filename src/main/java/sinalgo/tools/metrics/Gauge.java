@@ -0,0 +1,82 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * A metric whose value is read when it is sampled, e.g. the number of packets
+ * currently in the air.
+ */
+public class Gauge extends Metric {
+
+    private final DoubleSupplier supplier;
+
+    /**
+     * Creates a new gauge. Use {@link MetricsRegistry#gauge(String, DoubleSupplier)}
+     * to create a gauge that is written to the metrics file.
+     *
+     * @param name     The name of the gauge.
+     * @param supplier Supplies the current value of the gauge.
+     */
+    public Gauge(String name, DoubleSupplier supplier) {
+        super(name);
+        this.supplier = supplier;
+    }
+
+    /**
+     * @return The current value of this gauge.
+     */
+    public double get() {
+        return this.supplier.getAsDouble();
+    }
+
+    @Override
+    protected int getNumFields() {
+        return 1;
+    }
+
+    @Override
+    protected String getFieldName(int field) {
+        return "";
+    }
+
+    @Override
+    protected void appendField(int field, StringBuilder sb) {
+        appendNumber(this.get(), sb);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.metrics;
+
+import java.util.Arrays;
+
+/**
+ * A metric describing the distribution of the values recorded since the last
+ * sample, e.g. the delays of the delivered messages. For each sample, the
+ * histogram writes the number of values, their mean and maximum, and the
+ * approximate median and 99th percentile.
+ * <p>
+ * The percentiles are approximated by the upper bound of buckets whose bounds
+ * are powers of two, such that recording a value takes constant time and no
+ * memory. Histograms are not synchronized and must only be changed by the
+ * simulation thread.
+ */
+public class Histogram extends Metric {
+
+    private static final String[] FIELD_NAMES = {"count", "mean", "max", "p50", "p99"};
+
+    // bucket i holds the values in [2^(i + MIN_EXPONENT - 1), 2^(i + MIN_EXPONENT))
+    private static final int MIN_EXPONENT = -31;
+    private static final int NUM_BUCKETS = 64;
+
+    private final long[] buckets = new long[NUM_BUCKETS];
+    private long count;
+    private double sum;
+    private double max = Double.NaN;
+
+    /**
+     * Creates a new histogram. Use {@link MetricsRegistry#histogram(String)} to
+     * create a histogram that is written to the metrics file.
+     *
+     * @param name The name of the histogram.
+     */
+    public Histogram(String name) {
+        super(name);
+    }
+
+    /**
+     * Records a value. Negative values are counted as zero in the percentiles.
+     *
+     * @param value The value to record.
+     */
+    public void record(double value) {
+        this.count++;
+        this.sum += value;
+        if (!(value <= this.max)) {
+            this.max = value;
+        }
+        this.buckets[bucketOf(value)]++;
+    }
+
+    private static int bucketOf(double value) {
+        if (!(value > 0)) {
+            return 0;
+        }
+        int bucket = Math.getExponent(value) + 1 - MIN_EXPONENT;
+        return Math.max(0, Math.min(NUM_BUCKETS - 1, bucket));
+    }
+
+    /**
+     * @return The number of values recorded since the last sample.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * @return The mean of the values recorded since the last sample, NaN if there
+     * are none.
+     */
+    public double getMean() {
+        return this.count == 0 ? Double.NaN : this.sum / this.count;
+    }
+
+    /**
+     * @return The maximum of the values recorded since the last sample, NaN if
+     * there are none.
+     */
+    public double getMax() {
+        return this.max;
+    }
+
+    /**
+     * @param quantile The quantile, between 0 and 1.
+     * @return An upper bound, within a factor of two, of the given quantile of the
+     * values recorded since the last sample, NaN if there are none.
+     */
+    public double getQuantile(double quantile) {
+        if (this.count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.ceil(quantile * this.count);
+        long seen = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            seen += this.buckets[i];
+            if (seen >= rank) {
+                return i == 0 ? 0 : Math.min(this.max, Math.scalb(1.0, i + MIN_EXPONENT));
+            }
+        }
+        return this.max;
+    }
+
+    @Override
+    protected int getNumFields() {
+        return FIELD_NAMES.length;
+    }
+
+    @Override
+    protected String getFieldName(int field) {
+        return FIELD_NAMES[field];
+    }
+
+    @Override
+    protected void appendField(int field, StringBuilder sb) {
+        switch (field) {
+            case 0:
+                sb.append(this.getCount());
+                break;
+            case 1:
+                appendNumber(this.getMean(), sb);
+                break;
+            case 2:
+                appendNumber(this.getMax(), sb);
+                break;
+            case 3:
+                appendNumber(this.getQuantile(0.5), sb);
+                break;
+            default:
+                appendNumber(this.getQuantile(0.99), sb);
+                break;
+        }
+    }
+
+    @Override
+    protected void sampled() {
+        Arrays.fill(this.buckets, 0);
+        this.count = 0;
+        this.sum = 0;
+        this.max = Double.NaN;
+    }
+}
@@ -0,0 +1,258 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.metrics;
+
+import lombok.Getter;
+import sinalgo.configuration.Configuration;
+import sinalgo.runtime.Global;
+import sinalgo.tools.logging.LogL;
+import sinalgo.tools.logging.Logging;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Attributes the time spent in the methods implemented by a project to the
+ * concrete classes implementing them, e.g. the time spent in
+ * <code>handleMessages</code> of each node class, or in <code>fire</code> of
+ * each timer class. The profiler is enabled by the profileUserCode entry of the
+ * configuration. When disabled, measuring a call only tests a flag.
+ * <p>
+ * For each callback and class, the profiler counts the calls and accumulates
+ * their total time and their self time. The self time excludes the time spent
+ * in nested callbacks that are measured as well, e.g. cloning a message that is
+ * sent in <code>handleMessages</code>. The table of all callbacks and classes,
+ * sorted by their self time, is written to the default log file at exit.
+ */
+public class HotSpotProfiler {
+
+    /**
+     * The methods whose time is attributed to the implementing class.
+     */
+    public enum Callback {
+        PRE_STEP("preStep"),
+        NEIGHBORHOOD_CHANGE("neighborhoodChange"),
+        HANDLE_MESSAGES("handleMessages"),
+        HANDLE_NACK_MESSAGES("handleNAckMessages"),
+        POST_STEP("postStep"),
+        TIMER_FIRE("fire"),
+        MESSAGE_CLONE("clone"),
+        MOBILITY_MODEL("getNextPos"),
+        CONNECTIVITY_MODEL("updateConnections"),
+        INTERFERENCE_MODEL("isDisturbed"),
+        RELIABILITY_MODEL("reachesDestination"),
+        TRANSMISSION_MODEL("timeToReach");
+
+        /**
+         * @return The name of the method.
+         */
+        @Getter
+        private final String methodName;
+
+        Callback(String methodName) {
+            this.methodName = methodName;
+        }
+    }
+
+    private static final Callback[] CALLBACKS = Callback.values();
+
+    /**
+     * The accumulated calls of a callback implemented by a class.
+     */
+    private static class Entry {
+
+        private final Callback callback;
+        private final Class<?> implementation;
+        private long count;
+        private long totalNanos;
+        private long selfNanos;
+
+        private Entry(Callback callback, Class<?> implementation) {
+            this.callback = callback;
+            this.implementation = implementation;
+        }
+    }
+
+    /**
+     * The entries of each class, indexed by the ordinal of the callback.
+     */
+    private static final ClassValue<Entry[]> entries = new ClassValue<Entry[]>() {
+
+        @Override
+        protected Entry[] computeValue(Class<?> type) {
+            Entry[] e = new Entry[CALLBACKS.length];
+            synchronized (allEntries) {
+                for (Callback c : CALLBACKS) {
+                    e[c.ordinal()] = new Entry(c, type);
+                    allEntries.add(e[c.ordinal()]);
+                }
+            }
+            return e;
+        }
+    };
+
+    private static final List<Entry> allEntries = new ArrayList<>();
+
+    /**
+     * @return True if the calls are measured.
+     */
+    @Getter
+    private static boolean enabled;
+
+    // the time spent in nested callbacks, for each level of nesting
+    private static long[] childNanos = new long[16];
+    private static int depth;
+
+    /**
+     * Starts the measurement of a callback. The caller must call one of the stop
+     * methods in a finally block, such that the nesting of the measurements stays
+     * intact when the callback throws an exception.
+     *
+     * @return The current time in nanoseconds, 0 if the profiler is disabled.
+     */
+    public static long start() {
+        if (!enabled) {
+            return 0;
+        }
+        if (++depth == childNanos.length) {
+            childNanos = Arrays.copyOf(childNanos, 2 * depth);
+        }
+        childNanos[depth] = 0;
+        return System.nanoTime();
+    }
+
+    /**
+     * Ends the measurement of a callback.
+     *
+     * @param callback       The callback that returned.
+     * @param implementation The object whose class implements the callback.
+     * @param start          The time returned by {@link #start()} when the callback
+     *                       was called.
+     */
+    public static void stop(Callback callback, Object implementation, long start) {
+        if (!enabled || depth == 0) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+        Entry e = entries.get(implementation.getClass())[callback.ordinal()];
+        e.count++;
+        e.totalNanos += duration;
+        e.selfNanos += duration - childNanos[depth];
+        depth--;
+        childNanos[depth] += duration;
+    }
+
+    /**
+     * Ends the measurement of a callback that has been made for many objects at
+     * once, e.g. a connectivity update of all nodes in one pass. The time is split
+     * among the classes implementing the callback in proportion to the number of
+     * objects of each class, and each object counts as a call.
+     *
+     * @param callback        The callback that returned.
+     * @param implementations The number of objects of each class implementing the
+     *                        callback.
+     * @param start           The time returned by {@link #start()} when the callback
+     *                        was called.
+     */
+    public static void stop(Callback callback, Map<Class<?>, Integer> implementations, long start) {
+        if (!enabled || depth == 0) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+        long self = duration - childNanos[depth];
+        long numObjects = 0;
+        for (int count : implementations.values()) {
+            numObjects += count;
+        }
+        for (Map.Entry<Class<?>, Integer> i : implementations.entrySet()) {
+            Entry e = entries.get(i.getKey())[callback.ordinal()];
+            e.count += i.getValue();
+            e.totalNanos += duration * i.getValue() / numObjects;
+            e.selfNanos += self * i.getValue() / numObjects;
+        }
+        depth--;
+        childNanos[depth] += duration;
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Enables the profiler if requested by the configuration.
+     */
+    public static synchronized void activate() {
+        enabled = Configuration.isProfileUserCode();
+        depth = 0;
+        childNanos[0] = 0;
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Writes the time spent in each callback and class to the
+     * default log file and disables the profiler.
+     */
+    public static synchronized void close() {
+        if (!enabled) {
+            return;
+        }
+        enabled = false;
+        depth = 0;
+        List<Entry> list;
+        synchronized (allEntries) {
+            list = new ArrayList<>(allEntries);
+        }
+        list.removeIf(e -> e.count == 0);
+        list.sort(Comparator.comparingLong((Entry e) -> e.selfNanos).reversed());
+        long sum = 0;
+        for (Entry e : list) {
+            sum += e.selfNanos;
+        }
+        StringBuilder sb = new StringBuilder("> Time per class of the project code:\n");
+        sb.append(String.format("  %-60s %12s %12s %12s %12s %7s%n", "class.method", "calls", "total [ms]", "self [ms]",
+                "mean [us]", "share"));
+        for (Entry e : list) {
+            sb.append(String.format("  %-60s %12d %12.1f %12.1f %12.2f %6.1f%%%n",
+                    Global.toShortName(e.implementation.getName()) + "." + e.callback.getMethodName(), e.count,
+                    e.totalNanos * 1e-6, e.selfNanos * 1e-6, e.totalNanos * 1e-3 / e.count,
+                    sum == 0 ? 0 : 100.0 * e.selfNanos / sum));
+        }
+        if (Logging.isActivated()) {
+            Global.getLog().log(LogL.ALWAYS, sb.toString());
+        }
+    }
+}
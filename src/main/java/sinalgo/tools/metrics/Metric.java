@@ -0,0 +1,99 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.metrics;
+
+import lombok.Getter;
+
+/**
+ * A named value of the simulation which is sampled periodically by the
+ * {@link MetricsRegistry}. A metric consists of one or several fields, each of
+ * which is written as a separate column of the metrics file.
+ */
+public abstract class Metric {
+
+    /**
+     * @return The name of this metric.
+     */
+    @Getter
+    private final String name;
+
+    protected Metric(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return The number of fields of this metric.
+     */
+    protected abstract int getNumFields();
+
+    /**
+     * @param field The index of a field.
+     * @return The name of the field, which is appended to the name of this metric
+     * in the metrics file, the empty string if this metric has only one field.
+     */
+    protected abstract String getFieldName(int field);
+
+    /**
+     * Appends the current value of a field to the given buffer.
+     *
+     * @param field The index of the field.
+     * @param sb    The buffer to append the value to.
+     */
+    protected abstract void appendField(int field, StringBuilder sb);
+
+    /**
+     * Called after all fields of this metric have been sampled.
+     */
+    protected void sampled() {
+    }
+
+    /**
+     * Appends a value to the given buffer, without decimals if it is integral.
+     *
+     * @param value The value to append.
+     * @param sb    The buffer to append the value to.
+     */
+    protected static void appendNumber(double value, StringBuilder sb) {
+        if (value == (long) value) {
+            sb.append((long) value);
+        } else if (Double.isNaN(value) || Double.isInfinite(value)) {
+            sb.append("null");
+        } else {
+            sb.append(value);
+        }
+    }
+}
@@ -0,0 +1,408 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.metrics;
+
+import sinalgo.configuration.Configuration;
+import sinalgo.exception.SinalgoFatalException;
+import sinalgo.io.IOUtils;
+import sinalgo.nodes.edges.EdgePool;
+import sinalgo.nodes.messages.Packet;
+import sinalgo.runtime.Global;
+import sinalgo.runtime.Main;
+import sinalgo.runtime.SinalgoRuntime;
+import sinalgo.runtime.events.PacketEvent;
+import sinalgo.runtime.events.TimerEvent;
+import sinalgo.tools.logging.Logging;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+/**
+ * The registry of all metrics of the simulation. The framework registers its
+ * own metrics, e.g. the number of sent, delivered and dropped messages, and
+ * projects may register additional metrics, typically in the constructor of
+ * their CustomGlobal:
+ * <p>
+ * <code>
+ * Counter acks = MetricsRegistry.counter("acks");<br>
+ * MetricsRegistry.gauge("activeNodes", () -&gt; countActiveNodes());
+ * </code>
+ * <p>
+ * If the metricsFileName entry of the configuration is set, all metrics are
+ * written to this file every metricsSampleRounds rounds (synchronous mode) or
+ * every metricsSampleEvents events (asynchronous mode), either as CSV or as one
+ * JSON object per line. The columns of the CSV file are determined by the
+ * metrics registered when the first sample is written. Metrics registered
+ * later are only written to JSON lines files, a warning is issued for them in
+ * CSV mode.
+ */
+public class MetricsRegistry {
+
+    private static final Map<String, Metric> metrics = new LinkedHashMap<>();
+
+    /**
+     * The number of messages sent.
+     */
+    public static final Counter MESSAGES_SENT = counter("messagesSent");
+
+    /**
+     * The number of messages delivered.
+     */
+    public static final Counter MESSAGES_DELIVERED = counter("messagesDelivered");
+
+    /**
+     * The number of messages dropped.
+     */
+    public static final Counter MESSAGES_DROPPED = counter("messagesDropped");
+
+    /**
+     * The time between sending and delivery of the delivered messages.
+     */
+    public static final Histogram MESSAGE_DELAY = histogram("messageDelay");
+
+    /**
+     * The number of edges added.
+     */
+    public static final Counter EDGES_ADDED = counter("edgesAdded");
+
+    /**
+     * The number of edges removed.
+     */
+    public static final Counter EDGES_REMOVED = counter("edgesRemoved");
+
+    /**
+     * The number of events handled in asynchronous mode.
+     */
+    public static final Counter EVENTS_HANDLED = counter("eventsHandled");
+
+    static {
+        gauge("nodes", () -> SinalgoRuntime.getNodes() == null ? 0 : SinalgoRuntime.getNodes().size());
+        gauge("packetsInTheAir", () -> SinalgoRuntime.getPacketsInTheAir() == null ? 0 : SinalgoRuntime.getPacketsInTheAir().size());
+        gauge("packetsInUse", Packet::getNumPacketsOnTheFly);
+        gauge("packetsFree", Packet::getNumFreedPackets);
+        gauge("edgesInUse", EdgePool::getNumEdgesInUse);
+        gauge("edgesFree", EdgePool::getNumFreedEdges);
+        gauge("packetEventsInUse", PacketEvent::getNumPacketEventsOnTheFly);
+        gauge("timerEventsInUse", TimerEvent::getNumTimerEventsOnTheFly);
+    }
+
+    /**
+     * Returns the counter with the given name, which is registered if there is no
+     * metric with this name yet.
+     *
+     * @param name The name of the counter.
+     * @return The counter with the given name.
+     */
+    public static synchronized Counter counter(String name) {
+        return register(name, Counter.class, new Counter(name));
+    }
+
+    /**
+     * Returns the histogram with the given name, which is registered if there is no
+     * metric with this name yet.
+     *
+     * @param name The name of the histogram.
+     * @return The histogram with the given name.
+     */
+    public static synchronized Histogram histogram(String name) {
+        return register(name, Histogram.class, new Histogram(name));
+    }
+
+    /**
+     * Registers a gauge, replacing any gauge with the same name.
+     *
+     * @param name     The name of the gauge.
+     * @param supplier Supplies the current value of the gauge.
+     * @return The registered gauge.
+     */
+    public static synchronized Gauge gauge(String name, DoubleSupplier supplier) {
+        Gauge gauge = new Gauge(name, supplier);
+        if (metrics.containsKey(name) && !(metrics.get(name) instanceof Gauge)) {
+            throw new SinalgoFatalException("The metric '" + name + "' is already registered and is not a gauge.");
+        }
+        registered(metrics.put(name, gauge), gauge);
+        return gauge;
+    }
+
+    /**
+     * Registers a metric of a custom type, e.g. a subclass of one of the provided
+     * metrics.
+     *
+     * @param metric The metric to register.
+     */
+    public static synchronized void register(Metric metric) {
+        if (metrics.containsKey(metric.getName())) {
+            throw new SinalgoFatalException("The metric '" + metric.getName() + "' is already registered.");
+        }
+        metrics.put(metric.getName(), metric);
+        registered(null, metric);
+    }
+
+    private static <T extends Metric> T register(String name, Class<T> type, T metric) {
+        Metric existing = metrics.get(name);
+        if (existing == null) {
+            metrics.put(name, metric);
+            registered(null, metric);
+            return metric;
+        }
+        if (!type.isInstance(existing)) {
+            throw new SinalgoFatalException("The metric '" + name + "' is already registered as "
+                    + existing.getClass().getSimpleName() + ".");
+        }
+        return type.cast(existing);
+    }
+
+    /**
+     * Updates the columns of the CSV file after a metric has been registered. A
+     * replaced gauge takes the column of the gauge it replaces, while new metrics
+     * cannot be added to a CSV file whose header has been written already.
+     *
+     * @param replaced The metric replaced by the new metric, null if there is none.
+     * @param metric   The registered metric.
+     */
+    private static void registered(Metric replaced, Metric metric) {
+        if (columns == null || json) {
+            return;
+        }
+        int column = replaced == null ? -1 : columns.indexOf(replaced);
+        if (column >= 0) {
+            columns.set(column, metric);
+        } else {
+            Main.warning("The metric '" + metric.getName() + "' is registered after the first sample has been "
+                    + "written to the metrics file. It is not written to the CSV file, as the columns of the file "
+                    + "are already fixed. Register the metric earlier, e.g. in the constructor of the CustomGlobal, "
+                    + "or set metricsFormat to 'jsonl'.");
+        }
+    }
+
+    /**
+     * @param name The name of a metric.
+     * @return The metric with the given name, null if there is no such metric.
+     */
+    public static synchronized Metric getMetric(String name) {
+        return metrics.get(name);
+    }
+
+    /**
+     * @return All registered metrics, in the order of their registration.
+     */
+    public static synchronized List<Metric> getMetrics() {
+        return Collections.unmodifiableList(new ArrayList<>(metrics.values()));
+    }
+
+    // -----------------------------------------------------------------------------------
+    // Framework specific methods and member variables
+    // => You should not need to modify/overwrite/call/use any of these members or
+    // methods
+    // -----------------------------------------------------------------------------------
+
+    private static Writer out;
+    private static boolean json;
+    private static List<Metric> columns;
+    private static long numRounds;
+    private static long numEvents;
+    private static final StringBuilder line = new StringBuilder();
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Opens the metrics file if one is specified in the
+     * configuration. The file is placed in the same directory as the log files.
+     */
+    public static synchronized void start() {
+        if (out != null || Configuration.getMetricsFileName().isEmpty()) {
+            return;
+        }
+        String format = Configuration.getMetricsFormat().trim().toLowerCase();
+        if (!format.equals("csv") && !format.equals("jsonl")) {
+            throw new SinalgoFatalException("The configuration entry 'metricsFormat' must be 'csv' or 'jsonl', but is '"
+                    + Configuration.getMetricsFormat() + "'.");
+        }
+        json = format.equals("jsonl");
+        String dir = Configuration.getLogFileDirectory();
+        IOUtils.createDir(dir);
+        if (Configuration.isLogToTimeDirectory()) {
+            dir = dir + "/" + Logging.getTimeDirectoryName();
+            IOUtils.createDir(dir);
+        }
+        try {
+            out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(
+                    Paths.get(dir, Configuration.getMetricsFileName())), StandardCharsets.UTF_8), 1 << 16);
+        } catch (IOException e) {
+            throw new SinalgoFatalException("Could not open the metrics file " + Configuration.getMetricsFileName(), e);
+        }
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Marks the start of a new round in synchronous mode.
+     */
+    public static synchronized void startRound() {
+        for (Metric m : metrics.values()) {
+            if (m instanceof Counter) {
+                ((Counter) m).startRound();
+            }
+        }
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Counts a delivered message and records its delay.
+     *
+     * @param p The delivered packet.
+     */
+    public static void messageDelivered(Packet p) {
+        MESSAGES_DELIVERED.increment();
+        MESSAGE_DELAY.record(Global.getCurrentTime() - p.getSendingTime());
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Called at the end of each round in synchronous mode. Writes
+     * a sample every metricsSampleRounds rounds.
+     */
+    public static void roundFinished() {
+        if (out != null && ++numRounds % Math.max(1, Configuration.getMetricsSampleRounds()) == 0) {
+            sample();
+        }
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Called after each event in asynchronous mode. Writes a sample
+     * every metricsSampleEvents events.
+     */
+    public static void eventHandled() {
+        EVENTS_HANDLED.increment();
+        if (out != null && ++numEvents % Math.max(1, Configuration.getMetricsSampleEvents()) == 0) {
+            sample();
+        }
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Writes the current values of all metrics to the metrics file.
+     */
+    public static synchronized void sample() {
+        if (out == null) {
+            return;
+        }
+        if (columns == null) {
+            columns = new ArrayList<>(metrics.values());
+            if (!json) {
+                line.setLength(0);
+                line.append("time");
+                for (Metric m : columns) {
+                    for (int i = 0; i < m.getNumFields(); i++) {
+                        line.append(',').append(getColumnName(m, i));
+                    }
+                }
+                write();
+            }
+        }
+        line.setLength(0);
+        if (json) {
+            line.append("{\"time\":");
+            Metric.appendNumber(Global.getCurrentTime(), line);
+            for (Metric m : metrics.values()) {
+                for (int i = 0; i < m.getNumFields(); i++) {
+                    line.append(",\"").append(getColumnName(m, i)).append("\":");
+                    m.appendField(i, line);
+                }
+                m.sampled();
+            }
+            line.append('}');
+        } else {
+            Metric.appendNumber(Global.getCurrentTime(), line);
+            for (Metric m : columns) {
+                for (int i = 0; i < m.getNumFields(); i++) {
+                    line.append(',');
+                    int start = line.length();
+                    m.appendField(i, line);
+                    if (line.length() - start == 4 && line.indexOf("null", start) == start) {
+                        line.setLength(start); // an empty cell for undefined values
+                    }
+                }
+                m.sampled();
+            }
+        }
+        write();
+    }
+
+    private static String getColumnName(Metric m, int field) {
+        String fieldName = m.getFieldName(field);
+        return fieldName.isEmpty() ? m.getName() : m.getName() + "." + fieldName;
+    }
+
+    private static void write() {
+        line.append('\n');
+        try {
+            out.append(line);
+        } catch (IOException e) {
+            throw new SinalgoFatalException("Could not write the metrics file", e);
+        }
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Writes a last sample and closes the metrics file.
+     */
+    public static synchronized void close() {
+        if (out == null) {
+            return;
+        }
+        sample();
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new SinalgoFatalException("Could not close the metrics file", e);
+        } finally {
+            out = null;
+            columns = null;
+        }
+    }
+}
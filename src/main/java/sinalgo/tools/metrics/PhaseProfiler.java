@@ -0,0 +1,242 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.metrics;
+
+import lombok.Getter;
+import sinalgo.configuration.Configuration;
+import sinalgo.runtime.Global;
+import sinalgo.tools.logging.LogL;
+import sinalgo.tools.logging.Logging;
+
+import java.util.Arrays;
+
+/**
+ * Measures the wall-clock time spent in the phases of the simulation loop, such
+ * that slow simulations can be attributed to e.g. the connectivity or the
+ * interference models. The profiler is enabled by the profilePhases entry of
+ * the configuration. When disabled, measuring a phase only tests a flag.
+ * <p>
+ * The runtime threads bracket each phase as follows:
+ * <p>
+ * <code>
+ * long t = PhaseProfiler.start();<br>
+ * ... // the first phase<br>
+ * t = PhaseProfiler.stop(Phase.MOBILITY, t);<br>
+ * ... // the next phase<br>
+ * t = PhaseProfiler.stop(Phase.CONNECTIVITY, t);
+ * </code>
+ * <p>
+ * The time of each phase is written to the default log file at exit, and
+ * optionally every profileReportRounds rounds. If a metrics file is written,
+ * the durations of the phases are also recorded in histograms of the
+ * {@link MetricsRegistry}.
+ */
+public class PhaseProfiler {
+
+    /**
+     * The phases of the simulation loop.
+     */
+    public enum Phase {
+        PRE_ROUND("preRound"),
+        GLOBAL_TIMERS("globalTimers"),
+        MOBILITY("mobility"),
+        CONNECTIVITY("connectivity"),
+        INTERFERENCE("interference"),
+        NODE_STEP("nodeStep"),
+        POST_ROUND("postRound"),
+        EVENT_QUEUE("eventQueue"),
+        PACKET_EVENTS("packetEvents"),
+        TIMER_EVENTS("timerEvents"),
+        GUI("gui");
+
+        /**
+         * @return The name of this phase in the report and the metrics file.
+         */
+        @Getter
+        private final String phaseName;
+
+        Phase(String phaseName) {
+            this.phaseName = phaseName;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    /**
+     * @return True if the phases are measured.
+     */
+    @Getter
+    private static boolean enabled;
+
+    private static final long[] count = new long[PHASES.length];
+    private static final long[] totalNanos = new long[PHASES.length];
+    private static final long[] maxNanos = new long[PHASES.length];
+    private static final long[] intervalNanos = new long[PHASES.length];
+    private static final long[] intervalCount = new long[PHASES.length];
+    private static final long[] intervalMaxNanos = new long[PHASES.length];
+    private static final Histogram[] histograms = new Histogram[PHASES.length];
+
+    private static long numRounds;
+    private static long numEvents;
+
+    /**
+     * Starts the measurement of a phase.
+     *
+     * @return The current time in nanoseconds, 0 if the profiler is disabled.
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Ends the measurement of a phase.
+     *
+     * @param phase The phase that ends.
+     * @param start The time returned by {@link #start()} or the previous call to
+     *              this method when the phase started.
+     * @return The current time in nanoseconds, which is the start of the next phase,
+     * 0 if the profiler is disabled.
+     */
+    public static long stop(Phase phase, long start) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long duration = now - start;
+        int i = phase.ordinal();
+        count[i]++;
+        totalNanos[i] += duration;
+        intervalNanos[i] += duration;
+        intervalCount[i]++;
+        if (duration > maxNanos[i]) {
+            maxNanos[i] = duration;
+        }
+        if (duration > intervalMaxNanos[i]) {
+            intervalMaxNanos[i] = duration;
+        }
+        histograms[i].record(duration * 1e-6);
+        return now;
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Enables the profiler if requested by the configuration.
+     */
+    public static synchronized void activate() {
+        if (enabled || !Configuration.isProfilePhases()) {
+            return;
+        }
+        for (Phase phase : PHASES) {
+            histograms[phase.ordinal()] = MetricsRegistry.histogram("phase." + phase.getPhaseName());
+        }
+        enabled = true;
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Called at the end of each round in synchronous mode. Writes
+     * the report of the last profileReportRounds rounds, if requested.
+     */
+    public static void roundFinished() {
+        if (enabled && Configuration.getProfileReportRounds() > 0
+                && ++numRounds % Configuration.getProfileReportRounds() == 0) {
+            report(true);
+        }
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Called after each event in asynchronous mode. Writes the
+     * report of the last profileReportRounds * 1000 events, if requested.
+     */
+    public static void eventHandled() {
+        if (enabled && Configuration.getProfileReportRounds() > 0
+                && ++numEvents % (Configuration.getProfileReportRounds() * 1000L) == 0) {
+            report(true);
+        }
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Writes the report of the entire simulation to the default log
+     * file and disables the profiler.
+     */
+    public static synchronized void close() {
+        if (enabled) {
+            report(false);
+            enabled = false;
+        }
+    }
+
+    /**
+     * Writes the time spent in each phase to the default log file.
+     *
+     * @param interval True to report the phases since the last report, false to
+     *                 report the entire simulation.
+     */
+    private static void report(boolean interval) {
+        long[] nanos = interval ? intervalNanos : totalNanos;
+        long[] counts = interval ? intervalCount : count;
+        long[] max = interval ? intervalMaxNanos : maxNanos;
+        long sum = 0;
+        for (long n : nanos) {
+            sum += n;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(interval ? "> Time per phase until time " + Global.getCurrentTime() + ":\n"
+                : "> Time per phase of the simulation:\n");
+        sb.append(String.format("  %-14s %12s %12s %12s %12s %7s%n", "phase", "count", "total [ms]", "mean [us]",
+                "max [ms]", "share"));
+        for (Phase phase : PHASES) {
+            int i = phase.ordinal();
+            if (counts[i] == 0) {
+                continue;
+            }
+            sb.append(String.format("  %-14s %12d %12.1f %12.2f %12.2f %6.1f%%%n", phase.getPhaseName(), counts[i],
+                    nanos[i] * 1e-6, nanos[i] * 1e-3 / counts[i], max[i] * 1e-6,
+                    sum == 0 ? 0 : 100.0 * nanos[i] / sum));
+        }
+        if (interval) {
+            Arrays.fill(intervalNanos, 0);
+            Arrays.fill(intervalCount, 0);
+            Arrays.fill(intervalMaxNanos, 0);
+        }
+        if (Logging.isActivated()) {
+            Global.getLog().log(LogL.ALWAYS, sb.toString());
+        }
+    }
+}
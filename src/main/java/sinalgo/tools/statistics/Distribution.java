@@ -69,11 +69,13 @@ import java.util.Random;
  */
 public abstract class Distribution {
 
-    @Getter(AccessLevel.PROTECTED)
     @Setter(AccessLevel.PROTECTED)
     private static Random randomGenerator; // the singleton instance of the random object. Be sure to initialize
     // before using the first time!
 
+    // the random object of the current thread, set while the thread generates nodes
+    private static final ThreadLocal<Random> threadRandomGenerator = new ThreadLocal<>();
+
     @Getter(AccessLevel.PRIVATE)
     @Setter(AccessLevel.PRIVATE)
     private static long randomSeed; // the seed used for the random object
@@ -105,8 +107,12 @@ public abstract class Distribution {
      * @return the singleton random generator object of this simulation
      */
     public static Random getRandom() {
+        Random threadRandom = threadRandomGenerator.get();
+        if (threadRandom != null) {
+            return threadRandom;
+        }
         // construct the singleton random object if it does not yet exist
-        if (getRandomGenerator() == null) {
+        if (randomGenerator == null) {
             if (Configuration.isUseSameSeedAsInPreviousRun()) {
                 setRandomSeed(AppConfig.getAppConfig().getSeedFromLastRun());
             } else {
@@ -119,7 +125,40 @@ public abstract class Distribution {
             }
             setRandomGenerator(new Random(getRandomSeed())); // use a random seed
         }
-        return getRandomGenerator();
+        return randomGenerator;
+    }
+
+    /**
+     * Returns the random object the distributions draw their samples from. This is
+     * the random object set for the current thread, if any, and the singleton
+     * random object of this simulation otherwise.
+     *
+     * @return The random object for the current thread.
+     */
+    protected static Random getRandomGenerator() {
+        Random threadRandom = threadRandomGenerator.get();
+        return threadRandom != null ? threadRandom : randomGenerator;
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b>
+     * <p>
+     * Sets a random object that {@link #getRandom()} returns on the current thread
+     * instead of the singleton random object. The framework gives each thread that
+     * generates nodes in parallel its own random object, seeded from the seed of
+     * this simulation, such that the generated nodes only depend on the seed and
+     * the number of threads.
+     *
+     * @param random The random object of the current thread, null to use the
+     *               singleton random object again.
+     */
+    public static void setThreadRandom(Random random) {
+        if (random == null) {
+            threadRandomGenerator.remove();
+        } else {
+            threadRandomGenerator.set(random);
+        }
     }
 
     /**
@@ -40,6 +40,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import sinalgo.exception.DoublyLinkedListErrorException;
+import sinalgo.exception.SinalgoFatalException;
 import sinalgo.tools.logging.Logging;
 
 import java.util.ConcurrentModificationException;
@@ -80,6 +81,13 @@ import java.util.NoSuchElementException;
  * is actually bigger than it needs be. Therefore, only set the flag to not
  * delete the <code>Finger</code> for lists where the objects contained in the
  * lists exist long and are added and removed often to the lists.
+ * <p>
+ * If all entries of a list reserve a fixed slot for this list (see
+ * {@link DoublyLinkedListEntry}), the list may be created with the index of this
+ * slot. Such a list accesses the finger of an entry in O(1), allocates the
+ * finger of the slot only when the entry is first added to a list using the
+ * slot, and never releases it. An entry can be contained in at most one list
+ * per slot at any time.
  *
  * @param <E> The generic type the DLL is created for.
  */
@@ -95,6 +103,7 @@ public class DoublyLinkedList<E extends DoublyLinkedListEntry> implements Iterab
     // of the list, the
     // terminator
     private DoublyLinkedListEntry.Finger tail = this.getHead(); // the last entry, points to head if the list is empty
+    private final int slot; // the index of the fixed finger slot used by this list, -1 if none
 
     /**
      * Creates a new instance of a Doubly Linked List.
@@ -111,7 +120,23 @@ public class DoublyLinkedList<E extends DoublyLinkedListEntry> implements Iterab
      *                   set to false, the finger is removed.
      */
     public DoublyLinkedList(boolean keepFinger) {
+        this(keepFinger, -1);
+    }
+
+    /**
+     * Creates a new instance of a Doubly Linked List whose entries all reserve a
+     * fixed finger slot for this list.
+     *
+     * @param keepFinger If set to true, entries keep their finger for later reuse (in this
+     *                   or a different list) when they are removed from this list. When
+     *                   set to false, the finger is removed. Has no effect if a slot is
+     *                   given.
+     * @param slot       The index of the slot in the finger-list of the entries, -1 to
+     *                   not use a fixed slot.
+     */
+    public DoublyLinkedList(boolean keepFinger, int slot) {
         this.setKeepFinger(keepFinger);
+        this.slot = slot;
     }
 
     /**
@@ -120,7 +145,55 @@ public class DoublyLinkedList<E extends DoublyLinkedListEntry> implements Iterab
      * <code>iterator()</code>.
      */
     public DoublyLinkedList() {
-        this.setKeepFinger(false);
+        this(false, -1);
+    }
+
+    /**
+     * Returns the finger of an entry associated with this list.
+     *
+     * @param entry The entry
+     * @return The finger of the entry associated with this list, null if there is
+     * none.
+     */
+    private DoublyLinkedListEntry.Finger getFinger(DoublyLinkedListEntry entry) {
+        if (this.getSlot() < 0) {
+            return entry.getDoublyLinkedListFinger().getFinger(this);
+        }
+        DoublyLinkedListEntry.Finger f = entry.getDoublyLinkedListFinger().getSlotFinger(this.getSlot());
+        return f != null && f.getList() == this ? f : null;
+    }
+
+    /**
+     * Associates a new (or free) finger of an entry with this list.
+     *
+     * @param entry The entry, which must not be contained in this list.
+     * @return The finger of the entry associated with this list.
+     */
+    private DoublyLinkedListEntry.Finger getNewFinger(DoublyLinkedListEntry entry) {
+        if (this.getSlot() < 0) {
+            return entry.getDoublyLinkedListFinger().getNewFinger(this, entry);
+        }
+        DoublyLinkedListEntry.Finger f = entry.getDoublyLinkedListFinger().getNewSlotFinger(this.getSlot());
+        if (f.getList() != null) {
+            throw new SinalgoFatalException("Cannot add an element into a doubly linked list using slot " + this.getSlot()
+                    + " while it is contained in another list using the same slot.");
+        }
+        f.setList(this);
+        f.setObject(entry);
+        return f;
+    }
+
+    /**
+     * Releases a finger of an entry that is not contained in this list anymore.
+     *
+     * @param f The finger to release.
+     */
+    private void releaseFinger(DoublyLinkedListEntry.Finger f) {
+        if (this.getSlot() < 0) {
+            f.getObject().getDoublyLinkedListFinger().releaseFinger(f, this.isKeepFinger());
+        } else {
+            f.reset(); // the slot finger remains with the entry
+        }
     }
 
     /**
@@ -147,7 +220,7 @@ public class DoublyLinkedList<E extends DoublyLinkedListEntry> implements Iterab
      * @throws DoublyLinkedListErrorException if <code>after</code> is not contained in the list.
      */
     public boolean addAfter(E entry, E after) throws DoublyLinkedListErrorException {
-        DoublyLinkedListEntry.Finger pos = after.getDoublyLinkedListFinger().getFinger(this);
+        DoublyLinkedListEntry.Finger pos = this.getFinger(after);
         if (pos == null || (pos.getNext() == null && pos.getPrevious() == null)) {
             throw new DoublyLinkedListErrorException(
                     "Cannot add an element into doubly linked list after an element which is not contained in the list.");
@@ -164,11 +237,11 @@ public class DoublyLinkedList<E extends DoublyLinkedListEntry> implements Iterab
      * list.
      */
     private boolean addAfter(E entry, DoublyLinkedListEntry.Finger pos) {
-        DoublyLinkedListEntry.Finger f = entry.getDoublyLinkedListFinger().getFinger(this);
+        DoublyLinkedListEntry.Finger f = this.getFinger(entry);
         if (f != null) {
             return false; // already in list
         }
-        f = entry.getDoublyLinkedListFinger().getNewFinger(this, entry); // get new finger
+        f = this.getNewFinger(entry); // get new finger
         if (pos == this.getTail()) { // insert at the end
             f.setPrevious(this.getTail());
             this.getTail().setNext(f);
@@ -194,7 +267,7 @@ public class DoublyLinkedList<E extends DoublyLinkedListEntry> implements Iterab
      * @throws DoublyLinkedListErrorException if <code>before</code> is not contained in the list.
      */
     public boolean addBefore(E entry, E before) throws DoublyLinkedListErrorException {
-        DoublyLinkedListEntry.Finger pos = before.getDoublyLinkedListFinger().getFinger(this);
+        DoublyLinkedListEntry.Finger pos = this.getFinger(before);
         if (pos == null || (pos.getNext() == null && pos.getPrevious() == null)) {
             throw new DoublyLinkedListErrorException(
                     "Cannot add an element into doubly linked list before an element which is not contained in the list.");
@@ -203,11 +276,11 @@ public class DoublyLinkedList<E extends DoublyLinkedListEntry> implements Iterab
     }
 
     private boolean addBefore(E entry, DoublyLinkedListEntry.Finger pos) {
-        DoublyLinkedListEntry.Finger f = entry.getDoublyLinkedListFinger().getFinger(this);
+        DoublyLinkedListEntry.Finger f = this.getFinger(entry);
         if (f != null) {
             return false; // already in list
         }
-        f = entry.getDoublyLinkedListFinger().getNewFinger(this, entry); // get new finger
+        f = this.getNewFinger(entry); // get new finger
         if (pos == this.getHead()) { // insert in front (actually, we don't insert BEFORE the head, but after the
             // head)
             f.setNext(this.getHead().getNext());
@@ -236,7 +309,7 @@ public class DoublyLinkedList<E extends DoublyLinkedListEntry> implements Iterab
      * @return True if the entry was in the list, otherwise false.
      */
     public boolean remove(E entry) {
-        DoublyLinkedListEntry.Finger f = entry.getDoublyLinkedListFinger().getFinger(this);
+        DoublyLinkedListEntry.Finger f = this.getFinger(entry);
         return this.remove(f);
     }
 
@@ -247,7 +320,7 @@ public class DoublyLinkedList<E extends DoublyLinkedListEntry> implements Iterab
      * @return True if the entry was in the list, otherwise false.
      */
     private boolean remove2(DoublyLinkedListEntry entry) {
-        DoublyLinkedListEntry.Finger f = entry.getDoublyLinkedListFinger().getFinger(this);
+        DoublyLinkedListEntry.Finger f = this.getFinger(entry);
         return this.remove(f);
     }
 
@@ -257,12 +330,12 @@ public class DoublyLinkedList<E extends DoublyLinkedListEntry> implements Iterab
      * @param f The finger of the entry
      * @return True if the entry was in this list, otherwise false.
      */
-    private boolean remove(DoublyLinkedListEntry.Finger f) {
+    boolean remove(DoublyLinkedListEntry.Finger f) {
         if (f == null) {
             return false; // not in list and no finger
         }
         if (f.getNext() == null && f.getPrevious() == null) {
-            f.getObject().getDoublyLinkedListFinger().releaseFinger(f, this.isKeepFinger());
+            this.releaseFinger(f);
             return false; // not in list, but had a dummy finger.
         }
         f.getPrevious().setNext(f.getNext()); // there's always a previous
@@ -271,7 +344,7 @@ public class DoublyLinkedList<E extends DoublyLinkedListEntry> implements Iterab
         } else { // was last entry
             this.setTail(f.getPrevious());
         }
-        f.getObject().getDoublyLinkedListFinger().releaseFinger(f, this.isKeepFinger());
+        this.releaseFinger(f);
         this.setSize(this.getSize() - 1);
         this.setModCount(this.getModCount() + 1);
         return true;
@@ -554,11 +627,11 @@ public class DoublyLinkedList<E extends DoublyLinkedListEntry> implements Iterab
             }
             this.checkForComodification();
 
-            if (o.getDoublyLinkedListFinger().getFinger(DoublyLinkedList.this) != null) {
+            if (DoublyLinkedList.this.getFinger(o) != null) {
                 throw new IllegalStateException(
                         "Cannot replace the current entry with an entry that is already in the list. This exception occured while iterating over the list.");
             }
-            DoublyLinkedListEntry.Finger f = o.getDoublyLinkedListFinger().getNewFinger(DoublyLinkedList.this, o);
+            DoublyLinkedListEntry.Finger f = DoublyLinkedList.this.getNewFinger(o);
             f.setNext(this.lastReturned.getNext());
             f.setPrevious(this.lastReturned.getPrevious());
             if (this.lastReturned.getNext() != null) {
@@ -566,7 +639,7 @@ public class DoublyLinkedList<E extends DoublyLinkedListEntry> implements Iterab
             }
             this.lastReturned.getPrevious().setNext(f); // there's always a previous
             // release the finger of the old entry
-            this.lastReturned.getObject().getDoublyLinkedListFinger().releaseFinger(this.lastReturned, DoublyLinkedList.this.isKeepFinger());
+            DoublyLinkedList.this.releaseFinger(this.lastReturned);
             if (this.lastReturned == this.next) { // restore the pointers
                 this.lastReturned = this.next = f;
             } else {
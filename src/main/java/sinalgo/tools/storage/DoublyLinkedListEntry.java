@@ -65,6 +65,13 @@ import java.util.Vector;
  * <p>
  * This finger-list allows this entry to be contained in several lists at the
  * same time, as it stores a finger for each list.
+ * <p>
+ * Entries that are known to be stored in certain lists may reserve a fixed slot
+ * for each of these lists by creating their finger-list with
+ * <code>new DLLFingerList(numberOfSlots)</code>. A list created with a slot
+ * index uses the finger in this slot instead of searching the finger-list, and
+ * does not allocate a finger per membership. The finger of a slot is allocated
+ * when the entry is first added to a list using the slot, and is kept for reuse.
  */
 public interface DoublyLinkedListEntry {
 
@@ -79,15 +86,79 @@ public interface DoublyLinkedListEntry {
 
         /**
          * The list of fingers. The fingers in this list 'point' to the
-         * doublyLinkedLists this element is contained in.
+         * doublyLinkedLists this element is contained in. Allocated when the first
+         * finger is requested.
          */
-        private Vector<Finger> list = new Vector<>(1);
+        private Vector<Finger> list;
+
+        /**
+         * The fingers reserved for the lists that use a fixed slot, null for the
+         * slots that have not been used yet.
+         */
+        private final Finger[] slotFingers;
 
         /**
          * THe number of fingers this list.
          */
         private int numberOfUsedFingers;
 
+        /**
+         * Creates a finger-list without fixed slots.
+         */
+        public DLLFingerList() {
+            this(0);
+        }
+
+        /**
+         * Creates a finger-list with the given number of fixed slots.
+         *
+         * @param numberOfSlots The number of fixed slots, see
+         *                      {@link DoublyLinkedList#DoublyLinkedList(boolean, int)}.
+         */
+        public DLLFingerList(int numberOfSlots) {
+            this.slotFingers = new Finger[numberOfSlots];
+        }
+
+        /**
+         * Returns the finger reserved for a given slot. The finger is not associated
+         * with any list if its list is null.
+         *
+         * @param slot The index of the slot.
+         * @return The finger reserved for the given slot, null if the slot has not
+         * been used yet.
+         */
+        public Finger getSlotFinger(int slot) {
+            return this.slotFingers[slot];
+        }
+
+        /**
+         * Returns the finger reserved for a given slot, and allocates it if the slot
+         * has not been used yet.
+         *
+         * @param slot The index of the slot.
+         * @return The finger reserved for the given slot.
+         */
+        public Finger getNewSlotFinger(int slot) {
+            Finger f = this.slotFingers[slot];
+            if (f == null) {
+                f = new Finger();
+                this.slotFingers[slot] = f;
+            }
+            return f;
+        }
+
+        /**
+         * Removes this entry from all lists it is contained in through one of its
+         * fixed slots.
+         */
+        public void releaseSlots() {
+            for (Finger f : this.slotFingers) {
+                if (f != null && f.getList() != null) {
+                    f.getList().remove(f);
+                }
+            }
+        }
+
         /**
          * Gets the finger of this entry associated with a given list.
          *
@@ -118,6 +189,9 @@ public interface DoublyLinkedListEntry {
          */
         public Finger getNewFinger(DoublyLinkedList<?> dll, DoublyLinkedListEntry entry) {
             Finger f;
+            if (this.getList() == null) {
+                this.setList(new Vector<>(1));
+            }
             if (this.getNumberOfUsedFingers() < this.getList().size()) {
                 f = this.getList().elementAt(this.getNumberOfUsedFingers());
             } else {
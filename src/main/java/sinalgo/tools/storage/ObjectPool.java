@@ -0,0 +1,286 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.storage;
+
+import lombok.Getter;
+import sinalgo.configuration.Configuration;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.Vector;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A pool of recycled objects. To reduce the load on the garbage collector, the
+ * framework does not drop objects that are created often, such as packets,
+ * edges and events, but returns them to a pool from where they are taken the
+ * next time such an object is needed.
+ * <p>
+ * Each pool holds a single list of free objects, which is used by the runtime
+ * thread of the current simulation. As the GUI starts a new runtime thread for
+ * each run, the objects freed in one run are reused in the next. Occasionally,
+ * objects are returned by another thread, e.g. when a node is removed through
+ * the GUI. Therefore, the list is guarded by the lock of the pool, which is
+ * uncontended while the simulation runs. The number of free objects a pool
+ * keeps may be bounded, see <code>objectPoolCapacity</code> in the
+ * configuration file. Objects returned to a full pool are left to the garbage
+ * collector.
+ * <p>
+ * Each pool counts the requests that could be served with a recycled object
+ * (hits), the requests that required a new object (misses) and the objects that
+ * were discarded because the pool was full. Optionally, a pool keeps track of
+ * all objects currently issued, which helps to detect objects that are never
+ * returned.
+ *
+ * @param <T> The type of the pooled objects.
+ */
+public class ObjectPool<T> {
+
+    /**
+     * All pools created so far, in the order of their creation.
+     */
+    private static final Vector<ObjectPool<?>> POOLS = new Vector<>();
+
+    /**
+     * The name of this pool, used in the statistics.
+     */
+    @Getter
+    private final String name;
+
+    /**
+     * Decides whether this pool keeps track of the issued objects.
+     */
+    private final BooleanSupplier trackIssued;
+
+    /**
+     * The objects ready to be reused, guarded by the lock of this pool.
+     */
+    private T[] objects = castArray(new Object[16]);
+    private int size;
+
+    private long hits;
+    private long misses;
+    private long discarded;
+    private long numIssued;
+    private long numFreed;
+
+    /**
+     * The objects currently issued by this pool, only maintained while tracking
+     * is enabled. Guarded by the lock of this pool.
+     */
+    private final Set<T> issued = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Creates a new pool that keeps track of the issued objects if
+     * <code>trackPooledObjects</code> is set in the configuration file.
+     *
+     * @param name The name of the pool, used in the statistics.
+     */
+    public ObjectPool(String name) {
+        this(name, Configuration::isTrackPooledObjects);
+    }
+
+    /**
+     * Creates a new pool.
+     *
+     * @param name        The name of the pool, used in the statistics.
+     * @param trackIssued Evaluated whenever an object is issued or returned, the pool
+     *                    keeps track of the issued objects while it returns true.
+     */
+    public ObjectPool(String name, BooleanSupplier trackIssued) {
+        this.name = name;
+        this.trackIssued = trackIssued;
+        POOLS.add(this);
+    }
+
+    /**
+     * Returns a recycled object, or a new object obtained from the given factory
+     * if there is no object to recycle.
+     *
+     * @param factory The factory to create a new object.
+     * @return A recycled or new object.
+     */
+    public T get(Supplier<? extends T> factory) {
+        T obj = null;
+        synchronized (this) {
+            if (this.size > 0) {
+                obj = this.objects[--this.size];
+                this.objects[this.size] = null;
+                this.hits++;
+            } else {
+                this.misses++;
+            }
+            this.numIssued++;
+        }
+        if (obj == null) {
+            obj = factory.get();
+        }
+        if (this.trackIssued.getAsBoolean()) {
+            synchronized (this) {
+                this.issued.add(obj);
+            }
+        }
+        return obj;
+    }
+
+    /**
+     * Returns an object to this pool for later reuse. The caller must not use the
+     * object anymore.
+     *
+     * @param obj The object to return.
+     */
+    public void free(T obj) {
+        boolean track = this.trackIssued.getAsBoolean();
+        int capacity = Configuration.getObjectPoolCapacity();
+        synchronized (this) {
+            this.numFreed++;
+            if (track) {
+                this.issued.remove(obj);
+            }
+            if (capacity > 0 && this.size >= capacity) {
+                this.discarded++;
+                return; // leave it to the garbage collector
+            }
+            if (this.size == this.objects.length) {
+                Object[] tmp = new Object[Math.max(16, 2 * this.size)];
+                System.arraycopy(this.objects, 0, tmp, 0, this.size);
+                this.objects = castArray(tmp);
+            }
+            this.objects[this.size++] = obj;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] castArray(Object[] array) {
+        return (T[]) array;
+    }
+
+    /**
+     * Removes all objects ready to be reused from this pool.
+     */
+    public synchronized void clear() {
+        this.objects = castArray(new Object[16]);
+        this.size = 0;
+    }
+
+    /**
+     * @return The number of objects ready to be reused.
+     */
+    public synchronized int getNumFree() {
+        return this.size;
+    }
+
+    /**
+     * @return The number of objects issued by this pool and not yet returned.
+     */
+    public synchronized long getNumInUse() {
+        return this.numIssued - this.numFreed;
+    }
+
+    /**
+     * @return The number of requests served with a recycled object.
+     */
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * @return The number of requests that required a new object.
+     */
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * @return The number of returned objects that were discarded because the pool
+     * was full.
+     */
+    public synchronized long getDiscarded() {
+        return this.discarded;
+    }
+
+    /**
+     * @return The number of issued objects this pool keeps track of. This number
+     * is only meaningful if tracking has been enabled during the entire simulation.
+     */
+    public synchronized int getNumTracked() {
+        return this.issued.size();
+    }
+
+    /**
+     * Performs the given action for each issued object this pool keeps track of.
+     * The action must not obtain objects from or return objects to this pool.
+     *
+     * @param action The action to perform.
+     */
+    public synchronized void forEachIssued(Consumer<? super T> action) {
+        for (T obj : this.issued) {
+            action.accept(obj);
+        }
+    }
+
+    /**
+     * Prints the statistics of all pools to a stream.
+     *
+     * @param ps The stream to write to.
+     */
+    public static void printStatistics(PrintStream ps) {
+        ps.print("Recycling:  (used / recycled, hits / misses / discarded)\n");
+        for (ObjectPool<?> pool : new ArrayList<>(POOLS)) {
+            ps.print("  " + pool.getName() + " \t(" + pool.getNumInUse() + " / " + pool.getNumFree() + ", "
+                    + pool.getHits() + " / " + pool.getMisses() + " / " + pool.getDiscarded() + ")");
+            if (pool.trackIssued.getAsBoolean()) {
+                ps.print(" tracked: " + pool.getNumTracked());
+            }
+            ps.print("\n");
+        }
+    }
+
+    /**
+     * Removes all objects ready to be reused from all pools.
+     */
+    public static void clearAll() {
+        for (ObjectPool<?> pool : new ArrayList<>(POOLS)) {
+            pool.clear();
+        }
+    }
+}
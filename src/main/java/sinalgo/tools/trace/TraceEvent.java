@@ -0,0 +1,134 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.trace;
+
+import lombok.Getter;
+
+/**
+ * The types of the events written to the trace file by the
+ * {@link TraceRecorder}.
+ * <p>
+ * The code of an event is stored in the trace file and must not change.
+ */
+public enum TraceEvent {
+
+    /**
+     * A message has been sent. The node is the sender, the other node the
+     * destination.
+     */
+    SEND(1),
+
+    /**
+     * A message has been delivered. The node is the sender, the other node the
+     * receiver.
+     */
+    DELIVER(2),
+
+    /**
+     * A message has been dropped because of interference, the reliability model or
+     * the removal of its edge. The node is the sender, the other node the
+     * destination.
+     */
+    DROP(3),
+
+    /**
+     * The sender of a dropped message has been informed with a NACK. The node is
+     * the sender, the other node the destination.
+     */
+    NACK(4),
+
+    /**
+     * The interference model found a message to be disturbed. The node is the
+     * sender, the other node the destination.
+     */
+    INTERFERENCE(5),
+
+    /**
+     * A node has been added to the simulation.
+     */
+    NODE_ADDED(6),
+
+    /**
+     * A node has been removed from the simulation.
+     */
+    NODE_REMOVED(7),
+
+    /**
+     * An edge has been added. The node is the start node, the other node the end
+     * node of the edge.
+     */
+    EDGE_ADDED(8),
+
+    /**
+     * An edge has been removed. The node is the start node, the other node the end
+     * node of the edge.
+     */
+    EDGE_REMOVED(9);
+
+    /**
+     * @return The code of this event in the trace file.
+     */
+    @Getter
+    private final int code;
+
+    /**
+     * @return The bit of this event in the mask of the recorded events.
+     */
+    @Getter
+    private final int mask;
+
+    private static final TraceEvent[] byCode = new TraceEvent[32];
+
+    static {
+        for (TraceEvent e : values()) {
+            byCode[e.getCode()] = e;
+        }
+    }
+
+    TraceEvent(int code) {
+        this.code = code;
+        this.mask = 1 << code;
+    }
+
+    /**
+     * @param code The code of an event in the trace file.
+     * @return The event with the given code, null if there is no such event.
+     */
+    public static TraceEvent forCode(int code) {
+        return code >= 0 && code < byCode.length ? byCode[code] : null;
+    }
+}
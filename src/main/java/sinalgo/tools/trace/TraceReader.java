@@ -0,0 +1,221 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.trace;
+
+import lombok.Getter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a trace file written by the {@link TraceRecorder} record by record,
+ * without loading the file into memory. After each successful call to
+ * {@link #next()}, the getters of this reader return the values of the current
+ * record.
+ * <p>
+ * The reader may also be started to convert a trace file to CSV:
+ * <p>
+ * <code>java -cp sinalgo.jar sinalgo.tools.trace.TraceReader traceFile [csvFile]</code>
+ * <p>
+ * If no CSV file is given, the CSV is printed to the standard output.
+ */
+public class TraceReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final int recordSize;
+
+    /**
+     * @return The type of the current event.
+     */
+    @Getter
+    private TraceEvent event;
+
+    /**
+     * @return The simulation time of the current event.
+     */
+    @Getter
+    private double time;
+
+    /**
+     * @return The ID of the node of the current event.
+     */
+    @Getter
+    private long node;
+
+    /**
+     * @return The ID of the other node of the current event, -1 if there is none.
+     */
+    @Getter
+    private long otherNode;
+
+    /**
+     * @return The time when the message of the current event was sent, NaN if the
+     * event does not concern a message.
+     */
+    @Getter
+    private double sendingTime;
+
+    /**
+     * Opens a trace file and reads its header.
+     *
+     * @param traceFile The trace file to read.
+     * @throws IOException If the file cannot be read or is not a trace file.
+     */
+    public TraceReader(Path traceFile) throws IOException {
+        this.channel = FileChannel.open(traceFile, StandardOpenOption.READ);
+        this.buffer.limit(0);
+        if (!this.fill(TraceRecorder.HEADER_SIZE)) {
+            this.channel.close();
+            throw new IOException(traceFile + " is not a trace file.");
+        }
+        byte[] magic = new byte[TraceRecorder.MAGIC.length()];
+        this.buffer.get(magic);
+        int version = this.buffer.getInt();
+        this.recordSize = this.buffer.getInt();
+        if (!TraceRecorder.MAGIC.equals(new String(magic, StandardCharsets.US_ASCII))
+                || version != TraceRecorder.VERSION || this.recordSize < TraceRecorder.RECORD_SIZE) {
+            this.channel.close();
+            throw new IOException(traceFile + " is not a trace file of version " + TraceRecorder.VERSION + ".");
+        }
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return True if a record has been read, false if the end of the file has
+     * been reached.
+     * @throws IOException If the file cannot be read.
+     */
+    public boolean next() throws IOException {
+        if (!this.fill(this.recordSize)) {
+            return false;
+        }
+        int start = this.buffer.position();
+        this.event = TraceEvent.forCode(this.buffer.getInt());
+        this.buffer.getInt(); // reserved
+        this.time = this.buffer.getDouble();
+        this.node = this.buffer.getLong();
+        this.otherNode = this.buffer.getLong();
+        this.sendingTime = this.buffer.getDouble();
+        this.buffer.position(start + this.recordSize);
+        return true;
+    }
+
+    /**
+     * Ensures that the buffer holds at least the given number of bytes.
+     *
+     * @return False if the end of the file has been reached before.
+     */
+    private boolean fill(int numBytes) throws IOException {
+        if (this.buffer.remaining() >= numBytes) {
+            return true;
+        }
+        this.buffer.compact();
+        while (this.buffer.position() < numBytes) {
+            if (this.channel.read(this.buffer) < 0) {
+                this.buffer.flip();
+                return false;
+            }
+        }
+        this.buffer.flip();
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Writes all remaining records of this reader as CSV, one line per record.
+     *
+     * @param out The writer to write the CSV to.
+     * @throws IOException If the trace file cannot be read or the CSV cannot be
+     *                     written.
+     */
+    public void writeCSV(Writer out) throws IOException {
+        out.write("event,time,node,otherNode,sendingTime\n");
+        while (this.next()) {
+            out.write(this.getEvent() == null ? "UNKNOWN" : this.getEvent().name());
+            out.write(',');
+            out.write(Double.toString(this.getTime()));
+            out.write(',');
+            out.write(Long.toString(this.getNode()));
+            out.write(',');
+            out.write(Long.toString(this.getOtherNode()));
+            out.write(',');
+            if (!Double.isNaN(this.getSendingTime())) {
+                out.write(Double.toString(this.getSendingTime()));
+            }
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * Converts a trace file to CSV.
+     *
+     * @param args The trace file and the optional CSV file.
+     * @throws IOException If the trace file cannot be read or the CSV file cannot
+     *                     be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: TraceReader traceFile [csvFile]");
+            System.exit(1);
+        }
+        try (TraceReader reader = new TraceReader(Paths.get(args[0]));
+             Writer out = args.length > 1
+                     ? Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)
+                     : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16)) {
+            reader.writeCSV(out);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.tools.trace;
+
+import sinalgo.configuration.Configuration;
+import sinalgo.exception.SinalgoFatalException;
+import sinalgo.io.IOUtils;
+import sinalgo.nodes.Node;
+import sinalgo.nodes.edges.Edge;
+import sinalgo.nodes.messages.Packet;
+import sinalgo.runtime.Global;
+import sinalgo.tools.logging.Logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records the simulation events in a compact binary trace file, which is
+ * specified by the traceFileName entry of the configuration. Which events are
+ * recorded is specified by the traceEvents entry.
+ * <p>
+ * The trace file starts with a header of {@link #HEADER_SIZE} bytes: the magic
+ * bytes {@link #MAGIC}, the version of the format and the size of a record, both
+ * as int. The header is followed by records of {@link #RECORD_SIZE} bytes, each
+ * consisting of
+ * <ul>
+ * <li>the code of the {@link TraceEvent} (int)</li>
+ * <li>reserved (int)</li>
+ * <li>the simulation time of the event (double)</li>
+ * <li>the ID of the node, e.g. the sender of a message (long)</li>
+ * <li>the ID of the other node, e.g. the destination of a message, -1 if there
+ * is none (long)</li>
+ * <li>the time when the message was sent, NaN for events that do not concern a
+ * message (double)</li>
+ * </ul>
+ * All values are stored in big-endian byte order. Use the {@link TraceReader} to
+ * read a trace file.
+ */
+public class TraceRecorder {
+
+    /**
+     * The magic bytes at the start of each trace file.
+     */
+    public static final String MAGIC = "SNLGTRCE";
+
+    /**
+     * The version of the trace file format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The size of the header of a trace file in bytes.
+     */
+    public static final int HEADER_SIZE = 16;
+
+    /**
+     * The size of a record in a trace file in bytes.
+     */
+    public static final int RECORD_SIZE = 40;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * The events to be recorded, one bit per event. Zero if no trace is recorded.
+     */
+    private static int recordedEvents;
+
+    private static FileChannel channel;
+    private static ByteBuffer buffer;
+
+    /**
+     * @param event An event type.
+     * @return True if events of the given type are written to the trace file.
+     */
+    public static boolean isRecording(TraceEvent event) {
+        return (recordedEvents & event.getMask()) != 0;
+    }
+
+    /**
+     * Records an event concerning a packet.
+     *
+     * @param event The type of the event.
+     * @param p     The packet.
+     */
+    public static void recordPacket(TraceEvent event, Packet p) {
+        if (isRecording(event)) {
+            record(event, p.getOrigin().getID(), p.getDestination().getID(), p.getSendingTime());
+        }
+    }
+
+    /**
+     * Records an event concerning a packet whose destination is given separately,
+     * e.g. a receiver of a multicast packet.
+     *
+     * @param event       The type of the event.
+     * @param p           The packet.
+     * @param destination The destination the event concerns.
+     */
+    public static void recordPacket(TraceEvent event, Packet p, Node destination) {
+        if (isRecording(event)) {
+            record(event, p.getOrigin().getID(), destination.getID(), p.getSendingTime());
+        }
+    }
+
+    /**
+     * Records an event concerning a node.
+     *
+     * @param event The type of the event.
+     * @param n     The node.
+     */
+    public static void recordNode(TraceEvent event, Node n) {
+        if (isRecording(event)) {
+            record(event, n.getID(), -1, Double.NaN);
+        }
+    }
+
+    /**
+     * Records an event concerning an edge.
+     *
+     * @param event The type of the event.
+     * @param e     The edge.
+     */
+    public static void recordEdge(TraceEvent event, Edge e) {
+        if (isRecording(event)) {
+            record(event, e.getStartNode().getID(), e.getEndNode().getID(), Double.NaN);
+        }
+    }
+
+    /**
+     * Writes a record to the trace file.
+     *
+     * @param event       The type of the event.
+     * @param node        The ID of the node.
+     * @param otherNode   The ID of the other node, -1 if there is none.
+     * @param sendingTime The time the message was sent, NaN if the event does not
+     *                    concern a message.
+     */
+    private static synchronized void record(TraceEvent event, long node, long otherNode, double sendingTime) {
+        if (buffer == null) {
+            return; // closed meanwhile
+        }
+        if (buffer.remaining() < RECORD_SIZE) {
+            writeBuffer();
+        }
+        buffer.putInt(event.getCode());
+        buffer.putInt(0);
+        buffer.putDouble(Global.getCurrentTime());
+        buffer.putLong(node);
+        buffer.putLong(otherNode);
+        buffer.putDouble(sendingTime);
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Opens the trace file if one is specified in the
+     * configuration. The trace file is placed in the same directory as the log
+     * files.
+     */
+    public static synchronized void start() {
+        if (channel != null || Configuration.getTraceFileName().isEmpty()) {
+            return;
+        }
+        int mask = parseEvents(Configuration.getTraceEvents());
+        String dir = Configuration.getLogFileDirectory();
+        IOUtils.createDir(dir);
+        if (Configuration.isLogToTimeDirectory()) {
+            dir = dir + "/" + Logging.getTimeDirectoryName();
+            IOUtils.createDir(dir);
+        }
+        try {
+            channel = FileChannel.open(Paths.get(dir, Configuration.getTraceFileName()), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new SinalgoFatalException("Could not open the trace file " + Configuration.getTraceFileName(), e);
+        }
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        for (int i = 0; i < MAGIC.length(); i++) {
+            buffer.put((byte) MAGIC.charAt(i));
+        }
+        buffer.putInt(VERSION);
+        buffer.putInt(RECORD_SIZE);
+        recordedEvents = mask;
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Writes the buffered records to the trace file.
+     */
+    public static synchronized void flush() {
+        if (channel != null) {
+            writeBuffer();
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                throw new SinalgoFatalException("Could not write the trace file", e);
+            }
+        }
+    }
+
+    /**
+     * <b>This member is framework internal and should not be used by the project
+     * developer.</b> Writes the buffered records and closes the trace file.
+     */
+    public static synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+        recordedEvents = 0;
+        writeBuffer();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new SinalgoFatalException("Could not close the trace file", e);
+        } finally {
+            channel = null;
+            buffer = null;
+        }
+    }
+
+    private static void writeBuffer() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new SinalgoFatalException("Could not write the trace file", e);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * @param events The events separated by ';', or 'all'.
+     * @return The mask of the given events.
+     */
+    private static int parseEvents(String events) {
+        int mask = 0;
+        for (String name : events.split(";")) {
+            name = name.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (name.equalsIgnoreCase("all")) {
+                for (TraceEvent e : TraceEvent.values()) {
+                    mask |= e.getMask();
+                }
+                continue;
+            }
+            try {
+                mask |= TraceEvent.valueOf(name.toUpperCase()).getMask();
+            } catch (IllegalArgumentException e) {
+                throw new SinalgoFatalException("The configuration entry 'traceEvents' contains the unknown event '"
+                        + name + "'.", e);
+            }
+        }
+        return mask;
+    }
+
+}
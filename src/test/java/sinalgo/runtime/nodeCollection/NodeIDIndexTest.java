@@ -0,0 +1,159 @@
+/*
+BSD 3-Clause License
+
+Copyright (c) 2007-2013, Distributed Computing Group (DCG)
+                         ETH Zurich
+                         Switzerland
+                         dcg.ethz.ch
+              2017-2018, André Brait
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this
+  list of conditions and the following disclaimer.
+
+* Redistributions in binary form must reproduce the above copyright notice,
+  this list of conditions and the following disclaimer in the documentation
+  and/or other materials provided with the distribution.
+
+* Neither the name of the copyright holder nor the names of its
+  contributors may be used to endorse or promote products derived from
+  this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package sinalgo.runtime.nodeCollection;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import projects.defaultProject.nodes.nodeImplementations.DummyNode;
+import sinalgo.configuration.Configuration;
+import sinalgo.nodes.Node;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the lookup of nodes by their ID in the {@link NodeIDIndex}.
+ */
+public class NodeIDIndexTest {
+
+    @BeforeClass
+    public static void configure() {
+        Configuration.putPropertyEntry("Node/defaultSize", "10");
+    }
+
+    private static Node node(long id) {
+        Node n = new DummyNode();
+        n.setID(id);
+        return n;
+    }
+
+    // re-indexes a node as AbstractNodeCollection.nodeIDChanged does
+    private static void setID(NodeIDIndex index, Node n, long id) {
+        long oldID = n.getID();
+        n.setID(id);
+        index.remove(n, oldID);
+        index.add(n);
+    }
+
+    @Test
+    public void addedNodesAreFound() {
+        NodeIDIndex index = new NodeIDIndex();
+        Node[] nodes = new Node[1000];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = node(i + 1);
+            index.add(nodes[i]);
+        }
+        for (Node n : nodes) {
+            assertSame(n, index.get(n.getID()));
+        }
+    }
+
+    @Test
+    public void nodesWithLargeIDsAreFound() {
+        NodeIDIndex index = new NodeIDIndex();
+        Node small = node(1);
+        Node large = node(1L << 40);
+        Node negative = node(-5);
+        index.add(small);
+        index.add(large);
+        index.add(negative);
+        assertSame(small, index.get(1));
+        assertSame(large, index.get(1L << 40));
+        assertSame(negative, index.get(-5));
+    }
+
+    @Test
+    public void missingIDsAreNotFound() {
+        NodeIDIndex index = new NodeIDIndex();
+        assertNull(index.get(1));
+        index.add(node(1));
+        index.add(node(1L << 40));
+        assertNull(index.get(0));
+        assertNull(index.get(2));
+        assertNull(index.get(-1));
+        assertNull(index.get(100000));
+        assertNull(index.get((1L << 40) + 1));
+    }
+
+    @Test
+    public void removedNodesAreNotFound() {
+        NodeIDIndex index = new NodeIDIndex();
+        Node a = node(1);
+        Node b = node(2);
+        Node large = node(1L << 40);
+        index.add(a);
+        index.add(b);
+        index.add(large);
+        index.remove(a, a.getID());
+        index.remove(large, large.getID());
+        assertNull(index.get(1));
+        assertNull(index.get(1L << 40));
+        assertSame(b, index.get(2));
+        // removing a node that is not in the index has no effect
+        index.remove(node(2), 2);
+        assertSame(b, index.get(2));
+    }
+
+    @Test
+    public void changedIDsAreReindexed() {
+        NodeIDIndex index = new NodeIDIndex();
+        Node n = node(3);
+        index.add(n);
+        setID(index, n, 7);
+        assertNull(index.get(3));
+        assertSame(n, index.get(7));
+        setID(index, n, 1L << 40);
+        assertNull(index.get(7));
+        assertSame(n, index.get(1L << 40));
+    }
+
+    @Test
+    public void swappedIDsAreReindexed() {
+        NodeIDIndex index = new NodeIDIndex();
+        Node a = node(1);
+        Node b = node(2);
+        index.add(a);
+        index.add(b);
+        // both nodes have the ID 2 in between
+        setID(index, a, 2);
+        assertNull(index.get(1));
+        assertSame(b, index.get(2));
+        setID(index, b, 1);
+        assertSame(b, index.get(1));
+        assertSame(a, index.get(2));
+    }
+}